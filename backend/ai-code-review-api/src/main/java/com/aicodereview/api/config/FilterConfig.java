@@ -1,6 +1,8 @@
 package com.aicodereview.api.config;
 
 import com.aicodereview.api.filter.CorrelationIdFilter;
+import com.aicodereview.api.filter.DataSourceWorkloadFilter;
+import com.aicodereview.repository.config.DataSourceWorkload;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,4 +20,14 @@ public class FilterConfig {
         registration.setName("correlationIdFilter");
         return registration;
     }
+
+    @Bean
+    public FilterRegistrationBean<DataSourceWorkloadFilter> webhookWorkloadFilterRegistration() {
+        FilterRegistrationBean<DataSourceWorkloadFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new DataSourceWorkloadFilter(DataSourceWorkload.WEBHOOK));
+        registration.addUrlPatterns("/api/webhook/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setName("webhookWorkloadFilter");
+        return registration;
+    }
 }
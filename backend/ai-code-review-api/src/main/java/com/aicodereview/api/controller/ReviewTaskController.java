@@ -0,0 +1,54 @@
+package com.aicodereview.api.controller;
+
+import com.aicodereview.common.dto.ApiResponse;
+import com.aicodereview.common.dto.CursorPage;
+import com.aicodereview.common.dto.reviewtask.BulkCreateReviewTaskRequest;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskSummaryDTO;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.service.ReviewTaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// TODO: Add @PreAuthorize annotations when spring-boot-starter-security is introduced (Epic 8, Story 8.6)
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/review-tasks")
+@RequiredArgsConstructor
+public class ReviewTaskController {
+
+    private final ReviewTaskService reviewTaskService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<ReviewTaskSummaryDTO>>> listTasks(
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "status", required = false) TaskStatus status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        log.debug("GET /api/v1/review-tasks - Listing tasks, projectId={}, status={}, limit={}",
+                projectId, status, limit);
+        CursorPage<ReviewTaskSummaryDTO> page = reviewTaskService.listTasks(projectId, status, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<ReviewTaskDTO>>> createTasks(
+            @Valid @RequestBody BulkCreateReviewTaskRequest request) {
+        log.info("POST /api/v1/review-tasks/batch - Creating {} task(s)", request.getTasks().size());
+        List<ReviewTaskDTO> tasks = reviewTaskService.createTasks(request.getTasks());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(tasks));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReviewTaskDTO>> getTaskById(@PathVariable("id") Long id) {
+        log.debug("GET /api/v1/review-tasks/{} - Getting task", id);
+        ReviewTaskDTO task = reviewTaskService.getTaskById(id);
+        return ResponseEntity.ok(ApiResponse.success(task));
+    }
+}
@@ -0,0 +1,34 @@
+package com.aicodereview.api.filter;
+
+import com.aicodereview.repository.config.DataSourceWorkload;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Binds a {@link DataSourceWorkload} for the duration of a request, so that with workload pools enabled
+ * the request's connections come from that workload's pool.
+ */
+public class DataSourceWorkloadFilter implements Filter {
+
+    private final DataSourceWorkload workload;
+
+    public DataSourceWorkloadFilter(DataSourceWorkload workload) {
+        this.workload = workload;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        DataSourceWorkload.set(workload);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceWorkload.set(null);
+        }
+    }
+}
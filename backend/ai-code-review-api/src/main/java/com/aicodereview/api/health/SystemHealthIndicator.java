@@ -1,7 +1,7 @@
 package com.aicodereview.api.health;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.data.redis.connection.RedisConnection;
@@ -14,12 +14,20 @@ import java.sql.Connection;
 import java.time.Instant;
 
 @Component("systemHealth")
-@RequiredArgsConstructor
 @Slf4j
 public class SystemHealthIndicator implements HealthIndicator {
 
     private final StringRedisTemplate redisTemplate;
     private final DataSource dataSource;
+    /** The Postgres queue backend runs without Redis, so Redis is not checked */
+    private final boolean redisInUse;
+
+    public SystemHealthIndicator(StringRedisTemplate redisTemplate, DataSource dataSource,
+                                 @Value("${aicodereview.queue.backend:zset}") String queueBackend) {
+        this.redisTemplate = redisTemplate;
+        this.dataSource = dataSource;
+        this.redisInUse = !"postgres".equals(queueBackend);
+    }
 
     @Override
     public Health health() {
@@ -27,10 +35,12 @@ public class SystemHealthIndicator implements HealthIndicator {
         boolean allHealthy = true;
 
         // Check Redis
-        String redisStatus = checkRedis();
-        builder.withDetail("redis.status", redisStatus);
-        if (!"UP".equals(redisStatus)) {
-            allHealthy = false;
+        if (redisInUse) {
+            String redisStatus = checkRedis();
+            builder.withDetail("redis.status", redisStatus);
+            if (!"UP".equals(redisStatus)) {
+                allHealthy = false;
+            }
         }
 
         // Check Database
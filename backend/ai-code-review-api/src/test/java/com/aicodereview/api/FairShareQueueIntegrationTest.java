@@ -0,0 +1,139 @@
+package com.aicodereview.api;
+
+import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.impl.FairShareQueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for fair-share queueing with real Redis.
+ * <p>
+ * Requires Docker Redis to be running (docker-compose up -d).
+ * Runs with {@code aicodereview.queue.fair.enabled=true} and a cap of 2 running tasks per project.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "aicodereview.queue.fair.enabled=true",
+        "aicodereview.queue.fair.max-running-per-project=2"
+})
+@DisplayName("Fair-Share Queue Integration Tests")
+class FairShareQueueIntegrationTest {
+
+    private static final long BIG_PROJECT = 9001L;
+    private static final long SMALL_PROJECT = 9002L;
+
+    @Autowired
+    private QueueService queueService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    void cleanQueue() {
+        deleteKeys(QueueKeys.TASK_PROJECT_QUEUE_PREFIX + "*");
+        deleteKeys(QueueKeys.TASK_RUNNING_PREFIX + "*");
+        deleteKeys(QueueKeys.TASK_LOCK_PREFIX + "*");
+        deleteKeys(QueueKeys.TASK_INFLIGHT_PREFIX + "*");
+        redisTemplate.delete(QueueKeys.TASK_OWNER);
+        redisTemplate.delete(QueueKeys.TASK_RETRY_QUEUE);
+    }
+
+    @Test
+    @DisplayName("Fair mode is active: the fair-share implementation is wired in")
+    void testFairServiceWired() {
+        assertThat(queueService).isInstanceOf(FairShareQueueService.class);
+    }
+
+    @Test
+    @DisplayName("A project flooding the queue does not starve a small project")
+    void testFloodingProject_DoesNotStarveSmallProject() throws InterruptedException {
+        for (long id = 1; id <= 200; id++) {
+            queueService.enqueue(id, TaskPriority.NORMAL, BIG_PROJECT);
+        }
+        Thread.sleep(5);
+        queueService.enqueue(1001L, TaskPriority.NORMAL, SMALL_PROJECT);
+        queueService.enqueue(1002L, TaskPriority.NORMAL, SMALL_PROJECT);
+        queueService.enqueue(1003L, TaskPriority.NORMAL, SMALL_PROJECT);
+
+        List<Long> order = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Optional<Long> task = queueService.dequeue();
+            assertThat(task).isPresent();
+            order.add(task.get());
+            queueService.releaseLock(task.get());
+        }
+
+        // Round-robin: the small project's three tasks are served within the first six claims,
+        // instead of after all 200 tasks of the big project
+        assertThat(order).contains(1001L, 1002L, 1003L);
+        assertThat(queueService.getQueueSize()).isEqualTo(197);
+    }
+
+    @Test
+    @DisplayName("HIGH tasks of any project are claimed before NORMAL tasks of other projects")
+    void testHighBeforeNormal_AcrossProjects() throws InterruptedException {
+        queueService.enqueue(1L, TaskPriority.NORMAL, BIG_PROJECT);
+        queueService.enqueue(2L, TaskPriority.NORMAL, BIG_PROJECT);
+        Thread.sleep(5);
+        queueService.enqueue(3L, TaskPriority.HIGH, SMALL_PROJECT);
+
+        Optional<Long> first = queueService.dequeue();
+
+        assertThat(first).contains(3L);
+    }
+
+    @Test
+    @DisplayName("Per-project cap: a project at its cap is skipped until one of its tasks is released")
+    void testPerProjectCap() {
+        for (long id = 1; id <= 5; id++) {
+            queueService.enqueue(id, TaskPriority.NORMAL, BIG_PROJECT);
+        }
+        queueService.enqueue(100L, TaskPriority.NORMAL, SMALL_PROJECT);
+
+        List<Long> batch = queueService.dequeueBatch(10, Duration.ZERO);
+
+        // Two from the big project (cap = 2) and the small project's only task
+        assertThat(batch).hasSize(3).contains(100L);
+        assertThat(queueService.dequeueBatch(10, Duration.ZERO)).isEmpty();
+
+        // Releasing one of the big project's tasks frees exactly one slot
+        Long bigTask = batch.stream().filter(id -> id != 100L).findFirst().orElseThrow();
+        queueService.releaseLock(bigTask);
+        assertThat(queueService.dequeueBatch(10, Duration.ZERO)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Delayed retry is promoted back into its project's sub-queue")
+    void testRetryPromotedToProjectQueue() {
+        queueService.enqueue(50L, TaskPriority.HIGH, SMALL_PROJECT);
+        Optional<Long> claimed = queueService.dequeue();
+        assertThat(claimed).contains(50L);
+
+        queueService.requeueWithDelay(50L, TaskPriority.HIGH, SMALL_PROJECT, 0);
+        assertThat(queueService.promoteDueRetries(10)).isEqualTo(1);
+
+        assertThat(redisTemplate.opsForZSet().zCard(QueueKeys.projectQueueKey(SMALL_PROJECT))).isEqualTo(1);
+        assertThat(queueService.dequeue()).contains(50L);
+    }
+
+    private void deleteKeys(String pattern) {
+        Set<String> keys = redisTemplate.keys(pattern);
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.aicodereview.api;
+
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
+import com.aicodereview.repository.ProjectRepository;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.entity.Project;
+import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.impl.PostgresQueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claim throughput benchmark for the Postgres queue backend at 1, 8 and 64 concurrent workers.
+ * <p>
+ * Requires Docker PostgreSQL and is skipped unless run with {@code -Dqueue.benchmark=true}, e.g.
+ * {@code mvn -pl ai-code-review-api test -Dtest=PostgresQueueBenchmarkTest -Dqueue.benchmark=true}.
+ * Tune with {@code -Dqueue.benchmark.tasks} (default 20000). Runs with
+ * {@code aicodereview.queue.backend=postgres} and a single Hikari pool of 70 so 64 workers are not
+ * serialized on connections.
+ * </p>
+ * <p>
+ * Per worker count: insert the tasks as PENDING, then drain them with workers running
+ * {@code dequeueBatch(10)} (one SKIP LOCKED claim statement per call) and report claims per second.
+ * Every task must be claimed exactly once.
+ * </p>
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "aicodereview.queue.backend=postgres",
+        "aicodereview.datasource.pools.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=70"
+})
+@EnabledIfSystemProperty(named = "queue.benchmark", matches = "true")
+@DisplayName("Postgres Queue Benchmark")
+class PostgresQueueBenchmarkTest {
+
+    private static final int TASKS = Integer.getInteger("queue.benchmark.tasks", 20_000);
+    private static final int CLAIM_BATCH = 10;
+    private static final int INSERT_BATCH = 1_000;
+    private static final String REPO_URL = "https://github.com/benchmark/postgres-queue";
+
+    @Autowired
+    private QueueService queueService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ReviewTaskRepository reviewTaskRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        project = projectRepository.save(Project.builder()
+                .name("Postgres Queue Benchmark")
+                .enabled(true)
+                .gitPlatform("github")
+                .repoUrl(REPO_URL)
+                .webhookSecret("benchmark-secret")
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reviewTaskRepository.deleteAllInBatch(reviewTaskRepository.findByRepoUrl(REPO_URL));
+        projectRepository.findAll().stream()
+                .filter(p -> REPO_URL.equals(p.getRepoUrl()))
+                .forEach(projectRepository::delete);
+    }
+
+    @Test
+    @DisplayName("SKIP LOCKED claim throughput at 1, 8 and 64 workers")
+    void claimThroughput() throws Exception {
+        assertThat(queueService).isInstanceOf(PostgresQueueService.class);
+
+        List<String> results = new ArrayList<>();
+        for (int workers : new int[]{1, 8, 64}) {
+            insertPending(workers);
+            long perSecond = drain(workers);
+            results.add(String.format("%2d worker(s): %,8d claims/s", workers, perSecond));
+            reviewTaskRepository.deleteAllInBatch(reviewTaskRepository.findByRepoUrl(REPO_URL));
+        }
+
+        log.info("Postgres queue claim benchmark ({} tasks, batch {}):", TASKS, CLAIM_BATCH);
+        results.forEach(line -> log.info("  {}", line));
+    }
+
+    private void insertPending(int round) {
+        List<ReviewTask> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < TASKS; i++) {
+            batch.add(ReviewTask.builder()
+                    .project(project)
+                    .taskType(TaskType.PUSH)
+                    .repoUrl(REPO_URL)
+                    .branch("main")
+                    .commitHash("bench-" + round + "-" + i)
+                    .author("benchmark")
+                    .status(TaskStatus.PENDING)
+                    .priority(i % 4 == 0 ? TaskPriority.HIGH : TaskPriority.NORMAL)
+                    .retryCount(0)
+                    .maxRetries(3)
+                    .build());
+            if (batch.size() == INSERT_BATCH) {
+                reviewTaskRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        reviewTaskRepository.saveAll(batch);
+    }
+
+    private long drain(int workers) throws Exception {
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            futures.add(pool.submit(() -> {
+                int duplicates = 0;
+                List<Long> ids;
+                while (!(ids = queueService.dequeueBatch(CLAIM_BATCH, Duration.ZERO)).isEmpty()) {
+                    for (Long id : ids) {
+                        if (!claimed.add(id)) {
+                            duplicates++;
+                        }
+                        queueService.releaseLock(id);
+                    }
+                }
+                return duplicates;
+            }));
+        }
+        int duplicates = 0;
+        for (Future<Integer> future : futures) {
+            duplicates += future.get(10, TimeUnit.MINUTES);
+        }
+        long nanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        assertThat(duplicates).as("tasks claimed twice").isZero();
+        assertThat(claimed).hasSize(TASKS);
+        return nanos > 0 ? TASKS * 1_000_000_000L / nanos : 0;
+    }
+}
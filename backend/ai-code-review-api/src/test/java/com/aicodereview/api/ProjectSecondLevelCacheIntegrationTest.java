@@ -0,0 +1,153 @@
+package com.aicodereview.api;
+
+import com.aicodereview.common.dto.project.CreateProjectRequest;
+import com.aicodereview.common.dto.project.ProjectDTO;
+import com.aicodereview.common.dto.project.UpdateProjectRequest;
+import com.aicodereview.common.dto.reviewtask.CreateReviewTaskRequest;
+import com.aicodereview.common.enums.TaskType;
+import com.aicodereview.common.exception.ResourceNotFoundException;
+import com.aicodereview.repository.ProjectRepository;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.cache.EntityCacheEvictor;
+import com.aicodereview.repository.entity.Project;
+import com.aicodereview.service.ProjectService;
+import com.aicodereview.service.ReviewTaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that webhook ingestion resolves its project from the second-level and query caches.
+ * <p>
+ * The webhook path looks the project up by repository URL and then loads it by id to create the
+ * task. Once both lookups have been served from the database, later events for the same repository
+ * must not select from the project table at all; an update must still be visible right away, and a
+ * project created on another node must replace a cached "not found".
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Project Second-Level Cache Integration Tests")
+class ProjectSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ReviewTaskService reviewTaskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ReviewTaskRepository reviewTaskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private ProjectDTO project;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String name = "l2-cache-" + UUID.randomUUID().toString().substring(0, 8);
+        project = projectService.createProject(CreateProjectRequest.builder()
+                .name(name)
+                .description("before")
+                .enabled(true)
+                .gitPlatform("GitHub")
+                .repoUrl("https://github.com/test/" + name)
+                .webhookSecret("test-secret-123")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewTaskRepository.deleteAll(reviewTaskRepository.findByRepoUrl(project.getRepoUrl()));
+        projectRepository.deleteById(project.getId());
+    }
+
+    @Test
+    @DisplayName("Steady-state webhook ingestion should not select projects from the database")
+    void testWebhookIngestion_SteadyState() {
+        ingest("warmup");
+        statistics.clear();
+
+        ingest("steady-1");
+        ingest("steady-2");
+
+        assertThat(statistics.getEntityStatistics(Project.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getQueryCacheMissCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("An update should be visible to the next lookup")
+    void testUpdate_EvictsCachedProject() {
+        ingest("warmup");
+
+        projectService.updateProject(project.getId(), UpdateProjectRequest.builder().description("after").build());
+
+        assertThat(projectService.findByRepoUrl(project.getRepoUrl()).getDescription()).isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("A project created on another node should replace a cached miss")
+    void testCreateOnAnotherNode_EvictsCachedMiss() {
+        String repoUrl = project.getRepoUrl() + "-other-node";
+        assertThatThrownBy(() -> projectService.findByRepoUrl(repoUrl)).isInstanceOf(ResourceNotFoundException.class);
+
+        // The other node inserts through its own session factory, so this node's query cache never sees it
+        Long id = jdbcTemplate.queryForObject(
+                "INSERT INTO project (name, enabled, git_platform, repo_url, webhook_secret) "
+                        + "VALUES (?, TRUE, 'GitHub', ?, 'test-secret-123') RETURNING id",
+                Long.class, project.getName() + "-other-node", repoUrl);
+        try {
+            assertThatThrownBy(() -> projectService.findByRepoUrl(repoUrl)).isInstanceOf(ResourceNotFoundException.class);
+
+            // ...and then publishes the eviction that createProject registers after commit
+            entityCacheEvictor.onMessage(new DefaultMessage(
+                    EntityCacheEvictor.EVICTION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    (Project.class.getName() + "#" + id).getBytes(StandardCharsets.UTF_8)), null);
+
+            assertThat(projectService.findByRepoUrl(repoUrl).getId()).isEqualTo(id);
+        } finally {
+            projectRepository.deleteById(id);
+        }
+    }
+
+    /**
+     * Mirrors the database work of {@code WebhookController.enqueueTask}.
+     */
+    private void ingest(String commitHash) {
+        ProjectDTO found = projectService.findByRepoUrl(project.getRepoUrl());
+        reviewTaskService.createTask(CreateReviewTaskRequest.builder()
+                .projectId(found.getId())
+                .taskType(TaskType.PUSH)
+                .repoUrl(found.getRepoUrl())
+                .branch("main")
+                .commitHash(commitHash)
+                .author("tester")
+                .build());
+    }
+}
@@ -0,0 +1,166 @@
+package com.aicodereview.api;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.WorkerIdentity;
+import com.aicodereview.service.impl.RedisQueueService;
+import com.aicodereview.service.impl.RedisStreamQueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark comparing the sorted-set and Redis Streams queue backends.
+ * <p>
+ * Requires Docker Redis and is skipped unless run with {@code -Dqueue.benchmark=true}, e.g.
+ * {@code mvn -pl ai-code-review-api test -Dtest=QueueBackendBenchmarkTest -Dqueue.benchmark=true}.
+ * Tune with {@code -Dqueue.benchmark.tasks} (default 20000) and {@code -Dqueue.benchmark.workers}
+ * (default 8). Each backend is instantiated directly against the same Redis, so the active
+ * {@code aicodereview.queue.backend} does not matter.
+ * </p>
+ * <p>
+ * Per backend: enqueue all tasks through {@code enqueueAll} in batches of 100 (as the outbox relay
+ * does), then drain with concurrent workers running {@code dequeueBatch(10)} + {@code releaseLock}.
+ * Reports enqueue and claim+release throughput and the number of {@code task:*} keys while every
+ * worker holds a full batch.
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "queue.benchmark", matches = "true")
+@DisplayName("Queue Backend Benchmark")
+class QueueBackendBenchmarkTest {
+
+    private static final int TASKS = Integer.getInteger("queue.benchmark.tasks", 20_000);
+    private static final int WORKERS = Integer.getInteger("queue.benchmark.workers", 8);
+    private static final int ENQUEUE_BATCH = 100;
+    private static final int CLAIM_BATCH = 10;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    void cleanQueue() {
+        deleteKeys("task:*");
+    }
+
+    @Test
+    @DisplayName("Sorted-set vs stream backend: enqueue and claim+release throughput")
+    void compareBackends() throws Exception {
+        Result zset = run("zset", () -> new RedisQueueService(redisTemplate, new WorkerIdentity("benchmark"), 300));
+        deleteKeys("task:*");
+        Result stream = run("stream", () -> new RedisStreamQueueService(redisTemplate, new WorkerIdentity("benchmark"), 300));
+
+        log.info("Queue backend benchmark ({} tasks, {} workers):", TASKS, WORKERS);
+        log.info("  {}", zset);
+        log.info("  {}", stream);
+        assertThat(zset.drained()).isEqualTo(TASKS);
+        assertThat(stream.drained()).isEqualTo(TASKS);
+    }
+
+    private Result run(String name, Supplier<QueueService> backend) throws Exception {
+        QueueService producer = backend.get();
+        List<ReviewTaskDTO> batch = new ArrayList<>(ENQUEUE_BATCH);
+        Instant createdAt = Instant.now();
+
+        long enqueueStart = System.nanoTime();
+        for (long id = 1; id <= TASKS; id++) {
+            TaskPriority priority = id % 4 == 0 ? TaskPriority.HIGH : TaskPriority.NORMAL;
+            batch.add(ReviewTaskDTO.builder().id(id).priority(priority).createdAt(createdAt).build());
+            if (batch.size() == ENQUEUE_BATCH) {
+                producer.enqueueAll(batch);
+                batch.clear();
+            }
+        }
+        producer.enqueueAll(batch);
+        long enqueueNanos = System.nanoTime() - enqueueStart;
+
+        // One service per worker, as each worker JVM has its own worker id
+        List<QueueService> workers = new ArrayList<>(WORKERS);
+        for (int i = 0; i < WORKERS; i++) {
+            workers.add(backend.get());
+        }
+        AtomicInteger drained = new AtomicInteger();
+        int keysUnderLoad = countKeysWithBatchesHeld(workers, drained);
+
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        int drainedBefore = drained.get();
+        long drainStart = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (QueueService worker : workers) {
+            futures.add(pool.submit(() -> {
+                List<Long> claimed;
+                while (!(claimed = worker.dequeueBatch(CLAIM_BATCH, Duration.ZERO)).isEmpty()) {
+                    claimed.forEach(worker::releaseLock);
+                    drained.addAndGet(claimed.size());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long drainNanos = System.nanoTime() - drainStart;
+        pool.shutdown();
+
+        return new Result(name, drained.get(), rate(TASKS, enqueueNanos),
+                rate(drained.get() - drainedBefore, drainNanos), keysUnderLoad);
+    }
+
+    /**
+     * Has every worker claim (and hold) one batch, counts the Redis keys the queue uses at that
+     * point, then releases the batches. Also warms up the scripts before the timed drain.
+     */
+    private int countKeysWithBatchesHeld(List<QueueService> workers, AtomicInteger drained) {
+        List<List<Long>> held = new ArrayList<>();
+        for (QueueService worker : workers) {
+            held.add(worker.dequeueBatch(CLAIM_BATCH, Duration.ZERO));
+        }
+        Set<String> keys = redisTemplate.keys("task:*");
+        for (int i = 0; i < workers.size(); i++) {
+            held.get(i).forEach(workers.get(i)::releaseLock);
+            drained.addAndGet(held.get(i).size());
+        }
+        return keys != null ? keys.size() : 0;
+    }
+
+    private static long rate(int tasks, long nanos) {
+        return nanos > 0 ? tasks * 1_000_000_000L / nanos : 0;
+    }
+
+    private void deleteKeys(String pattern) {
+        Set<String> keys = redisTemplate.keys(pattern);
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    private record Result(String backend, int drained, long enqueuePerSecond, long claimReleasePerSecond,
+                          int keysUnderLoad) {
+
+        @Override
+        public String toString() {
+            return String.format("%-6s enqueue %,8d tasks/s | claim+release %,8d tasks/s | %,d task:* keys with %d batches held",
+                    backend, enqueuePerSecond, claimReleasePerSecond, keysUnderLoad, WORKERS);
+        }
+    }
+}
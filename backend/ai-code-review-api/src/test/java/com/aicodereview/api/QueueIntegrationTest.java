@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -45,11 +46,17 @@ class QueueIntegrationTest {
     void cleanQueue() {
         // Clean task queue
         redisTemplate.delete(QueueKeys.TASK_QUEUE);
+        redisTemplate.delete(QueueKeys.TASK_RETRY_QUEUE);
         // Clean any lock keys from previous test runs
         Set<String> lockKeys = redisTemplate.keys(QueueKeys.TASK_LOCK_PREFIX + "*");
         if (lockKeys != null && !lockKeys.isEmpty()) {
             redisTemplate.delete(lockKeys);
         }
+        Set<String> inflightKeys = redisTemplate.keys(QueueKeys.TASK_INFLIGHT_PREFIX + "*");
+        if (inflightKeys != null && !inflightKeys.isEmpty()) {
+            redisTemplate.delete(inflightKeys);
+        }
+        redisTemplate.delete(QueueKeys.TASK_QUEUE_SIGNAL);
     }
 
     @Test
@@ -100,6 +107,68 @@ class QueueIntegrationTest {
         assertThat(dequeuedOrder).containsExactly(10L, 20L, 30L);
     }
 
+    @Test
+    @DisplayName("Batch dequeue claims tasks in priority order and locks each one")
+    void testDequeueBatch_PriorityOrderAndLocks() throws InterruptedException {
+        // Given: Mixed priorities
+        queueService.enqueue(1L, TaskPriority.NORMAL);
+        Thread.sleep(10);
+        queueService.enqueue(3L, TaskPriority.NORMAL);
+        queueService.enqueue(2L, TaskPriority.HIGH);
+
+        // When: Claim two in one call
+        List<Long> batch = queueService.dequeueBatch(2, Duration.ZERO);
+
+        // Then: Highest priority first, both locked, the rest still queued
+        assertThat(batch).containsExactly(2L, 1L);
+        assertThat(redisTemplate.hasKey(QueueKeys.taskLockKey(2L))).isTrue();
+        assertThat(redisTemplate.hasKey(QueueKeys.taskLockKey(1L))).isTrue();
+        assertThat(queueService.getQueueSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Claim records the task in the worker in-flight set; release removes it")
+    void testClaim_TracksInFlightSet() {
+        queueService.enqueue(60L, TaskPriority.HIGH);
+
+        Optional<Long> claimed = queueService.dequeue();
+        assertThat(claimed).contains(60L);
+
+        Set<String> inflightKeys = redisTemplate.keys(QueueKeys.TASK_INFLIGHT_PREFIX + "*");
+        assertThat(inflightKeys).hasSize(1);
+        String inflightKey = inflightKeys.iterator().next();
+        assertThat(queueService.isLocked(60L)).isTrue();
+
+        queueService.releaseLock(60L);
+        assertThat(queueService.isLocked(60L)).isFalse();
+        assertThat(redisTemplate.hasKey(inflightKey)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Parked batch dequeue wakes up when a task is enqueued")
+    void testDequeueBatch_WakesOnEnqueue() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var pending = executor.submit(() -> queueService.dequeueBatch(4, Duration.ofSeconds(5)));
+            Thread.sleep(200);
+            queueService.enqueue(70L, TaskPriority.NORMAL);
+
+            assertThat(pending.get(3, TimeUnit.SECONDS)).containsExactly(70L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Batch dequeue on an empty queue returns after the wait elapses")
+    void testDequeueBatch_EmptyQueueWaits() {
+        long start = System.currentTimeMillis();
+        List<Long> batch = queueService.dequeueBatch(4, Duration.ofMillis(200));
+
+        assertThat(batch).isEmpty();
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(100);
+    }
+
     @Test
     @DisplayName("Empty queue returns Optional.empty()")
     void testEmptyQueueDequeue() {
@@ -203,10 +272,15 @@ class QueueIntegrationTest {
         assertThat(first).isPresent().contains(2L);
         queueService.releaseLock(2L);
 
+        // Delayed task waits in the retry queue, not the main queue
+        assertThat(queueService.getRetryQueueSize()).isEqualTo(1);
+        assertThat(queueService.dequeue()).isEmpty();
+
         // Poll for delayed task (avoid fixed Thread.sleep which is flaky in CI)
         Optional<Long> second = Optional.empty();
         long deadline = System.currentTimeMillis() + 5000; // 5s max wait
         while (System.currentTimeMillis() < deadline) {
+            queueService.promoteDueRetries(10);
             second = queueService.dequeue();
             if (second.isPresent()) break;
             Thread.sleep(200);
@@ -214,6 +288,17 @@ class QueueIntegrationTest {
         assertThat(second).isPresent().contains(1L);
     }
 
+    @Test
+    @DisplayName("Delayed HIGH retry does not jump ahead of ready NORMAL tasks")
+    void testDelayedHighRetry_DoesNotPreemptReadyNormal() {
+        queueService.requeueWithDelay(1L, TaskPriority.HIGH, 60);
+        queueService.enqueue(2L, TaskPriority.NORMAL);
+
+        assertThat(queueService.promoteDueRetries(10)).isZero();
+        assertThat(queueService.dequeue()).contains(2L);
+        assertThat(queueService.dequeue()).isEmpty();
+    }
+
     @Test
     @DisplayName("Full lifecycle: enqueue → dequeue → lock → release")
     void testFullLifecycle() {
@@ -0,0 +1,141 @@
+package com.aicodereview.api;
+
+import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.impl.RedisStreamQueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Redis Streams queue backend with real Redis.
+ * <p>
+ * Requires Docker Redis to be running (docker-compose up -d).
+ * Runs with {@code aicodereview.queue.backend=stream}.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "aicodereview.queue.backend=stream"
+})
+@DisplayName("Redis Stream Queue Integration Tests")
+class RedisStreamQueueIntegrationTest {
+
+    @Autowired
+    private QueueService queueService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    void cleanQueue() {
+        deleteKeys(QueueKeys.TASK_STREAM_PREFIX + "*");
+        deleteKeys(QueueKeys.TASK_INFLIGHT_PREFIX + "*");
+        redisTemplate.delete(QueueKeys.TASK_RETRY_QUEUE);
+        redisTemplate.delete(QueueKeys.TASK_QUEUE_SIGNAL);
+    }
+
+    @Test
+    @DisplayName("Stream mode is active: the stream implementation is wired in")
+    void testStreamServiceWired() {
+        assertThat(queueService).isInstanceOf(RedisStreamQueueService.class);
+    }
+
+    @Test
+    @DisplayName("Priority ordering: HIGH stream is read before NORMAL, FIFO within a stream")
+    void testPriorityOrdering() {
+        queueService.enqueue(1L, TaskPriority.NORMAL);
+        queueService.enqueue(2L, TaskPriority.NORMAL);
+        queueService.enqueue(3L, TaskPriority.HIGH);
+        queueService.enqueue(4L, TaskPriority.HIGH);
+
+        List<Long> order = new ArrayList<>();
+        Optional<Long> task;
+        while ((task = queueService.dequeue()).isPresent()) {
+            order.add(task.get());
+            queueService.releaseLock(task.get());
+        }
+
+        assertThat(order).containsExactly(3L, 4L, 1L, 2L);
+        assertThat(queueService.getQueueSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Claimed task stays pending until released, then its entry is gone")
+    void testClaimAndRelease() {
+        queueService.enqueue(10L, TaskPriority.HIGH);
+
+        List<Long> claimed = queueService.dequeueBatch(5, Duration.ZERO);
+
+        assertThat(claimed).containsExactly(10L);
+        assertThat(queueService.isLocked(10L)).isTrue();
+        assertThat(queueService.getQueueSize()).isZero();
+        assertThat(queueService.renewLeases()).containsExactly(10L);
+
+        queueService.releaseLock(10L);
+
+        assertThat(queueService.isLocked(10L)).isFalse();
+        assertThat(redisTemplate.opsForStream().size(QueueKeys.taskStreamKey(TaskPriority.HIGH))).isZero();
+        assertThat(queueService.renewLeases()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A duplicate entry for a task running under a live lease is dropped")
+    void testDuplicateOfRunningTask_Dropped() {
+        queueService.enqueue(20L, TaskPriority.NORMAL);
+        assertThat(queueService.dequeue()).contains(20L);
+
+        queueService.enqueue(20L, TaskPriority.NORMAL);
+
+        assertThat(queueService.dequeueBatch(5, Duration.ZERO)).isEmpty();
+        assertThat(queueService.isLocked(20L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Delayed retry is promoted back onto its priority stream")
+    void testRetryPromotedToStream() {
+        queueService.enqueue(30L, TaskPriority.HIGH);
+        assertThat(queueService.dequeue()).contains(30L);
+
+        queueService.requeueWithDelay(30L, TaskPriority.HIGH, 0);
+        assertThat(queueService.isLocked(30L)).isFalse();
+        assertThat(queueService.promoteDueRetries(10)).isEqualTo(1);
+
+        assertThat(queueService.getQueueSize()).isEqualTo(1);
+        assertThat(queueService.dequeue()).contains(30L);
+    }
+
+    @Test
+    @DisplayName("findUntracked reports only tasks on no stream, not retrying and not claimed")
+    void testFindUntracked() {
+        queueService.enqueue(40L, TaskPriority.NORMAL);
+        queueService.enqueue(41L, TaskPriority.NORMAL);
+        assertThat(queueService.dequeue()).contains(40L);
+
+        List<Long> untracked = queueService.findUntracked(List.of(
+                ReviewTaskDTO.builder().id(40L).priority(TaskPriority.NORMAL).build(),
+                ReviewTaskDTO.builder().id(41L).priority(TaskPriority.NORMAL).build(),
+                ReviewTaskDTO.builder().id(42L).priority(TaskPriority.NORMAL).build()));
+
+        assertThat(untracked).containsExactly(42L);
+    }
+
+    private void deleteKeys(String pattern) {
+        Set<String> keys = redisTemplate.keys(pattern);
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+}
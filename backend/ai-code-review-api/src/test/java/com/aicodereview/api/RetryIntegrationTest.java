@@ -61,6 +61,7 @@ class RetryIntegrationTest {
     void setUp() {
         // Clean Redis queue and locks
         redisTemplate.delete(QueueKeys.TASK_QUEUE);
+        redisTemplate.delete(QueueKeys.TASK_RETRY_QUEUE);
         Set<String> lockKeys = redisTemplate.keys(QueueKeys.TASK_LOCK_PREFIX + "*");
         if (lockKeys != null && !lockKeys.isEmpty()) {
             redisTemplate.delete(lockKeys);
@@ -100,7 +101,7 @@ class RetryIntegrationTest {
         Long taskId = task.getId();
 
         // Step 2: Handle retryable failure (RATE_LIMIT)
-        retryService.handleTaskFailure(taskId, "429 Too Many Requests", FailureType.RATE_LIMIT);
+        retryService.handleTaskFailure(taskId, task.getCreatedAt(), "429 Too Many Requests", FailureType.RATE_LIMIT);
 
         // Step 3: Verify DB state
         ReviewTask updated = reviewTaskRepository.findById(taskId).orElseThrow();
@@ -108,10 +109,13 @@ class RetryIntegrationTest {
         assertThat(updated.getRetryCount()).isEqualTo(1);
         assertThat(updated.getErrorMessage()).isEqualTo("429 Too Many Requests");
 
-        // Step 4: Verify task is in Redis queue (with delay, so poll until it appears)
+        // Step 4: Verify task is parked in the retry queue, then promoted once its delay elapses
+        // (the worker's RetryPromoter is disabled in tests, so promote explicitly while polling)
+        assertThat(queueService.getRetryQueueSize()).isEqualTo(1);
         Optional<Long> dequeued = Optional.empty();
         long deadline = System.currentTimeMillis() + 5000;
         while (System.currentTimeMillis() < deadline) {
+            queueService.promoteDueRetries(10);
             dequeued = queueService.dequeue();
             if (dequeued.isPresent()) break;
             Thread.sleep(200);
@@ -140,7 +144,7 @@ class RetryIntegrationTest {
         Long taskId = task.getId();
 
         // When: Handle non-retryable failure
-        retryService.handleTaskFailure(taskId, "Invalid payload: missing required fields", FailureType.VALIDATION_ERROR);
+        retryService.handleTaskFailure(taskId, task.getCreatedAt(), "Invalid payload: missing required fields", FailureType.VALIDATION_ERROR);
 
         // Then: Task should be immediately FAILED
         ReviewTask updated = reviewTaskRepository.findById(taskId).orElseThrow();
@@ -173,7 +177,7 @@ class RetryIntegrationTest {
         Long taskId = task.getId();
 
         // When: Handle retryable failure (but max retries reached)
-        retryService.handleTaskFailure(taskId, "Third failure", FailureType.RATE_LIMIT);
+        retryService.handleTaskFailure(taskId, task.getCreatedAt(), "Third failure", FailureType.RATE_LIMIT);
 
         // Then: Task should be FAILED (max retries)
         ReviewTask updated = reviewTaskRepository.findById(taskId).orElseThrow();
@@ -203,7 +207,7 @@ class RetryIntegrationTest {
                 .build());
 
         // When
-        retryService.handleTaskFailure(task.getId(), "401 Unauthorized", FailureType.AUTHENTICATION_ERROR);
+        retryService.handleTaskFailure(task.getId(), task.getCreatedAt(), "401 Unauthorized", FailureType.AUTHENTICATION_ERROR);
 
         // Then
         ReviewTask updated = reviewTaskRepository.findById(task.getId()).orElseThrow();
@@ -230,7 +234,7 @@ class RetryIntegrationTest {
                 .build());
 
         // When
-        retryService.handleTaskFailure(task.getId(), "Unexpected NPE", FailureType.UNKNOWN);
+        retryService.handleTaskFailure(task.getId(), task.getCreatedAt(), "Unexpected NPE", FailureType.UNKNOWN);
 
         // Then: Task should be PENDING (retryable)
         ReviewTask updated = reviewTaskRepository.findById(task.getId()).orElseThrow();
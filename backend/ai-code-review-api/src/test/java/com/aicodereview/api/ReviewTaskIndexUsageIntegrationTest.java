@@ -0,0 +1,107 @@
+package com.aicodereview.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN-based regression test for the indexes of the review_task hot paths.
+ * <p>
+ * Each query mirrors a {@code ReviewTaskRepository} query on the queue, reaper, coalescing or
+ * duplicate-check path. It is prepared and explained with {@code plan_cache_mode=force_generic_plan},
+ * so parameter values are unknown to the planner exactly as in a cached JDBC prepared statement, and
+ * with {@code enable_seqscan=off}, so that on the small test tables the planner only falls back to a
+ * sequential scan when no index can serve the query. A plan with a Seq Scan therefore means a partial
+ * index predicate or a column order no longer matches the query.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+@SpringBootTest
+@DisplayName("ReviewTask Index Usage Integration Tests")
+class ReviewTaskIndexUsageIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> hotPathQueries() {
+        return Stream.of(
+                Arguments.of("duplicate check (createTask)",
+                        "SELECT * FROM review_task WHERE project_id = $1 AND commit_hash = $2",
+                        "1, 'abc123'"),
+                Arguments.of("duplicate check (createTasks)",
+                        "SELECT * FROM review_task WHERE project_id IN ($1, $2) AND commit_hash IN ($3, $4)",
+                        "1, 2, 'abc123', 'def456'"),
+                Arguments.of("active tasks by status (getTasksByStatus)",
+                        "SELECT * FROM review_task WHERE status = $1 AND status IN ('PENDING', 'RUNNING') "
+                                + "ORDER BY priority DESC, created_at ASC",
+                        "'PENDING'"),
+                Arguments.of("Postgres queue claim (claimPending)",
+                        "WITH next AS (SELECT id FROM review_task WHERE status = 'PENDING' "
+                                + "AND (available_at IS NULL OR available_at <= $1) "
+                                + "ORDER BY CASE priority WHEN 'HIGH' THEN 0 WHEN 'NORMAL' THEN 1 ELSE 2 END, "
+                                + "created_at ASC, id ASC LIMIT $2 FOR UPDATE SKIP LOCKED) "
+                                + "UPDATE review_task t SET status = 'RUNNING', started_at = $1, lease_expires_at = $1, "
+                                + "available_at = NULL, updated_at = $1 FROM next WHERE t.id = next.id RETURNING t.id",
+                        "now(), 10"),
+                Arguments.of("expired leases (findExpiredLeasesForUpdate)",
+                        "SELECT * FROM review_task WHERE status = 'RUNNING' AND lease_expires_at < $1 "
+                                + "ORDER BY lease_expires_at ASC LIMIT $2 FOR UPDATE SKIP LOCKED",
+                        "now(), 100"),
+                Arguments.of("reconciliation page (findPendingPage)",
+                        "SELECT * FROM review_task WHERE status = 'PENDING' AND priority = $1 AND updated_at < $2 "
+                                + "AND (created_at > $3 OR (created_at = $3 AND id > $4)) "
+                                + "ORDER BY created_at ASC, id ASC LIMIT $5",
+                        "'NORMAL', now(), 'epoch'::timestamptz, 0, 500"),
+                Arguments.of("coalescing (findPendingForCoalescing)",
+                        "SELECT * FROM review_task WHERE project_id = $1 AND branch = $2 AND task_type = $3 "
+                                + "AND COALESCE(pr_number, 0) = $4 AND id <> $5 AND status = 'PENDING' "
+                                + "ORDER BY created_at ASC, id ASC FOR UPDATE SKIP LOCKED",
+                        "1, 'main', 'PUSH', 0, 100"),
+                Arguments.of("claimable count (countClaimable)",
+                        "SELECT count(*) FROM review_task WHERE status = 'PENDING' "
+                                + "AND (available_at IS NULL OR available_at <= $1)",
+                        "now()"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotPathQueries")
+    @DisplayName("Hot-path queries should be served by an index, never a sequential scan")
+    void testHotPathQueriesUseIndexes(String name, String sql, String arguments) {
+        String plan = explainGeneric(sql, arguments);
+
+        assertThat(plan).as("plan of %s", name).doesNotContain("Seq Scan").contains("Index");
+    }
+
+    private String explainGeneric(String sql, String arguments) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE explained AS " + sql);
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE explained(" + arguments + ")")) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE explained");
+                    statement.execute("RESET enable_seqscan");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+}
@@ -1,12 +1,19 @@
 package com.aicodereview.api;
 
+import com.aicodereview.common.dto.reviewtask.CreateReviewTaskRequest;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
 import com.aicodereview.common.enums.TaskPriority;
 import com.aicodereview.common.enums.TaskStatus;
 import com.aicodereview.common.enums.TaskType;
+import com.aicodereview.repository.CodeContextBlobRepository;
 import com.aicodereview.repository.ProjectRepository;
 import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.entity.CodeContextBlob;
 import com.aicodereview.repository.entity.Project;
 import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.service.ReviewTaskService;
+import com.aicodereview.service.mapper.ReviewTaskMapper;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,15 +22,27 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Integration tests for ReviewTask creation from webhook events.
@@ -47,6 +66,15 @@ class ReviewTaskIntegrationTest {
     @Autowired
     private ReviewTaskRepository reviewTaskRepository;
 
+    @Autowired
+    private CodeContextBlobRepository codeContextBlobRepository;
+
+    @Autowired
+    private ReviewTaskService reviewTaskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final String GITHUB_REPO_URL = "https://github.com/integration-test/repo";
     private static final String GITLAB_REPO_URL = "https://gitlab.com/integration-test/repo";
 
@@ -302,6 +330,189 @@ class ReviewTaskIntegrationTest {
         assertThat(completedTask.getStatus()).isEqualTo(TaskStatus.COMPLETED);
     }
 
+    @Test
+    @DisplayName("Compare-and-set transitions: one of many concurrent starts wins, failed attempts retry then fail")
+    void testConditionalStatusTransitions() throws Exception {
+        // Given: A PENDING task
+        Project project = projectRepository.findByRepoUrl(GITHUB_REPO_URL).orElseThrow();
+        ReviewTask task = reviewTaskRepository.save(ReviewTask.builder()
+                .project(project)
+                .taskType(TaskType.PUSH)
+                .repoUrl(GITHUB_REPO_URL)
+                .branch("main")
+                .commitHash("cas123")
+                .author("testuser")
+                .priority(TaskPriority.NORMAL)
+                .build());
+        Long taskId = task.getId();
+
+        // When: Eight workers try to start it at once
+        int workers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            attempts.add(pool.submit(() -> {
+                go.await();
+                try {
+                    reviewTaskService.markTaskStarted(taskId);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        go.countDown();
+        int started = 0;
+        for (Future<Boolean> attempt : attempts) {
+            started += attempt.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        // Then: Exactly one start succeeded
+        assertThat(started).isEqualTo(1);
+        ReviewTask running = reviewTaskRepository.findById(taskId).orElseThrow();
+        assertThat(running.getStatus()).isEqualTo(TaskStatus.RUNNING);
+        assertThat(running.getLeaseExpiresAt()).isNotNull();
+
+        // When/Then: Failed attempts go back to PENDING until max retries (3), then FAILED
+        assertThat(reviewTaskService.markTaskFailed(taskId, running.getCreatedAt(), "attempt 1").getStatus()).isEqualTo(TaskStatus.PENDING);
+        reviewTaskService.markTaskStarted(taskId);
+        assertThat(reviewTaskService.markTaskFailed(taskId, running.getCreatedAt(), "attempt 2").getStatus()).isEqualTo(TaskStatus.PENDING);
+        reviewTaskService.markTaskStarted(taskId);
+        ReviewTaskDTO failed = reviewTaskService.markTaskFailed(taskId, running.getCreatedAt(), "attempt 3");
+        assertThat(failed.getStatus()).isEqualTo(TaskStatus.FAILED);
+        assertThat(failed.getRetryCount()).isEqualTo(3);
+        assertThat(failed.getCompletedAt()).isNotNull();
+        assertThat(failed.getErrorMessage()).isEqualTo("attempt 3");
+
+        // And: A finished task cannot be completed
+        assertThatThrownBy(() -> reviewTaskService.markTaskCompleted(taskId, running.getCreatedAt()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("expected status RUNNING");
+    }
+
+    @Test
+    @DisplayName("Bulk creation inserts new tasks with distinct sequence ids and returns existing ones for duplicates")
+    void testCreateTasksInBulk() {
+        // Given: One commit that already has a task, and 120 new ones (more than one id block)
+        Project project = projectRepository.findByRepoUrl(GITHUB_REPO_URL).orElseThrow();
+        ReviewTaskDTO existing = reviewTaskService.createTask(bulkRequest(project, "bulkexisting"));
+        List<CreateReviewTaskRequest> requests = new ArrayList<>();
+        requests.add(bulkRequest(project, "bulkexisting"));
+        for (int i = 0; i < 120; i++) {
+            requests.add(bulkRequest(project, "bulk" + i));
+        }
+
+        // When
+        List<ReviewTaskDTO> created = reviewTaskService.createTasks(requests);
+
+        // Then: Results follow request order, the duplicate maps to the existing task
+        assertThat(created).hasSize(121);
+        assertThat(created.get(0).getId()).isEqualTo(existing.getId());
+        assertThat(created).extracting(ReviewTaskDTO::getCommitHash)
+                .containsExactlyElementsOf(requests.stream().map(CreateReviewTaskRequest::getCommitHash).toList());
+        assertThat(created).extracting(ReviewTaskDTO::getId).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(reviewTaskRepository.findById(created.get(120).getId()).orElseThrow().getStatus())
+                .isEqualTo(TaskStatus.PENDING);
+
+        // And: Running the same batch again creates nothing new
+        assertThat(reviewTaskService.createTasks(requests)).extracting(ReviewTaskDTO::getId)
+                .containsExactlyElementsOf(created.stream().map(ReviewTaskDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("V16 partitioning: new tasks land in the current month, expired months move to the archive")
+    void testMonthlyPartitionsAndArchival() {
+        // Given: A fresh task
+        Project project = projectRepository.findByRepoUrl(GITHUB_REPO_URL).orElseThrow();
+        ReviewTask task = reviewTaskRepository.save(ReviewTask.builder()
+                .project(project)
+                .taskType(TaskType.PUSH)
+                .repoUrl(GITHUB_REPO_URL)
+                .branch("main")
+                .commitHash("partition123")
+                .author("testuser")
+                .priority(TaskPriority.NORMAL)
+                .build());
+
+        // Then: It is stored in the partition of the current month, and upcoming months already exist
+        String currentPartition = "review_task_p" + YearMonth.now(ZoneOffset.UTC).format(DateTimeFormatter.ofPattern("yyyyMM"));
+        assertThat(jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM review_task WHERE id = ?",
+                String.class, task.getId())).isEqualTo(currentPartition);
+        assertThat(reviewTaskRepository.ensurePartitions(3)).isZero();
+
+        // Given: A finished task in an old month
+        jdbcTemplate.execute("DROP TABLE IF EXISTS review_task_p202001");
+        jdbcTemplate.execute("SELECT review_task_create_partition(DATE '2020-01-01')");
+        Long oldId = jdbcTemplate.queryForObject("INSERT INTO review_task (project_id, task_type, repo_url, branch, "
+                + "commit_hash, author, status, priority, created_at, updated_at) VALUES (?, 'PUSH', ?, 'main', "
+                + "'partitionold', 'testuser', 'COMPLETED', 'NORMAL', '2020-01-15T00:00:00Z', now()) RETURNING id",
+                Long.class, project.getId(), GITHUB_REPO_URL);
+
+        try {
+            // When: Months before 2021 are archived
+            assertThat(reviewTaskRepository.archivePartitions(Instant.parse("2021-01-01T00:00:00Z"))).isEqualTo(1);
+
+            // Then: The old task left the live table but is kept in the archive; the current task is untouched
+            assertThat(reviewTaskRepository.findById(oldId)).isEmpty();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM review_task_archive WHERE id = ?",
+                    Integer.class, oldId)).isEqualTo(1);
+            assertThat(reviewTaskRepository.findById(task.getId())).isPresent();
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS review_task_p202001");
+        }
+    }
+
+    @Test
+    @DisplayName("With open-in-view disabled, task reads should not need the session after the service returns")
+    void testTaskReadsWithoutOpenSessionInView() {
+        // Given: A task, and no session held open beyond the service call
+        Project project = projectRepository.findByRepoUrl(GITHUB_REPO_URL).orElseThrow();
+        ReviewTaskDTO created = reviewTaskService.createTask(pushRequest(project, "no-osiv", "noosiv"));
+
+        // When: The task is read by the controller path and by the repository outside any transaction
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/api/v1/review-tasks/" + created.getId(), String.class);
+        ReviewTask detached = reviewTaskRepository.findById(created.getId()).orElseThrow();
+
+        // Then: Both work; the only lazy association (project) is read by id, which needs no session
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("\"projectId\":" + project.getId());
+        assertThat(Hibernate.isInitialized(detached.getProject())).isFalse();
+        assertThat(ReviewTaskMapper.toDTO(detached).getProjectId()).isEqualTo(project.getId());
+    }
+
+    @Test
+    @DisplayName("Coalescing should anchor on the latest COMPLETED task of a branch, not on a RUNNING one")
+    void testCoalescingAnchorsOnCompletedTask() {
+        // Given: The latest reviewed-or-reviewing task of the branch is still RUNNING
+        Project project = projectRepository.findByRepoUrl(GITHUB_REPO_URL).orElseThrow();
+        String branch = "anchor-" + System.nanoTime();
+        ReviewTaskDTO first = reviewTaskService.createTask(pushRequest(project, branch, branch + "-1"));
+        reviewTaskService.markTaskStarted(first.getId());
+        ReviewTaskDTO second = reviewTaskService.createTask(pushRequest(project, branch, branch + "-2"));
+
+        // When: A newer push arrives while it runs
+        ReviewTaskDTO third = reviewTaskService.createTask(pushRequest(project, branch, branch + "-3"));
+
+        // Then: Nothing is coalesced, as the RUNNING task may still fail
+        assertThat(reviewTaskRepository.findById(second.getId()).orElseThrow().getStatus())
+                .isEqualTo(TaskStatus.PENDING);
+        assertThat(third.getBaseCommitHash()).isNull();
+
+        // When: The first task completes and another push arrives
+        reviewTaskService.markTaskCompleted(first.getId());
+        ReviewTaskDTO fourth = reviewTaskService.createTask(pushRequest(project, branch, branch + "-4"));
+
+        // Then: The pending tasks fold into it, reviewed from the completed task's head
+        assertThat(reviewTaskRepository.findById(second.getId()).orElseThrow().getStatus())
+                .isEqualTo(TaskStatus.SUPERSEDED);
+        assertThat(reviewTaskRepository.findById(third.getId()).orElseThrow().getStatus())
+                .isEqualTo(TaskStatus.SUPERSEDED);
+        assertThat(fourth.getBaseCommitHash()).isEqualTo(branch + "-1");
+    }
+
     @Test
     @DisplayName("Query tasks by project ID returns all tasks for project")
     void testGetTasksByProjectId() {
@@ -317,11 +528,11 @@ class ReviewTaskIntegrationTest {
     }
 
     @Test
-    @DisplayName("V7 migration: code_context column should store and retrieve large JSON")
-    void testCodeContextColumnStorageAndRetrieval() {
-        // Given: A task created via webhook
+    @DisplayName("V14 migration: code context should be stored compressed, shared by hash and read back exactly")
+    void testCodeContextBlobStorageAndRetrieval() {
+        // Given: Two tasks of the same project
         Project project = projectRepository.findByRepoUrl(GITHUB_REPO_URL).orElseThrow();
-        ReviewTask task = ReviewTask.builder()
+        ReviewTask first = reviewTaskRepository.save(ReviewTask.builder()
                 .project(project)
                 .taskType(TaskType.PUSH)
                 .repoUrl(GITHUB_REPO_URL)
@@ -329,28 +540,57 @@ class ReviewTaskIntegrationTest {
                 .commitHash("codecontext123")
                 .author("testuser")
                 .priority(com.aicodereview.common.enums.TaskPriority.NORMAL)
-                .build();
-        ReviewTask savedTask = reviewTaskRepository.save(task);
+                .build());
+        ReviewTask second = reviewTaskRepository.save(ReviewTask.builder()
+                .project(project)
+                .taskType(TaskType.PUSH)
+                .repoUrl(GITHUB_REPO_URL)
+                .branch("main")
+                .commitHash("codecontext456")
+                .author("testuser")
+                .priority(com.aicodereview.common.enums.TaskPriority.NORMAL)
+                .build());
 
-        // When: Set code_context with a large JSON string
+        // When: Both store the same large context
         String codeContextJson = "{\"rawDiff\":\"diff --git a/f.java b/f.java\\n\","
                 + "\"files\":[{\"path\":\"f.java\",\"changeType\":\"MODIFY\",\"language\":\"JAVA\"}],"
                 + "\"fileContents\":{\"f.java\":\"" + "x".repeat(5000) + "\"},"
                 + "\"statistics\":{\"totalFilesChanged\":1,\"totalLinesAdded\":5,\"totalLinesDeleted\":2},"
                 + "\"taskMeta\":{\"author\":\"dev\",\"branch\":\"main\",\"commitHash\":\"sha\",\"taskType\":\"PUSH\"}}";
-        savedTask.setCodeContext(codeContextJson);
-        reviewTaskRepository.save(savedTask);
-
-        // Then: Retrieved code_context matches exactly
-        ReviewTask retrieved = reviewTaskRepository.findById(savedTask.getId()).orElseThrow();
-        assertThat(retrieved.getCodeContext()).isEqualTo(codeContextJson);
-        assertThat(retrieved.getCodeContext()).contains("rawDiff");
-        assertThat(retrieved.getCodeContext()).contains("fileContents");
+        reviewTaskService.saveCodeContext(first.getId(), first.getCreatedAt(), codeContextJson);
+        reviewTaskService.saveCodeContext(second.getId(), second.getCreatedAt(), codeContextJson);
+
+        // Then: Both tasks reference one compressed blob, and the JSON reads back exactly
+        String hash = reviewTaskRepository.findById(first.getId()).orElseThrow().getCodeContextHash();
+        assertThat(hash).hasSize(64);
+        assertThat(reviewTaskRepository.findById(second.getId()).orElseThrow().getCodeContextHash()).isEqualTo(hash);
+
+        CodeContextBlob blob = codeContextBlobRepository.findById(hash).orElseThrow();
+        assertThat(blob.getCodec()).isEqualTo(CodeContextBlob.CODEC_ZSTD);
+        assertThat(blob.getRawSize()).isEqualTo(codeContextJson.length());
+        assertThat(blob.getData().length).isLessThan(codeContextJson.length());
+
+        assertThat(reviewTaskService.getCodeContext(first.getId())).contains(codeContextJson);
     }
 
     /**
      * Helper method to calculate HMAC-SHA256 signature for GitHub webhooks.
      */
+    private static CreateReviewTaskRequest bulkRequest(Project project, String commitHash) {
+        return pushRequest(project, "backfill", commitHash);
+    }
+
+    private static CreateReviewTaskRequest pushRequest(Project project, String branch, String commitHash) {
+        return CreateReviewTaskRequest.builder()
+                .projectId(project.getId())
+                .taskType(TaskType.PUSH)
+                .repoUrl(GITHUB_REPO_URL)
+                .branch(branch)
+                .commitHash(commitHash)
+                .author("testuser")
+                .build();
+    }
+
     private String calculateGitHubSignature(String payload, String secret) {
         try {
             Mac mac = Mac.getInstance("HmacSHA256");
@@ -0,0 +1,172 @@
+package com.aicodereview.api;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the review_task partitioning migrations (V16 to V19) against a table that already holds data.
+ * <p>
+ * The migrations are applied to a scratch schema, first up to V15, where tasks of an old month, of the
+ * current month and of a month beyond the prepared partitions are inserted together with their outbox
+ * entries. The rest of the migrations then run on those rows, and the test follows them through
+ * partition maintenance: the far-future row is moved out of the default partition (V18) and the old
+ * month is detached into the archive, with task ids staying registered (V19) throughout.
+ * </p>
+ * <p>
+ * All statements run on one connection whose search_path is the scratch schema, so the partition
+ * functions resolve their unqualified table names there and not in the application's schema.
+ * </p>
+ */
+@SpringBootTest(properties = "aicodereview.queue.outbox.relay-enabled=false")
+@DisplayName("ReviewTask Partition Migration Integration Tests")
+class ReviewTaskPartitionMigrationIntegrationTest {
+
+    private static final String SCHEMA = "review_task_migration_test";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SingleConnectionDataSource connection;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = new SingleConnectionDataSource(dataSource.getConnection(), true);
+        jdbc = new JdbcTemplate(connection);
+        jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbc.execute("CREATE SCHEMA " + SCHEMA);
+        jdbc.execute("SET search_path TO " + SCHEMA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("RESET search_path");
+        jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        connection.destroy();
+    }
+
+    @Test
+    @DisplayName("Partitioning an existing table should keep every row, id and outbox entry through maintenance")
+    void testPartitionMigrationsOnPopulatedTable() {
+        // Given: The schema before partitioning, holding an old, a current and a far-future task
+        migrateTo("15");
+        Long projectId = jdbc.queryForObject("INSERT INTO project (name, git_platform, repo_url, webhook_secret) "
+                + "VALUES ('migration', 'GitHub', 'https://github.com/test/migration', 'secret') RETURNING id", Long.class);
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth farFuture = current.plusMonths(6);
+        Long oldId = insertTask(projectId, "COMPLETED", Instant.parse("2020-01-15T00:00:00Z"));
+        Long currentId = insertTask(projectId, "PENDING", Instant.now());
+        Long futureId = insertTask(projectId, "PENDING", farFuture.atDay(10).atStartOfDay().toInstant(ZoneOffset.UTC));
+        insertOutboxEntry(currentId, projectId);
+        insertOutboxEntry(futureId, projectId);
+
+        // When: V16 partitions the table
+        migrateTo("16");
+
+        // Then: Every row is kept in the partition of its month; the far-future one lands in the default partition
+        assertThat(partitionOf(oldId)).isEqualTo("review_task_p202001");
+        assertThat(partitionOf(currentId)).isEqualTo(partitionName(current));
+        assertThat(partitionOf(futureId)).isEqualTo("review_task_default");
+
+        // When: The remaining migrations run
+        migrateTo(null);
+
+        // Then: All ids are registered and new tasks keep using the sequence
+        assertThat(registeredIds()).containsExactlyInAnyOrder(oldId, currentId, futureId);
+        Long newId = insertTask(projectId, "PENDING", Instant.now());
+        assertThat(newId).isGreaterThan(futureId);
+
+        // When: Partition maintenance reaches the far-future month
+        assertThat(jdbc.queryForObject("SELECT review_task_ensure_partitions(6)", Integer.class)).isEqualTo(3);
+
+        // Then: Its row moved out of the default partition without losing its id or its outbox entry
+        assertThat(partitionOf(futureId)).isEqualTo(partitionName(farFuture));
+        assertThat(registeredIds()).contains(futureId);
+        assertThat(outboxTaskIds()).containsExactlyInAnyOrder(currentId, futureId);
+
+        // When: The old month is archived (detached from review_task, attached to review_task_archive)
+        assertThat(jdbc.queryForObject("SELECT review_task_archive_partitions(?)", Integer.class,
+                Timestamp.from(Instant.parse("2020-02-01T00:00:00Z")))).isEqualTo(1);
+
+        // Then: The old task is only in the archive, and its id can still not be reused
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM review_task WHERE id = ?", Integer.class, oldId)).isZero();
+        assertThat(jdbc.queryForObject("SELECT tableoid::regclass::text FROM review_task_archive WHERE id = ?",
+                String.class, oldId)).isEqualTo("review_task_p202001");
+        assertThatThrownBy(() -> insertTaskWithId(oldId, projectId, Instant.now()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // When/Then: Deleting a task releases its id and removes its outbox entry
+        jdbc.update("DELETE FROM review_task WHERE id = ?", currentId);
+        assertThat(registeredIds()).doesNotContain(currentId);
+        assertThat(outboxTaskIds()).containsExactly(futureId);
+    }
+
+    private void migrateTo(String version) {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(connection)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration");
+        if (version != null) {
+            configuration.target(version);
+        }
+        configuration.load().migrate();
+        jdbc.execute("SET search_path TO " + SCHEMA);
+    }
+
+    private Long insertTask(Long projectId, String status, Instant createdAt) {
+        return jdbc.queryForObject("INSERT INTO review_task (project_id, task_type, repo_url, branch, commit_hash, "
+                        + "author, status, priority, created_at, updated_at) VALUES (?, 'PUSH', 'https://github.com/test/migration', "
+                        + "'main', md5(random()::text), 'tester', ?, 'NORMAL', ?, now()) RETURNING id",
+                Long.class, projectId, status, Timestamp.from(createdAt));
+    }
+
+    private void insertTaskWithId(Long id, Long projectId, Instant createdAt) {
+        jdbc.update("INSERT INTO review_task (id, project_id, task_type, repo_url, branch, commit_hash, author, "
+                        + "status, priority, created_at, updated_at) VALUES (?, ?, 'PUSH', 'https://github.com/test/migration', "
+                        + "'main', 'duplicate', 'tester', 'PENDING', 'NORMAL', ?, now())",
+                id, projectId, Timestamp.from(createdAt));
+    }
+
+    private void insertOutboxEntry(Long taskId, Long projectId) {
+        jdbc.update("INSERT INTO task_outbox (task_id, project_id, priority, task_created_at) "
+                + "SELECT id, ?, priority, created_at FROM review_task WHERE id = ?", projectId, taskId);
+    }
+
+    private String partitionOf(Long taskId) {
+        return jdbc.queryForObject("SELECT tableoid::regclass::text FROM review_task WHERE id = ?", String.class, taskId);
+    }
+
+    private List<Long> registeredIds() {
+        return jdbc.queryForList("SELECT id FROM review_task_id", Long.class);
+    }
+
+    private List<Long> outboxTaskIds() {
+        return jdbc.queryForList("SELECT task_id FROM task_outbox", Long.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "review_task_p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,239 @@
+package com.aicodereview.api;
+
+import com.aicodereview.common.dto.reviewtask.CreateReviewTaskRequest;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
+import com.aicodereview.repository.ProjectRepository;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.entity.Project;
+import com.aicodereview.service.CodeContextStore;
+import com.aicodereview.service.ReviewTaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the monthly partitioning of review_task (migrations V16, V18, V19 and V21).
+ * <p>
+ * The scheduled outbox relay is disabled so that outbox entries stay until the tests look at them.
+ * </p>
+ */
+@SpringBootTest(properties = "aicodereview.queue.outbox.relay-enabled=false")
+@DisplayName("ReviewTask Partitioning Integration Tests")
+class ReviewTaskPartitioningIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION = Pattern.compile("review_task_(p[0-9]{6}|default)");
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ReviewTaskRepository reviewTaskRepository;
+
+    @Autowired
+    private ReviewTaskService reviewTaskService;
+
+    @Autowired
+    private CodeContextStore codeContextStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        String name = "partitioning-" + UUID.randomUUID().toString().substring(0, 8);
+        project = projectRepository.save(Project.builder()
+                .name(name)
+                .enabled(true)
+                .gitPlatform("GitHub")
+                .repoUrl("https://github.com/test/" + name)
+                .webhookSecret("test-secret-123")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_outbox WHERE project_id = ?", project.getId());
+        jdbcTemplate.update("DELETE FROM review_task WHERE project_id = ?", project.getId());
+        projectRepository.deleteById(project.getId());
+    }
+
+    @Test
+    @DisplayName("Creating a month should move its rows out of the default partition and keep going")
+    void testEnsurePartitions_MovesDefaultPartitionRows() {
+        // Given: Every month up to three ahead exists, and two later months only have rows in the default partition
+        reviewTaskRepository.ensurePartitions(3);
+        YearMonth fourAhead = YearMonth.now(ZoneOffset.UTC).plusMonths(4);
+        YearMonth fiveAhead = fourAhead.plusMonths(1);
+        dropPartition(fourAhead);
+        dropPartition(fiveAhead);
+        Long early = insertTask(fourAhead.atDay(10).atStartOfDay().toInstant(ZoneOffset.UTC));
+        Long late = insertTask(fiveAhead.atDay(10).atStartOfDay().toInstant(ZoneOffset.UTC));
+        assertThat(partitionOf(early)).isEqualTo("review_task_default");
+        assertThat(partitionOf(late)).isEqualTo("review_task_default");
+
+        try {
+            // When: Partition maintenance reaches those months
+            int created = reviewTaskRepository.ensurePartitions(5);
+
+            // Then: Both months were created, each taking its rows along
+            assertThat(created).isEqualTo(2);
+            assertThat(partitionOf(early)).isEqualTo(partitionName(fourAhead));
+            assertThat(partitionOf(late)).isEqualTo(partitionName(fiveAhead));
+            assertThat(reviewTaskRepository.findById(early)).isPresent();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM review_task_default WHERE id IN (?, ?)",
+                    Integer.class, early, late)).isZero();
+        } finally {
+            jdbcTemplate.update("DELETE FROM review_task WHERE id IN (?, ?)", early, late);
+            dropPartition(fourAhead);
+            dropPartition(fiveAhead);
+        }
+    }
+
+    @Test
+    @DisplayName("Status updates should name the task's partition and touch no other")
+    void testStatusUpdates_PruneToTaskPartition() {
+        // Given: A new task; createdAt as returned on creation must match the stored value exactly
+        ReviewTaskDTO task = reviewTaskService.createTask(request("pruned"));
+
+        // When: The plan of a status update by (id, created_at) is inspected
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN UPDATE review_task SET status = 'COMPLETED' WHERE id = ? AND created_at = ? AND status = 'RUNNING'",
+                String.class, task.getId(), Timestamp.from(task.getCreatedAt())));
+
+        // Then: Only the partition of the task's month is scanned
+        String partition = partitionName(YearMonth.from(task.getCreatedAt().atZone(ZoneOffset.UTC)));
+        assertThat(PARTITION.matcher(plan).results().map(MatchResult::group).distinct()).containsExactly(partition);
+
+        // And: The worker's transitions find the row by the createdAt they were handed
+        reviewTaskService.markTaskStarted(task.getId());
+        reviewTaskService.saveCodeContext(task.getId(), task.getCreatedAt(), "{}");
+        assertThat(reviewTaskService.markTaskCompleted(task.getId(), task.getCreatedAt()).getStatus())
+                .isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("A task id should be unique across partitions, and deleting a task should remove its outbox entry")
+    void testTaskIdRegistry() {
+        // Given: A new task with its outbox entry
+        ReviewTaskDTO task = reviewTaskService.createTask(request("registered"));
+        assertThat(outboxTaskIds()).contains(task.getId());
+
+        // When/Then: The same id in another month is rejected, although (id, created_at) would be unique
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO review_task (id, project_id, task_type, repo_url, "
+                        + "branch, commit_hash, author, status, priority, created_at, updated_at) VALUES (?, ?, 'PUSH', ?, "
+                        + "'main', 'duplicate', 'testuser', 'COMPLETED', 'NORMAL', '2020-01-15T00:00:00Z', now())",
+                task.getId(), project.getId(), project.getRepoUrl()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // When: The task is deleted
+        reviewTaskRepository.deleteById(task.getId());
+
+        // Then: Its outbox entry went with it and its id is released
+        assertThat(outboxTaskIds()).doesNotContain(task.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM review_task_id WHERE id = ?",
+                Integer.class, task.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("The context sweep should delete only old blobs that neither live nor archived tasks refer to")
+    void testCodeContextSweep_KeepsReferencedBlobs() {
+        // Given: Old blobs referenced by a live task, by an archived task and by none, and a fresh unreferenced one
+        String live = insertBlob(Instant.now().minus(Duration.ofHours(2)));
+        String archived = insertBlob(Instant.now().minus(Duration.ofHours(2)));
+        String orphan = insertBlob(Instant.now().minus(Duration.ofHours(2)));
+        String fresh = insertBlob(Instant.now());
+        Long liveTask = insertTask(Instant.now());
+        jdbcTemplate.update("UPDATE review_task SET code_context_hash = ? WHERE id = ?", live, liveTask);
+        jdbcTemplate.execute("CREATE TABLE review_task_p200101 PARTITION OF review_task_archive "
+                + "FOR VALUES FROM ('2001-01-01T00:00:00Z') TO ('2001-02-01T00:00:00Z')");
+
+        try {
+            jdbcTemplate.update("INSERT INTO review_task_archive (id, project_id, task_type, repo_url, branch, commit_hash, "
+                            + "author, status, priority, created_at, updated_at, code_context_hash) VALUES (nextval('review_task_id_seq'), "
+                            + "?, 'PUSH', ?, 'main', 'archived', 'testuser', 'COMPLETED', 'NORMAL', '2001-01-15T00:00:00Z', now(), ?)",
+                    project.getId(), project.getRepoUrl(), archived);
+
+            // When: The sweep runs until no orphans are left
+            int deleted;
+            do {
+                deleted = codeContextStore.deleteOrphanedBlobs(100);
+            } while (deleted == 100);
+
+            // Then: Only the old unreferenced blob is gone
+            assertThat(jdbcTemplate.queryForList("SELECT content_hash FROM code_context_blob WHERE content_hash IN (?, ?, ?, ?)",
+                    String.class, live, archived, orphan, fresh)).containsExactlyInAnyOrder(live, archived, fresh);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE review_task_p200101");
+            jdbcTemplate.update("DELETE FROM review_task WHERE id = ?", liveTask);
+            jdbcTemplate.update("DELETE FROM code_context_blob WHERE content_hash IN (?, ?, ?, ?)", live, archived, orphan, fresh);
+        }
+    }
+
+    private CreateReviewTaskRequest request(String commitHash) {
+        return CreateReviewTaskRequest.builder()
+                .projectId(project.getId())
+                .taskType(TaskType.PUSH)
+                .repoUrl(project.getRepoUrl())
+                .branch("main")
+                .commitHash(commitHash)
+                .author("tester")
+                .build();
+    }
+
+    private List<Long> outboxTaskIds() {
+        return jdbcTemplate.queryForList("SELECT task_id FROM task_outbox", Long.class);
+    }
+
+    private Long insertTask(Instant createdAt) {
+        return jdbcTemplate.queryForObject("INSERT INTO review_task (project_id, task_type, repo_url, branch, "
+                        + "commit_hash, author, status, priority, created_at, updated_at) VALUES (?, 'PUSH', ?, 'main', ?, "
+                        + "'testuser', 'COMPLETED', 'NORMAL', ?, now()) RETURNING id",
+                Long.class, project.getId(), project.getRepoUrl(), UUID.randomUUID().toString(),
+                Timestamp.from(createdAt));
+    }
+
+    private String insertBlob(Instant storedAt) {
+        String hash = UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.update("INSERT INTO code_context_blob (content_hash, codec, raw_size, data, created_at) "
+                + "VALUES (?, 'none', 2, convert_to('{}', 'UTF8'), ?)", hash, Timestamp.from(storedAt));
+        return hash;
+    }
+
+    private String partitionOf(Long taskId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM review_task WHERE id = ?",
+                String.class, taskId);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "review_task_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+}
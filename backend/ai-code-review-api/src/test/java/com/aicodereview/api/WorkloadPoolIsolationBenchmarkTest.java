@@ -0,0 +1,171 @@
+package com.aicodereview.api;
+
+import com.aicodereview.repository.ProjectRepository;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.config.DataSourceWorkload;
+import com.aicodereview.repository.entity.Project;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for the workload connection pools: webhook latency while the worker pool is saturated.
+ * <p>
+ * Requires Docker PostgreSQL and is skipped unless run with {@code -Dpool.benchmark=true}, e.g.
+ * {@code mvn -pl ai-code-review-api test -Dtest=WorkloadPoolIsolationBenchmarkTest -Dpool.benchmark=true}.
+ * Tune with {@code -Dpool.benchmark.requests} (default 500).
+ * </p>
+ * <p>
+ * Sends GitLab push webhooks one after another and records their latency, first on an idle system and
+ * then while {@value #SATURATING_THREADS} worker threads hold every connection of the 4-connection worker
+ * pool in long transactions, with more waiting for one. With a single shared pool the webhooks would queue
+ * behind those transactions; with workload pools their p99 must stay within twice the idle p99 (plus
+ * {@value #P99_SLACK_MILLIS}ms of noise).
+ * </p>
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "aicodereview.datasource.pools.enabled=true",
+        "aicodereview.datasource.pools.worker.maximum-pool-size=4",
+        "aicodereview.datasource.pools.worker.connection-timeout=60000",
+        "aicodereview.datasource.pools.webhook.maximum-pool-size=4"
+})
+@EnabledIfSystemProperty(named = "pool.benchmark", matches = "true")
+@DisplayName("Workload Pool Isolation Benchmark")
+class WorkloadPoolIsolationBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("pool.benchmark.requests", 500);
+    private static final int SATURATING_THREADS = 16;
+    private static final long P99_SLACK_MILLIS = 20;
+    private static final String REPO_URL = "https://gitlab.com/benchmark/workload-pools";
+    private static final String TOKEN = "benchmark-gitlab-token";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ReviewTaskRepository reviewTaskRepository;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        projectRepository.save(Project.builder()
+                .name("Workload Pool Benchmark")
+                .enabled(true)
+                .gitPlatform("gitlab")
+                .repoUrl(REPO_URL)
+                .webhookSecret(TOKEN)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reviewTaskRepository.deleteAllInBatch(reviewTaskRepository.findByRepoUrl(REPO_URL));
+        projectRepository.findAll().stream()
+                .filter(p -> REPO_URL.equals(p.getRepoUrl()))
+                .forEach(projectRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Webhook p99 latency is unaffected by a saturated worker pool")
+    void webhookLatencyUnderWorkerSaturation() throws Exception {
+        sendWebhooks("warmup", REQUESTS / 10);
+        long idleP99 = p99(sendWebhooks("idle", REQUESTS));
+
+        AtomicBoolean saturating = new AtomicBoolean(true);
+        ExecutorService workers = Executors.newFixedThreadPool(SATURATING_THREADS);
+        for (int i = 0; i < SATURATING_THREADS; i++) {
+            workers.execute(DataSourceWorkload.WORKER.wrap(() -> {
+                while (saturating.get()) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.execute("SELECT pg_sleep(0.2)"));
+                }
+            }));
+        }
+        long saturatedP99;
+        try {
+            Thread.sleep(Duration.ofSeconds(1).toMillis());
+            assertThat(pending("worker")).as("worker threads waiting for a connection").isPositive();
+            saturatedP99 = p99(sendWebhooks("saturated", REQUESTS));
+        } finally {
+            saturating.set(false);
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        log.info("Webhook p99 over {} requests: idle {}ms, worker pool saturated {}ms",
+                REQUESTS, idleP99, saturatedP99);
+        assertThat(saturatedP99).isLessThanOrEqualTo(idleP99 * 2 + P99_SLACK_MILLIS);
+    }
+
+    /**
+     * Sends the webhooks sequentially and returns their latencies in milliseconds.
+     */
+    private long[] sendWebhooks(String round, int count) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Gitlab-Token", TOKEN);
+
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            String payload = String.format(
+                    "{\"object_kind\":\"push\",\"ref\":\"refs/heads/bench-%s-%d\",\"after\":\"%s%d\","
+                            + "\"project\":{\"name\":\"workload-pools\",\"path_with_namespace\":\"benchmark/workload-pools\","
+                            + "\"web_url\":\"%s\"},\"user_username\":\"benchmark\"}",
+                    round, i, round, i, REPO_URL);
+            long start = System.nanoTime();
+            ResponseEntity<String> response = restTemplate.postForEntity("/api/webhook/gitlab",
+                    new HttpEntity<>(payload, headers), String.class);
+            latencies[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        }
+        return latencies;
+    }
+
+    private double pending(String workload) {
+        return meterRegistry.get("hikaricp.connections.pending")
+                .tag("pool", "AiCodeReviewHikariCP-" + workload)
+                .gauge().value();
+    }
+
+    private static long p99(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+}
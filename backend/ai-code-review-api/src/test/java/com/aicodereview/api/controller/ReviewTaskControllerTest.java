@@ -0,0 +1,120 @@
+package com.aicodereview.api.controller;
+
+import com.aicodereview.common.dto.CursorPage;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskSummaryDTO;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.service.ReviewTaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for ReviewTaskController
+ */
+@WebMvcTest(ReviewTaskController.class)
+@DisplayName("ReviewTaskController Unit Tests")
+class ReviewTaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReviewTaskService reviewTaskService;
+
+    @Test
+    @DisplayName("GET /api/v1/review-tasks - should return the page and the next cursor")
+    void testListTasks() throws Exception {
+        ReviewTaskSummaryDTO task = ReviewTaskSummaryDTO.builder()
+                .id(42L)
+                .projectId(1L)
+                .status(TaskStatus.COMPLETED)
+                .createdAt(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+        when(reviewTaskService.listTasks(1L, TaskStatus.COMPLETED, "abc", 20))
+                .thenReturn(new CursorPage<>(List.of(task), "next"));
+
+        mockMvc.perform(get("/api/v1/review-tasks")
+                        .param("projectId", "1")
+                        .param("status", "COMPLETED")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.items[0].id").value(42))
+                .andExpect(jsonPath("$.data.items[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/review-tasks - should default the page size")
+    void testListTasks_DefaultLimit() throws Exception {
+        when(reviewTaskService.listTasks(isNull(), eq(TaskStatus.PENDING), isNull(), eq(50)))
+                .thenReturn(CursorPage.last(List.of()));
+
+        mockMvc.perform(get("/api/v1/review-tasks").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items").isEmpty())
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/review-tasks - invalid request should return 400")
+    void testListTasks_BadRequest() throws Exception {
+        when(reviewTaskService.listTasks(any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("projectId or status is required"));
+
+        mockMvc.perform(get("/api/v1/review-tasks"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/review-tasks/batch - should create the tasks and return 201")
+    void testCreateTasks() throws Exception {
+        when(reviewTaskService.createTasks(anyList())).thenReturn(List.of(
+                ReviewTaskDTO.builder().id(7L).commitHash("abc123").status(TaskStatus.PENDING).build()));
+
+        mockMvc.perform(post("/api/v1/review-tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tasks": [{"projectId": 1, "taskType": "PUSH",
+                                            "repoUrl": "https://github.com/org/repo", "branch": "main",
+                                            "commitHash": "abc123", "author": "dev"}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].id").value(7))
+                .andExpect(jsonPath("$.data[0].commitHash").value("abc123"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/review-tasks/batch - an invalid entry should reject the whole batch with 422")
+    void testCreateTasks_InvalidEntry() throws Exception {
+        mockMvc.perform(post("/api/v1/review-tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tasks": [{"projectId": 1, "taskType": "PUSH",
+                                            "repoUrl": "https://github.com/org/repo", "branch": "main",
+                                            "author": "dev"}]}
+                                """))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verifyNoInteractions(reviewTaskService);
+    }
+}
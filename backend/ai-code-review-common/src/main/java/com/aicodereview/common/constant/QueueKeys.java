@@ -1,12 +1,31 @@
 package com.aicodereview.common.constant;
 
+import com.aicodereview.common.enums.TaskPriority;
+
+import java.util.Locale;
+
 /**
  * Redis key constants for queue operations.
  * <p>
  * Key naming convention follows architecture.md:
  * - Task Queue: {@code task:queue} (Redis Sorted Set)
- * - Processing Lock: {@code task:lock:{taskId}} (Redis String with TTL)
- * - Retry Queue: {@code task:retry:queue} (for future use)
+ * - Processing Lock: {@code task:lock:{taskId}} (Redis String with TTL, value = owning worker id)
+ * - In-flight Set: {@code task:inflight:{workerId}} (Redis Set of task ids claimed by a worker)
+ * - Queue Signal: {@code task:queue:signal} (Redis List of wake-up tokens for idle workers)
+ * - Retry Queue: {@code task:retry:queue} (Redis Sorted Set of delayed retries, score = ready time)
+ * </p>
+ * <p>
+ * Fair-share mode (per-project sub-queues):
+ * - Project Queue: {@code task:queue:{projectId}} (Redis Sorted Set, same score formula as {@code task:queue})
+ * - Dispatch Order: {@code task:queue:projects} (Redis Sorted Set of projects with queued tasks)
+ * - Dispatch Turn: {@code task:queue:turn} (Redis counter ordering projects round-robin)
+ * - Running Set: {@code task:running:{projectId}} (Redis Sorted Set of claimed task ids, score = lease expiry)
+ * - Task Owner: {@code task:owner} (Redis Hash of claimed task id → project id)
+ * </p>
+ * <p>
+ * Stream mode ({@code aicodereview.queue.backend=stream}):
+ * - Priority Stream: {@code task:stream:{priority}} (Redis Stream per {@code TaskPriority}, consumer group {@code review-workers})
+ * - Stream Claims: {@code task:stream:claims} (Redis Hash of claimed task id → "{stream} {entryId} {workerId}")
  * </p>
  *
  * @since 2.6.0
@@ -23,9 +42,39 @@ public final class QueueKeys {
     /** Prefix for task processing lock keys (append taskId) */
     public static final String TASK_LOCK_PREFIX = "task:lock:";
 
-    /** Redis Sorted Set key for the retry queue (Story 2.7) */
+    /** Prefix for per-worker in-flight sets (append workerId) */
+    public static final String TASK_INFLIGHT_PREFIX = "task:inflight:";
+
+    /** Redis List key idle workers block on; one token is pushed per enqueue */
+    public static final String TASK_QUEUE_SIGNAL = "task:queue:signal";
+
+    /** Redis Sorted Set key for delayed retries, scored by ready time (Story 2.7) */
     public static final String TASK_RETRY_QUEUE = "task:retry:queue";
 
+    /** Prefix for per-project sub-queues in fair-share mode (append projectId) */
+    public static final String TASK_PROJECT_QUEUE_PREFIX = "task:queue:";
+
+    /** Redis Sorted Set of projects with queued tasks, in dispatch order (fair-share mode) */
+    public static final String TASK_QUEUE_PROJECTS = "task:queue:projects";
+
+    /** Redis counter handing out round-robin turns to projects (fair-share mode) */
+    public static final String TASK_QUEUE_TURN = "task:queue:turn";
+
+    /** Prefix for per-project sets of running tasks, scored by lease expiry (append projectId) */
+    public static final String TASK_RUNNING_PREFIX = "task:running:";
+
+    /** Redis Hash mapping each claimed task id to its project id */
+    public static final String TASK_OWNER = "task:owner";
+
+    /** Prefix for per-priority task streams (append lower-case priority name) */
+    public static final String TASK_STREAM_PREFIX = "task:stream:";
+
+    /** Consumer group shared by all workers reading the task streams */
+    public static final String TASK_STREAM_GROUP = "review-workers";
+
+    /** Redis Hash mapping each claimed task id to its stream entry and owning worker (stream mode) */
+    public static final String TASK_STREAM_CLAIMS = "task:stream:claims";
+
     /**
      * Generates the full Redis key for a task processing lock.
      *
@@ -38,4 +87,43 @@ public final class QueueKeys {
         }
         return TASK_LOCK_PREFIX + taskId;
     }
+
+    /**
+     * Generates the full Redis key for a worker's in-flight set.
+     *
+     * @param workerId the worker ID
+     * @return the in-flight key in format {@code task:inflight:{workerId}}
+     */
+    public static String taskInflightKey(String workerId) {
+        if (workerId == null) {
+            throw new IllegalArgumentException("workerId must not be null");
+        }
+        return TASK_INFLIGHT_PREFIX + workerId;
+    }
+
+    /**
+     * Generates the full Redis key for a project's sub-queue in fair-share mode.
+     *
+     * @param projectId the project ID
+     * @return the sub-queue key in format {@code task:queue:{projectId}}
+     */
+    public static String projectQueueKey(Long projectId) {
+        if (projectId == null) {
+            throw new IllegalArgumentException("projectId must not be null");
+        }
+        return TASK_PROJECT_QUEUE_PREFIX + projectId;
+    }
+
+    /**
+     * Generates the full Redis key for the task stream of a priority level in stream mode.
+     *
+     * @param priority the task priority
+     * @return the stream key in format {@code task:stream:{priority}}, e.g. {@code task:stream:high}
+     */
+    public static String taskStreamKey(TaskPriority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("priority must not be null");
+        }
+        return TASK_STREAM_PREFIX + priority.name().toLowerCase(Locale.ROOT);
+    }
 }
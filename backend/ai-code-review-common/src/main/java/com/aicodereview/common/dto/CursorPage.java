@@ -0,0 +1,31 @@
+package com.aicodereview.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * <p>
+ * {@code nextCursor} is an opaque token to pass back as the {@code cursor} request parameter;
+ * it is null on the last page.
+ * </p>
+ *
+ * @param <T> The type of the listed items
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Create the last page of a listing
+     */
+    public static <T> CursorPage<T> last(List<T> items) {
+        return new CursorPage<>(items, null);
+    }
+}
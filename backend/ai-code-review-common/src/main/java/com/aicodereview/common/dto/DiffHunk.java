@@ -0,0 +1,21 @@
+package com.aicodereview.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Line ranges of one hunk of a file's diff, from its {@code @@ -oldStart,oldLines +newStart,newLines @@} header.
+ * Lines are 1-based; a range with no lines starts at the line after which lines were added or removed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiffHunk {
+    private int oldStart;
+    private int oldLines;
+    private int newStart;
+    private int newLines;
+}
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Metadata about a single file's changes in a Git diff.
  */
@@ -22,4 +24,5 @@ public class FileDiffInfo {
     private boolean isBinary;
     private int linesAdded;
     private int linesDeleted;
+    private List<DiffHunk> hunks;
 }
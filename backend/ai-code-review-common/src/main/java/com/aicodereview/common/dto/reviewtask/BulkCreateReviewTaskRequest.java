@@ -0,0 +1,36 @@
+package com.aicodereview.common.dto.reviewtask;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many review tasks at once (e.g. a repository history backfill).
+ * <p>
+ * Each entry is validated like a single {@link CreateReviewTaskRequest}.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateReviewTaskRequest {
+
+    /** Largest number of tasks accepted in one request */
+    public static final int MAX_TASKS = 10_000;
+
+    /**
+     * Tasks to create, in order.
+     */
+    @NotEmpty(message = "Tasks are required")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks can be created per request")
+    private List<@Valid CreateReviewTaskRequest> tasks;
+}
@@ -0,0 +1,23 @@
+package com.aicodereview.common.dto.reviewtask;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one DB ↔ Redis queue reconciliation pass.
+ * Drift is a PENDING task that is neither queued, awaiting retry, nor locked by a worker.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueReconciliationResult {
+    /** PENDING tasks compared against Redis */
+    private long scanned;
+    /** PENDING tasks found missing from Redis */
+    private long driftDetected;
+    /** Missing tasks successfully re-enqueued */
+    private long driftRepaired;
+}
@@ -55,6 +55,11 @@ public class ReviewTaskDTO {
      */
     private String commitHash;
 
+    /**
+     * Start of the reviewed commit range, exclusive (nullable; null reviews commitHash alone).
+     */
+    private String baseCommitHash;
+
     /**
      * PR/MR number (nullable for PUSH tasks).
      */
@@ -100,6 +105,11 @@ public class ReviewTaskDTO {
      */
     private String errorMessage;
 
+    /**
+     * ID of the newer task this task was folded into (nullable; only set when SUPERSEDED).
+     */
+    private Long supersededBy;
+
     /**
      * Task creation timestamp.
      */
@@ -0,0 +1,102 @@
+package com.aicodereview.common.dto.reviewtask;
+
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Listing view of a ReviewTask.
+ * <p>
+ * Carries the fields needed to render a task list; the PR/MR description, error message and
+ * review context are only returned by the single-task lookup ({@link ReviewTaskDTO}).
+ * </p>
+ *
+ * @since 2.8.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewTaskSummaryDTO {
+
+    /**
+     * Unique task identifier.
+     */
+    private Long id;
+
+    /**
+     * Associated project ID.
+     */
+    private Long projectId;
+
+    /**
+     * Task type (PUSH, PULL_REQUEST, MERGE_REQUEST).
+     */
+    private TaskType taskType;
+
+    /**
+     * Branch name.
+     */
+    private String branch;
+
+    /**
+     * Git commit SHA hash.
+     */
+    private String commitHash;
+
+    /**
+     * PR/MR number (nullable for PUSH tasks).
+     */
+    private Integer prNumber;
+
+    /**
+     * PR/MR title (nullable for PUSH tasks).
+     */
+    private String prTitle;
+
+    /**
+     * Commit author or PR/MR creator.
+     */
+    private String author;
+
+    /**
+     * Current task status.
+     */
+    private TaskStatus status;
+
+    /**
+     * Task priority for queue ordering.
+     */
+    private TaskPriority priority;
+
+    /**
+     * Number of retry attempts made.
+     */
+    private Integer retryCount;
+
+    /**
+     * ID of the newer task this task was folded into (nullable; only set when SUPERSEDED).
+     */
+    private Long supersededBy;
+
+    /**
+     * Task creation timestamp.
+     */
+    private Instant createdAt;
+
+    /**
+     * Task start timestamp (nullable).
+     */
+    private Instant startedAt;
+
+    /**
+     * Task completion timestamp (nullable).
+     */
+    private Instant completedAt;
+}
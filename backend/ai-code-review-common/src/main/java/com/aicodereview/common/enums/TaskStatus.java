@@ -3,7 +3,7 @@ package com.aicodereview.common.enums;
 /**
  * Task status enum representing the current lifecycle state of a code review task.
  * <p>
- * Task lifecycle: PENDING → RUNNING → (COMPLETED | FAILED)
+ * Task lifecycle: PENDING → RUNNING → (COMPLETED | FAILED), or PENDING → SUPERSEDED
  * </p>
  * <p>
  * Status transitions:
@@ -11,6 +11,7 @@ package com.aicodereview.common.enums;
  * - RUNNING: Task picked up by worker and actively being processed
  * - COMPLETED: Task successfully finished without errors
  * - FAILED: Task failed after all retry attempts exhausted
+ * - SUPERSEDED: Task was folded into a newer task for the same branch before it ran
  * </p>
  *
  * @since 2.5.0
@@ -39,7 +40,13 @@ public enum TaskStatus {
      * Task failed after all retry attempts.
      * Set when worker calls markTaskFailed() and retry_count >= max_retries.
      */
-    FAILED("Failed after retries");
+    FAILED("Failed after retries"),
+
+    /**
+     * Task was never run because a newer task for the same branch (or PR/MR) covers its commits.
+     * Set by createTask() when coalescing; the newer task reviews the combined commit range.
+     */
+    SUPERSEDED("Folded into a newer task");
 
     private final String description;
 
@@ -55,4 +62,14 @@ public enum TaskStatus {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Whether the task is still in the working set (PENDING or RUNNING).
+     * Only active tasks are covered by the partial indexes of the queue paths.
+     *
+     * @return true for PENDING and RUNNING
+     */
+    public boolean isActive() {
+        return this == PENDING || this == RUNNING;
+    }
 }
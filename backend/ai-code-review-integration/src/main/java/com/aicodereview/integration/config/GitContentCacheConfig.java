@@ -0,0 +1,49 @@
+package com.aicodereview.integration.config;
+
+import com.aicodereview.integration.git.CachingGitPlatformClient;
+import com.aicodereview.integration.git.GitContentCache;
+import com.aicodereview.integration.git.GitPlatformClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for the cache of Git file contents and diffs.
+ * <p>
+ * Every {@link GitPlatformClient} bean is wrapped in a {@link CachingGitPlatformClient}, so retries and
+ * later reviews touching the same commits do not download the same content again. Set
+ * {@code git.cache.enabled=false} to call the platforms directly.
+ * </p>
+ */
+@Configuration
+public class GitContentCacheConfig {
+
+    @Bean
+    public GitContentCache gitContentCache(
+            @Value("${git.cache.memory-max-bytes:268435456}") long maxMemoryBytes,
+            @Value("${git.cache.disk-directory:}") String diskDirectory,
+            MeterRegistry meterRegistry) {
+        return new GitContentCache(maxMemoryBytes,
+                diskDirectory.isBlank() ? null : Path.of(diskDirectory), meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor cachingGitPlatformClientPostProcessor(
+            @Value("${git.cache.enabled:true}") boolean enabled,
+            ObjectProvider<GitContentCache> cache) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof GitPlatformClient client && !(bean instanceof CachingGitPlatformClient)) {
+                    return new CachingGitPlatformClient(client, cache.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.aicodereview.integration.git;
+
+import com.aicodereview.common.enums.GitPlatform;
+
+import java.util.regex.Pattern;
+
+/**
+ * GitPlatformClient decorator that serves file contents and diffs at full commit SHAs from a
+ * {@link GitContentCache}.
+ * <p>
+ * Only requests whose refs are all full SHA-1 or SHA-256 commit hashes are cached, as those are the only
+ * refs whose content cannot change; branch names, tags and abbreviated hashes always go to the platform.
+ * </p>
+ */
+public class CachingGitPlatformClient implements GitPlatformClient {
+
+    private static final Pattern FULL_COMMIT_SHA = Pattern.compile("[0-9a-fA-F]{40}|[0-9a-fA-F]{64}");
+
+    private final GitPlatformClient delegate;
+    private final GitContentCache cache;
+
+    public CachingGitPlatformClient(GitPlatformClient delegate, GitContentCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getFileContent(String repoUrl, String commitHash, String filePath) {
+        if (!isCommitSha(commitHash)) {
+            return delegate.getFileContent(repoUrl, commitHash, filePath);
+        }
+        return cache.get(GitContentCache.Kind.FILE, "file|" + repoUrl + "|" + commitHash.toLowerCase() + "|" + filePath,
+                () -> delegate.getFileContent(repoUrl, commitHash, filePath));
+    }
+
+    @Override
+    public String getDiff(String repoUrl, String commitHash) {
+        if (!isCommitSha(commitHash)) {
+            return delegate.getDiff(repoUrl, commitHash);
+        }
+        return cache.get(GitContentCache.Kind.DIFF, "diff|" + repoUrl + "|" + commitHash.toLowerCase(),
+                () -> delegate.getDiff(repoUrl, commitHash));
+    }
+
+    @Override
+    public String getDiff(String repoUrl, String baseBranch, String headBranch) {
+        if (!isCommitSha(baseBranch) || !isCommitSha(headBranch)) {
+            return delegate.getDiff(repoUrl, baseBranch, headBranch);
+        }
+        return cache.get(GitContentCache.Kind.DIFF, "diff|" + repoUrl + "|" + baseBranch.toLowerCase() + "..." + headBranch.toLowerCase(),
+                () -> delegate.getDiff(repoUrl, baseBranch, headBranch));
+    }
+
+    @Override
+    public GitPlatform getPlatform() {
+        return delegate.getPlatform();
+    }
+
+    private static boolean isCommitSha(String ref) {
+        return ref != null && FULL_COMMIT_SHA.matcher(ref).matches();
+    }
+}
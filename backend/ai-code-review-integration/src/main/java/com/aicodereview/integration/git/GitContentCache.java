@@ -0,0 +1,166 @@
+package com.aicodereview.integration.git;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for Git content addressed by immutable commit SHAs.
+ * <p>
+ * Entries never expire: a file or diff at a given commit cannot change. The in-process tier is a
+ * Caffeine cache bounded by an estimate of its heap footprint in bytes; the optional disk tier keeps
+ * entries across restarts and after they are evicted from memory. A disk tier that cannot be read or
+ * written is treated as a miss, so it never fails a lookup.
+ * </p>
+ * <p>
+ * Lookups are counted as {@code git_content_cache_lookups_total} (tags {@code kind} and
+ * {@code result}: {@code memory_hit}, {@code disk_hit} or {@code miss}), from which the hit ratio of
+ * each tier follows; {@code git_content_cache_memory_bytes} reports the weighted size of the memory tier.
+ * </p>
+ */
+@Slf4j
+public class GitContentCache {
+
+    /**
+     * What is cached; the lower-case name is the {@code kind} tag of the lookup counter.
+     */
+    public enum Kind {
+        FILE,
+        DIFF
+    }
+
+    private final Cache<String, String> memory;
+    private final Path diskDirectory;
+    private final Map<Kind, Lookups> lookups = new EnumMap<>(Kind.class);
+
+    /**
+     * @param maxMemoryBytes bound of the in-process tier, in estimated bytes
+     * @param diskDirectory  directory of the disk tier, or {@code null} to keep entries in memory only
+     */
+    public GitContentCache(long maxMemoryBytes, Path diskDirectory, MeterRegistry meterRegistry) {
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryBytes)
+                .weigher((String key, String value) -> weigh(key, value))
+                // Writes only follow a platform round trip, so evicting on the caller costs nothing noticeable
+                .executor(Runnable::run)
+                .build();
+        this.diskDirectory = diskDirectory;
+        for (Kind kind : Kind.values()) {
+            lookups.put(kind, new Lookups(
+                    lookupCounter(meterRegistry, kind, "memory_hit"),
+                    lookupCounter(meterRegistry, kind, "disk_hit"),
+                    lookupCounter(meterRegistry, kind, "miss")));
+        }
+        Gauge.builder("git_content_cache_memory_bytes", memory,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Estimated size of the in-process Git content cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss. Null values are returned
+     * but not cached.
+     *
+     * @param kind   what is cached, used as metric tag
+     * @param key    key that identifies the content, including the commit SHA(s) it was read at
+     * @param loader loads the value from the Git platform
+     */
+    public String get(Kind kind, String key, Supplier<String> loader) {
+        Lookups counters = lookups.get(kind);
+        String value = memory.getIfPresent(key);
+        if (value != null) {
+            counters.memoryHit().increment();
+            return value;
+        }
+        value = readDisk(key);
+        if (value != null) {
+            counters.diskHit().increment();
+            memory.put(key, value);
+            return value;
+        }
+        counters.miss().increment();
+        value = loader.get();
+        if (value != null) {
+            memory.put(key, value);
+            writeDisk(key, value);
+        }
+        return value;
+    }
+
+    private String readDisk(String key) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        try {
+            return Files.readString(diskPath(key), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read Git content cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, String value) {
+        if (diskDirectory == null) {
+            return;
+        }
+        Path target = diskPath(key);
+        try {
+            Files.createDirectories(target.getParent());
+            // Write aside and move, so concurrent readers never see a partial entry
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Files.writeString(temp, value, StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write Git content cache entry: {}", e.getMessage());
+        }
+    }
+
+    private Path diskPath(String key) {
+        String hash = sha256(key);
+        return diskDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, Kind kind, String result) {
+        return Counter.builder("git_content_cache_lookups_total")
+                .description("Git content cache lookups by tier that served them")
+                .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static int weigh(String key, String value) {
+        // Two bytes per char is the upper bound of a String's backing array
+        return (int) Math.min(Integer.MAX_VALUE, 2L * (key.length() + value.length()));
+    }
+
+    private static String sha256(String key) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Lookups(Counter memoryHit, Counter diskHit, Counter miss) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.aicodereview.integration.git;
+
+import com.aicodereview.common.enums.GitPlatform;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CachingGitPlatformClient Tests")
+class CachingGitPlatformClientTest {
+
+    private static final String REPO_URL = "https://github.com/owner/repo";
+    private static final String SHA = "0123456789abcdef0123456789abcdef01234567";
+    private static final String BASE_SHA = "fedcba9876543210fedcba9876543210fedcba98";
+
+    private GitPlatformClient delegate;
+    private CachingGitPlatformClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(GitPlatformClient.class);
+        client = new CachingGitPlatformClient(delegate,
+                new GitContentCache(1024 * 1024, null, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should fetch file content at a commit SHA only once")
+    void shouldCacheFileContentAtSha() {
+        when(delegate.getFileContent(REPO_URL, SHA, "src/App.java")).thenReturn("class App {}");
+
+        assertThat(client.getFileContent(REPO_URL, SHA, "src/App.java")).isEqualTo("class App {}");
+        assertThat(client.getFileContent(REPO_URL, SHA, "src/App.java")).isEqualTo("class App {}");
+
+        verify(delegate, times(1)).getFileContent(REPO_URL, SHA, "src/App.java");
+    }
+
+    @Test
+    @DisplayName("Should keep files at different commits apart")
+    void shouldKeyByCommit() {
+        when(delegate.getFileContent(REPO_URL, SHA, "a.java")).thenReturn("new");
+        when(delegate.getFileContent(REPO_URL, BASE_SHA, "a.java")).thenReturn("old");
+
+        assertThat(client.getFileContent(REPO_URL, SHA, "a.java")).isEqualTo("new");
+        assertThat(client.getFileContent(REPO_URL, BASE_SHA, "a.java")).isEqualTo("old");
+    }
+
+    @Test
+    @DisplayName("Should cache diffs of a commit and of a commit range")
+    void shouldCacheDiffs() {
+        when(delegate.getDiff(REPO_URL, SHA)).thenReturn("diff");
+        when(delegate.getDiff(REPO_URL, BASE_SHA, SHA)).thenReturn("range diff");
+
+        client.getDiff(REPO_URL, SHA);
+        client.getDiff(REPO_URL, SHA);
+        client.getDiff(REPO_URL, BASE_SHA, SHA);
+        assertThat(client.getDiff(REPO_URL, BASE_SHA, SHA)).isEqualTo("range diff");
+
+        verify(delegate, times(1)).getDiff(REPO_URL, SHA);
+        verify(delegate, times(1)).getDiff(REPO_URL, BASE_SHA, SHA);
+    }
+
+    @Test
+    @DisplayName("Should always call the platform for branches and abbreviated hashes")
+    void shouldNotCacheMutableRefs() {
+        when(delegate.getDiff(REPO_URL, "main", "feature")).thenReturn("diff");
+        when(delegate.getFileContent(REPO_URL, "abc123", "a.java")).thenReturn("content");
+
+        client.getDiff(REPO_URL, "main", "feature");
+        client.getDiff(REPO_URL, "main", "feature");
+        client.getFileContent(REPO_URL, "abc123", "a.java");
+        client.getFileContent(REPO_URL, "abc123", "a.java");
+
+        verify(delegate, times(2)).getDiff(REPO_URL, "main", "feature");
+        verify(delegate, times(2)).getFileContent(REPO_URL, "abc123", "a.java");
+    }
+
+    @Test
+    @DisplayName("Should report the platform of the wrapped client")
+    void shouldDelegatePlatform() {
+        when(delegate.getPlatform()).thenReturn(GitPlatform.GITLAB);
+
+        assertThat(client.getPlatform()).isEqualTo(GitPlatform.GITLAB);
+    }
+}
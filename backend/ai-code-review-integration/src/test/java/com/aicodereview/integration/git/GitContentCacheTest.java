@@ -0,0 +1,91 @@
+package com.aicodereview.integration.git;
+
+import com.aicodereview.integration.git.GitContentCache.Kind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GitContentCache Tests")
+class GitContentCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<String> loader(String value) {
+        return () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("git_content_cache_lookups_total", "kind", "file", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve repeated lookups from memory")
+    void shouldServeFromMemory() {
+        GitContentCache cache = new GitContentCache(1024 * 1024, null, meterRegistry);
+
+        assertThat(cache.get(Kind.FILE, "k", loader("content"))).isEqualTo("content");
+        assertThat(cache.get(Kind.FILE, "k", loader("other"))).isEqualTo("content");
+
+        assertThat(loads).hasValue(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(lookups("memory_hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache null values")
+    void shouldNotCacheNull() {
+        GitContentCache cache = new GitContentCache(1024 * 1024, null, meterRegistry);
+
+        assertThat(cache.get(Kind.FILE, "k", loader(null))).isNull();
+        assertThat(cache.get(Kind.FILE, "k", loader("content"))).isEqualTo("content");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should serve entries from disk across cache instances")
+    void shouldServeFromDisk(@TempDir Path directory) {
+        new GitContentCache(1024 * 1024, directory, meterRegistry).get(Kind.FILE, "k", loader("content"));
+
+        GitContentCache restarted = new GitContentCache(1024 * 1024, directory, meterRegistry);
+
+        assertThat(restarted.get(Kind.FILE, "k", loader("other"))).isEqualTo("content");
+        assertThat(loads).hasValue(1);
+        assertThat(lookups("disk_hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should register every lookup counter up front")
+    void shouldRegisterCountersUpFront() {
+        new GitContentCache(1024, null, meterRegistry);
+
+        assertThat(meterRegistry.find("git_content_cache_lookups_total").counters()).hasSize(6)
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+        assertThat(meterRegistry.find("git_content_cache_lookups_total").tag("kind", "diff").counters())
+                .extracting(counter -> counter.getId().getTag("result"))
+                .containsExactlyInAnyOrder("memory_hit", "disk_hit", "miss");
+    }
+
+    @Test
+    @DisplayName("Should bound the memory tier by estimated bytes")
+    void shouldBoundMemoryByBytes() {
+        GitContentCache cache = new GitContentCache(1000, null, meterRegistry);
+
+        for (int i = 0; i < 20; i++) {
+            cache.get(Kind.FILE, "key-" + i, loader("x".repeat(100)));
+        }
+
+        assertThat(meterRegistry.get("git_content_cache_memory_bytes").gauge().value()).isLessThanOrEqualTo(1000);
+    }
+}
@@ -0,0 +1,77 @@
+package com.aicodereview.repository;
+
+import com.aicodereview.repository.entity.CodeContextBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository for content-addressed {@link CodeContextBlob} rows.
+ *
+ * @since 2.8.0
+ */
+@Repository
+public interface CodeContextBlobRepository extends JpaRepository<CodeContextBlob, String> {
+
+    /**
+     * Inserts a blob unless one with the same content hash already exists.
+     * <p>
+     * Uses {@code ON CONFLICT DO NOTHING} so two workers storing the same context concurrently
+     * both succeed without a unique-violation rollback; the content is identical either way.
+     * </p>
+     *
+     * @param contentHash hex SHA-256 of the uncompressed JSON
+     * @param codec       compression applied to {@code data}
+     * @param rawSize     size of the uncompressed JSON in bytes
+     * @param data        the encoded JSON bytes
+     * @return 1 if the blob was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO code_context_blob (content_hash, codec, raw_size, data) " +
+            "VALUES (:contentHash, :codec, :rawSize, :data) ON CONFLICT (content_hash) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("contentHash") String contentHash,
+                       @Param("codec") String codec,
+                       @Param("rawSize") int rawSize,
+                       @Param("data") byte[] data);
+
+    /**
+     * Marks an existing blob as stored again, so the orphan sweep keeps it while the task that is about
+     * to refer to it commits.
+     *
+     * @param contentHash hex SHA-256 of the uncompressed JSON
+     * @return 1 if the blob exists, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "UPDATE code_context_blob SET created_at = NOW() WHERE content_hash = :contentHash",
+            nativeQuery = true)
+    int touch(@Param("contentHash") String contentHash);
+
+    /**
+     * Deletes up to {@code limit} blobs that were last stored before {@code storedBefore} and that no task
+     * refers to, live ({@code review_task}) or archived ({@code review_task_archive}).
+     * <p>
+     * The outer condition repeats the age check, so a blob touched by {@link #touch} or
+     * {@link #insertIfAbsent} while the delete waited for its row lock is kept. Runs in its own
+     * transaction, so each batch commits on its own.
+     * </p>
+     *
+     * @param storedBefore blobs stored at or after this instant are kept
+     * @param limit        maximum number of blobs to delete
+     * @return number of blobs deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM code_context_blob WHERE content_hash IN (" +
+            "SELECT b.content_hash FROM code_context_blob b WHERE b.created_at < :storedBefore " +
+            "AND NOT EXISTS (SELECT 1 FROM review_task t WHERE t.code_context_hash = b.content_hash) " +
+            "AND NOT EXISTS (SELECT 1 FROM review_task_archive a WHERE a.code_context_hash = b.content_hash) " +
+            "LIMIT :limit) AND created_at < :storedBefore",
+            nativeQuery = true)
+    int deleteOrphaned(@Param("storedBefore") Instant storedBefore, @Param("limit") int limit);
+}
@@ -1,7 +1,9 @@
 package com.aicodereview.repository;
 
 import com.aicodereview.repository.entity.Project;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +19,14 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     List<Project> findByEnabled(Boolean enabled);
 
+    /**
+     * Looks up the project of an incoming webhook. The result is held in the query cache, so together
+     * with the second-level cached entity a steady stream of webhooks does not query the project table.
+     * The results live in {@link Project#QUERY_CACHE_REGION}, so changes to other entities leave them alone.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = Project.QUERY_CACHE_REGION)
+    })
     Optional<Project> findByRepoUrl(String repoUrl);
 }
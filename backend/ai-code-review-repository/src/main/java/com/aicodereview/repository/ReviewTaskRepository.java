@@ -1,12 +1,24 @@
 package com.aicodereview.repository;
 
+import com.aicodereview.common.enums.TaskPriority;
 import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
 import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.repository.projection.ReviewTaskSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +34,25 @@ import java.util.Optional;
  * - OrderBy* suffix specifies sorting
  * - Multiple OrderBy clauses chain with "And" or "Or"
  * </p>
+ * <p>
+ * review_task is partitioned by month of created_at. A lookup by id alone, including the inherited
+ * {@code findById} and {@code existsById}, cannot be pruned and probes the primary key index of every
+ * monthly partition and of the default partition, one index lookup each. Queries that know the
+ * task's created_at should also match on it; see the createdAt overloads of the status transitions.
+ * </p>
  *
  * @since 2.5.0
  */
 @Repository
 public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
 
+    /** Select list of the {@link ReviewTaskSummary} projection; aliases match its getters */
+    String SUMMARY_COLUMNS = "t.id AS id, t.project.id AS projectId, t.taskType AS taskType, t.branch AS branch, " +
+            "t.commitHash AS commitHash, t.prNumber AS prNumber, t.prTitle AS prTitle, t.author AS author, " +
+            "t.status AS status, t.priority AS priority, t.retryCount AS retryCount, " +
+            "t.supersededBy AS supersededBy, t.createdAt AS createdAt, t.startedAt AS startedAt, " +
+            "t.completedAt AS completedAt";
+
     /**
      * Finds all tasks associated with a specific project.
      * Used for project-level task history and analytics.
@@ -56,6 +81,66 @@ public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
     @Query("SELECT t FROM ReviewTask t JOIN FETCH t.project WHERE t.status = :status")
     List<ReviewTask> findByStatus(@Param("status") TaskStatus status);
 
+    /**
+     * Returns the next page of a project's tasks as summaries, newest first, keyset-paginated on (created_at, id).
+     * <p>
+     * Used by the task listing API. Selects only the {@link ReviewTaskSummary} columns, so neither
+     * the project association nor the TEXT columns are loaded.
+     * Uses composite index: idx_review_task_project_created
+     * </p>
+     *
+     * @param projectId       the project ID to query
+     * @param beforeCreatedAt created_at of the last row of the previous page
+     * @param beforeId        id of the last row of the previous page
+     * @param pageable        page size (only the page size is used)
+     * @return next page of task summaries ordered by created_at, id descending
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM ReviewTask t WHERE t.project.id = :projectId " +
+            "AND (t.createdAt < :beforeCreatedAt OR (t.createdAt = :beforeCreatedAt AND t.id < :beforeId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ReviewTaskSummary> findSummariesByProject(@Param("projectId") Long projectId,
+                                                   @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                   @Param("beforeId") Long beforeId,
+                                                   Pageable pageable);
+
+    /**
+     * Same as {@link #findSummariesByProject}, restricted to one status.
+     * Uses composite index: idx_review_task_project_created (status filtered on the index range)
+     *
+     * @param projectId       the project ID to query
+     * @param status          the task status to filter by
+     * @param beforeCreatedAt created_at of the last row of the previous page
+     * @param beforeId        id of the last row of the previous page
+     * @param pageable        page size (only the page size is used)
+     * @return next page of task summaries ordered by created_at, id descending
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM ReviewTask t WHERE t.project.id = :projectId AND t.status = :status " +
+            "AND (t.createdAt < :beforeCreatedAt OR (t.createdAt = :beforeCreatedAt AND t.id < :beforeId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ReviewTaskSummary> findSummariesByProjectAndStatus(@Param("projectId") Long projectId,
+                                                            @Param("status") TaskStatus status,
+                                                            @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                            @Param("beforeId") Long beforeId,
+                                                            Pageable pageable);
+
+    /**
+     * Returns the next page of tasks in one status as summaries, newest first, keyset-paginated on (created_at, id).
+     * Uses composite index: idx_review_task_status_created
+     *
+     * @param status          the task status to filter by
+     * @param beforeCreatedAt created_at of the last row of the previous page
+     * @param beforeId        id of the last row of the previous page
+     * @param pageable        page size (only the page size is used)
+     * @return next page of task summaries ordered by created_at, id descending
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM ReviewTask t WHERE t.status = :status " +
+            "AND (t.createdAt < :beforeCreatedAt OR (t.createdAt = :beforeCreatedAt AND t.id < :beforeId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ReviewTaskSummary> findSummariesByStatus(@Param("status") TaskStatus status,
+                                                  @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                  @Param("beforeId") Long beforeId,
+                                                  Pageable pageable);
+
     /**
      * Finds tasks by status, ordered by priority (descending) and created_at (ascending).
      * <p>
@@ -65,7 +150,8 @@ public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
      * - Within same priority, older tasks come first (FIFO)
      * </p>
      * <p>
-     * Uses composite index: idx_review_task_status_priority_created
+     * Finished statuses have no status/priority index; for PENDING and RUNNING use
+     * {@link #findActiveByStatusOrderByPriorityDescCreatedAtAsc}, which is served by a partial index.
      * </p>
      * <p>
      * Uses JOIN FETCH to eagerly load the project association,
@@ -78,11 +164,28 @@ public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
     @Query("SELECT t FROM ReviewTask t JOIN FETCH t.project WHERE t.status = :status ORDER BY t.priority DESC, t.createdAt ASC")
     List<ReviewTask> findByStatusOrderByPriorityDescCreatedAtAsc(@Param("status") TaskStatus status);
 
+    /**
+     * Same as {@link #findByStatusOrderByPriorityDescCreatedAtAsc} for an active status (PENDING or RUNNING).
+     * <p>
+     * Repeats the partial index predicate {@code status IN ('PENDING', 'RUNNING')} so that the planner
+     * can use idx_review_task_active_priority_created even for the generic plan of the prepared statement,
+     * where the value of {@code :status} is unknown.
+     * </p>
+     *
+     * @param status PENDING or RUNNING (any other status returns no rows)
+     * @return list of tasks ordered by priority (HIGH first) and creation time (oldest first)
+     */
+    @Query("SELECT t FROM ReviewTask t JOIN FETCH t.project WHERE t.status = :status " +
+            "AND t.status IN (com.aicodereview.common.enums.TaskStatus.PENDING, " +
+            "com.aicodereview.common.enums.TaskStatus.RUNNING) ORDER BY t.priority DESC, t.createdAt ASC")
+    List<ReviewTask> findActiveByStatusOrderByPriorityDescCreatedAtAsc(@Param("status") TaskStatus status);
+
     /**
      * Finds a specific task by project ID and commit hash.
      * <p>
      * Used to prevent duplicate task creation for the same commit.
      * If a task already exists for a commit, we don't create a new one.
+     * Uses index: idx_review_task_project_commit
      * </p>
      *
      * @param projectId  the project ID
@@ -91,6 +194,22 @@ public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
      */
     Optional<ReviewTask> findByProjectIdAndCommitHash(Long projectId, String commitHash);
 
+    /**
+     * Finds the tasks of the given projects whose commit hash is in the given set.
+     * <p>
+     * Duplicate check for bulk task creation: one query for a whole batch instead of one
+     * {@link #findByProjectIdAndCommitHash} per request. The caller matches (project, commit)
+     * pairs, since the two IN lists are independent.
+     * </p>
+     *
+     * @param projectIds   project IDs of the batch
+     * @param commitHashes commit hashes of the batch
+     * @return existing tasks matching any project and any commit hash
+     */
+    @Query("SELECT t FROM ReviewTask t WHERE t.project.id IN :projectIds AND t.commitHash IN :commitHashes")
+    List<ReviewTask> findByProjectIdInAndCommitHashIn(@Param("projectIds") Collection<Long> projectIds,
+                                                      @Param("commitHashes") Collection<String> commitHashes);
+
     /**
      * Finds all tasks for a specific repository URL.
      * <p>
@@ -106,4 +225,384 @@ public interface ReviewTaskRepository extends JpaRepository<ReviewTask, Long> {
      */
     @Query("SELECT t FROM ReviewTask t JOIN FETCH t.project WHERE t.repoUrl = :repoUrl")
     List<ReviewTask> findByRepoUrl(@Param("repoUrl") String repoUrl);
+
+    /**
+     * Locks and returns RUNNING tasks whose worker lease expired before {@code now}, oldest lease first.
+     * <p>
+     * Uses {@code FOR UPDATE SKIP LOCKED} (lock timeout -2) so concurrent reapers on several
+     * nodes split the backlog instead of reclaiming the same rows twice.
+     * Uses partial index: idx_review_task_running_lease
+     * </p>
+     *
+     * @param now      lease cutoff
+     * @param pageable batch size (only the page size is used)
+     * @return locked orphaned tasks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM ReviewTask t WHERE t.status = com.aicodereview.common.enums.TaskStatus.RUNNING " +
+            "AND t.leaseExpiresAt < :now ORDER BY t.leaseExpiresAt ASC")
+    List<ReviewTask> findExpiredLeasesForUpdate(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Extends the lease of the given tasks in a single UPDATE, skipping any no longer RUNNING.
+     *
+     * @param ids       task IDs whose lease should be renewed
+     * @param expiresAt new lease expiry
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE ReviewTask t SET t.leaseExpiresAt = :expiresAt " +
+            "WHERE t.id IN :ids AND t.status = com.aicodereview.common.enums.TaskStatus.RUNNING")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Returns the next page of PENDING tasks of one priority, keyset-paginated on (created_at, id).
+     * <p>
+     * Used by queue reconciliation to walk all PENDING rows without OFFSET scans.
+     * Uses partial index: idx_review_task_pending_claim (equality on priority, range on
+     * created_at, id). Rows updated after {@code updatedBefore} are skipped so
+     * tasks mid-transition (just created or just failed) are not mistaken for drift.
+     * </p>
+     *
+     * @param priority        the priority band to scan
+     * @param updatedBefore   only tasks last updated before this instant
+     * @param afterCreatedAt  created_at of the last row of the previous page ({@link Instant#EPOCH} to start)
+     * @param afterId         id of the last row of the previous page (0 to start)
+     * @param pageable        page size (only the page size is used)
+     * @return next page of PENDING tasks ordered by created_at, id
+     */
+    @Query("SELECT t FROM ReviewTask t WHERE t.status = com.aicodereview.common.enums.TaskStatus.PENDING " +
+            "AND t.priority = :priority AND t.updatedAt < :updatedBefore " +
+            "AND (t.createdAt > :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id > :afterId)) " +
+            "ORDER BY t.createdAt ASC, t.id ASC")
+    List<ReviewTask> findPendingPage(@Param("priority") TaskPriority priority,
+                                     @Param("updatedBefore") Instant updatedBefore,
+                                     @Param("afterCreatedAt") Instant afterCreatedAt,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * Locks and returns the PENDING tasks of one branch (and PR/MR) that a new task can supersede.
+     * <p>
+     * Uses {@code FOR UPDATE SKIP LOCKED} (lock timeout -2): a row locked by a worker starting it
+     * is skipped rather than waited for, since that task is about to run anyway.
+     * Uses partial index: idx_review_task_pending_branch
+     * </p>
+     *
+     * @param projectId the project ID
+     * @param branch    the branch name
+     * @param taskType  the task type (PUSH tasks only coalesce with PUSH tasks, and so on)
+     * @param prKey     PR/MR number, or 0 for PUSH tasks
+     * @param excludeId the new task's own ID
+     * @return locked PENDING tasks for the same branch, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM ReviewTask t WHERE t.project.id = :projectId AND t.branch = :branch " +
+            "AND t.taskType = :taskType AND COALESCE(t.prNumber, 0) = :prKey AND t.id <> :excludeId " +
+            "AND t.status = com.aicodereview.common.enums.TaskStatus.PENDING ORDER BY t.createdAt ASC, t.id ASC")
+    List<ReviewTask> findPendingForCoalescing(@Param("projectId") Long projectId,
+                                              @Param("branch") String branch,
+                                              @Param("taskType") TaskType taskType,
+                                              @Param("prKey") Integer prKey,
+                                              @Param("excludeId") Long excludeId);
+
+    /**
+     * Returns the most recently created task of one branch (and PR/MR) whose review has completed.
+     * <p>
+     * Its head commit is where a coalesced review range starts: everything up to it is already covered.
+     * A RUNNING task does not qualify, since it may still fail and leave its commits unreviewed.
+     * </p>
+     *
+     * @param projectId the project ID
+     * @param branch    the branch name
+     * @param taskType  the task type
+     * @param prKey     PR/MR number, or 0 for PUSH tasks
+     * @param pageable  use {@code PageRequest.of(0, 1)} for the latest task only
+     * @return COMPLETED tasks for the branch, newest first
+     */
+    @Query("SELECT t FROM ReviewTask t WHERE t.project.id = :projectId AND t.branch = :branch " +
+            "AND t.taskType = :taskType AND COALESCE(t.prNumber, 0) = :prKey " +
+            "AND t.status = com.aicodereview.common.enums.TaskStatus.COMPLETED " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ReviewTask> findLatestReviewed(@Param("projectId") Long projectId,
+                                        @Param("branch") String branch,
+                                        @Param("taskType") TaskType taskType,
+                                        @Param("prKey") Integer prKey,
+                                        Pageable pageable);
+
+    /**
+     * Claims up to {@code limit} claimable PENDING tasks and flips them to RUNNING in one statement.
+     * <p>
+     * The CTE picks HIGH before NORMAL (an explicit rank, not the text order of the values), then
+     * oldest first, skipping rows whose retry backoff has not elapsed, and locks them with
+     * {@code FOR UPDATE SKIP LOCKED} so concurrent workers claim disjoint rows without waiting on
+     * each other. Runs in its own read-write transaction so the claim commits before the caller
+     * processes the tasks.
+     * Uses partial expression index: idx_review_task_pending_claim_rank
+     * </p>
+     *
+     * @param now            claim time, written as started_at and compared with available_at
+     * @param leaseExpiresAt lease expiry written for each claimed task
+     * @param limit          maximum number of tasks to claim
+     * @return IDs of the claimed tasks, in no particular order
+     */
+    @Transactional
+    @Query(value = "WITH next AS (SELECT id FROM review_task WHERE status = 'PENDING' " +
+            "AND (available_at IS NULL OR available_at <= :now) " +
+            "ORDER BY CASE priority WHEN 'HIGH' THEN 0 WHEN 'NORMAL' THEN 1 ELSE 2 END, created_at ASC, id ASC " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "UPDATE review_task t SET status = 'RUNNING', started_at = :now, lease_expires_at = :leaseExpiresAt, " +
+            "available_at = NULL, updated_at = :now FROM next WHERE t.id = next.id RETURNING t.id",
+            nativeQuery = true)
+    List<Long> claimPending(@Param("now") Instant now,
+                            @Param("leaseExpiresAt") Instant leaseExpiresAt,
+                            @Param("limit") int limit);
+
+    /**
+     * Starts a PENDING task: sets RUNNING, started_at and a fresh lease in one compare-and-set UPDATE.
+     * <p>
+     * The {@code status = 'PENDING'} predicate makes the transition atomic: of two concurrent
+     * callers exactly one gets the row back. {@code RETURNING *} hands back the updated row, so the
+     * transition costs a single round trip. The caller must not already hold this task in its
+     * persistence context, since a managed instance is returned as is rather than refreshed.
+     * </p>
+     * <p>
+     * Queue entries carry only the task id, so this is the one transition that cannot name the
+     * partition: it probes the primary key index of each live monthly partition (a handful of index
+     * lookups for the usual retention window). The transitions after it have overloads that also
+     * match {@code created_at} and so touch a single partition.
+     * </p>
+     *
+     * @param id             task ID
+     * @param now            start time, written as started_at and updated_at
+     * @param leaseExpiresAt lease expiry of the new worker
+     * @return the updated task, or empty if it does not exist or is not PENDING
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET status = 'RUNNING', started_at = :now, " +
+            "lease_expires_at = :leaseExpiresAt, updated_at = :now " +
+            "WHERE id = :id AND status = 'PENDING' RETURNING *", nativeQuery = true)
+    Optional<ReviewTask> startIfPending(@Param("id") Long id,
+                                        @Param("now") Instant now,
+                                        @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    /**
+     * Completes a RUNNING task and clears its lease in one compare-and-set UPDATE.
+     *
+     * @param id  task ID
+     * @param now completion time, written as completed_at and updated_at
+     * @return the updated task, or empty if it does not exist or is not RUNNING
+     * @see #startIfPending
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET status = 'COMPLETED', completed_at = :now, " +
+            "lease_expires_at = NULL, updated_at = :now " +
+            "WHERE id = :id AND status = 'RUNNING' RETURNING *", nativeQuery = true)
+    Optional<ReviewTask> completeIfRunning(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Same as {@link #completeIfRunning(Long, Instant)}, restricted to the partition of {@code createdAt}.
+     * <p>
+     * Matches nothing if {@code createdAt} is not the task's exact creation time; callers treat it
+     * as a hint and fall back to the id-only update.
+     * </p>
+     *
+     * @param id        task ID
+     * @param createdAt creation time of the task, which selects its partition
+     * @param now       completion time, written as completed_at and updated_at
+     * @return the updated task, or empty if no RUNNING task has this id and creation time
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET status = 'COMPLETED', completed_at = :now, " +
+            "lease_expires_at = NULL, updated_at = :now " +
+            "WHERE id = :id AND created_at = :createdAt AND status = 'RUNNING' RETURNING *", nativeQuery = true)
+    Optional<ReviewTask> completeIfRunning(@Param("id") Long id,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("now") Instant now);
+
+    /**
+     * Records a failed attempt of a RUNNING task in one compare-and-set UPDATE.
+     * <p>
+     * Increments retry_count and clears the lease; the task returns to PENDING, or becomes FAILED
+     * (with completed_at) once the incremented count reaches max_retries. The right-hand sides see
+     * the row as it was before the update.
+     * </p>
+     *
+     * @param id           task ID
+     * @param errorMessage error of the failed attempt
+     * @param now          time written as updated_at (and completed_at on final failure)
+     * @return the updated task, or empty if it does not exist or is not RUNNING
+     * @see #startIfPending
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET retry_count = retry_count + 1, error_message = :errorMessage, " +
+            "lease_expires_at = NULL, " +
+            "status = CASE WHEN retry_count + 1 >= max_retries THEN 'FAILED' ELSE 'PENDING' END, " +
+            "completed_at = CASE WHEN retry_count + 1 >= max_retries THEN :now ELSE completed_at END, " +
+            "updated_at = :now WHERE id = :id AND status = 'RUNNING' RETURNING *", nativeQuery = true)
+    Optional<ReviewTask> failAttemptIfRunning(@Param("id") Long id,
+                                              @Param("errorMessage") String errorMessage,
+                                              @Param("now") Instant now);
+
+    /**
+     * Same as {@link #failAttemptIfRunning(Long, String, Instant)}, restricted to the partition of
+     * {@code createdAt} (see {@link #completeIfRunning(Long, Instant, Instant)}).
+     *
+     * @param id           task ID
+     * @param createdAt    creation time of the task, which selects its partition
+     * @param errorMessage error of the failed attempt
+     * @param now          time written as updated_at (and completed_at on final failure)
+     * @return the updated task, or empty if no RUNNING task has this id and creation time
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET retry_count = retry_count + 1, error_message = :errorMessage, " +
+            "lease_expires_at = NULL, " +
+            "status = CASE WHEN retry_count + 1 >= max_retries THEN 'FAILED' ELSE 'PENDING' END, " +
+            "completed_at = CASE WHEN retry_count + 1 >= max_retries THEN :now ELSE completed_at END, " +
+            "updated_at = :now WHERE id = :id AND created_at = :createdAt AND status = 'RUNNING' RETURNING *",
+            nativeQuery = true)
+    Optional<ReviewTask> failAttemptIfRunning(@Param("id") Long id,
+                                              @Param("createdAt") Instant createdAt,
+                                              @Param("errorMessage") String errorMessage,
+                                              @Param("now") Instant now);
+
+    /**
+     * Fails a RUNNING task permanently (retry_count unchanged) in one compare-and-set UPDATE.
+     *
+     * @param id           task ID
+     * @param errorMessage error that made the task fail
+     * @param now          failure time, written as completed_at and updated_at
+     * @return the updated task, or empty if it does not exist or is not RUNNING
+     * @see #startIfPending
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET status = 'FAILED', completed_at = :now, error_message = :errorMessage, " +
+            "lease_expires_at = NULL, updated_at = :now " +
+            "WHERE id = :id AND status = 'RUNNING' RETURNING *", nativeQuery = true)
+    Optional<ReviewTask> failIfRunning(@Param("id") Long id,
+                                       @Param("errorMessage") String errorMessage,
+                                       @Param("now") Instant now);
+
+    /**
+     * Same as {@link #failIfRunning(Long, String, Instant)}, restricted to the partition of
+     * {@code createdAt} (see {@link #completeIfRunning(Long, Instant, Instant)}).
+     *
+     * @param id           task ID
+     * @param createdAt    creation time of the task, which selects its partition
+     * @param errorMessage error that made the task fail
+     * @param now          failure time, written as completed_at and updated_at
+     * @return the updated task, or empty if no RUNNING task has this id and creation time
+     */
+    @Transactional
+    @Query(value = "UPDATE review_task SET status = 'FAILED', completed_at = :now, error_message = :errorMessage, " +
+            "lease_expires_at = NULL, updated_at = :now " +
+            "WHERE id = :id AND created_at = :createdAt AND status = 'RUNNING' RETURNING *", nativeQuery = true)
+    Optional<ReviewTask> failIfRunning(@Param("id") Long id,
+                                       @Param("createdAt") Instant createdAt,
+                                       @Param("errorMessage") String errorMessage,
+                                       @Param("now") Instant now);
+
+    /**
+     * Points a task at its stored review context without loading or rewriting the row.
+     *
+     * @param id          task ID
+     * @param contentHash content hash of the context in code_context_blob
+     * @return number of rows updated (0 if the task does not exist)
+     */
+    @Modifying
+    @Query("UPDATE ReviewTask t SET t.codeContextHash = :contentHash WHERE t.id = :id")
+    int setCodeContextHash(@Param("id") Long id, @Param("contentHash") String contentHash);
+
+    /**
+     * Same as {@link #setCodeContextHash(Long, String)}, restricted to the partition of {@code createdAt}.
+     *
+     * @param id          task ID
+     * @param createdAt   creation time of the task, which selects its partition
+     * @param contentHash content hash of the context in code_context_blob
+     * @return number of rows updated (0 if no task has this id and creation time)
+     */
+    @Modifying
+    @Query("UPDATE ReviewTask t SET t.codeContextHash = :contentHash WHERE t.id = :id AND t.createdAt = :createdAt")
+    int setCodeContextHash(@Param("id") Long id,
+                           @Param("createdAt") Instant createdAt,
+                           @Param("contentHash") String contentHash);
+
+    /**
+     * Defers a PENDING task until {@code availableAt} (retry backoff for the Postgres queue backend).
+     *
+     * @param id          task ID
+     * @param availableAt earliest time the task may be claimed again
+     * @return number of rows updated (0 if the task is no longer PENDING)
+     */
+    @Modifying
+    @Query("UPDATE ReviewTask t SET t.availableAt = :availableAt " +
+            "WHERE t.id = :id AND t.status = com.aicodereview.common.enums.TaskStatus.PENDING")
+    int deferPending(@Param("id") Long id, @Param("availableAt") Instant availableAt);
+
+    /**
+     * Turns a claimed but unstarted task back into PENDING, clearing its start time and lease
+     * (Postgres queue backend). The retry count is left unchanged.
+     *
+     * @param id  task ID
+     * @param now time written as updated_at
+     * @return number of rows updated (0 if the task is not RUNNING)
+     */
+    @Modifying
+    @Query("UPDATE ReviewTask t SET t.status = com.aicodereview.common.enums.TaskStatus.PENDING, " +
+            "t.startedAt = NULL, t.leaseExpiresAt = NULL, t.updatedAt = :now " +
+            "WHERE t.id = :id AND t.status = com.aicodereview.common.enums.TaskStatus.RUNNING")
+    int unclaim(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Counts PENDING tasks that are claimable at {@code now}.
+     *
+     * @param now reference time for the retry backoff
+     * @return number of claimable PENDING tasks
+     */
+    @Query("SELECT COUNT(t) FROM ReviewTask t WHERE t.status = com.aicodereview.common.enums.TaskStatus.PENDING " +
+            "AND (t.availableAt IS NULL OR t.availableAt <= :now)")
+    long countClaimable(@Param("now") Instant now);
+
+    /**
+     * Counts PENDING tasks still waiting out a retry backoff at {@code now}.
+     *
+     * @param now reference time for the retry backoff
+     * @return number of deferred PENDING tasks
+     */
+    @Query("SELECT COUNT(t) FROM ReviewTask t WHERE t.status = com.aicodereview.common.enums.TaskStatus.PENDING " +
+            "AND t.availableAt > :now")
+    long countDeferred(@Param("now") Instant now);
+
+    /**
+     * Checks whether a task is in the given status.
+     *
+     * @param id     task ID
+     * @param status status to check for
+     * @return true if the task exists and has the status
+     */
+    boolean existsByIdAndStatus(Long id, TaskStatus status);
+
+    /**
+     * Creates the monthly partitions of {@code review_task} for the current month and the next
+     * {@code monthsAhead} months that do not exist yet (see migration V16).
+     *
+     * @param monthsAhead number of months after the current one to prepare
+     * @return number of partitions created
+     */
+    @Transactional
+    @Query(value = "SELECT review_task_ensure_partitions(:monthsAhead)", nativeQuery = true)
+    int ensurePartitions(@Param("monthsAhead") int monthsAhead);
+
+    /**
+     * Moves the monthly partitions of {@code review_task} that end at or before {@code olderThan} into
+     * {@code review_task_archive}. Months that still hold PENDING or RUNNING tasks are skipped.
+     *
+     * @param olderThan cutoff; only months entirely before it are archived
+     * @return number of partitions archived
+     */
+    @Transactional
+    @Query(value = "SELECT review_task_archive_partitions(:olderThan)", nativeQuery = true)
+    int archivePartitions(@Param("olderThan") Instant olderThan);
 }
@@ -0,0 +1,48 @@
+package com.aicodereview.repository;
+
+import com.aicodereview.repository.entity.TaskOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link TaskOutbox} entries awaiting publication to the Redis task queue.
+ */
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutbox, Long> {
+
+    /**
+     * Locks and returns the oldest unpublished outbox entries.
+     * <p>
+     * Uses {@code FOR UPDATE SKIP LOCKED} (lock timeout -2) so relays on several nodes
+     * publish disjoint batches instead of contending on the same rows.
+     * </p>
+     *
+     * @param pageable batch size (only the page size is used)
+     * @return locked outbox entries in insertion order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM TaskOutbox o ORDER BY o.id ASC")
+    List<TaskOutbox> findBatchForUpdate(Pageable pageable);
+
+    /**
+     * Deletes the outbox entries of tasks that no longer need publishing (e.g. superseded before relay).
+     *
+     * @param taskIds task IDs whose entries should be removed
+     * @return number of entries deleted
+     */
+    @Modifying
+    @Query("DELETE FROM TaskOutbox o WHERE o.taskId IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -0,0 +1,124 @@
+package com.aicodereview.repository.cache;
+
+import com.aicodereview.repository.entity.Project;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Evicts second-level cached entities on every node.
+ * <p>
+ * The second-level cache is local to each node (Caffeine), and Hibernate only invalidates the copy of the
+ * node that made a change. After a create, update or delete commits, the services call {@link #evict} to
+ * publish the entity on {@value #EVICTION_CHANNEL}; every node, this one included, then drops the entity and
+ * the cached query results of its type, including cached misses that a newly created entity would now match.
+ * Each entity type with cached queries keeps their results in its own query region (see {@link #QUERY_REGIONS}),
+ * so a change to one type leaves the cached queries of the others alone. Entries
+ * also expire on their own (see {@code hibernate-caffeine.conf}), which bounds staleness if a message is lost.
+ * </p>
+ * <p>
+ * With the Postgres queue backend the service runs without Redis: {@link com.aicodereview.repository.config.RedisConfig}
+ * then creates a local-only evictor, and other nodes keep their copies until they expire.
+ * </p>
+ */
+@Slf4j
+public class EntityCacheEvictor implements MessageListener {
+
+    public static final String EVICTION_CHANNEL = "cache:l2:evict";
+    private static final char SEPARATOR = '#';
+
+    /**
+     * Query cache region of each entity type whose queries are cached. Types not listed have no cached queries;
+     * their regions are not looked up, since Hibernate would create a missing region on eviction.
+     */
+    static final Map<Class<?>, String> QUERY_REGIONS = Map.of(Project.class, Project.QUERY_CACHE_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory, StringRedisTemplate redisTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Creates an evictor that only evicts the local cache and publishes nothing.
+     */
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, null);
+    }
+
+    /**
+     * Evicts the entity on every node once the current transaction commits, or right away outside a
+     * transaction.
+     */
+    public void evict(Class<?> entityClass, Long id) {
+        String message = entityClass.getName() + SEPARATOR + id;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(entityClass, id, message);
+                }
+            });
+        } else {
+            publish(entityClass, id, message);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("Ignoring malformed cache eviction message: {}", body);
+            return;
+        }
+        String entityName = body.substring(0, separator);
+        Class<?> entityClass = entityManagerFactory.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .filter(type -> type.getName().equals(entityName))
+                .findFirst()
+                .orElse(null);
+        if (entityClass == null) {
+            log.warn("Ignoring cache eviction of unknown entity: {}", body);
+            return;
+        }
+        try {
+            evictLocally(entityClass, Long.valueOf(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed cache eviction message: {}", body);
+        }
+    }
+
+    private void publish(Class<?> entityClass, Long id, String message) {
+        evictLocally(entityClass, id);
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(EVICTION_CHANNEL, message);
+        } catch (Exception e) {
+            // Other nodes keep their copy until it expires
+            log.warn("Failed to publish cache eviction of {} {}: {}", entityClass.getSimpleName(), id, e.getMessage());
+        }
+    }
+
+    private void evictLocally(Class<?> entityClass, Long id) {
+        entityManagerFactory.getCache().evict(entityClass, id);
+        String queryRegion = QUERY_REGIONS.get(entityClass);
+        if (queryRegion != null) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(queryRegion);
+        }
+        log.debug("Evicted {} {} from the second-level cache", entityClass.getSimpleName(), id);
+    }
+}
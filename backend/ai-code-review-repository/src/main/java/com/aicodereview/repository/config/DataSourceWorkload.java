@@ -0,0 +1,64 @@
+package com.aicodereview.repository.config;
+
+/**
+ * Workload a thread is serving, used to pick its connection pool when workload pools are enabled.
+ * <p>
+ * The workload is bound per thread: the API binds {@link #WEBHOOK} for webhook requests, worker and
+ * scheduler threads run as {@link #WORKER}, and anything unbound (admin CRUD, startup) is {@link #ADMIN}.
+ * Separate pools keep long worker transactions from starving webhook ingestion, which has to answer quickly.
+ * </p>
+ */
+public enum DataSourceWorkload {
+
+    /** Webhook ingestion: short transactions on the request path */
+    WEBHOOK,
+
+    /** Admin CRUD and every request or thread without another workload */
+    ADMIN,
+
+    /** Task processing, queue housekeeping and the outbox relay */
+    WORKER;
+
+    private static final ThreadLocal<DataSourceWorkload> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Returns the workload bound to the current thread, {@link #ADMIN} if none.
+     */
+    public static DataSourceWorkload current() {
+        DataSourceWorkload workload = CURRENT.get();
+        return workload != null ? workload : ADMIN;
+    }
+
+    /**
+     * Binds a workload to the current thread; {@code null} unbinds it.
+     */
+    public static void set(DataSourceWorkload workload) {
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+    }
+
+    /**
+     * Wraps a task so it runs with this workload bound, restoring the previous binding afterwards.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            DataSourceWorkload previous = CURRENT.get();
+            set(this);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * Pool name suffix and configuration key of this workload.
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+}
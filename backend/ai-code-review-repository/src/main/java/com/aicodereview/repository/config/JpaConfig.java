@@ -1,23 +1,37 @@
 package com.aicodereview.repository.config;
 
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 /**
  * JPA Configuration
  *
  * Configures JPA repositories and entity scanning for the repository module.
  * Enables transaction management and JPA auditing for database operations.
+ * Audit timestamps are truncated to microseconds, the precision Postgres stores, so that an entity's
+ * createdAt equals the stored value; review_task is partitioned on created_at, and its status updates
+ * name the row by (id, created_at).
  */
 @Configuration
 @EnableJpaRepositories(basePackages = "com.aicodereview.repository")
 @EntityScan(basePackages = "com.aicodereview.repository.entity")
 @EnableTransactionManagement
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 public class JpaConfig {
     // JPA configuration is handled through application.yml
     // This class provides component scanning configuration
+
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(Instant.now().truncatedTo(ChronoUnit.MICROS));
+    }
 }
@@ -0,0 +1,130 @@
+package com.aicodereview.repository.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * DataSource that serves read-only transactions from a replica pool and everything else from the primary pool.
+ * <p>
+ * The route is chosen when a connection is requested, from the read-only flag of the current Spring
+ * transaction ({@code @Transactional(readOnly = true)}). Transaction managers fetch the connection before
+ * that flag is bound, so this DataSource must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the real
+ * checkout to the first statement.
+ * </p>
+ * <p>
+ * If the replica cannot hand out a connection, the read is served by the primary and the replica is
+ * skipped for {@code retryAfter}, so an unreachable replica costs one connection timeout per period
+ * rather than one per request. Routed checkouts are counted as {@code datasource_connections_routed_total}
+ * (tag {@code route}) and fallbacks as {@code datasource_replica_fallbacks_total}; pool usage is published
+ * per pool by HikariCP.
+ * </p>
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String ROUTE_PRIMARY = "primary";
+    static final String ROUTE_REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryAfterMillis;
+    private final Counter primaryRouted;
+    private final Counter replicaRouted;
+    private final Counter replicaFallbacks;
+
+    /** Epoch millis before which the replica is not tried again; 0 while it is healthy */
+    private volatile long replicaDownUntil;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration retryAfter,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.primaryRouted = routedCounter(meterRegistry, ROUTE_PRIMARY);
+        this.replicaRouted = routedCounter(meterRegistry, ROUTE_REPLICA);
+        this.replicaFallbacks = Counter.builder("datasource_replica_fallbacks_total")
+                .description("Read-only connections served by the primary because the replica was unavailable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaRouted.increment();
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryRouted.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                Connection connection = replica.getConnection(username, password);
+                replicaRouted.increment();
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        Connection connection = primary.getConnection(username, password);
+        primaryRouted.increment();
+        return connection;
+    }
+
+    /**
+     * Closes both pools when the application context shuts down.
+     */
+    @Override
+    public void close() throws Exception {
+        closeIfPossible(replica);
+        closeIfPossible(primary);
+    }
+
+    private boolean useReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (replicaDownUntil != 0 && System.currentTimeMillis() < replicaDownUntil) {
+            replicaFallbacks.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void markReplicaDown(SQLException e) {
+        replicaDownUntil = System.currentTimeMillis() + retryAfterMillis;
+        replicaFallbacks.increment();
+        log.warn("Read replica unavailable, routing read-only transactions to the primary for {}ms: {}",
+                retryAfterMillis, e.getMessage());
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource_connections_routed_total")
+                .description("Connections checked out, by the pool they were routed to")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
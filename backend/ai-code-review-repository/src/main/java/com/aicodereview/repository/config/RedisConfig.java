@@ -1,16 +1,24 @@
 package com.aicodereview.repository.config;
 
+import com.aicodereview.repository.cache.EntityCacheEvictor;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -21,12 +29,20 @@ import java.time.Duration;
  * Redis Configuration
  *
  * Configures Redis connection, RedisTemplate, and Spring Cache with Redis backend.
- * Enables caching for project configuration, AI model config, and prompt templates.
+ * Enables caching for project configuration, AI model config, and prompt templates, and
+ * subscribes to second-level cache evictions published by other nodes.
+ *
+ * With {@code aicodereview.queue.backend=postgres} nothing here talks to Redis: Spring Cache is a
+ * no-op (the entities stay in the Hibernate second-level cache), no eviction channel is subscribed,
+ * and second-level cache evictions stay local to the node.
  */
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    /** True unless the Postgres queue backend, which runs without Redis, is selected */
+    public static final String REDIS_IN_USE = "'${aicodereview.queue.backend:zset}' != 'postgres'";
+
     /**
      * Configure RedisTemplate with Jackson2 JSON serialization
      *
@@ -63,6 +79,7 @@ public class RedisConfig {
      * @return Configured cache manager with TTL and key prefix
      */
     @Bean
+    @ConditionalOnExpression(REDIS_IN_USE)
     public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         GenericJackson2JsonRedisSerializer jsonSerializer = createJsonSerializer();
 
@@ -81,6 +98,61 @@ public class RedisConfig {
                 .build();
     }
 
+    /**
+     * Spring Cache without Redis: every lookup goes to the service, which reads through the
+     * Hibernate second-level cache
+     *
+     * @return Cache manager that caches nothing
+     */
+    @Bean
+    @ConditionalOnExpression("!(" + REDIS_IN_USE + ")")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+
+    /**
+     * Evict second-level cached entities on every node through the Redis eviction channel
+     *
+     * @param entityManagerFactory owner of the second-level cache
+     * @param redisTemplate publishes evictions to the other nodes
+     * @return Cluster-wide evictor
+     */
+    @Bean
+    @ConditionalOnExpression(REDIS_IN_USE)
+    public EntityCacheEvictor entityCacheEvictor(EntityManagerFactory entityManagerFactory,
+                                                 StringRedisTemplate redisTemplate) {
+        return new EntityCacheEvictor(entityManagerFactory, redisTemplate);
+    }
+
+    /**
+     * Evict second-level cached entities on this node only; other nodes rely on expiry
+     *
+     * @param entityManagerFactory owner of the second-level cache
+     * @return Local evictor
+     */
+    @Bean
+    @ConditionalOnExpression("!(" + REDIS_IN_USE + ")")
+    public EntityCacheEvictor localEntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        return new EntityCacheEvictor(entityManagerFactory);
+    }
+
+    /**
+     * Subscribe to second-level cache evictions published by other nodes
+     *
+     * @param connectionFactory Redis connection factory
+     * @param entityCacheEvictor evicts the published entities locally
+     * @return Listener container for the eviction channel
+     */
+    @Bean
+    @ConditionalOnExpression(REDIS_IN_USE)
+    public RedisMessageListenerContainer entityCacheEvictionListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                             EntityCacheEvictor entityCacheEvictor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(entityCacheEvictor, new ChannelTopic(EntityCacheEvictor.EVICTION_CHANNEL));
+        return container;
+    }
+
     /**
      * Create Jackson2JsonRedisSerializer with type information for polymorphic deserialization
      *
@@ -0,0 +1,141 @@
+package com.aicodereview.repository.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Routing DataSource Configuration
+ *
+ * Replaces the auto-configured pool with several HikariCP pools when either feature is enabled:
+ * - Workload pools ({@code aicodereview.datasource.pools.enabled=true}): one primary pool per
+ *   {@link DataSourceWorkload}, sized under {@code aicodereview.datasource.pools.<workload>.*}, chosen by
+ *   {@link WorkloadRoutingDataSource}. Otherwise a single primary pool from {@code spring.datasource.*}.
+ * - Read replica ({@code aicodereview.datasource.replica.url}): read-only transactions go to a replica pool
+ *   through {@link ReadReplicaRoutingDataSource}, configured under {@code aicodereview.datasource.replica.*}.
+ *
+ * Every pool starts from {@code spring.datasource.hikari} and is named after it with a suffix
+ * ({@code AiCodeReviewHikariCP-webhook}, {@code -replica}, ...). All pools publish the HikariCP metrics
+ * ({@code hikaricp_connections_active}, {@code _idle}, {@code _pending}, ...) tagged with their pool name.
+ */
+@Configuration
+@Conditional(RoutingDataSourceConfig.RoutingEnabledCondition.class)
+public class RoutingDataSourceConfig {
+
+    static final String POOLS_PREFIX = "aicodereview.datasource.pools";
+    static final String REPLICA_PREFIX = "aicodereview.datasource.replica";
+    static final String DEFAULT_POOL_NAME = "AiCodeReviewHikariCP";
+    static final long DEFAULT_REPLICA_CONNECTION_TIMEOUT_MS = 2000;
+
+    /**
+     * Routes each connection to its pool; owns and closes every pool.
+     */
+    @Bean
+    public DataSource routingDataSource(DataSourceProperties properties,
+                                        Environment environment,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        HikariConfig primaryConfig = primaryConfig(binder, properties, registry);
+
+        DataSource primary;
+        if (environment.getProperty(POOLS_PREFIX + ".enabled", Boolean.class, false)) {
+            Map<DataSourceWorkload, DataSource> pools = new EnumMap<>(DataSourceWorkload.class);
+            for (DataSourceWorkload workload : DataSourceWorkload.values()) {
+                HikariConfig poolConfig = primaryConfig(binder, properties, registry);
+                poolConfig.setPoolName(primaryConfig.getPoolName() + "-" + workload.key());
+                binder.bind(POOLS_PREFIX + "." + workload.key(), Bindable.ofInstance(poolConfig));
+                pools.put(workload, new HikariDataSource(poolConfig));
+            }
+            primary = new WorkloadRoutingDataSource(pools);
+        } else {
+            primary = new HikariDataSource(primaryConfig);
+        }
+
+        String replicaUrl = environment.getProperty(REPLICA_PREFIX + ".url");
+        if (replicaUrl == null) {
+            return primary;
+        }
+
+        HikariConfig replicaConfig = primaryConfig(binder, properties, registry);
+        replicaConfig.setPoolName(primaryConfig.getPoolName() + "-replica");
+        // Start even while the replica is down; reads fall back to the primary until it is reachable
+        replicaConfig.setInitializationFailTimeout(-1);
+        // Fail over quickly instead of holding a read for the primary's connection timeout
+        replicaConfig.setConnectionTimeout(DEFAULT_REPLICA_CONNECTION_TIMEOUT_MS);
+        binder.bind(REPLICA_PREFIX + ".hikari", Bindable.ofInstance(replicaConfig));
+        replicaConfig.setJdbcUrl(replicaUrl);
+        replicaConfig.setUsername(environment.getProperty(REPLICA_PREFIX + ".username",
+                primaryConfig.getUsername()));
+        replicaConfig.setPassword(environment.getProperty(REPLICA_PREFIX + ".password",
+                primaryConfig.getPassword()));
+        replicaConfig.setReadOnly(true);
+
+        Duration retryAfter = Duration.ofSeconds(environment.getProperty(
+                REPLICA_PREFIX + ".retry-after-seconds", Long.class, 30L));
+        return new ReadReplicaRoutingDataSource(primary, new HikariDataSource(replicaConfig), retryAfter, registry);
+    }
+
+    /**
+     * The application DataSource. Defers the physical checkout to the first statement, by which time the
+     * transaction's read-only flag is bound and the routing decision can be made.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Pool settings from {@code spring.datasource.*}; the starting point of every pool.
+     */
+    private static HikariConfig primaryConfig(Binder binder, DataSourceProperties properties,
+                                              MeterRegistry registry) {
+        HikariConfig config = new HikariConfig();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        if (config.getPoolName() == null) {
+            config.setPoolName(DEFAULT_POOL_NAME);
+        }
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return config;
+    }
+
+    static class RoutingEnabledCondition extends AnyNestedCondition {
+
+        RoutingEnabledCondition() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = POOLS_PREFIX, name = "enabled", havingValue = "true")
+        static class WorkloadPoolsEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = REPLICA_PREFIX, name = "url")
+        static class ReplicaConfigured {
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.aicodereview.repository.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Routes each connection to the pool of the current thread's {@link DataSourceWorkload}.
+ * <p>
+ * Unbound threads use the {@link DataSourceWorkload#ADMIN} pool. Closing this DataSource closes every pool.
+ * </p>
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<DataSourceWorkload, DataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<DataSourceWorkload, DataSource> pools) {
+        if (pools.size() != DataSourceWorkload.values().length) {
+            throw new IllegalArgumentException("A pool is required for every workload, got " + pools.keySet());
+        }
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.get(DataSourceWorkload.ADMIN));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return DataSourceWorkload.current();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,6 +17,7 @@ import java.time.Instant;
 
 /**
  * AI model configuration entity representing an AI provider setup for code review.
+ * Second-level cached in region {@code ai-model-config}.
  */
 @Data
 @Builder
@@ -23,6 +26,7 @@ import java.time.Instant;
 @Entity
 @Table(name = "ai_model_config")
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ai-model-config")
 public class AiModelConfig {
 
     @Id
@@ -0,0 +1,68 @@
+package com.aicodereview.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Serialized CodeContext JSON stored apart from its {@link ReviewTask}.
+ * <p>
+ * Keyed by the SHA-256 of the uncompressed JSON, so tasks that assemble an identical context
+ * share one row; a task refers to it through {@code review_task.code_context_hash}. The content of
+ * a row never changes once written, and is only read when a context is actually requested. Rows no
+ * task refers to any more are deleted by the orphan sweep.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "code_context_blob")
+public class CodeContextBlob {
+
+    /** Codec of a blob migrated from the former {@code review_task.code_context} column */
+    public static final String CODEC_NONE = "none";
+    /** Codec of blobs written by the application */
+    public static final String CODEC_ZSTD = "zstd";
+
+    /**
+     * Lowercase hex SHA-256 of the uncompressed JSON (UTF-8).
+     */
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Compression applied to {@link #data}: {@value #CODEC_NONE} or {@value #CODEC_ZSTD}.
+     */
+    @Column(name = "codec", nullable = false, length = 10)
+    private String codec;
+
+    /**
+     * Size of the uncompressed JSON in bytes.
+     */
+    @Column(name = "raw_size", nullable = false)
+    private Integer rawSize;
+
+    /**
+     * The (possibly compressed) JSON bytes.
+     */
+    @ToString.Exclude
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    /**
+     * Time the blob was last stored: written, or found already stored by another task's context.
+     * Orphaned blobs are only deleted once this is older than the sweep grace period.
+     */
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private Instant createdAt;
+}
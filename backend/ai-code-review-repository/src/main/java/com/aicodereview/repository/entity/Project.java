@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,6 +16,12 @@ import java.time.Instant;
 
 /**
  * Project entity representing a Git repository configured for AI code review.
+ * <p>
+ * Read-mostly, so kept in the Hibernate second-level cache (region {@code project});
+ * updates and deletes also evict it on every node through {@code EntityCacheEvictor}. Cached queries on
+ * projects keep their results in their own region, {@value #QUERY_CACHE_REGION}, which is evicted together
+ * with the entity.
+ * </p>
  */
 @Data
 @Builder
@@ -22,8 +30,11 @@ import java.time.Instant;
 @Entity
 @Table(name = "project")
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 public class Project {
 
+    public static final String QUERY_CACHE_REGION = "project-queries";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
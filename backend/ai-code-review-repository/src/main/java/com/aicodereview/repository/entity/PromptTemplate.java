@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,6 +15,7 @@ import java.time.Instant;
 
 /**
  * Prompt template entity for six-dimension AI code review.
+ * Second-level cached in region {@code prompt-template}.
  */
 @Data
 @Builder
@@ -21,6 +24,7 @@ import java.time.Instant;
 @Entity
 @Table(name = "prompt_template")
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "prompt-template")
 public class PromptTemplate {
 
     @Id
@@ -8,6 +8,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,6 +29,17 @@ import java.time.Instant;
  * to perform the code review, including repository details, commit hash, and
  * PR/MR metadata if applicable.
  * </p>
+ * <p>
+ * The row is updated on every status transition, so it holds only small columns besides the
+ * PR/MR text; the assembled review context lives in {@link CodeContextBlob}. {@code @DynamicUpdate}
+ * limits each UPDATE to the columns that actually changed.
+ * </p>
+ * <p>
+ * The table is range-partitioned by month of {@code created_at}; months past the retention period
+ * are moved to {@code review_task_archive} and are no longer visible through this entity. The
+ * primary key of the table is {@code (id, created_at)}; uniqueness of {@code id} alone is enforced
+ * through {@code review_task_id} (migration V19), which {@code task_outbox} references.
+ * </p>
  *
  * @since 2.5.0
  */
@@ -34,15 +49,21 @@ import java.time.Instant;
 @AllArgsConstructor
 @Entity
 @Table(name = "review_task")
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
 public class ReviewTask {
 
     /**
      * Unique identifier for the task.
-     * Auto-generated using database sequence.
+     * Auto-generated using database sequence, allocated in blocks of 50 (pooled-lo) so that
+     * inserts can be JDBC-batched; IDENTITY would force one INSERT round trip per task.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_task_id_seq")
+    @GenericGenerator(name = "review_task_id_seq", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "review_task_id_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
     private Long id;
 
     /**
@@ -83,6 +104,14 @@ public class ReviewTask {
     @Column(name = "commit_hash", nullable = false, length = 255)
     private String commitHash;
 
+    /**
+     * Start of the reviewed commit range (exclusive), set when superseded tasks were folded into this one.
+     * When present the review covers base_commit_hash..commit_hash via a compare diff.
+     * Nullable (null reviews commit_hash alone).
+     */
+    @Column(name = "base_commit_hash", length = 255)
+    private String baseCommitHash;
+
     /**
      * Pull Request or Merge Request number.
      * Nullable for PUSH tasks (only set for PR/MR events).
@@ -113,7 +142,7 @@ public class ReviewTask {
 
     /**
      * Current task status in lifecycle.
-     * PENDING → RUNNING → (COMPLETED | FAILED)
+     * PENDING → RUNNING → (COMPLETED | FAILED), or PENDING → SUPERSEDED
      * Defaults to PENDING when task is created.
      */
     @Enumerated(EnumType.STRING)
@@ -155,12 +184,19 @@ public class ReviewTask {
     private String errorMessage;
 
     /**
-     * Serialized CodeContext JSON for AI review.
-     * Set by ReviewContextAssembler after context assembly.
+     * ID of the newer task this task was folded into.
+     * Nullable (only set when status = SUPERSEDED).
+     */
+    @Column(name = "superseded_by")
+    private Long supersededBy;
+
+    /**
+     * Content hash of the serialized CodeContext JSON in {@link CodeContextBlob}.
+     * Set after ReviewContextAssembler has assembled the context.
      * Nullable (only set after context assembly completes).
      */
-    @Column(name = "code_context", columnDefinition = "TEXT")
-    private String codeContext;
+    @Column(name = "code_context_hash", length = 64)
+    private String codeContextHash;
 
     /**
      * Task creation timestamp (when webhook was received).
@@ -187,6 +223,22 @@ public class ReviewTask {
     @Column(name = "completed_at")
     private Instant completedAt;
 
+    /**
+     * Worker lease expiry while the task is RUNNING.
+     * Set by markTaskStarted(), extended by the worker heartbeat, cleared on completion or failure.
+     * A RUNNING task past its lease is considered orphaned and is reclaimed by the reaper.
+     */
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    /**
+     * Earliest time a PENDING task may be claimed by the Postgres queue backend.
+     * Set when a retry is scheduled (backoff delay); null means claimable immediately.
+     * Unused by the Redis queue backends, which keep retries in the Redis retry queue.
+     */
+    @Column(name = "available_at")
+    private Instant availableAt;
+
     /**
      * Last update timestamp.
      * Auto-updated by JPA auditing on any entity modification.
@@ -0,0 +1,50 @@
+package com.aicodereview.repository.projection;
+
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of a ReviewTask row for task listings.
+ * <p>
+ * Selects the listing columns only: the large TEXT columns ({@code code_context}, {@code pr_description},
+ * {@code error_message}) and the project association are never loaded, so a listing page costs
+ * one index range scan regardless of how large the stored review context is.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+public interface ReviewTaskSummary {
+
+    Long getId();
+
+    Long getProjectId();
+
+    TaskType getTaskType();
+
+    String getBranch();
+
+    String getCommitHash();
+
+    Integer getPrNumber();
+
+    String getPrTitle();
+
+    String getAuthor();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    Integer getRetryCount();
+
+    Long getSupersededBy();
+
+    Instant getCreatedAt();
+
+    Instant getStartedAt();
+
+    Instant getCompletedAt();
+}
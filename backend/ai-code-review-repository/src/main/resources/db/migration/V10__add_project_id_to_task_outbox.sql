@@ -0,0 +1,14 @@
+-- V10: Add project_id to task_outbox
+-- Fair-share queueing keeps one Redis sub-queue per project, so the outbox relay needs the
+-- task's project to publish it without loading the review_task row.
+
+ALTER TABLE task_outbox ADD COLUMN project_id BIGINT;
+
+UPDATE task_outbox o
+SET project_id = t.project_id
+FROM review_task t
+WHERE t.id = o.task_id;
+
+ALTER TABLE task_outbox ALTER COLUMN project_id SET NOT NULL;
+
+COMMENT ON COLUMN task_outbox.project_id IS 'Project of the task, used to pick its sub-queue in fair-share mode';
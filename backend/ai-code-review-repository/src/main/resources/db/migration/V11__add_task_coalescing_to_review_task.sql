@@ -0,0 +1,17 @@
+-- V11: Support coalescing superseded tasks on the same branch
+-- When a newer PUSH (or PR/MR sync) task arrives for a branch, older PENDING tasks for the same
+-- branch are marked SUPERSEDED and the newer task reviews the whole range from the last reviewed
+-- commit (base_commit_hash) to its own head commit.
+
+ALTER TABLE review_task ADD COLUMN base_commit_hash VARCHAR(255);
+ALTER TABLE review_task ADD COLUMN superseded_by BIGINT;
+
+ALTER TABLE review_task DROP CONSTRAINT IF EXISTS review_task_status_check;
+ALTER TABLE review_task ADD CONSTRAINT review_task_status_check
+    CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED', 'SUPERSEDED'));
+
+-- Coalescing lookup: PENDING tasks of one branch of one project
+CREATE INDEX idx_review_task_pending_branch ON review_task(project_id, branch, task_type) WHERE status = 'PENDING';
+
+COMMENT ON COLUMN review_task.base_commit_hash IS 'Start of the reviewed commit range (exclusive); null reviews commit_hash alone';
+COMMENT ON COLUMN review_task.superseded_by IS 'ID of the newer task this task was folded into (status SUPERSEDED)';
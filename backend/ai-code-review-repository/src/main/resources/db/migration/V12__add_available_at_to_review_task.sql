@@ -0,0 +1,11 @@
+-- V12: Support the Postgres queue backend (aicodereview.queue.backend=postgres)
+-- PENDING rows are the queue: workers claim them with FOR UPDATE SKIP LOCKED and flip them to RUNNING
+-- in the same statement. A retry waits out its backoff in available_at instead of a Redis retry queue.
+
+ALTER TABLE review_task ADD COLUMN available_at TIMESTAMPTZ;
+
+-- Claim order: HIGH before NORMAL ('HIGH' < 'NORMAL'), then FIFO. idx_review_task_status_priority_created
+-- sorts priority DESC, which cannot serve this order, so the claim gets its own partial index.
+CREATE INDEX idx_review_task_pending_claim ON review_task(priority, created_at, id) WHERE status = 'PENDING';
+
+COMMENT ON COLUMN review_task.available_at IS 'Earliest time a PENDING task may be claimed (retry backoff); null means immediately';
@@ -0,0 +1,6 @@
+-- V13: Indexes for the keyset-paginated task listing API
+-- Listings walk newest first on (created_at, id) within a project or a status; these indexes
+-- serve each page as one range scan instead of sorting every matching row.
+
+CREATE INDEX idx_review_task_project_created ON review_task(project_id, created_at DESC, id DESC);
+CREATE INDEX idx_review_task_status_created ON review_task(status, created_at DESC, id DESC);
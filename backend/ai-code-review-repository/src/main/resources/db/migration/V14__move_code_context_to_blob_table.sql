@@ -0,0 +1,33 @@
+-- V14: Move code_context out of review_task into a content-addressed blob table
+-- review_task is rewritten on every status transition; keeping up to hundreds of KB of context JSON
+-- on the row made each transition drag it through dirty checking and TOAST. The task now stores
+-- only the SHA-256 of the context, and identical contexts (e.g. a re-run of the same commit) share one blob.
+
+CREATE TABLE code_context_blob (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    codec VARCHAR(10) NOT NULL,
+    raw_size INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT chk_code_context_blob_codec CHECK (codec IN ('none', 'zstd'))
+);
+
+ALTER TABLE review_task ADD COLUMN code_context_hash VARCHAR(64) REFERENCES code_context_blob(content_hash);
+
+-- Existing contexts are copied uncompressed; new contexts are written zstd-compressed by the application
+INSERT INTO code_context_blob (content_hash, codec, raw_size, data)
+SELECT DISTINCT encode(sha256(convert_to(code_context, 'UTF8')), 'hex'), 'none',
+       octet_length(convert_to(code_context, 'UTF8')), convert_to(code_context, 'UTF8')
+FROM review_task
+WHERE code_context IS NOT NULL;
+
+UPDATE review_task
+SET code_context_hash = encode(sha256(convert_to(code_context, 'UTF8')), 'hex')
+WHERE code_context IS NOT NULL;
+
+ALTER TABLE review_task DROP COLUMN code_context;
+
+COMMENT ON TABLE code_context_blob IS 'Serialized CodeContext JSON, keyed by SHA-256 of the uncompressed JSON';
+COMMENT ON COLUMN code_context_blob.codec IS 'Compression of data: none or zstd';
+COMMENT ON COLUMN code_context_blob.raw_size IS 'Size of the uncompressed JSON in bytes';
+COMMENT ON COLUMN review_task.code_context_hash IS 'content_hash of the assembled CodeContext in code_context_blob (nullable until assembled)';
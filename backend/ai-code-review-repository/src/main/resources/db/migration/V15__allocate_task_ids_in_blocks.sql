@@ -0,0 +1,8 @@
+-- V15: Let Hibernate batch review_task and task_outbox inserts
+-- The entities switch from IDENTITY to sequence ids allocated in blocks of 50 (pooled-lo optimizer:
+-- each nextval is the first id of a block). The sequence increment must match the block size.
+-- Column defaults still call nextval, so rows inserted outside the application take a whole block
+-- and never collide with ids the application has already handed out.
+
+ALTER SEQUENCE review_task_id_seq INCREMENT BY 50;
+ALTER SEQUENCE task_outbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,149 @@
+-- V16: Range-partition review_task by month of created_at
+-- COMPLETED/FAILED/SUPERSEDED rows are never read by the queue paths again, yet every index on the
+-- table kept growing with them. review_task is now partitioned into calendar months (UTC) named
+-- review_task_pYYYYMM. The application creates upcoming months ahead of time
+-- (review_task_ensure_partitions) and moves months past the retention period into review_task_archive
+-- (review_task_archive_partitions), so the live table and its indexes only ever hold a bounded window.
+--
+-- Postgres requires the primary key of a partitioned table to include the partition key, so the key
+-- becomes (id, created_at). Ids stay unique because they all come from review_task_id_seq. For the
+-- same reason task_outbox can no longer reference review_task(id) with a foreign key; outbox rows live
+-- for milliseconds and are deleted by the relay or by coalescing.
+
+-- Step 1: Create the partitioned table with the current columns, defaults and CHECK constraints
+CREATE TABLE review_task_partitioned (LIKE review_task INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS)
+    PARTITION BY RANGE (created_at);
+
+-- Step 2: Partition management functions
+-- Creates the partition for the month starting at month_start if missing; returns whether it was created.
+CREATE OR REPLACE FUNCTION review_task_create_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := 'review_task_p' || to_char(month_start, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF review_task FOR VALUES FROM (%L) TO (%L)',
+                   partition_name,
+                   month_start::timestamp AT TIME ZONE 'UTC',
+                   (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+    RETURN TRUE;
+END;
+$$;
+
+-- Ensures partitions exist for the current month and the next months_ahead months; returns how many were created.
+CREATE OR REPLACE FUNCTION review_task_ensure_partitions(months_ahead INTEGER) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    current_month DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    created INTEGER := 0;
+BEGIN
+    -- Serialize with other nodes running partition maintenance
+    PERFORM pg_advisory_xact_lock(hashtext('review_task_partitions'));
+    FOR i IN 0..months_ahead LOOP
+        IF review_task_create_partition((current_month + make_interval(months => i))::date) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Moves monthly partitions that end at or before older_than from review_task to review_task_archive;
+-- returns how many were moved. A month that still holds PENDING or RUNNING tasks is kept (and reported
+-- with a WARNING) until those tasks finish. Tasks are inserted with created_at = now, so no new active
+-- task can appear in a past month between the check and the detach.
+CREATE OR REPLACE FUNCTION review_task_archive_partitions(older_than TIMESTAMPTZ) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    part RECORD;
+    month_start TIMESTAMPTZ;
+    month_end TIMESTAMPTZ;
+    active BOOLEAN;
+    archived INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('review_task_partitions'));
+    -- DETACH briefly takes an exclusive lock on review_task; give up rather than queue behind long transactions
+    PERFORM set_config('lock_timeout', '5s', true);
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'review_task'::regclass
+          AND c.relname ~ '^review_task_p[0-9]{6}$'
+        ORDER BY c.relname
+    LOOP
+        month_start := to_date(substr(part.relname, 14), 'YYYYMM')::timestamp AT TIME ZONE 'UTC';
+        month_end := month_start + INTERVAL '1 month';
+        EXIT WHEN month_end > older_than;
+
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE status IN (''PENDING'', ''RUNNING''))', part.relname)
+            INTO active;
+        IF active THEN
+            RAISE WARNING 'Partition % still has PENDING or RUNNING tasks, not archived', part.relname;
+            CONTINUE;
+        END IF;
+
+        EXECUTE format('ALTER TABLE review_task DETACH PARTITION %I', part.relname);
+        EXECUTE format('ALTER TABLE review_task_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       part.relname, month_start, month_end);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$;
+
+-- Step 3: Swap the tables. The id sequence is handed over to the new table.
+ALTER TABLE task_outbox DROP CONSTRAINT fk_task_outbox_review_task;
+ALTER SEQUENCE review_task_id_seq OWNED BY NONE;
+ALTER TABLE review_task RENAME TO review_task_unpartitioned;
+ALTER TABLE review_task_partitioned RENAME TO review_task;
+ALTER SEQUENCE review_task_id_seq OWNED BY review_task.id;
+
+-- Step 4: One partition per month of existing data, the current month and the next three months.
+-- Rows outside every monthly partition (e.g. clock skew far into the future) land in the default partition.
+DO $$
+DECLARE
+    m DATE := COALESCE(
+        (SELECT date_trunc('month', min(created_at) AT TIME ZONE 'UTC')::date FROM review_task_unpartitioned),
+        date_trunc('month', now() AT TIME ZONE 'UTC')::date);
+BEGIN
+    WHILE m < date_trunc('month', now() AT TIME ZONE 'UTC')::date LOOP
+        PERFORM review_task_create_partition(m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+    PERFORM review_task_ensure_partitions(3);
+END;
+$$;
+CREATE TABLE review_task_default PARTITION OF review_task DEFAULT;
+
+-- Step 5: Copy the rows and drop the old table
+INSERT INTO review_task SELECT * FROM review_task_unpartitioned;
+DROP TABLE review_task_unpartitioned;
+
+-- Step 6: Keys and indexes (created on every partition, present and future)
+ALTER TABLE review_task ADD CONSTRAINT review_task_pkey PRIMARY KEY (id, created_at);
+ALTER TABLE review_task ADD CONSTRAINT fk_review_task_project
+    FOREIGN KEY (project_id) REFERENCES project(id) ON DELETE CASCADE;
+ALTER TABLE review_task ADD CONSTRAINT fk_review_task_code_context_blob
+    FOREIGN KEY (code_context_hash) REFERENCES code_context_blob(content_hash);
+
+CREATE INDEX idx_review_task_project_id ON review_task(project_id);
+CREATE INDEX idx_review_task_status ON review_task(status);
+CREATE INDEX idx_review_task_priority ON review_task(priority);
+CREATE INDEX idx_review_task_created_at ON review_task(created_at);
+CREATE INDEX idx_review_task_status_priority_created ON review_task(status, priority DESC, created_at ASC);
+CREATE INDEX idx_review_task_running_lease ON review_task(lease_expires_at) WHERE status = 'RUNNING';
+CREATE INDEX idx_review_task_pending_branch ON review_task(project_id, branch, task_type) WHERE status = 'PENDING';
+CREATE INDEX idx_review_task_pending_claim ON review_task(priority, created_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_review_task_project_created ON review_task(project_id, created_at DESC, id DESC);
+CREATE INDEX idx_review_task_status_created ON review_task(status, created_at DESC, id DESC);
+
+-- Step 7: Archive for months past retention. Partitions keep their own indexes when they are moved here.
+CREATE TABLE review_task_archive (LIKE review_task INCLUDING CONSTRAINTS INCLUDING COMMENTS)
+    PARTITION BY RANGE (created_at);
+
+COMMENT ON TABLE review_task IS 'Code review tasks created from webhook events (GitHub, GitLab, AWS CodeCommit), partitioned by month of created_at';
+COMMENT ON COLUMN review_task.id IS 'Primary key together with created_at (unique on its own, allocated from review_task_id_seq)';
+COMMENT ON TABLE review_task_archive IS 'Monthly review_task partitions moved out of the live table after the retention period';
@@ -0,0 +1,20 @@
+-- V17: Index the active working set instead of every row
+-- The queue, reaper and coalescing paths only read PENDING and RUNNING tasks, a small fraction of the table.
+-- The full status/priority indexes from V5 grew with every finished task without ever serving those paths
+-- better than a partial index would; listings by status use idx_review_task_status_created (V13).
+
+DROP INDEX IF EXISTS idx_review_task_status_priority_created;
+DROP INDEX IF EXISTS idx_review_task_status;
+DROP INDEX IF EXISTS idx_review_task_priority;
+
+-- Active tasks by status in priority order (getTasksByStatus for PENDING/RUNNING).
+-- Queries must repeat the predicate literally so that generic plans of prepared statements can use it.
+CREATE INDEX idx_review_task_active_priority_created ON review_task(status, priority DESC, created_at ASC)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- Duplicate check on task creation (single and bulk). A commit seen for the first time finds no index
+-- entry, so the common case never touches the heap.
+CREATE INDEX idx_review_task_project_commit ON review_task(project_id, commit_hash);
+
+-- Superseded by idx_review_task_project_commit and idx_review_task_project_created (leading project_id)
+DROP INDEX IF EXISTS idx_review_task_project_id;
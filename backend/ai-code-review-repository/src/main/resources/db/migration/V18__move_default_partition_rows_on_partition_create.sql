@@ -0,0 +1,46 @@
+-- V18: Create a month even when the default partition already holds rows of that month
+-- CREATE TABLE ... PARTITION OF fails if review_task_default has rows in the new range (a task created
+-- with a skewed clock, or while partition maintenance was not running). review_task_ensure_partitions
+-- then aborted its loop, so no later month was created either and every new task piled up in the
+-- default partition.
+--
+-- In that case the month is now built as a standalone table, the rows are moved into it out of the
+-- default partition, and it is attached. Attaching adds the indexes and keys of review_task and checks
+-- the range; everything runs in the caller's transaction, so the rows are never visible twice or not at all.
+
+CREATE OR REPLACE FUNCTION review_task_create_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := 'review_task_p' || to_char(month_start, 'YYYYMM');
+    range_start TIMESTAMPTZ := month_start::timestamp AT TIME ZONE 'UTC';
+    range_end TIMESTAMPTZ := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+    has_default_rows BOOLEAN := FALSE;
+    moved BIGINT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    IF to_regclass('review_task_default') IS NOT NULL THEN
+        EXECUTE 'SELECT EXISTS (SELECT 1 FROM review_task_default WHERE created_at >= $1 AND created_at < $2)'
+            INTO has_default_rows
+            USING range_start, range_end;
+    END IF;
+
+    IF NOT has_default_rows THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF review_task FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+        RETURN TRUE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE review_task INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM review_task_default WHERE created_at >= $1 AND created_at < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE review_task ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RAISE NOTICE 'Moved % row(s) from review_task_default into %', moved, partition_name;
+    RETURN TRUE;
+END;
+$$;
@@ -0,0 +1,96 @@
+-- V19: Enforce unique task ids across partitions and restore the task_outbox foreign key
+-- Since V16 the primary key of review_task is (id, created_at): Postgres cannot enforce a unique index
+-- on a partitioned table without the partition key, so nothing stopped two partitions from holding the
+-- same id, and task_outbox lost its foreign key (and ON DELETE CASCADE) to review_task(id).
+--
+-- review_task_id holds one row per task id, live or archived. Triggers on review_task add the id on
+-- insert (a duplicate id fails with a unique violation) and remove it on delete, so task_outbox can
+-- reference it again and deleting a task, or its project, removes its outbox entry. Ids of archived
+-- months stay registered and are never handed out again.
+--
+-- Moving rows out of the default partition (review_task_create_partition, V18) deletes and re-inserts
+-- them outside the parent table; the function now marks that move so the delete trigger keeps the ids.
+
+CREATE TABLE review_task_id (
+    id BIGINT PRIMARY KEY
+);
+
+INSERT INTO review_task_id (id) SELECT id FROM review_task;
+INSERT INTO review_task_id (id) SELECT id FROM review_task_archive;
+
+CREATE OR REPLACE FUNCTION review_task_register_id() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO review_task_id (id) VALUES (NEW.id);
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION review_task_release_id() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF current_setting('aicodereview.moving_task_rows', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    DELETE FROM review_task_id WHERE id = OLD.id;
+    RETURN NULL;
+END;
+$$;
+
+-- Row triggers on the partitioned table are cloned to every partition, present and future. A row that
+-- changes partition (UPDATE of created_at) fires the delete trigger and then the insert trigger.
+CREATE TRIGGER trg_review_task_register_id AFTER INSERT ON review_task
+    FOR EACH ROW EXECUTE FUNCTION review_task_register_id();
+CREATE TRIGGER trg_review_task_release_id AFTER DELETE ON review_task
+    FOR EACH ROW EXECUTE FUNCTION review_task_release_id();
+
+-- Same as V18, with the row move marked for review_task_release_id
+CREATE OR REPLACE FUNCTION review_task_create_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := 'review_task_p' || to_char(month_start, 'YYYYMM');
+    range_start TIMESTAMPTZ := month_start::timestamp AT TIME ZONE 'UTC';
+    range_end TIMESTAMPTZ := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+    has_default_rows BOOLEAN := FALSE;
+    moved BIGINT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    IF to_regclass('review_task_default') IS NOT NULL THEN
+        EXECUTE 'SELECT EXISTS (SELECT 1 FROM review_task_default WHERE created_at >= $1 AND created_at < $2)'
+            INTO has_default_rows
+            USING range_start, range_end;
+    END IF;
+
+    IF NOT has_default_rows THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF review_task FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+        RETURN TRUE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE review_task INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    PERFORM set_config('aicodereview.moving_task_rows', 'on', true);
+    EXECUTE format('WITH moved AS (DELETE FROM review_task_default WHERE created_at >= $1 AND created_at < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    PERFORM set_config('aicodereview.moving_task_rows', 'off', true);
+    EXECUTE format('ALTER TABLE review_task ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RAISE NOTICE 'Moved % row(s) from review_task_default into %', moved, partition_name;
+    RETURN TRUE;
+END;
+$$;
+
+-- Outbox entries left behind by tasks deleted since V16 could never be published
+DELETE FROM task_outbox o WHERE NOT EXISTS (SELECT 1 FROM review_task_id r WHERE r.id = o.task_id);
+
+-- Deferred so that the check does not depend on the order in which a transaction inserts the task and its entry
+ALTER TABLE task_outbox ADD CONSTRAINT fk_task_outbox_review_task
+    FOREIGN KEY (task_id) REFERENCES review_task_id(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED;
+
+COMMENT ON TABLE review_task_id IS 'One row per review_task id (live or archived); enforces id uniqueness across partitions';
+COMMENT ON COLUMN review_task.id IS 'Primary key together with created_at; unique on its own through review_task_id';
+COMMENT ON COLUMN task_outbox.task_id IS 'Foreign key to review_task_id (and so to review_task)';
@@ -0,0 +1,10 @@
+-- V20: Order the Postgres queue claim by an explicit priority rank
+-- claimPending ordered by the priority text, which put HIGH first only because 'HIGH' < 'NORMAL'
+-- sorts that way. It now orders by CASE priority WHEN 'HIGH' THEN 0 WHEN 'NORMAL' THEN 1 ELSE 2 END;
+-- this index on the same expression keeps the claim an ordered scan of the PENDING rows.
+-- idx_review_task_pending_claim stays for the reconciliation pages (equality on priority).
+-- The query must repeat the expression literally for the planner to match it.
+
+CREATE INDEX idx_review_task_pending_claim_rank ON review_task(
+    (CASE priority WHEN 'HIGH' THEN 0 WHEN 'NORMAL' THEN 1 ELSE 2 END), created_at, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,15 @@
+-- V21: Index the references to code_context_blob, for the orphan sweep
+-- code_context_blob rows were never deleted: a blob stays behind once no task refers to it any more
+-- (its project was deleted, or its archived month dropped). CodeContextStore.deleteOrphanedBlobs looks up
+-- each candidate blob in review_task and in review_task_archive; archived months keep their foreign key
+-- to code_context_blob, so a blob must not be deleted while an archived task still refers to it.
+--
+-- Both indexes are created on every partition, present and future. The two definitions are identical,
+-- so a partition moved to the archive keeps its index and ATTACH PARTITION adopts it.
+
+CREATE INDEX idx_review_task_code_context_hash ON review_task(code_context_hash)
+    WHERE code_context_hash IS NOT NULL;
+CREATE INDEX idx_review_task_archive_code_context_hash ON review_task_archive(code_context_hash)
+    WHERE code_context_hash IS NOT NULL;
+
+COMMENT ON COLUMN code_context_blob.created_at IS 'When the blob was last stored; orphaned blobs older than the sweep grace period are deleted';
@@ -0,0 +1,15 @@
+-- V8: Add lease_expires_at column to review_task table
+-- A RUNNING task is owned by a worker until its lease expires. Workers renew the lease
+-- while processing; the reaper re-queues RUNNING tasks whose lease has lapsed (worker lost).
+
+ALTER TABLE review_task ADD COLUMN lease_expires_at TIMESTAMPTZ;
+
+-- Tasks already RUNNING get the default 300s lease measured from their start time
+UPDATE review_task
+SET lease_expires_at = started_at + INTERVAL '300 seconds'
+WHERE status = 'RUNNING';
+
+-- Reaper scan: only RUNNING rows are ever looked up by lease expiry
+CREATE INDEX idx_review_task_running_lease ON review_task(lease_expires_at) WHERE status = 'RUNNING';
+
+COMMENT ON COLUMN review_task.lease_expires_at IS 'Worker lease expiry for RUNNING tasks (renewed by heartbeat, null otherwise)';
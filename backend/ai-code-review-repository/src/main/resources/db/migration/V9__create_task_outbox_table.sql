@@ -0,0 +1,24 @@
+-- V9: Create task_outbox table (transactional outbox for Redis queue publishing)
+-- createTask writes the review_task row and its outbox row in the same transaction.
+-- The outbox relay publishes committed rows to the Redis task queue in batches and deletes them,
+-- so a worker can never pop a task whose row is not yet visible, and a rolled-back create
+-- never leaves a ghost ID in Redis.
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    priority VARCHAR(20) NOT NULL CHECK (priority IN ('HIGH', 'NORMAL')),
+    task_created_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_task_outbox_review_task FOREIGN KEY (task_id) REFERENCES review_task(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_task_outbox_task_id ON task_outbox(task_id);
+
+COMMENT ON TABLE task_outbox IS 'Review tasks committed to the DB but not yet published to the Redis queue';
+COMMENT ON COLUMN task_outbox.id IS 'Primary key (relay publishes in id order)';
+COMMENT ON COLUMN task_outbox.task_id IS 'Foreign key to review_task table';
+COMMENT ON COLUMN task_outbox.priority IS 'Task priority used for the queue score';
+COMMENT ON COLUMN task_outbox.task_created_at IS 'Task creation timestamp used for FIFO ordering within a priority';
+COMMENT ON COLUMN task_outbox.created_at IS 'Outbox row creation timestamp (publish lag = now - created_at)';
@@ -0,0 +1,169 @@
+package com.aicodereview.repository.cache;
+
+import com.aicodereview.repository.entity.AiModelConfig;
+import com.aicodereview.repository.entity.Project;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EntityCacheEvictor.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityCacheEvictor Unit Tests")
+class EntityCacheEvictorTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    private EntityCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        evictor = new EntityCacheEvictor(entityManagerFactory, redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("evict - outside a transaction should evict locally and publish right away")
+    void testEvict_NoTransaction() {
+        stubLocalCaches();
+
+        evictor.evict(Project.class, 7L);
+
+        verify(cache).evict(Project.class, 7L);
+        verify(hibernateCache).evictQueryRegion(Project.QUERY_CACHE_REGION);
+        verify(redisTemplate).convertAndSend(EntityCacheEvictor.EVICTION_CHANNEL, Project.class.getName() + "#7");
+    }
+
+    @Test
+    @DisplayName("evict - in a transaction should wait for the commit")
+    void testEvict_AfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        evictor.evict(Project.class, 7L);
+
+        verifyNoInteractions(redisTemplate, entityManagerFactory);
+
+        stubLocalCaches();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(cache).evict(Project.class, 7L);
+        verify(redisTemplate).convertAndSend(EntityCacheEvictor.EVICTION_CHANNEL, Project.class.getName() + "#7");
+    }
+
+    @Test
+    @DisplayName("evict - a Redis failure should still evict locally")
+    void testEvict_PublishFails() {
+        stubLocalCaches();
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenThrow(new IllegalStateException("down"));
+
+        evictor.evict(Project.class, 7L);
+
+        verify(cache).evict(Project.class, 7L);
+    }
+
+    @Test
+    @DisplayName("evict - a local-only evictor (no Redis) should evict locally and publish nothing")
+    void testEvict_LocalOnly() {
+        stubLocalCaches();
+
+        new EntityCacheEvictor(entityManagerFactory).evict(Project.class, 7L);
+
+        verify(cache).evict(Project.class, 7L);
+        verify(hibernateCache).evictQueryRegion(Project.QUERY_CACHE_REGION);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("onMessage - should evict a known entity and the query results")
+    void testOnMessage_KnownEntity() {
+        stubEntities();
+        stubLocalCaches();
+
+        evictor.onMessage(message(Project.class.getName() + "#7"), null);
+
+        verify(cache).evict(Project.class, 7L);
+        verify(hibernateCache).evictQueryRegion(Project.QUERY_CACHE_REGION);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("evict - an entity without cached queries should leave the query regions alone")
+    void testEvict_NoQueryRegion() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        evictor.evict(AiModelConfig.class, 3L);
+
+        verify(cache).evict(AiModelConfig.class, 3L);
+        verify(entityManagerFactory, never()).unwrap(SessionFactory.class);
+        verifyNoInteractions(hibernateCache);
+    }
+
+    @Test
+    @DisplayName("onMessage - should ignore unknown entities and malformed messages")
+    void testOnMessage_Ignored() {
+        stubEntities();
+
+        evictor.onMessage(message("java.lang.String#7"), null);
+        evictor.onMessage(message(Project.class.getName() + "#abc"), null);
+        evictor.onMessage(message("garbage"), null);
+
+        verify(entityManagerFactory, never()).getCache();
+    }
+
+    private void stubLocalCaches() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+    }
+
+    private void stubEntities() {
+        Metamodel metamodel = mock(Metamodel.class);
+        EntityType<?> projectType = mock(EntityType.class);
+        doReturn(Project.class).when(projectType).getJavaType();
+        doReturn(Set.of(projectType)).when(metamodel).getEntities();
+        lenient().when(entityManagerFactory.getMetamodel()).thenReturn(metamodel);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(EntityCacheEvictor.EVICTION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package com.aicodereview.repository.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that hibernate-caffeine.conf parses and defines every region Hibernate asks for, so no region
+ * silently falls back to the unbounded default configuration.
+ */
+@DisplayName("Hibernate Cache Regions Tests")
+class HibernateCacheRegionsTest {
+
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        CachingProvider provider = Caching.getCachingProvider(PROVIDER);
+        cacheManager = provider.getCacheManager(URI.create("classpath:hibernate-caffeine.conf"),
+                getClass().getClassLoader());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"project", "ai-model-config", "prompt-template", "project-queries",
+            "default-query-results-region", "default-update-timestamps-region"})
+    @DisplayName("Every second-level cache region should be configured")
+    void testRegionConfigured(String region) {
+        assertThat(cacheManager.getCache(region)).isNotNull();
+    }
+}
@@ -0,0 +1,128 @@
+package com.aicodereview.repository.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadReplicaRoutingDataSource.
+ * <p>
+ * The read-only flag is bound directly through {@link TransactionSynchronizationManager}, as the
+ * transaction manager does for {@code @Transactional(readOnly = true)}.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReplicaRoutingDataSource Unit Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private MeterRegistry meterRegistry;
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("getConnection - outside a read-only transaction should use the primary")
+    void testGetConnection_ReadWrite() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+        assertThat(routed(ReadReplicaRoutingDataSource.ROUTE_PRIMARY)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getConnection - in a read-only transaction should use the replica")
+    void testGetConnection_ReadOnly() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        verifyNoInteractions(primary);
+        assertThat(routed(ReadReplicaRoutingDataSource.ROUTE_REPLICA)).isEqualTo(1);
+        assertThat(fallbacks()).isZero();
+    }
+
+    @Test
+    @DisplayName("getConnection - replica failure should fall back to the primary and skip the replica afterwards")
+    void testGetConnection_ReplicaDown() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        verify(replica, times(1)).getConnection();
+        assertThat(routed(ReadReplicaRoutingDataSource.ROUTE_PRIMARY)).isEqualTo(2);
+        assertThat(fallbacks()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection - replica should be tried again once the retry period has passed")
+    void testGetConnection_ReplicaRetried() throws SQLException {
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, Duration.ZERO, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    @DisplayName("close - should close closeable pools")
+    void testClose() throws Exception {
+        DataSource closeablePrimary = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        dataSource = new ReadReplicaRoutingDataSource(closeablePrimary, replica, Duration.ZERO, meterRegistry);
+
+        dataSource.close();
+
+        verify((AutoCloseable) closeablePrimary).close();
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("datasource_connections_routed_total").tag("route", route).counter().count();
+    }
+
+    private double fallbacks() {
+        return meterRegistry.get("datasource_replica_fallbacks_total").counter().count();
+    }
+}
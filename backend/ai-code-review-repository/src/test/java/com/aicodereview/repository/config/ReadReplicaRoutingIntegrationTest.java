@@ -0,0 +1,91 @@
+package com.aicodereview.repository.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for read replica routing.
+ *
+ * The replica pool points at the development database itself, a stand-in for a streaming replica:
+ * the replica pool opens its connections read-only, so {@code transaction_read_only} shows which
+ * pool served a transaction. Against a real replica, set {@code aicodereview.datasource.replica.url}
+ * to the second container instead.
+ *
+ * Note: Requires PostgreSQL to be running (via docker-compose up)
+ */
+@SpringBootTest(properties = "aicodereview.datasource.replica.url=${spring.datasource.url}")
+@ActiveProfiles("dev")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @ComponentScan(basePackages = "com.aicodereview.repository")
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldWrapRoutingDataSourceInLazyProxy() throws Exception {
+        assertThat(dataSource.unwrap(ReadReplicaRoutingDataSource.class)).isNotNull();
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromReplicaPool() {
+        double before = routed(ReadReplicaRoutingDataSource.ROUTE_REPLICA);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String readOnlySession = readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SHOW transaction_read_only", String.class));
+
+        assertThat(readOnlySession).isEqualTo("on");
+        assertThat(routed(ReadReplicaRoutingDataSource.ROUTE_REPLICA)).isEqualTo(before + 1);
+    }
+
+    @Test
+    void shouldServeReadWriteTransactionsFromPrimaryPool() {
+        double before = routed(ReadReplicaRoutingDataSource.ROUTE_REPLICA);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String readOnlySession = readWrite.execute(status ->
+                jdbcTemplate.queryForObject("SHOW transaction_read_only", String.class));
+
+        assertThat(readOnlySession).isEqualTo("off");
+        assertThat(routed(ReadReplicaRoutingDataSource.ROUTE_REPLICA)).isEqualTo(before);
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("datasource_connections_routed_total").tag("route", route).counter().count();
+    }
+}
@@ -0,0 +1,93 @@
+package com.aicodereview.repository.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkloadRoutingDataSource and the thread binding of {@link DataSourceWorkload}.
+ */
+@DisplayName("WorkloadRoutingDataSource Unit Tests")
+class WorkloadRoutingDataSourceTest {
+
+    private final Map<DataSourceWorkload, DataSource> pools = new EnumMap<>(DataSourceWorkload.class);
+    private final Map<DataSourceWorkload, Connection> connections = new EnumMap<>(DataSourceWorkload.class);
+    private WorkloadRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (DataSourceWorkload workload : DataSourceWorkload.values()) {
+            DataSource pool = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+            Connection connection = mock(Connection.class);
+            lenient().when(pool.getConnection()).thenReturn(connection);
+            pools.put(workload, pool);
+            connections.put(workload, connection);
+        }
+        dataSource = new WorkloadRoutingDataSource(pools);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceWorkload.set(null);
+    }
+
+    @Test
+    @DisplayName("getConnection - unbound thread should use the admin pool")
+    void testGetConnection_Unbound() throws SQLException {
+        assertThat(DataSourceWorkload.current()).isEqualTo(DataSourceWorkload.ADMIN);
+        assertThat(dataSource.getConnection()).isSameAs(connections.get(DataSourceWorkload.ADMIN));
+    }
+
+    @Test
+    @DisplayName("getConnection - should use the pool of the bound workload")
+    void testGetConnection_Bound() throws SQLException {
+        DataSourceWorkload.set(DataSourceWorkload.WEBHOOK);
+        assertThat(dataSource.getConnection()).isSameAs(connections.get(DataSourceWorkload.WEBHOOK));
+
+        DataSourceWorkload.set(DataSourceWorkload.WORKER);
+        assertThat(dataSource.getConnection()).isSameAs(connections.get(DataSourceWorkload.WORKER));
+    }
+
+    @Test
+    @DisplayName("wrap - should bind the workload while the task runs and restore the previous one")
+    void testWrap() {
+        DataSourceWorkload.set(DataSourceWorkload.WEBHOOK);
+        AtomicReference<DataSourceWorkload> during = new AtomicReference<>();
+
+        DataSourceWorkload.WORKER.wrap(() -> during.set(DataSourceWorkload.current())).run();
+
+        assertThat(during.get()).isEqualTo(DataSourceWorkload.WORKER);
+        assertThat(DataSourceWorkload.current()).isEqualTo(DataSourceWorkload.WEBHOOK);
+    }
+
+    @Test
+    @DisplayName("constructor - should require a pool for every workload")
+    void testConstructor_MissingPool() {
+        pools.remove(DataSourceWorkload.WEBHOOK);
+
+        assertThatThrownBy(() -> new WorkloadRoutingDataSource(pools))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("close - should close every pool")
+    void testClose() throws Exception {
+        dataSource.close();
+
+        for (DataSource pool : pools.values()) {
+            verify((AutoCloseable) pool).close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.aicodereview.service;
+
+import com.aicodereview.repository.CodeContextBlobRepository;
+import com.aicodereview.repository.entity.CodeContextBlob;
+import com.github.luben.zstd.Zstd;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Stores serialized CodeContext JSON as zstd-compressed, content-addressed blobs.
+ * <p>
+ * A context is keyed by the SHA-256 of its JSON, so storing an identical context again
+ * (e.g. a retried task or a re-review of the same commit) writes nothing. Callers keep only
+ * the returned hash on the task row and load the JSON back on demand.
+ * </p>
+ * <p>
+ * Blobs no task refers to any more, live or archived, are deleted by {@link #deleteOrphanedBlobs(int)}
+ * once they were last stored more than {@code aicodereview.task.context-orphan-grace-minutes} ago. The
+ * grace period covers a context that is stored before the task referring to it commits.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+@Service
+@Slf4j
+public class CodeContextStore {
+
+    private final CodeContextBlobRepository blobRepository;
+
+    @Value("${aicodereview.task.context-compression-level:3}")
+    private int compressionLevel;
+
+    @Value("${aicodereview.task.context-orphan-grace-minutes:60}")
+    private long orphanGraceMinutes;
+
+    public CodeContextStore(CodeContextBlobRepository blobRepository) {
+        this.blobRepository = blobRepository;
+    }
+
+    /**
+     * Stores the context unless an identical one is already stored.
+     *
+     * @param json the serialized CodeContext (must not be null)
+     * @return the content hash to reference the context by
+     */
+    @Transactional
+    public String store(String json) {
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256Hex(raw);
+        // Refreshing the stored time keeps the blob from the orphan sweep until the caller's task commits
+        if (blobRepository.touch(hash) > 0) {
+            log.debug("Code context {} already stored ({} bytes)", hash, raw.length);
+            return hash;
+        }
+
+        byte[] compressed = Zstd.compress(raw, compressionLevel);
+        blobRepository.insertIfAbsent(hash, CodeContextBlob.CODEC_ZSTD, raw.length, compressed);
+        log.debug("Stored code context {} ({} bytes, {} compressed)", hash, raw.length, compressed.length);
+        return hash;
+    }
+
+    /**
+     * Loads and decompresses a stored context.
+     *
+     * @param hash the content hash returned by {@link #store(String)}
+     * @return the serialized CodeContext, or empty if no blob has this hash
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> load(String hash) {
+        return blobRepository.findById(hash).map(CodeContextStore::decode);
+    }
+
+    /**
+     * Deletes one batch of blobs that no task refers to, live or archived, and that were last stored
+     * before the grace period.
+     *
+     * @param limit maximum number of blobs to delete
+     * @return number of blobs deleted; less than {@code limit} once no orphans are left
+     */
+    public int deleteOrphanedBlobs(int limit) {
+        Instant storedBefore = Instant.now().minus(Duration.ofMinutes(orphanGraceMinutes));
+        int deleted = blobRepository.deleteOrphaned(storedBefore, limit);
+        if (deleted > 0) {
+            log.debug("Deleted {} orphaned code context blob(s) stored before {}", deleted, storedBefore);
+        }
+        return deleted;
+    }
+
+    static String decode(CodeContextBlob blob) {
+        byte[] raw = switch (blob.getCodec()) {
+            case CodeContextBlob.CODEC_ZSTD -> Zstd.decompress(blob.getData(), blob.getRawSize());
+            case CodeContextBlob.CODEC_NONE -> blob.getData();
+            default -> throw new IllegalStateException(
+                    "Unknown codec '" + blob.getCodec() + "' for code context " + blob.getContentHash());
+        };
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
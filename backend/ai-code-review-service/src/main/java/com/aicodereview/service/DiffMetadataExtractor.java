@@ -1,5 +1,6 @@
 package com.aicodereview.service;
 
+import com.aicodereview.common.dto.DiffHunk;
 import com.aicodereview.common.dto.DiffMetadata;
 import com.aicodereview.common.dto.DiffStatistics;
 import com.aicodereview.common.dto.FileDiffInfo;
@@ -9,12 +10,18 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Extracts structured metadata from raw Git Unified Diff content.
  * <p>
- * Only extracts file-level metadata (paths, change types, line counts).
- * Does NOT parse hunk content — raw diff is passed directly to AI.
+ * Only extracts file-level metadata (paths, change types, line counts) and the
+ * line ranges of each hunk. Does NOT parse hunk content — raw diff is passed directly to AI.
+ * </p>
+ * <p>
+ * The diff is scanned once, line by line, by index: no line or per-file section is copied,
+ * so only the extracted paths are allocated, however large the diff.
  * </p>
  */
 @Service
@@ -28,35 +35,45 @@ public class DiffMetadataExtractor {
     private static final String RENAME_FROM = "rename from ";
     private static final String RENAME_TO = "rename to ";
     private static final String BINARY_FILES = "Binary files ";
+    private static final Pattern HUNK_HEADER = Pattern.compile("@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
 
     /**
-     * Extracts metadata from a raw Git diff string.
+     * Extracts metadata from a raw Git diff.
      *
      * @param rawDiff the raw unified diff content
      * @return DiffMetadata containing per-file info and aggregate statistics
      */
-    public DiffMetadata extractMetadata(String rawDiff) {
-        if (rawDiff == null || rawDiff.isBlank()) {
+    public DiffMetadata extractMetadata(CharSequence rawDiff) {
+        if (rawDiff == null || isBlank(rawDiff)) {
             return emptyMetadata();
         }
 
-        List<String> fileSections = splitIntoFileSections(rawDiff);
         List<FileDiffInfo> files = new ArrayList<>();
-        int totalAdded = 0;
-        int totalDeleted = 0;
+        Matcher hunkHeader = HUNK_HEADER.matcher(rawDiff);
+        FileScan current = null;
+        int length = rawDiff.length();
 
-        for (String section : fileSections) {
-            FileDiffInfo info = parseFileSection(section);
-            if (info != null) {
-                if (!info.isBinary()) {
-                    int[] lineCounts = countLines(section);
-                    info.setLinesAdded(lineCounts[0]);
-                    info.setLinesDeleted(lineCounts[1]);
-                    totalAdded += lineCounts[0];
-                    totalDeleted += lineCounts[1];
+        for (int start = 0; start < length; ) {
+            int end = lineEnd(rawDiff, start);
+            if (startsWith(rawDiff, start, end, DIFF_GIT_PREFIX)) {
+                if (current != null) {
+                    files.add(current.finish());
                 }
-                files.add(info);
+                current = new FileScan(extractPathsFromDiffHeader(rawDiff, start, end));
+            } else if (current != null) {
+                current.scanLine(rawDiff, start, end, hunkHeader);
             }
+            start = end + 1;
+        }
+        if (current != null) {
+            files.add(current.finish());
+        }
+
+        int totalAdded = 0;
+        int totalDeleted = 0;
+        for (FileDiffInfo file : files) {
+            totalAdded += file.getLinesAdded();
+            totalDeleted += file.getLinesDeleted();
         }
 
         DiffStatistics statistics = DiffStatistics.builder()
@@ -71,106 +88,107 @@ public class DiffMetadataExtractor {
                 .build();
     }
 
-    private List<String> splitIntoFileSections(String rawDiff) {
-        List<String> sections = new ArrayList<>();
-        String[] lines = rawDiff.split("\n");
-        StringBuilder current = null;
+    /**
+     * State of the file section being scanned. Header lines (mode, rename, paths, binary marker) are
+     * only read before the first hunk; line counts only inside hunks.
+     */
+    private static final class FileScan {
 
-        for (String line : lines) {
-            if (line.startsWith(DIFF_GIT_PREFIX)) {
-                if (current != null) {
-                    sections.add(current.toString());
-                }
-                current = new StringBuilder(line);
-            } else if (current != null) {
-                current.append("\n").append(line);
-            }
-        }
-        if (current != null) {
-            sections.add(current.toString());
-        }
-        return sections;
-    }
+        private final String[] headerPaths;
+        private String oldPath;
+        private String newPath;
+        private String renameFrom;
+        private String renameTo;
+        private ChangeType changeType = ChangeType.MODIFY;
+        private boolean isBinary;
+        private boolean inHunk;
+        private int linesAdded;
+        private int linesDeleted;
+        private final List<DiffHunk> hunks = new ArrayList<>();
 
-    private FileDiffInfo parseFileSection(String section) {
-        String[] lines = section.split("\n");
-        if (lines.length == 0) {
-            return null;
+        FileScan(String[] headerPaths) {
+            this.headerPaths = headerPaths;
         }
 
-        String oldPath = null;
-        String newPath = null;
-        ChangeType changeType = ChangeType.MODIFY;
-        boolean isBinary = false;
-        String renameFrom = null;
-        String renameTo = null;
-        String[] headerPaths = extractPathsFromDiffHeader(lines[0]);
-        boolean inHunk = false;
-
-        for (String line : lines) {
-            if (line.startsWith("@@") && line.contains("@@")) {
+        void scanLine(CharSequence diff, int start, int end, Matcher hunkHeader) {
+            if (startsWith(diff, start, end, "@@")) {
                 inHunk = true;
-                continue;
+                DiffHunk hunk = parseHunkHeader(diff, start, end, hunkHeader);
+                if (hunk != null) {
+                    hunks.add(hunk);
+                }
+                return;
             }
             if (inHunk) {
-                continue;
+                if (startsWith(diff, start, end, "+") && !startsWith(diff, start, end, "+++")) {
+                    linesAdded++;
+                } else if (startsWith(diff, start, end, "-") && !startsWith(diff, start, end, "---")) {
+                    linesDeleted++;
+                }
+                return;
             }
-            if (line.startsWith(NEW_FILE_MODE)) {
+            if (startsWith(diff, start, end, NEW_FILE_MODE)) {
                 changeType = ChangeType.ADD;
-            } else if (line.startsWith(DELETED_FILE_MODE)) {
+            } else if (startsWith(diff, start, end, DELETED_FILE_MODE)) {
                 changeType = ChangeType.DELETE;
-            } else if (line.startsWith(RENAME_FROM)) {
-                renameFrom = line.substring(RENAME_FROM.length()).trim();
+            } else if (startsWith(diff, start, end, RENAME_FROM)) {
+                renameFrom = trimmed(diff, start + RENAME_FROM.length(), end);
                 changeType = ChangeType.RENAME;
-            } else if (line.startsWith(RENAME_TO)) {
-                renameTo = line.substring(RENAME_TO.length()).trim();
+            } else if (startsWith(diff, start, end, RENAME_TO)) {
+                renameTo = trimmed(diff, start + RENAME_TO.length(), end);
                 changeType = ChangeType.RENAME;
-            } else if (line.startsWith(OLD_PATH_PREFIX)) {
-                String path = extractPath(line, OLD_PATH_PREFIX);
+            } else if (startsWith(diff, start, end, OLD_PATH_PREFIX)) {
+                String path = extractPath(diff, start + OLD_PATH_PREFIX.length(), end);
                 if (!"/dev/null".equals(path)) {
                     oldPath = path;
                 }
-            } else if (line.startsWith(NEW_PATH_PREFIX)) {
-                String path = extractPath(line, NEW_PATH_PREFIX);
+            } else if (startsWith(diff, start, end, NEW_PATH_PREFIX)) {
+                String path = extractPath(diff, start + NEW_PATH_PREFIX.length(), end);
                 if (!"/dev/null".equals(path)) {
                     newPath = path;
                 }
-            } else if (line.startsWith(BINARY_FILES) && line.contains("differ")) {
+            } else if (startsWith(diff, start, end, BINARY_FILES) && indexOf(diff, start, end, "differ") >= 0) {
                 isBinary = true;
             }
         }
 
-        // For RENAME without --- / +++ lines, use rename from/to
-        if (changeType == ChangeType.RENAME) {
-            if (renameFrom != null && oldPath == null) {
-                oldPath = renameFrom;
-            }
-            if (renameTo != null && newPath == null) {
-                newPath = renameTo;
+        FileDiffInfo finish() {
+            // For RENAME without --- / +++ lines, use rename from/to
+            if (changeType == ChangeType.RENAME) {
+                if (renameFrom != null && oldPath == null) {
+                    oldPath = renameFrom;
+                }
+                if (renameTo != null && newPath == null) {
+                    newPath = renameTo;
+                }
             }
-        }
 
-        // Fallback: extract paths from "diff --git a/X b/Y" header for binary files
-        if (oldPath == null && newPath == null && headerPaths != null) {
-            if (changeType != ChangeType.ADD) {
-                oldPath = headerPaths[0];
+            // Fallback: extract paths from "diff --git a/X b/Y" header for binary files
+            if (oldPath == null && newPath == null && headerPaths != null) {
+                if (changeType != ChangeType.ADD) {
+                    oldPath = headerPaths[0];
+                }
+                if (changeType != ChangeType.DELETE) {
+                    newPath = headerPaths[1];
+                }
             }
-            if (changeType != ChangeType.DELETE) {
-                newPath = headerPaths[1];
+
+            // Detect language from the most relevant path
+            String pathForLanguage = newPath != null ? newPath : oldPath;
+            FileDiffInfo info = FileDiffInfo.builder()
+                    .oldPath(oldPath)
+                    .newPath(newPath)
+                    .changeType(changeType)
+                    .language(Language.fromFileName(pathForLanguage))
+                    .isBinary(isBinary)
+                    .build();
+            if (!isBinary) {
+                info.setLinesAdded(linesAdded);
+                info.setLinesDeleted(linesDeleted);
+                info.setHunks(hunks);
             }
+            return info;
         }
-
-        // Detect language from the most relevant path
-        String pathForLanguage = newPath != null ? newPath : oldPath;
-        Language language = Language.fromFileName(pathForLanguage);
-
-        return FileDiffInfo.builder()
-                .oldPath(oldPath)
-                .newPath(newPath)
-                .changeType(changeType)
-                .language(language)
-                .isBinary(isBinary)
-                .build();
     }
 
     /**
@@ -179,30 +197,24 @@ public class DiffMetadataExtractor {
      *
      * @return String[2] = {oldPath, newPath}, or null if header cannot be parsed
      */
-    private String[] extractPathsFromDiffHeader(String headerLine) {
-        if (headerLine == null || !headerLine.startsWith(DIFF_GIT_PREFIX)) {
-            return null;
-        }
-        String rest = headerLine.substring(DIFF_GIT_PREFIX.length());
+    private static String[] extractPathsFromDiffHeader(CharSequence diff, int start, int end) {
+        int rest = start + DIFF_GIT_PREFIX.length();
         // Format: "a/path b/path" — find the " b/" separator
-        int separatorIndex = rest.indexOf(" b/");
+        int separatorIndex = indexOf(diff, rest, end, " b/");
         if (separatorIndex < 0) {
             return null;
         }
-        String oldPart = rest.substring(0, separatorIndex);
-        String newPart = rest.substring(separatorIndex + 1);
         // Strip "a/" and "b/" prefixes
-        if (oldPart.startsWith("a/")) {
-            oldPart = oldPart.substring(2);
-        }
-        if (newPart.startsWith("b/")) {
-            newPart = newPart.substring(2);
-        }
-        return new String[]{oldPart, newPart};
+        int oldStart = startsWith(diff, rest, separatorIndex, "a/") ? rest + 2 : rest;
+        int newStart = separatorIndex + 1 + 2;
+        return new String[]{
+                diff.subSequence(oldStart, separatorIndex).toString(),
+                diff.subSequence(newStart, end).toString()
+        };
     }
 
-    private String extractPath(String line, String prefix) {
-        String path = line.substring(prefix.length()).trim();
+    private static String extractPath(CharSequence diff, int start, int end) {
+        String path = trimmed(diff, start, end);
         // Remove "a/" or "b/" prefix from Git diff paths
         if (path.startsWith("a/") || path.startsWith("b/")) {
             path = path.substring(2);
@@ -210,26 +222,89 @@ public class DiffMetadataExtractor {
         return path;
     }
 
-    private int[] countLines(String section) {
-        int added = 0;
-        int deleted = 0;
-        String[] lines = section.split("\n");
-        boolean inHunk = false;
+    /**
+     * Parses a {@code @@ -a,b +c,d @@} header; an omitted line count means one line.
+     *
+     * @return the hunk, or null if the header is malformed
+     */
+    private static DiffHunk parseHunkHeader(CharSequence diff, int start, int end, Matcher matcher) {
+        matcher.region(start, end);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        return DiffHunk.builder()
+                .oldStart(group(diff, matcher, 1, 0))
+                .oldLines(group(diff, matcher, 2, 1))
+                .newStart(group(diff, matcher, 3, 0))
+                .newLines(group(diff, matcher, 4, 1))
+                .build();
+    }
+
+    private static int group(CharSequence diff, Matcher matcher, int group, int absent) {
+        return matcher.start(group) < 0
+                ? absent
+                : Integer.parseInt(diff, matcher.start(group), matcher.end(group), 10);
+    }
 
-        for (String line : lines) {
-            if (line.startsWith("@@") && line.contains("@@")) {
-                inHunk = true;
-                continue;
+    /**
+     * Returns the index of the '\n' ending the line that starts at {@code from}, or the length of the
+     * diff for its last line.
+     */
+    private static int lineEnd(CharSequence diff, int from) {
+        if (diff instanceof String string) {
+            int index = string.indexOf('\n', from);
+            return index < 0 ? string.length() : index;
+        }
+        int length = diff.length();
+        for (int i = from; i < length; i++) {
+            if (diff.charAt(i) == '\n') {
+                return i;
             }
-            if (inHunk) {
-                if (line.startsWith("+") && !line.startsWith("+++")) {
-                    added++;
-                } else if (line.startsWith("-") && !line.startsWith("---")) {
-                    deleted++;
-                }
+        }
+        return length;
+    }
+
+    private static boolean startsWith(CharSequence diff, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (diff.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence diff, int start, int end, String needle) {
+        for (int i = start; i <= end - needle.length(); i++) {
+            if (startsWith(diff, i, end, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same as {@code subSequence(start, end).toString().trim()}, without the intermediate copy.
+     */
+    private static String trimmed(CharSequence diff, int start, int end) {
+        while (start < end && diff.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && diff.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return diff.subSequence(start, end).toString();
+    }
+
+    private static boolean isBlank(CharSequence diff) {
+        for (int i = 0; i < diff.length(); i++) {
+            if (!Character.isWhitespace(diff.charAt(i))) {
+                return false;
             }
         }
-        return new int[]{added, deleted};
+        return true;
     }
 
     private DiffMetadata emptyMetadata() {
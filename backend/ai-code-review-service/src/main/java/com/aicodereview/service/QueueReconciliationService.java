@@ -0,0 +1,22 @@
+package com.aicodereview.service;
+
+import com.aicodereview.common.dto.reviewtask.QueueReconciliationResult;
+
+/**
+ * Repairs drift between the review_task table (primary record) and the Redis queue.
+ * <p>
+ * New tasks reach Redis through the task outbox, but retries and reclaimed tasks are still
+ * enqueued best-effort, and Redis itself can lose data. A PENDING row missing from Redis is
+ * never picked up by a worker. Reconciliation finds such tasks and enqueues them again with
+ * their original priority and creation order.
+ * </p>
+ */
+public interface QueueReconciliationService {
+
+    /**
+     * Runs one full reconciliation pass over all PENDING tasks.
+     *
+     * @return counts of tasks scanned, found missing, and re-enqueued
+     */
+    QueueReconciliationResult reconcile();
+}
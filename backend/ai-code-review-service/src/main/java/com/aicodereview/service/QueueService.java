@@ -1,7 +1,10 @@
 package com.aicodereview.service;
 
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
 import com.aicodereview.common.enums.TaskPriority;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,11 +22,38 @@ import java.util.Optional;
  * Processing locks use Redis String keys with TTL to prevent duplicate processing
  * in distributed environments. Lock key format: {@code task:lock:{taskId}}
  * </p>
+ * <p>
+ * In fair-share mode ({@code aicodereview.queue.fair.enabled=true}) each project has its own
+ * sub-queue and projects are served round-robin within a priority band, optionally capped at a
+ * number of running tasks per project. Methods taking a {@code projectId} use it to pick the
+ * sub-queue; it is ignored in the default single-queue mode.
+ * </p>
+ * <p>
+ * With {@code aicodereview.queue.backend=stream} tasks are kept in one Redis Stream per priority
+ * instead, claimed through a consumer group whose pending-entry list doubles as the lease.
+ * </p>
+ * <p>
+ * With {@code aicodereview.queue.backend=postgres} the PENDING rows of {@code review_task} are the
+ * queue and no Redis keys are used; see {@link #isDatabaseBacked()}.
+ * </p>
  *
  * @since 2.6.0
  */
 public interface QueueService {
 
+    /**
+     * Whether the queue is the {@code review_task} table itself rather than a separate store.
+     * <p>
+     * A database-backed queue claims PENDING rows directly and flips them to RUNNING as part of
+     * the claim, so new tasks need no outbox entry and a claimed task is already started.
+     * </p>
+     *
+     * @return true for the Postgres backend, false for the Redis backends
+     */
+    default boolean isDatabaseBacked() {
+        return false;
+    }
+
     /**
      * Adds a task to the priority queue.
      * <p>
@@ -34,14 +64,29 @@ public interface QueueService {
      * @param taskId   the task ID to enqueue
      * @param priority the task priority determining queue position
      */
-    void enqueue(Long taskId, TaskPriority priority);
+    default void enqueue(Long taskId, TaskPriority priority) {
+        enqueue(taskId, priority, null);
+    }
+
+    /**
+     * Adds a task of the given project to the priority queue.
+     * <p>
+     * Same scoring as {@link #enqueue(Long, TaskPriority)}; in fair-share mode the task goes to
+     * the project's sub-queue (tasks without a project share one sub-queue).
+     * </p>
+     *
+     * @param taskId    the task ID to enqueue
+     * @param priority  the task priority determining queue position
+     * @param projectId the task's project, or null if unknown
+     */
+    void enqueue(Long taskId, TaskPriority priority, Long projectId);
 
     /**
      * Atomically pops the highest-priority task from the queue and acquires a processing lock.
      * <p>
      * Uses ZPOPMIN to retrieve and remove the task with the lowest score
-     * (highest priority + earliest timestamp). After dequeue, a processing lock
-     * is acquired with 300-second TTL to prevent duplicate processing.
+     * (highest priority + earliest timestamp). In the same atomic step a processing lock
+     * is acquired with 300-second TTL and the task is recorded in the worker's in-flight set.
      * </p>
      * <p>
      * If lock acquisition fails (another worker already holds the lock),
@@ -53,17 +98,98 @@ public interface QueueService {
     Optional<Long> dequeue();
 
     /**
-     * Re-adds a task to the queue with a delay offset for retry purposes.
+     * Claims up to {@code max} tasks in priority order, waiting up to {@code wait} if the queue is empty.
+     * <p>
+     * Pops the lowest-score tasks and acquires their processing locks in a single atomic
+     * round trip. If nothing is ready and {@code wait} is positive, parks on the enqueue signal
+     * until a task arrives or the wait elapses, then claims once more.
+     * </p>
+     * <p>
+     * Tasks whose lock is already held by another worker are put back with their original
+     * score and are not returned.
+     * </p>
+     *
+     * @param max  maximum number of tasks to claim (must be at least 1)
+     * @param wait maximum time to block when the queue is empty; zero or null for no blocking
+     * @return claimed task IDs in dequeue order (empty list if none became available)
+     */
+    List<Long> dequeueBatch(int max, Duration wait);
+
+    /**
+     * Schedules a task to re-enter the queue after a delay, for retry purposes.
+     * <p>
+     * Releases any existing processing lock, then parks the task in the retry queue
+     * scored by its ready time (current timestamp + delaySeconds * 1000). The task is not
+     * visible to {@link #dequeue()} until {@link #promoteDueRetries(int)} moves it back.
+     * </p>
+     *
+     * @param taskId       the task ID to requeue
+     * @param priority     the task priority for score calculation
+     * @param delaySeconds delay in seconds before the task becomes eligible for dequeue
+     */
+    default void requeueWithDelay(Long taskId, TaskPriority priority, int delaySeconds) {
+        requeueWithDelay(taskId, priority, null, delaySeconds);
+    }
+
+    /**
+     * Schedules a task of the given project to re-enter the queue after a delay.
      * <p>
-     * Releases any existing processing lock before re-enqueue.
-     * The new score includes a delay offset: current timestamp + delaySeconds * 1000.
+     * Same as {@link #requeueWithDelay(Long, TaskPriority, int)}; the project is kept with the
+     * retry entry so that in fair-share mode the task is promoted into its project's sub-queue.
      * </p>
      *
      * @param taskId       the task ID to requeue
      * @param priority     the task priority for score calculation
+     * @param projectId    the task's project, or null if unknown
      * @param delaySeconds delay in seconds before the task becomes eligible for dequeue
      */
-    void requeueWithDelay(Long taskId, TaskPriority priority, int delaySeconds);
+    void requeueWithDelay(Long taskId, TaskPriority priority, Long projectId, int delaySeconds);
+
+    /**
+     * Moves up to {@code max} retry tasks whose delay has elapsed into the priority queue.
+     * <p>
+     * Promoted tasks are scored as if freshly enqueued at their ready time, so they keep
+     * their priority band and queue FIFO behind tasks that became ready earlier.
+     * </p>
+     *
+     * @param max maximum number of tasks to promote in one call (must be at least 1)
+     * @return number of tasks promoted
+     */
+    int promoteDueRetries(int max);
+
+    /**
+     * Extends the processing lock TTL of every task this node has claimed and still owns.
+     * <p>
+     * Called periodically by the worker heartbeat so long-running tasks keep their lock.
+     * Tasks whose lock has expired or passed to another worker are forgotten, not renewed.
+     * </p>
+     *
+     * @return IDs of the tasks whose lock was renewed
+     */
+    List<Long> renewLeases();
+
+    /**
+     * Returns the tasks Redis has no record of: not queued, not awaiting retry and not locked.
+     * <p>
+     * Checks the whole batch in one pipelined round trip (ZMSCORE on both queues plus EXISTS
+     * on each lock). Used by reconciliation to find PENDING tasks that were never enqueued.
+     * </p>
+     *
+     * @param tasks PENDING tasks to check
+     * @return IDs of the tasks missing from Redis, in input order
+     */
+    List<Long> findUntracked(List<ReviewTaskDTO> tasks);
+
+    /**
+     * Enqueues several tasks in a single ZADD, scoring each by its priority and creation time.
+     * <p>
+     * Unlike {@link #enqueue}, the original {@code createdAt} is kept so re-enqueued tasks
+     * regain their FIFO position instead of jumping to the back of the queue.
+     * </p>
+     *
+     * @param tasks tasks to enqueue (must have id, priority and createdAt; projectId for fair-share mode)
+     */
+    void enqueueAll(List<ReviewTaskDTO> tasks);
 
     /**
      * Returns the current number of tasks in the queue.
@@ -72,6 +198,13 @@ public interface QueueService {
      */
     long getQueueSize();
 
+    /**
+     * Returns the number of tasks waiting out a retry delay.
+     *
+     * @return retry queue size, or 0 if none are waiting
+     */
+    long getRetryQueueSize();
+
     /**
      * Checks if a task has an active processing lock.
      *
@@ -81,7 +214,7 @@ public interface QueueService {
     boolean isLocked(Long taskId);
 
     /**
-     * Manually releases a task's processing lock.
+     * Manually releases a task's processing lock and removes it from its owner's in-flight set.
      * <p>
      * Called after task processing completes (success or final failure)
      * to allow the task to be re-processed if needed.
@@ -90,4 +223,18 @@ public interface QueueService {
      * @param taskId the task ID whose lock should be released
      */
     void releaseLock(Long taskId);
+
+    /**
+     * Gives back a task this node claimed but will not start, e.g. because the worker is shutting down.
+     * <p>
+     * The task becomes claimable again right away with its retry count unchanged: the Redis backends
+     * release the lock and enqueue it anew (behind tasks of the same priority that are already waiting),
+     * the Postgres backend turns the claimed row back into PENDING.
+     * </p>
+     *
+     * @param taskId    the claimed task ID
+     * @param priority  task priority
+     * @param projectId owning project, for fair-share routing
+     */
+    void releaseClaim(Long taskId, TaskPriority priority, Long projectId);
 }
@@ -2,6 +2,8 @@ package com.aicodereview.service;
 
 import com.aicodereview.common.enums.FailureType;
 
+import java.time.Instant;
+
 /**
  * Service interface for task retry orchestration.
  * <p>
@@ -33,6 +35,18 @@ public interface RetryService {
      */
     void handleTaskFailure(Long taskId, String errorMessage, FailureType failureType);
 
+    /**
+     * Same as {@link #handleTaskFailure(Long, String, FailureType)}, passing the task's createdAt on
+     * as a partition hint (see {@link ReviewTaskService#markTaskCompleted(Long, Instant)}).
+     *
+     * @param taskId        the failed task ID
+     * @param createdAtHint the failed task's createdAt, or null if unknown
+     * @param errorMessage  the error description
+     * @param failureType   the classified failure type
+     * @since 2.8.0
+     */
+    void handleTaskFailure(Long taskId, Instant createdAtHint, String errorMessage, FailureType failureType);
+
     /**
      * Calculates retry delay in seconds using exponential backoff with jitter.
      * <p>
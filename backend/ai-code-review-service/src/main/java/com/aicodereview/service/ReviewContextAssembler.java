@@ -1,23 +1,33 @@
 package com.aicodereview.service;
 
+import com.aicodereview.common.dto.DiffHunk;
 import com.aicodereview.common.dto.DiffMetadata;
 import com.aicodereview.common.dto.FileDiffInfo;
 import com.aicodereview.common.dto.reviewtask.CodeContext;
 import com.aicodereview.common.dto.reviewtask.FileInfo;
 import com.aicodereview.common.dto.reviewtask.TaskMetadata;
 import com.aicodereview.common.enums.ChangeType;
+import com.aicodereview.common.enums.GitPlatform;
 import com.aicodereview.integration.git.GitPlatformClient;
 import com.aicodereview.integration.git.GitPlatformClientFactory;
 import com.aicodereview.repository.entity.ReviewTask;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +37,19 @@ import java.util.stream.Collectors;
  * Handles context window management with an aggregate token budget:
  * rawDiff gets priority, then file contents consume remaining capacity.
  * </p>
+ * <p>
+ * File contents are fetched concurrently on one bounded pool per Git platform
+ * ({@code review.context.fetch-concurrency} threads each), shared by all reviews in
+ * progress, so a large PR costs about one round trip per batch of files while the
+ * request rate against each platform stays capped.
+ * </p>
+ * <p>
+ * By default ({@link ContextMode#FULL}) whole files are included, truncated from the end when over
+ * budget. In {@link ContextMode#HUNKS} mode each file is instead reduced to windows of
+ * {@code review.context.hunk-context-lines} lines around its changed hunks before it counts
+ * against the budget, so the reviewer sees the code around a change deep in a large file
+ * instead of its first lines.
+ * </p>
  */
 @Service
 @Slf4j
@@ -47,6 +70,27 @@ public class ReviewContextAssembler {
     @Value("${review.context.max-files:50}")
     private int maxFiles;
 
+    @Value("${review.context.fetch-concurrency:8}")
+    private int fetchConcurrency;
+
+    @Value("${review.context.mode:FULL}")
+    private ContextMode contextMode;
+
+    @Value("${review.context.hunk-context-lines:20}")
+    private int hunkContextLines;
+
+    private final Map<GitPlatform, ExecutorService> fetchPools = new ConcurrentHashMap<>();
+
+    /**
+     * What part of each changed file goes into {@link CodeContext#getFileContents()}.
+     */
+    public enum ContextMode {
+        /** The whole file, truncated from the end when over budget. */
+        FULL,
+        /** Only the lines around each changed hunk. */
+        HUNKS
+    }
+
     public ReviewContextAssembler(GitPlatformClientFactory clientFactory,
                                   DiffMetadataExtractor diffExtractor) {
         this.clientFactory = clientFactory;
@@ -83,13 +127,13 @@ public class ReviewContextAssembler {
         // Step 2: Extract metadata
         DiffMetadata metadata = diffExtractor.extractMetadata(rawDiff);
 
-        // Step 3: Fetch file contents with error handling
-        Map<String, String> fileContents = fetchFileContents(client, task, metadata);
-
-        // Step 4: Apply aggregate token budget (H1 fix)
+        // Step 3: Apply aggregate token budget (H1 fix)
         // rawDiff gets priority, then file contents use remaining budget
         rawDiff = truncateRawDiff(rawDiff);
         int remainingTokens = maxContextTokens - estimateTokens(rawDiff);
+
+        // Step 4: Fetch file contents until the remaining budget is used up
+        Map<String, String> fileContents = fetchFileContents(client, task, metadata, remainingTokens);
         fileContents = truncateFileContents(fileContents, remainingTokens);
 
         // Step 5: Build CodeContext
@@ -124,7 +168,10 @@ public class ReviewContextAssembler {
             return "";
         }
         try {
-            String diff = client.getDiff(task.getRepoUrl(), task.getCommitHash());
+            // Coalesced tasks review the whole range since the last reviewed head
+            String diff = task.getBaseCommitHash() != null
+                    ? client.getDiff(task.getRepoUrl(), task.getBaseCommitHash(), task.getCommitHash())
+                    : client.getDiff(task.getRepoUrl(), task.getCommitHash());
             return diff != null ? diff : "";
         } catch (Exception e) {
             log.error("Failed to fetch raw diff for task {}: {}", task.getId(), e.getMessage());
@@ -132,7 +179,19 @@ public class ReviewContextAssembler {
         }
     }
 
-    Map<String, String> fetchFileContents(GitPlatformClient client, ReviewTask task, DiffMetadata metadata) {
+    /**
+     * Fetches the contents of the changed files in change-priority order.
+     * <p>
+     * Files are fetched in waves of at most {@code fetchConcurrency}. Each fetched file counts against
+     * the token budget with at most {@code maxFileTokens}, as {@link #truncateFileContents} will keep
+     * no more; no further wave is started once the budget is used up, so files that would be dropped
+     * are never downloaded.
+     * </p>
+     *
+     * @param remainingTokens aggregate token budget remaining after rawDiff
+     */
+    Map<String, String> fetchFileContents(GitPlatformClient client, ReviewTask task, DiffMetadata metadata,
+                                          int remainingTokens) {
         Map<String, String> contents = new LinkedHashMap<>();
 
         if (client == null) {
@@ -142,41 +201,130 @@ public class ReviewContextAssembler {
             return contents;
         }
 
-        List<FileDiffInfo> sortedFiles = sortByChangePriority(metadata.getFiles());
-        int filesProcessed = 0;
-
-        for (FileDiffInfo file : sortedFiles) {
-            if (filesProcessed >= maxFiles) {
-                log.info("Reached maxFiles limit ({}), skipping remaining files", maxFiles);
-                break;
-            }
+        List<String> paths = new ArrayList<>();
+        Map<String, List<DiffHunk>> hunksByPath = new HashMap<>();
+        for (FileDiffInfo file : sortByChangePriority(metadata.getFiles())) {
             if (file.isBinary()) {
                 continue;
             }
             if (file.getChangeType() == ChangeType.DELETE) {
                 continue;
             }
-
             String path = file.getNewPath() != null ? file.getNewPath() : file.getOldPath();
-            if (path == null) {
-                continue;
+            if (path != null) {
+                paths.add(path);
+                hunksByPath.put(path, file.getHunks());
             }
+        }
 
-            try {
-                String content = client.getFileContent(
-                        task.getRepoUrl(), task.getCommitHash(), path);
-                if (content != null) {
-                    contents.put(path, content);
-                    filesProcessed++;
+        // A wave never exceeds the files still missing, so a failed or empty file is replaced by the
+        // next one in priority order and the result is the same as fetching one by one
+        ExecutorService pool = fetchPool(client.getPlatform());
+        int maxFileChars = maxFileTokens * CHARS_PER_TOKEN;
+        long remainingChars = Math.max(0, (long) remainingTokens * CHARS_PER_TOKEN);
+        int next = 0;
+        while (contents.size() < maxFiles && remainingChars > 0 && next < paths.size()) {
+            int waveSize = Math.min(Math.max(1, fetchConcurrency), maxFiles - contents.size());
+            List<String> batch = paths.subList(next, Math.min(paths.size(), next + waveSize));
+            next += batch.size();
+
+            List<Future<String>> fetches = new ArrayList<>(batch.size());
+            for (String path : batch) {
+                fetches.add(pool.submit(() -> client.getFileContent(task.getRepoUrl(), task.getCommitHash(), path)));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                String path = batch.get(i);
+                try {
+                    String content = fetches.get(i).get();
+                    if (content != null && remainingChars > 0) {
+                        if (contextMode == ContextMode.HUNKS) {
+                            content = scopeToHunks(content, hunksByPath.get(path));
+                        }
+                        contents.put(path, content);
+                        remainingChars -= Math.min(content.length(), maxFileChars);
+                    }
+                } catch (ExecutionException e) {
+                    log.warn("Failed to fetch file content for '{}': {}", path, e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fetches.forEach(fetch -> fetch.cancel(true));
+                    log.warn("Interrupted while fetching file contents for task {}", task.getId());
+                    return contents;
                 }
-            } catch (Exception e) {
-                log.warn("Failed to fetch file content for '{}': {}", path, e.getMessage());
+            }
+        }
+        if (next < paths.size()) {
+            if (remainingChars <= 0) {
+                log.info("Token budget exhausted, skipping {} remaining file(s)", paths.size() - next);
+            } else {
+                log.info("Reached maxFiles limit ({}), skipping remaining files", maxFiles);
             }
         }
 
         return contents;
     }
 
+    /**
+     * Reduces a file to the lines within {@code hunkContextLines} of its hunks, merging overlapping
+     * windows. Each window is headed by {@code [lines start-end of total]}. A file without hunks, or
+     * whose windows cover it entirely, is returned unchanged.
+     */
+    String scopeToHunks(String content, List<DiffHunk> hunks) {
+        if (hunks == null || hunks.isEmpty() || content.isEmpty()) {
+            return content;
+        }
+        String[] lines = content.split("\n", -1);
+        int total = content.endsWith("\n") ? lines.length - 1 : lines.length;
+
+        List<int[]> windows = new ArrayList<>();
+        hunks.stream()
+                .map(hunk -> {
+                    int first = Math.max(1, hunk.getNewStart());
+                    int last = Math.max(first, hunk.getNewStart() + hunk.getNewLines() - 1);
+                    return new int[]{Math.max(1, first - hunkContextLines), Math.min(total, last + hunkContextLines)};
+                })
+                .filter(window -> window[0] <= window[1])
+                .sorted(Comparator.comparingInt((int[] window) -> window[0]))
+                .forEach(window -> {
+                    int[] previous = windows.isEmpty() ? null : windows.get(windows.size() - 1);
+                    if (previous != null && window[0] <= previous[1] + 1) {
+                        previous[1] = Math.max(previous[1], window[1]);
+                    } else {
+                        windows.add(window);
+                    }
+                });
+        if (windows.isEmpty() || (windows.size() == 1 && windows.get(0)[0] == 1 && windows.get(0)[1] == total)) {
+            return content;
+        }
+
+        StringBuilder scoped = new StringBuilder();
+        for (int[] window : windows) {
+            scoped.append("[lines ").append(window[0]).append('-').append(window[1])
+                    .append(" of ").append(total).append("]\n");
+            for (int line = window[0]; line <= window[1]; line++) {
+                scoped.append(lines[line - 1]).append('\n');
+            }
+        }
+        return scoped.toString();
+    }
+
+    private ExecutorService fetchPool(GitPlatform platform) {
+        return fetchPools.computeIfAbsent(platform, key -> {
+            String prefix = "git-fetch-" + key.name().toLowerCase() + "-";
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(1, fetchConcurrency), runnable -> {
+                Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchPools.values().forEach(ExecutorService::shutdownNow);
+    }
+
     /**
      * Sorts files by total line changes (linesAdded + linesDeleted) descending.
      * Files with more changes are prioritized for context assembly (AC5).
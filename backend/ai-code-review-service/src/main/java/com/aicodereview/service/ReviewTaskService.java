@@ -1,11 +1,16 @@
 package com.aicodereview.service;
 
+import com.aicodereview.common.dto.CursorPage;
 import com.aicodereview.common.dto.reviewtask.CreateReviewTaskRequest;
 import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskSummaryDTO;
 import com.aicodereview.common.enums.TaskStatus;
 import com.aicodereview.common.exception.ResourceNotFoundException;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service interface for managing code review tasks.
@@ -24,6 +29,9 @@ import java.util.List;
  */
 public interface ReviewTaskService {
 
+    /** Largest page {@link #listTasks} returns */
+    int MAX_PAGE_SIZE = 200;
+
     /**
      * Creates a new review task from webhook event.
      * <p>
@@ -38,6 +46,7 @@ public interface ReviewTaskService {
      * - Validates projectId exists (throws ResourceNotFoundException if not)
      * - Sets priority automatically based on taskType
      * - Initializes timestamps (created_at auto-populated by JPA)
+     * - Writes a task_outbox row in the same transaction; the outbox relay enqueues the task after commit
      * </p>
      *
      * @param request the task creation request containing all task details
@@ -46,6 +55,27 @@ public interface ReviewTaskService {
      */
     ReviewTaskDTO createTask(CreateReviewTaskRequest request);
 
+    /**
+     * Creates many review tasks in one transaction (e.g. a repository history backfill).
+     * <p>
+     * Equivalent to calling {@link #createTask} for each request, at a fraction of the cost:
+     * projects are validated with one query, duplicates are found with one
+     * {@code commit_hash IN (...)} query per chunk of requests, and the task and outbox rows are
+     * written with JDBC batch inserts. The outbox relay then publishes the tasks to the queue in
+     * batches. Requests repeating a (project, commit) pair of the batch share one task.
+     * </p>
+     * <p>
+     * Unlike {@link #createTask}, bulk creation does not coalesce PENDING tasks of the same branch:
+     * a backfill wants every requested commit reviewed.
+     * </p>
+     *
+     * @param requests the task creation requests
+     * @return the task DTO for each request, in request order (existing tasks for duplicates)
+     * @throws ResourceNotFoundException if any referenced project does not exist
+     * @since 2.8.0
+     */
+    List<ReviewTaskDTO> createTasks(List<CreateReviewTaskRequest> requests);
+
     /**
      * Retrieves a task by its ID.
      *
@@ -61,6 +91,9 @@ public interface ReviewTaskService {
      * Used for project-level task history and analytics.
      * Returns tasks in natural order (by ID).
      * </p>
+     * <p>
+     * Loads every task of the project in full; listings should use {@link #listTasks} instead.
+     * </p>
      *
      * @param projectId the project ID to query
      * @return list of task DTOs for the project (empty list if no tasks found)
@@ -78,22 +111,48 @@ public interface ReviewTaskService {
      * Example: getTasksByStatus(TaskStatus.PENDING) returns all pending tasks
      * in queue order.
      * </p>
+     * <p>
+     * Loads every matching task in full; listings should use {@link #listTasks} instead.
+     * </p>
      *
      * @param status the task status to filter by (typically PENDING for queue operations)
      * @return list of task DTOs ordered by priority and creation time
      */
     List<ReviewTaskDTO> getTasksByStatus(TaskStatus status);
 
+    /**
+     * Returns one page of task summaries, newest first, filtered by project and/or status.
+     * <p>
+     * Keyset-paginated on (created_at, id): pass the previous page's {@code nextCursor} to continue.
+     * Each page is a bounded index range scan that never loads the review context or PR/MR
+     * description, so the cost of a page does not grow with the table.
+     * </p>
+     *
+     * @param projectId the project to list (nullable if status is given)
+     * @param status    the status to list (nullable if projectId is given)
+     * @param cursor    the previous page's {@code nextCursor}, or null for the first page
+     * @param limit     maximum number of tasks to return (capped at {@value #MAX_PAGE_SIZE})
+     * @return the page of summaries with the cursor of the next page (null on the last page)
+     * @throws IllegalArgumentException if neither filter is given, the cursor is malformed or limit &lt; 1
+     * @since 2.8.0
+     */
+    CursorPage<ReviewTaskSummaryDTO> listTasks(Long projectId, TaskStatus status, String cursor, int limit);
+
     /**
      * Marks a task as started (status = RUNNING, started_at = now).
      * <p>
      * Called by worker when it picks up a task from the queue.
      * Updates status to RUNNING and sets startedAt timestamp.
      * </p>
+     * <p>
+     * Status transitions are single conditional UPDATEs on the expected current status, so of
+     * two workers starting the same task only one succeeds; the other gets IllegalStateException.
+     * </p>
      *
      * @param id the task ID to mark as started
      * @return the updated task DTO with new status and timestamp
      * @throws ResourceNotFoundException if task with given ID does not exist
+     * @throws IllegalStateException     if the task is not PENDING
      */
     ReviewTaskDTO markTaskStarted(Long id);
 
@@ -110,6 +169,24 @@ public interface ReviewTaskService {
      */
     ReviewTaskDTO markTaskCompleted(Long id);
 
+    /**
+     * Same as {@link #markTaskCompleted(Long)}, with the task's createdAt as a partition hint.
+     * <p>
+     * review_task is partitioned by created_at, so an UPDATE by id alone probes every monthly
+     * partition. With the hint (the createdAt returned by {@link #markTaskStarted}) the UPDATE
+     * only touches the partition of that month. The hint is never trusted: if it is null or
+     * matches no row, the transition is retried by id alone, so a wrong hint costs one more
+     * statement but gives the same result.
+     * </p>
+     *
+     * @param id            the task ID to mark as completed
+     * @param createdAtHint the task's createdAt, or null if unknown
+     * @return the updated task DTO with new status and timestamp
+     * @throws ResourceNotFoundException if task with given ID does not exist
+     * @since 2.8.0
+     */
+    ReviewTaskDTO markTaskCompleted(Long id, Instant createdAtHint);
+
     /**
      * Marks a task as failed and increments retry_count.
      * <p>
@@ -135,6 +212,19 @@ public interface ReviewTaskService {
      */
     ReviewTaskDTO markTaskFailed(Long id, String errorMessage);
 
+    /**
+     * Same as {@link #markTaskFailed(Long, String)}, with the task's createdAt as a partition hint
+     * (see {@link #markTaskCompleted(Long, Instant)}).
+     *
+     * @param id            the task ID to mark as failed
+     * @param createdAtHint the task's createdAt, or null if unknown
+     * @param errorMessage  the error message describing the failure
+     * @return the updated task DTO with incremented retry_count and error_message
+     * @throws ResourceNotFoundException if task with given ID does not exist
+     * @since 2.8.0
+     */
+    ReviewTaskDTO markTaskFailed(Long id, Instant createdAtHint, String errorMessage);
+
     /**
      * Marks a task as permanently failed for non-retryable errors.
      * <p>
@@ -152,6 +242,83 @@ public interface ReviewTaskService {
      */
     ReviewTaskDTO markTaskFailedPermanently(Long id, String errorMessage);
 
+    /**
+     * Same as {@link #markTaskFailedPermanently(Long, String)}, with the task's createdAt as a
+     * partition hint (see {@link #markTaskCompleted(Long, Instant)}).
+     *
+     * @param id            the task ID to mark as permanently failed
+     * @param createdAtHint the task's createdAt, or null if unknown
+     * @param errorMessage  the error message describing the failure
+     * @return the updated task DTO with FAILED status
+     * @throws ResourceNotFoundException if task with given ID does not exist
+     * @since 2.8.0
+     */
+    ReviewTaskDTO markTaskFailedPermanently(Long id, Instant createdAtHint, String errorMessage);
+
+    /**
+     * Stores the serialized review context assembled for a running task.
+     * <p>
+     * Called by the worker after {@code ReviewContextAssembler} has produced the
+     * CodeContext, before the task is marked as completed.
+     * </p>
+     * <p>
+     * The JSON is stored compressed in a content-addressed blob (identical contexts are stored
+     * once) and the task row only records its hash, so the row stays small.
+     * </p>
+     *
+     * @param id          the task ID to update
+     * @param codeContext the serialized CodeContext JSON
+     * @throws ResourceNotFoundException if task with given ID does not exist
+     */
+    void saveCodeContext(Long id, String codeContext);
+
+    /**
+     * Same as {@link #saveCodeContext(Long, String)}, with the task's createdAt as a partition hint
+     * (see {@link #markTaskCompleted(Long, Instant)}).
+     *
+     * @param id            the task ID to update
+     * @param createdAtHint the task's createdAt, or null if unknown
+     * @param codeContext   the serialized CodeContext JSON
+     * @throws ResourceNotFoundException if task with given ID does not exist
+     * @since 2.8.0
+     */
+    void saveCodeContext(Long id, Instant createdAtHint, String codeContext);
+
+    /**
+     * Loads the serialized review context stored for a task.
+     *
+     * @param id the task ID
+     * @return the serialized CodeContext JSON, or empty if none has been stored yet
+     * @throws ResourceNotFoundException if task with given ID does not exist
+     * @since 2.8.0
+     */
+    Optional<String> getCodeContext(Long id);
+
+    /**
+     * Extends the worker lease of RUNNING tasks by the configured lease duration.
+     * <p>
+     * Called by the worker heartbeat with every task it still holds; one bulk UPDATE.
+     * Tasks that are no longer RUNNING are skipped.
+     * </p>
+     *
+     * @param ids the task IDs whose lease should be renewed
+     * @return number of tasks renewed
+     */
+    int renewLeases(Collection<Long> ids);
+
+    /**
+     * Reclaims up to {@code limit} RUNNING tasks whose worker lease has expired.
+     * <p>
+     * Each reclaimed task counts as a failed attempt: retry_count is incremented and the task
+     * returns to PENDING, or becomes FAILED once max retries are exhausted, so a task that
+     * repeatedly kills its worker cannot loop forever. Re-queueing is the caller's responsibility.
+     * </p>
+     *
+     * @param limit maximum number of tasks to reclaim in this call
+     * @return the reclaimed tasks in their new state (PENDING or FAILED)
+     */
+    List<ReviewTaskDTO> reclaimExpiredLeases(int limit);
+
     /**
      * Checks if a task can be retried.
      * <p>
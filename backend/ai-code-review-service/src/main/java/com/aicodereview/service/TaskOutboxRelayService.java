@@ -0,0 +1,24 @@
+package com.aicodereview.service;
+
+/**
+ * Publishes committed task outbox entries to the Redis task queue.
+ * <p>
+ * Task creation only writes a task_outbox row alongside the review_task row. The relay moves
+ * those rows into the queue after commit, so workers never see a task ID before its row is
+ * visible and a rolled-back create never reaches Redis.
+ * </p>
+ */
+public interface TaskOutboxRelayService {
+
+    /**
+     * Publishes up to {@code batchSize} of the oldest outbox entries and deletes them.
+     * <p>
+     * Delivery is at-least-once: if the transaction fails after the queue write, the entries
+     * are published again on the next run, which re-adds the same member with the same score.
+     * </p>
+     *
+     * @param batchSize maximum number of entries to publish
+     * @return number of tasks published (0 if the outbox is empty)
+     */
+    int relayBatch(int batchSize);
+}
@@ -0,0 +1,28 @@
+package com.aicodereview.service;
+
+/**
+ * Maintains the monthly partitions of the {@code review_task} table.
+ * <p>
+ * {@code review_task} is range-partitioned by month of {@code created_at}. Upcoming months must
+ * be created before tasks arrive in them, and months past the retention period are moved to
+ * {@code review_task_archive}, so the live table and its indexes stay the same size however much
+ * history accumulates.
+ * </p>
+ */
+public interface TaskPartitionService {
+
+    /**
+     * Creates any missing partitions for the current month and the configured number of months ahead.
+     *
+     * @return number of partitions created
+     */
+    int createUpcomingPartitions();
+
+    /**
+     * Moves the months that ended before the retention period into the archive table.
+     * Months that still hold PENDING or RUNNING tasks are kept until those tasks finish.
+     *
+     * @return number of partitions archived (0 if retention is disabled)
+     */
+    int archiveExpiredPartitions();
+}
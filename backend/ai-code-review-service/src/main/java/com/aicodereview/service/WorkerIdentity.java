@@ -0,0 +1,47 @@
+package com.aicodereview.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Identity of this node as a queue consumer.
+ * <p>
+ * One id per process, shared by the queue backend (lock owner, in-flight set, stream consumer name)
+ * and the worker engine (logs, metrics), so that a lock or claim seen in Redis can be traced back to
+ * the worker that holds it. Set {@code aicodereview.worker.id} for a stable id, e.g. the pod name;
+ * otherwise it is the host name plus a random suffix.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+@Component
+public class WorkerIdentity {
+
+    private final String id;
+
+    public WorkerIdentity(@Value("${aicodereview.worker.id:}") String configuredId) {
+        this.id = configuredId == null || configuredId.isBlank() ? generateId() : configuredId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    private static String generateId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return "worker-" + suffix;
+        }
+    }
+}
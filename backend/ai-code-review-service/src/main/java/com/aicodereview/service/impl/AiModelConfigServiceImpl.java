@@ -7,6 +7,7 @@ import com.aicodereview.common.dto.aimodel.UpdateAiModelRequest;
 import com.aicodereview.common.exception.DuplicateResourceException;
 import com.aicodereview.common.exception.ResourceNotFoundException;
 import com.aicodereview.repository.AiModelConfigRepository;
+import com.aicodereview.repository.cache.EntityCacheEvictor;
 import com.aicodereview.repository.entity.AiModelConfig;
 import com.aicodereview.service.AiModelConfigService;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +40,7 @@ import java.util.stream.Collectors;
 public class AiModelConfigServiceImpl implements AiModelConfigService {
 
     private final AiModelConfigRepository aiModelConfigRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(10))
@@ -70,6 +72,7 @@ public class AiModelConfigServiceImpl implements AiModelConfigService {
 
         AiModelConfig saved = aiModelConfigRepository.save(config);
         log.info("AI model config created with id: {}", saved.getId());
+        entityCacheEvictor.evict(AiModelConfig.class, saved.getId());
         return toDTO(saved);
     }
 
@@ -143,6 +146,7 @@ public class AiModelConfigServiceImpl implements AiModelConfigService {
         }
 
         AiModelConfig saved = aiModelConfigRepository.save(config);
+        entityCacheEvictor.evict(AiModelConfig.class, id);
         log.info("AI model config updated: {}", saved.getId());
         return toDTO(saved);
     }
@@ -155,6 +159,7 @@ public class AiModelConfigServiceImpl implements AiModelConfigService {
             throw new ResourceNotFoundException("AiModelConfig", id);
         }
         aiModelConfigRepository.deleteById(id);
+        entityCacheEvictor.evict(AiModelConfig.class, id);
         log.info("AI model config deleted: {}", id);
     }
 
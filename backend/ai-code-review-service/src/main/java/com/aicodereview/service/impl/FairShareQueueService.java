@@ -0,0 +1,244 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.WorkerIdentity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fair-share variant of {@link RedisQueueService}: one sub-queue per project, dispatched round-robin.
+ * <p>
+ * Tasks go to {@code task:queue:{projectId}}, scored with the same formula as the single queue.
+ * {@code task:queue:projects} orders the projects that have queued tasks by
+ * {@code headBand * PRIORITY_MULTIPLIER + turn}: a project whose best task is HIGH always
+ * dispatches before projects with only NORMAL tasks, and within a band the project served least
+ * recently goes first. Each claim takes one task from the first project and moves that project to
+ * the back of its band, so a project flooding the queue gets one turn per round like everyone else.
+ * </p>
+ * <p>
+ * With {@code aicodereview.queue.fair.max-running-per-project} above zero, claimed tasks are
+ * tracked in {@code task:running:{projectId}} (scored by lease expiry) and a project at the cap is
+ * skipped until one of its tasks is released or its lease lapses.
+ * </p>
+ * <p>
+ * Switching modes does not migrate queued tasks between the single queue and the sub-queues;
+ * queue reconciliation re-enqueues PENDING tasks the active mode has no record of.
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnExpression("'${aicodereview.queue.backend:zset}' == 'zset' and ${aicodereview.queue.fair.enabled:false}")
+public class FairShareQueueService extends RedisQueueService {
+
+    /** Sub-queue for tasks enqueued without a project */
+    static final long UNSCOPED_PROJECT_ID = 0L;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> FAIR_CLAIM_SCRIPT = (RedisScript) fairScript("fair_claim.lua", List.class);
+    private static final RedisScript<Long> FAIR_ENQUEUE_SCRIPT = fairScript("fair_enqueue.lua", Long.class);
+    private static final RedisScript<Long> FAIR_PROMOTE_SCRIPT = fairScript("fair_promote_retries.lua", Long.class);
+
+    private static final List<String> DISPATCH_KEYS = List.of(
+            QueueKeys.TASK_QUEUE_PROJECTS, QueueKeys.TASK_QUEUE_TURN, QueueKeys.TASK_QUEUE_SIGNAL);
+
+    private final int maxRunningPerProject;
+
+    public FairShareQueueService(RedisTemplate<String, Object> redisTemplate,
+                                 WorkerIdentity workerIdentity,
+                                 @Value("${aicodereview.task.lease-seconds:300}") long leaseSeconds,
+                                 @Value("${aicodereview.queue.fair.max-running-per-project:0}") int maxRunningPerProject) {
+        super(redisTemplate, workerIdentity, leaseSeconds);
+        if (maxRunningPerProject < 0) {
+            throw new IllegalArgumentException(
+                    "aicodereview.queue.fair.max-running-per-project must be >= 0, was " + maxRunningPerProject);
+        }
+        this.maxRunningPerProject = maxRunningPerProject;
+    }
+
+    @Override
+    public void enqueue(Long taskId, TaskPriority priority, Long projectId) {
+        double score = calculateScore(priority, Instant.now());
+        addToProjectQueues(List.of(String.valueOf(taskId), formatScore(score), projectKey(projectId)));
+        log.info("Enqueued task {} for project {} with priority {} (score: {})", taskId, projectId, priority, score);
+    }
+
+    @Override
+    public void enqueueAll(List<ReviewTaskDTO> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+        List<String> triples = new ArrayList<>(tasks.size() * 3);
+        for (ReviewTaskDTO task : tasks) {
+            Instant enqueuedAt = task.getCreatedAt() != null ? task.getCreatedAt() : Instant.now();
+            triples.add(String.valueOf(task.getId()));
+            triples.add(formatScore(calculateScore(task.getPriority(), enqueuedAt)));
+            triples.add(projectKey(task.getProjectId()));
+        }
+        addToProjectQueues(triples);
+        log.info("Enqueued {} task(s) in one batch", tasks.size());
+    }
+
+    @Override
+    public void requeueWithDelay(Long taskId, TaskPriority priority, Long projectId, int delaySeconds) {
+        releaseLock(taskId);
+
+        long readyAt = Instant.now().plusSeconds(delaySeconds).toEpochMilli();
+        redisTemplate.opsForZSet().add(QueueKeys.TASK_RETRY_QUEUE, retryMember(taskId, priority, projectId), readyAt);
+
+        log.info("Scheduled retry of task {} in {}s (ready at: {})", taskId, delaySeconds, readyAt);
+    }
+
+    @Override
+    public int promoteDueRetries(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be >= 1, was " + max);
+        }
+        Long promoted = redisTemplate.execute(FAIR_PROMOTE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.TASK_RETRY_QUEUE, QueueKeys.TASK_QUEUE_PROJECTS, QueueKeys.TASK_QUEUE_TURN,
+                        QueueKeys.TASK_QUEUE_SIGNAL),
+                String.valueOf(Instant.now().toEpochMilli()), String.valueOf(max),
+                String.valueOf((long) PRIORITY_MULTIPLIER), QueueKeys.TASK_PROJECT_QUEUE_PREFIX,
+                String.valueOf(UNSCOPED_PROJECT_ID));
+        int count = promoted != null ? promoted.intValue() : 0;
+        if (count > 0) {
+            log.info("Promoted {} due retry task(s) to project queues", count);
+        }
+        return count;
+    }
+
+    @Override
+    public List<Long> findUntracked(List<ReviewTaskDTO> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return List.of();
+        }
+        Object[] retryMembers = tasks.stream()
+                .map(t -> retryMember(t.getId(), t.getPriority(), t.getProjectId())).toArray();
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForZSet().score(QueueKeys.TASK_RETRY_QUEUE, retryMembers);
+                for (ReviewTaskDTO task : tasks) {
+                    operations.opsForZSet().score(QueueKeys.projectQueueKey(projectOrUnscoped(task.getProjectId())),
+                            String.valueOf(task.getId()));
+                    operations.hasKey(QueueKeys.taskLockKey(task.getId()));
+                }
+                return null;
+            }
+        });
+
+        List<?> retryScores = (List<?>) results.get(0);
+        List<Long> untracked = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            boolean queued = results.get(1 + 2 * i) != null;
+            boolean locked = Boolean.TRUE.equals(results.get(2 + 2 * i));
+            boolean awaitingRetry = retryScores.get(i) != null;
+            if (!queued && !awaitingRetry && !locked) {
+                untracked.add(tasks.get(i).getId());
+            }
+        }
+        return untracked;
+    }
+
+    @Override
+    public long getQueueSize() {
+        Set<Object> projects = redisTemplate.opsForZSet().range(QueueKeys.TASK_QUEUE_PROJECTS, 0, -1);
+        if (projects == null || projects.isEmpty()) {
+            return 0;
+        }
+        List<Object> sizes = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Object projectId : projects) {
+                    operations.opsForZSet().zCard(QueueKeys.TASK_PROJECT_QUEUE_PREFIX + projectId);
+                }
+                return null;
+            }
+        });
+        long total = 0;
+        for (Object size : sizes) {
+            total += size != null ? ((Number) size).longValue() : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Runs the fair claim script: takes one task per project turn until {@code max} are claimed
+     * or every project is drained or at its cap, writing leases and running-set entries atomically.
+     */
+    @Override
+    protected List<Long> claim(int max) {
+        List<String> ids = redisTemplate.execute(FAIR_CLAIM_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.TASK_QUEUE_PROJECTS, QueueKeys.TASK_QUEUE_TURN, QueueKeys.TASK_QUEUE_SIGNAL,
+                        inflightKey, QueueKeys.TASK_OWNER),
+                String.valueOf(max), workerId, String.valueOf(lockTtl.toSeconds()), QueueKeys.TASK_LOCK_PREFIX,
+                QueueKeys.TASK_PROJECT_QUEUE_PREFIX, QueueKeys.TASK_RUNNING_PREFIX,
+                String.valueOf(maxRunningPerProject), String.valueOf(Instant.now().toEpochMilli()),
+                String.valueOf((long) PRIORITY_MULTIPLIER));
+        return toTaskIds(ids);
+    }
+
+    private void addToProjectQueues(List<String> triples) {
+        List<String> args = new ArrayList<>(triples.size() + 2);
+        args.add(QueueKeys.TASK_PROJECT_QUEUE_PREFIX);
+        args.add(String.valueOf((long) PRIORITY_MULTIPLIER));
+        args.addAll(triples);
+        redisTemplate.execute(FAIR_ENQUEUE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER, DISPATCH_KEYS,
+                args.toArray());
+    }
+
+    /**
+     * Builds the retry queue member {@code {taskId}:{priorityBand}:{projectId}}, so the promoter can
+     * route the task back to its project's sub-queue without a DB lookup.
+     */
+    String retryMember(Long taskId, TaskPriority priority, Long projectId) {
+        return retryMember(taskId, priority) + ":" + projectOrUnscoped(projectId);
+    }
+
+    private static long projectOrUnscoped(Long projectId) {
+        return projectId != null ? projectId : UNSCOPED_PROJECT_ID;
+    }
+
+    private static String projectKey(Long projectId) {
+        return String.valueOf(projectOrUnscoped(projectId));
+    }
+
+    /** Scores are passed to Lua as plain integers; {@code String.valueOf(double)} would use exponent notation */
+    private static String formatScore(double score) {
+        return String.valueOf((long) score);
+    }
+
+    /**
+     * Loads a fair-share script with {@code scripts/fair_common.lua} prepended, so the helpers the
+     * scripts share (such as {@code reindex}) are defined once.
+     */
+    private static <T> RedisScript<T> fairScript(String name, Class<T> resultType) {
+        try {
+            String common = new ClassPathResource("scripts/fair_common.lua").getContentAsString(StandardCharsets.UTF_8);
+            String script = new ClassPathResource("scripts/" + name).getContentAsString(StandardCharsets.UTF_8);
+            return RedisScript.of(common + script, resultType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load Redis script " + name, e);
+        }
+    }
+}
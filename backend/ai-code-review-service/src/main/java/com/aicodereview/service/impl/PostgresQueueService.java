@@ -0,0 +1,198 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.service.QueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Postgres implementation of {@link QueueService}: the PENDING rows of {@code review_task} are the queue.
+ * <p>
+ * A claim is a single statement that selects the next claimable rows with
+ * {@code FOR UPDATE SKIP LOCKED LIMIT n} (HIGH before NORMAL, then oldest first) and flips them to
+ * RUNNING with a fresh lease, so there is no second store to keep in sync with the database:
+ * a task is queued exactly when it is committed as PENDING. Enqueue and promotion are therefore
+ * no-ops, and the task outbox is not written ({@link #isDatabaseBacked()}).
+ * </p>
+ * <p>
+ * The database lease ({@code lease_expires_at}) is the processing lock. This node remembers the
+ * tasks it claimed so the worker heartbeat can extend their leases; the orphaned task reaper
+ * reclaims tasks whose lease lapsed. Retry backoff is stored in {@code available_at}.
+ * </p>
+ * <p>
+ * Idle workers poll: {@link #dequeueBatch} re-runs the claim every {@value #IDLE_POLL_MILLIS}ms
+ * until a task is claimed or the wait elapses. Selected with {@code aicodereview.queue.backend=postgres}.
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "aicodereview.queue", name = "backend", havingValue = "postgres")
+public class PostgresQueueService implements QueueService {
+
+    static final long IDLE_POLL_MILLIS = 250;
+
+    private final ReviewTaskRepository reviewTaskRepository;
+    private final long leaseSeconds;
+    private final Set<Long> inflight = ConcurrentHashMap.newKeySet();
+
+    public PostgresQueueService(ReviewTaskRepository reviewTaskRepository,
+                                @Value("${aicodereview.task.lease-seconds:300}") long leaseSeconds) {
+        this.reviewTaskRepository = reviewTaskRepository;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @Override
+    public boolean isDatabaseBacked() {
+        return true;
+    }
+
+    /**
+     * No-op: a committed PENDING task is already claimable.
+     */
+    @Override
+    public void enqueue(Long taskId, TaskPriority priority, Long projectId) {
+        log.debug("Task {} is claimable from the database, nothing to enqueue", taskId);
+    }
+
+    @Override
+    public Optional<Long> dequeue() {
+        List<Long> claimed = claim(1);
+        if (claimed.isEmpty()) {
+            log.debug("No claimable task in the database");
+            return Optional.empty();
+        }
+        log.info("Dequeued task {}", claimed.get(0));
+        return Optional.of(claimed.get(0));
+    }
+
+    @Override
+    public List<Long> dequeueBatch(int max, Duration wait) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be >= 1, was " + max);
+        }
+
+        List<Long> claimed = claim(max);
+        if (claimed.isEmpty() && wait != null && !wait.isZero() && !wait.isNegative()) {
+            long deadline = System.nanoTime() + wait.toNanos();
+            long remaining;
+            while (claimed.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    Thread.sleep(Math.min(IDLE_POLL_MILLIS, Duration.ofNanos(remaining).toMillis() + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                claimed = claim(max);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            log.info("Dequeued batch of {} task(s): {}", claimed.size(), claimed);
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public void requeueWithDelay(Long taskId, TaskPriority priority, Long projectId, int delaySeconds) {
+        releaseLock(taskId);
+
+        Instant availableAt = Instant.now().plusSeconds(delaySeconds);
+        if (reviewTaskRepository.deferPending(taskId, availableAt) == 0) {
+            log.warn("Task {} is no longer PENDING, retry not scheduled", taskId);
+            return;
+        }
+        log.info("Scheduled retry of task {} in {}s (available at: {})", taskId, delaySeconds, availableAt);
+    }
+
+    /**
+     * No-op: a deferred task becomes claimable once {@code available_at} passes.
+     */
+    @Override
+    public int promoteDueRetries(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be >= 1, was " + max);
+        }
+        return 0;
+    }
+
+    @Override
+    public List<Long> renewLeases() {
+        return List.copyOf(inflight);
+    }
+
+    /**
+     * Always empty: every PENDING row is its own queue entry.
+     */
+    @Override
+    public List<Long> findUntracked(List<ReviewTaskDTO> tasks) {
+        return List.of();
+    }
+
+    /**
+     * No-op, see {@link #enqueue(Long, TaskPriority, Long)}.
+     */
+    @Override
+    public void enqueueAll(List<ReviewTaskDTO> tasks) {
+        // PENDING rows are claimed directly
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getQueueSize() {
+        return reviewTaskRepository.countClaimable(Instant.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getRetryQueueSize() {
+        return reviewTaskRepository.countDeferred(Instant.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isLocked(Long taskId) {
+        return inflight.contains(taskId) || reviewTaskRepository.existsByIdAndStatus(taskId, TaskStatus.RUNNING);
+    }
+
+    /**
+     * Forgets the task on this node; its status and lease are cleared by the task service.
+     */
+    @Override
+    public void releaseLock(Long taskId) {
+        if (inflight.remove(taskId)) {
+            log.debug("Released claim on task {}", taskId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseClaim(Long taskId, TaskPriority priority, Long projectId) {
+        releaseLock(taskId);
+        if (reviewTaskRepository.unclaim(taskId, Instant.now()) == 0) {
+            log.warn("Task {} is no longer RUNNING, nothing to give back", taskId);
+            return;
+        }
+        log.info("Gave back unstarted task {}", taskId);
+    }
+
+    private List<Long> claim(int max) {
+        Instant now = Instant.now();
+        List<Long> claimed = reviewTaskRepository.claimPending(now, now.plusSeconds(leaseSeconds), max);
+        inflight.addAll(claimed);
+        return claimed;
+    }
+}
@@ -6,6 +6,7 @@ import com.aicodereview.common.dto.project.UpdateProjectRequest;
 import com.aicodereview.common.exception.DuplicateResourceException;
 import com.aicodereview.common.exception.ResourceNotFoundException;
 import com.aicodereview.repository.ProjectRepository;
+import com.aicodereview.repository.cache.EntityCacheEvictor;
 import com.aicodereview.repository.entity.Project;
 import com.aicodereview.service.ProjectService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ import java.util.stream.Collectors;
 public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     @Override
     public ProjectDTO createProject(CreateProjectRequest request) {
@@ -48,6 +50,7 @@ public class ProjectServiceImpl implements ProjectService {
 
         Project saved = projectRepository.save(project);
         log.info("Project created with id: {}", saved.getId());
+        entityCacheEvictor.evict(Project.class, saved.getId());
         return toDTO(saved);
     }
 
@@ -107,6 +110,7 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         Project saved = projectRepository.save(project);
+        entityCacheEvictor.evict(Project.class, id);
         log.info("Project updated: {}", saved.getId());
         return toDTO(saved);
     }
@@ -119,6 +123,7 @@ public class ProjectServiceImpl implements ProjectService {
             throw new ResourceNotFoundException("Project", id);
         }
         projectRepository.deleteById(id);
+        entityCacheEvictor.evict(Project.class, id);
         log.info("Project deleted: {}", id);
     }
 
@@ -8,6 +8,7 @@ import com.aicodereview.common.exception.DuplicateResourceException;
 import com.aicodereview.common.exception.ResourceNotFoundException;
 import com.aicodereview.common.exception.TemplateSyntaxException;
 import com.aicodereview.repository.PromptTemplateRepository;
+import com.aicodereview.repository.cache.EntityCacheEvictor;
 import com.aicodereview.repository.entity.PromptTemplate;
 import com.aicodereview.service.PromptTemplateService;
 import com.github.jknack.handlebars.Handlebars;
@@ -36,6 +37,7 @@ import java.util.stream.Collectors;
 public class PromptTemplateServiceImpl implements PromptTemplateService {
 
     private final PromptTemplateRepository promptTemplateRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     private static final Handlebars HANDLEBARS = new Handlebars();
 
@@ -59,6 +61,7 @@ public class PromptTemplateServiceImpl implements PromptTemplateService {
 
         PromptTemplate saved = promptTemplateRepository.save(template);
         log.info("Prompt template created with id: {}", saved.getId());
+        entityCacheEvictor.evict(PromptTemplate.class, saved.getId());
         return toDTO(saved);
     }
 
@@ -121,6 +124,7 @@ public class PromptTemplateServiceImpl implements PromptTemplateService {
         }
 
         PromptTemplate saved = promptTemplateRepository.save(template);
+        entityCacheEvictor.evict(PromptTemplate.class, id);
         log.info("Prompt template updated: {}", saved.getId());
         return toDTO(saved);
     }
@@ -133,6 +137,7 @@ public class PromptTemplateServiceImpl implements PromptTemplateService {
             throw new ResourceNotFoundException("PromptTemplate", id);
         }
         promptTemplateRepository.deleteById(id);
+        entityCacheEvictor.evict(PromptTemplate.class, id);
         log.info("Prompt template deleted: {}", id);
     }
 
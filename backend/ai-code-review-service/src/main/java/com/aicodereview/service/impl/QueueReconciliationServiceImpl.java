@@ -0,0 +1,101 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.dto.reviewtask.QueueReconciliationResult;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.service.QueueReconciliationService;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.mapper.ReviewTaskMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of {@link QueueReconciliationService}.
+ * <p>
+ * Walks PENDING tasks one priority band at a time with keyset pagination on
+ * (created_at, id), so each page is an index range scan on
+ * idx_review_task_status_priority_created. Each page is checked against Redis in one
+ * pipelined round trip and the missing tasks are re-enqueued with a single ZADD.
+ * </p>
+ * <p>
+ * Tasks updated within {@code aicodereview.queue.reconcile.grace-seconds} are skipped: they
+ * may be between the DB write and the Redis write of a normal create or retry.
+ * Not transactional as a whole — each page read is its own short read-only query.
+ * </p>
+ */
+@Slf4j
+@Service
+public class QueueReconciliationServiceImpl implements QueueReconciliationService {
+
+    private final ReviewTaskRepository reviewTaskRepository;
+    private final QueueService queueService;
+
+    @Value("${aicodereview.queue.reconcile.page-size:500}")
+    private int pageSize;
+
+    @Value("${aicodereview.queue.reconcile.grace-seconds:60}")
+    private long graceSeconds;
+
+    public QueueReconciliationServiceImpl(ReviewTaskRepository reviewTaskRepository, QueueService queueService) {
+        this.reviewTaskRepository = reviewTaskRepository;
+        this.queueService = queueService;
+    }
+
+    @Override
+    public QueueReconciliationResult reconcile() {
+        Instant updatedBefore = Instant.now().minusSeconds(graceSeconds);
+        QueueReconciliationResult result = new QueueReconciliationResult();
+
+        for (TaskPriority priority : TaskPriority.values()) {
+            reconcileBand(priority, updatedBefore, result);
+        }
+
+        if (result.getDriftDetected() > 0) {
+            log.warn("Queue reconciliation: {} PENDING task(s) scanned, {} missing from Redis, {} re-enqueued",
+                    result.getScanned(), result.getDriftDetected(), result.getDriftRepaired());
+        } else {
+            log.debug("Queue reconciliation: {} PENDING task(s) scanned, no drift", result.getScanned());
+        }
+        return result;
+    }
+
+    private void reconcileBand(TaskPriority priority, Instant updatedBefore, QueueReconciliationResult result) {
+        Instant afterCreatedAt = Instant.EPOCH;
+        long afterId = 0L;
+        PageRequest page = PageRequest.of(0, pageSize);
+
+        List<ReviewTask> tasks;
+        do {
+            tasks = reviewTaskRepository.findPendingPage(priority, updatedBefore, afterCreatedAt, afterId, page);
+            if (tasks.isEmpty()) {
+                break;
+            }
+            ReviewTask last = tasks.get(tasks.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+
+            List<ReviewTaskDTO> dtos = tasks.stream().map(ReviewTaskMapper::toDTO).toList();
+            result.setScanned(result.getScanned() + dtos.size());
+
+            Set<Long> missing = new HashSet<>(queueService.findUntracked(dtos));
+            if (missing.isEmpty()) {
+                continue;
+            }
+            result.setDriftDetected(result.getDriftDetected() + missing.size());
+
+            List<ReviewTaskDTO> toEnqueue = dtos.stream().filter(t -> missing.contains(t.getId())).toList();
+            log.warn("Re-enqueuing {} {} task(s) missing from Redis: {}", toEnqueue.size(), priority, missing);
+            queueService.enqueueAll(toEnqueue);
+            result.setDriftRepaired(result.getDriftRepaired() + toEnqueue.size());
+        } while (tasks.size() == pageSize);
+    }
+}
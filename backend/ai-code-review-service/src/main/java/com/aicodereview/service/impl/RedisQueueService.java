@@ -1,19 +1,31 @@
 package com.aicodereview.service.impl;
 
 import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
 import com.aicodereview.common.enums.TaskPriority;
 import com.aicodereview.service.QueueService;
+import com.aicodereview.service.WorkerIdentity;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * Redis-based implementation of {@link QueueService} using Sorted Set for priority queue.
@@ -29,75 +41,202 @@ import java.util.UUID;
  * Result: HIGH tasks ALWAYS dequeue before NORMAL tasks.
  * Within same priority: earlier tasks dequeue first (FIFO).
  * </p>
+ * <p>
+ * Claiming is a single Lua script ({@code scripts/claim_tasks.lua}) that pops, writes the lease
+ * ({@code task:lock:{id}} = worker id, with TTL) and adds the id to {@code task:inflight:{workerId}}
+ * atomically, so a worker crash can never leave a task popped but unleased. The script touches
+ * lock keys it derives itself, so it assumes a single Redis node rather than a cluster.
+ * </p>
+ * <p>
+ * Delayed retries wait in {@code task:retry:queue}, scored by ready time, and are moved into
+ * {@code task:queue} by {@link #promoteDueRetries} once due, so workers never pop a task early.
+ * </p>
+ * <p>
+ * This is the default single-queue mode ({@code aicodereview.queue.backend=zset});
+ * {@link FairShareQueueService} replaces it when {@code aicodereview.queue.fair.enabled=true},
+ * and {@link RedisStreamQueueService} when {@code aicodereview.queue.backend=stream}.
+ * Lock release and lease renewal also maintain the fair-share per-project running sets,
+ * so both sorted-set modes share them.
+ * </p>
  *
  * @since 2.6.0
  */
 @Slf4j
 @Service
+@ConditionalOnExpression("'${aicodereview.queue.backend:zset}' == 'zset' and !${aicodereview.queue.fair.enabled:false}")
 public class RedisQueueService implements QueueService {
 
-    private static final int MAX_PRIORITY_SCORE = TaskPriority.HIGH.getPriorityScore();
-    private static final double PRIORITY_MULTIPLIER = 1e13;
-    private static final Duration LOCK_TTL = Duration.ofSeconds(300);
+    protected static final int MAX_PRIORITY_SCORE = TaskPriority.HIGH.getPriorityScore();
+    protected static final double PRIORITY_MULTIPLIER = 1e13;
+
+    protected static final String SIGNAL_TOKEN = "1";
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> CLAIM_SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/claim_tasks.lua"), List.class);
+    private static final RedisScript<Long> PROMOTE_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/promote_retries.lua"), Long.class);
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> RENEW_SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/renew_leases.lua"), List.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/release_lock.lua"), Long.class);
+
+    /** Script arguments and results are plain strings, not JSON, so Lua can use them as keys */
+    @SuppressWarnings("rawtypes")
+    protected static final RedisSerializer STRING_SERIALIZER = StringRedisSerializer.UTF_8;
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final String workerId;
+    protected final RedisTemplate<String, Object> redisTemplate;
+    protected final String workerId;
+    protected final String inflightKey;
+    /** Lock TTL, the same as the DB lease of a RUNNING task so that both expire together */
+    protected final Duration lockTtl;
 
-    public RedisQueueService(RedisTemplate<String, Object> redisTemplate) {
+    public RedisQueueService(RedisTemplate<String, Object> redisTemplate,
+                             WorkerIdentity workerIdentity,
+                             @Value("${aicodereview.task.lease-seconds:300}") long leaseSeconds) {
+        if (leaseSeconds < 1) {
+            throw new IllegalArgumentException("aicodereview.task.lease-seconds must be >= 1, was " + leaseSeconds);
+        }
         this.redisTemplate = redisTemplate;
-        this.workerId = resolveWorkerId();
+        this.lockTtl = Duration.ofSeconds(leaseSeconds);
+        this.workerId = workerIdentity.getId();
+        this.inflightKey = QueueKeys.taskInflightKey(workerId);
     }
 
     @Override
-    public void enqueue(Long taskId, TaskPriority priority) {
+    public void enqueue(Long taskId, TaskPriority priority, Long projectId) {
         double score = calculateScore(priority, Instant.now());
         redisTemplate.opsForZSet().add(QueueKeys.TASK_QUEUE, String.valueOf(taskId), score);
+        signalWaiters();
         log.info("Enqueued task {} with priority {} (score: {})", taskId, priority, score);
     }
 
     @Override
     public Optional<Long> dequeue() {
-        ZSetOperations.TypedTuple<Object> tuple =
-                redisTemplate.opsForZSet().popMin(QueueKeys.TASK_QUEUE);
-
-        if (tuple == null || tuple.getValue() == null) {
+        List<Long> claimed = claim(1);
+        if (claimed.isEmpty()) {
             log.debug("Queue is empty, no task to dequeue");
             return Optional.empty();
         }
+        log.info("Dequeued task {}", claimed.get(0));
+        return Optional.of(claimed.get(0));
+    }
 
-        Long taskId;
-        try {
-            taskId = Long.parseLong(tuple.getValue().toString());
-        } catch (NumberFormatException e) {
-            log.error("Invalid taskId in queue: '{}'. Discarding corrupted entry.", tuple.getValue(), e);
-            return Optional.empty();
+    @Override
+    public List<Long> dequeueBatch(int max, Duration wait) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be >= 1, was " + max);
         }
 
-        // Acquire processing lock
-        Boolean locked = redisTemplate.opsForValue()
-                .setIfAbsent(QueueKeys.taskLockKey(taskId), workerId, LOCK_TTL);
-
-        if (Boolean.FALSE.equals(locked)) {
-            log.warn("Failed to acquire lock for task {}, re-enqueuing", taskId);
-            // Re-enqueue with original score if lock acquisition fails
-            redisTemplate.opsForZSet().add(QueueKeys.TASK_QUEUE,
-                    String.valueOf(taskId), tuple.getScore());
-            return Optional.empty();
+        List<Long> claimed = claim(max);
+        if (claimed.isEmpty() && wait != null && !wait.isZero() && !wait.isNegative()) {
+            // Park on the signal list rather than the queue itself: the token carries no task,
+            // so a worker dying here loses nothing
+            redisTemplate.opsForList().rightPop(QueueKeys.TASK_QUEUE_SIGNAL, wait);
+            claimed = claim(max);
         }
 
-        log.info("Dequeued task {} (score: {})", taskId, tuple.getScore());
-        return Optional.of(taskId);
+        if (!claimed.isEmpty()) {
+            log.info("Dequeued batch of {} task(s): {}", claimed.size(), claimed);
+        }
+        return claimed;
     }
 
     @Override
-    public void requeueWithDelay(Long taskId, TaskPriority priority, int delaySeconds) {
+    public void requeueWithDelay(Long taskId, TaskPriority priority, Long projectId, int delaySeconds) {
         releaseLock(taskId);
 
-        long futureTimestamp = Instant.now().plusSeconds(delaySeconds).toEpochMilli();
-        double score = (MAX_PRIORITY_SCORE - priority.getPriorityScore()) * PRIORITY_MULTIPLIER + futureTimestamp;
-        redisTemplate.opsForZSet().add(QueueKeys.TASK_QUEUE, String.valueOf(taskId), score);
+        long readyAt = Instant.now().plusSeconds(delaySeconds).toEpochMilli();
+        redisTemplate.opsForZSet().add(QueueKeys.TASK_RETRY_QUEUE, retryMember(taskId, priority), readyAt);
+
+        log.info("Scheduled retry of task {} in {}s (ready at: {})", taskId, delaySeconds, readyAt);
+    }
+
+    @Override
+    public int promoteDueRetries(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be >= 1, was " + max);
+        }
+        Long promoted = redisTemplate.execute(PROMOTE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.TASK_RETRY_QUEUE, QueueKeys.TASK_QUEUE, QueueKeys.TASK_QUEUE_SIGNAL),
+                String.valueOf(Instant.now().toEpochMilli()), String.valueOf(max),
+                String.valueOf((long) PRIORITY_MULTIPLIER));
+        int count = promoted != null ? promoted.intValue() : 0;
+        if (count > 0) {
+            log.info("Promoted {} due retry task(s) to the queue", count);
+        }
+        return count;
+    }
+
+    @Override
+    public List<Long> renewLeases() {
+        List<String> ids = redisTemplate.execute(RENEW_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(inflightKey), workerId, String.valueOf(lockTtl.toSeconds()), QueueKeys.TASK_LOCK_PREFIX,
+                QueueKeys.TASK_OWNER, QueueKeys.TASK_RUNNING_PREFIX, String.valueOf(Instant.now().toEpochMilli()));
+        List<Long> renewed = toTaskIds(ids);
+        if (!renewed.isEmpty()) {
+            log.debug("Renewed {} lease(s): {}", renewed.size(), renewed);
+        }
+        return renewed;
+    }
+
+    @Override
+    public List<Long> findUntracked(List<ReviewTaskDTO> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return List.of();
+        }
+        Object[] queueMembers = tasks.stream().map(t -> String.valueOf(t.getId())).toArray();
+        Object[] retryMembers = tasks.stream().map(t -> retryMember(t.getId(), t.getPriority())).toArray();
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForZSet().score(QueueKeys.TASK_QUEUE, queueMembers);
+                operations.opsForZSet().score(QueueKeys.TASK_RETRY_QUEUE, retryMembers);
+                for (ReviewTaskDTO task : tasks) {
+                    operations.hasKey(QueueKeys.taskLockKey(task.getId()));
+                }
+                return null;
+            }
+        });
+
+        List<?> queueScores = (List<?>) results.get(0);
+        List<?> retryScores = (List<?>) results.get(1);
+        List<Long> untracked = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            boolean queued = queueScores.get(i) != null;
+            boolean awaitingRetry = retryScores.get(i) != null;
+            boolean locked = Boolean.TRUE.equals(results.get(2 + i));
+            if (!queued && !awaitingRetry && !locked) {
+                untracked.add(tasks.get(i).getId());
+            }
+        }
+        return untracked;
+    }
 
-        log.info("Requeued task {} with {}s delay (score: {})", taskId, delaySeconds, score);
+    @Override
+    public void enqueueAll(List<ReviewTaskDTO> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new LinkedHashSet<>();
+        Object[] tokens = new Object[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            ReviewTaskDTO task = tasks.get(i);
+            Instant enqueuedAt = task.getCreatedAt() != null ? task.getCreatedAt() : Instant.now();
+            tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(task.getId()),
+                    calculateScore(task.getPriority(), enqueuedAt)));
+            tokens[i] = SIGNAL_TOKEN;
+        }
+        redisTemplate.opsForZSet().add(QueueKeys.TASK_QUEUE, tuples);
+        try {
+            redisTemplate.opsForList().leftPushAll(QueueKeys.TASK_QUEUE_SIGNAL, tokens);
+        } catch (Exception e) {
+            log.warn("Failed to signal queue waiters: {}", e.getMessage());
+        }
+        log.info("Enqueued {} task(s) in one batch", tuples.size());
     }
 
     @Override
@@ -106,6 +245,12 @@ public class RedisQueueService implements QueueService {
         return size != null ? size : 0;
     }
 
+    @Override
+    public long getRetryQueueSize() {
+        Long size = redisTemplate.opsForZSet().zCard(QueueKeys.TASK_RETRY_QUEUE);
+        return size != null ? size : 0;
+    }
+
     @Override
     public boolean isLocked(Long taskId) {
         return Boolean.TRUE.equals(redisTemplate.hasKey(QueueKeys.taskLockKey(taskId)));
@@ -113,12 +258,64 @@ public class RedisQueueService implements QueueService {
 
     @Override
     public void releaseLock(Long taskId) {
-        Boolean deleted = redisTemplate.delete(QueueKeys.taskLockKey(taskId));
-        if (Boolean.TRUE.equals(deleted)) {
+        Long deleted = redisTemplate.execute(RELEASE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.taskLockKey(taskId)), QueueKeys.TASK_INFLIGHT_PREFIX, String.valueOf(taskId),
+                QueueKeys.TASK_OWNER, QueueKeys.TASK_RUNNING_PREFIX, QueueKeys.TASK_PROJECT_QUEUE_PREFIX,
+                QueueKeys.TASK_QUEUE_SIGNAL);
+        if (deleted != null && deleted > 0) {
             log.debug("Released lock for task {}", taskId);
         }
     }
 
+    @Override
+    public void releaseClaim(Long taskId, TaskPriority priority, Long projectId) {
+        releaseLock(taskId);
+        enqueue(taskId, priority, projectId);
+        log.info("Gave back unstarted task {}", taskId);
+    }
+
+    /**
+     * Runs the claim script: pops up to {@code max} tasks, writes each lease and records it
+     * in this worker's in-flight set in a single EVALSHA.
+     */
+    protected List<Long> claim(int max) {
+        List<String> ids = redisTemplate.execute(CLAIM_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.TASK_QUEUE, inflightKey, QueueKeys.TASK_QUEUE_SIGNAL),
+                String.valueOf(max), workerId, String.valueOf(lockTtl.toSeconds()), QueueKeys.TASK_LOCK_PREFIX);
+        return toTaskIds(ids);
+    }
+
+    protected List<Long> toTaskIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> taskIds = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            taskIds.add(Long.parseLong(id));
+        }
+        return taskIds;
+    }
+
+    /**
+     * Pushes a wake-up token for workers parked in {@link #dequeueBatch}. Best effort: a lost
+     * token only delays pickup until the parked worker's wait elapses.
+     */
+    protected void signalWaiters() {
+        try {
+            redisTemplate.opsForList().leftPush(QueueKeys.TASK_QUEUE_SIGNAL, SIGNAL_TOKEN);
+        } catch (Exception e) {
+            log.warn("Failed to signal queue waiters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the retry queue member {@code {taskId}:{priorityBand}}, carrying the priority band
+     * so the promoter can compute the main queue score without a DB lookup.
+     */
+    String retryMember(Long taskId, TaskPriority priority) {
+        return taskId + ":" + (MAX_PRIORITY_SCORE - priority.getPriorityScore());
+    }
+
     /**
      * Calculates the Redis Sorted Set score for a task.
      * <p>
@@ -129,12 +326,4 @@ public class RedisQueueService implements QueueService {
         return (MAX_PRIORITY_SCORE - priority.getPriorityScore()) * PRIORITY_MULTIPLIER
                 + timestamp.toEpochMilli();
     }
-
-    private String resolveWorkerId() {
-        try {
-            return InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
-        } catch (UnknownHostException e) {
-            return "worker-" + UUID.randomUUID().toString().substring(0, 8);
-        }
-    }
 }
@@ -0,0 +1,211 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.WorkerIdentity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Redis Streams variant of {@link RedisQueueService}: one stream per {@link TaskPriority},
+ * read through a single consumer group.
+ * <p>
+ * Tasks are appended with XADD to {@code task:stream:{priority}} and claimed with XREADGROUP,
+ * highest priority stream first, FIFO within a stream. The consumer group's pending-entry list
+ * is the lease: an entry stays pending until the task is released (XACK + XDEL), the heartbeat
+ * keeps it fresh with XCLAIM, and entries idle for longer than the lease are taken over by the
+ * next claiming worker with XAUTOCLAIM. No per-task lock keys are written; the
+ * {@code task:stream:claims} hash maps each claimed task to its entry so any node can release it.
+ * </p>
+ * <p>
+ * Claiming, release, renewal and retry promotion each run as one Lua script
+ * ({@code scripts/stream_*.lua}), so the single-node assumption of the sorted-set mode applies.
+ * Delayed retries share {@code task:retry:queue} with the other modes. Selected with
+ * {@code aicodereview.queue.backend=stream}; fair-share settings do not apply to this mode.
+ * </p>
+ * <p>
+ * Switching backends does not migrate queued tasks; queue reconciliation re-enqueues PENDING
+ * tasks the active backend has no record of.
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "aicodereview.queue", name = "backend", havingValue = "stream")
+public class RedisStreamQueueService extends RedisQueueService {
+
+    /** Priorities in dispatch order; index i maps to stream key {@code STREAM_KEYS.get(i)} */
+    private static final List<TaskPriority> PRIORITIES = Arrays.stream(TaskPriority.values())
+            .sorted((a, b) -> Integer.compare(b.getPriorityScore(), a.getPriorityScore()))
+            .toList();
+    private static final List<String> STREAM_KEYS = PRIORITIES.stream().map(QueueKeys::taskStreamKey).toList();
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> STREAM_CLAIM_SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/stream_claim.lua"), List.class);
+    private static final RedisScript<Long> STREAM_ENQUEUE_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/stream_enqueue.lua"), Long.class);
+    private static final RedisScript<Long> STREAM_PROMOTE_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/stream_promote_retries.lua"), Long.class);
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> STREAM_RENEW_SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/stream_renew.lua"), List.class);
+    private static final RedisScript<Long> STREAM_RELEASE_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/stream_release.lua"), Long.class);
+    private static final RedisScript<Long> STREAM_STATS_SCRIPT = RedisScript.of(
+            new ClassPathResource("scripts/stream_stats.lua"), Long.class);
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> STREAM_UNTRACKED_SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/stream_untracked.lua"), List.class);
+
+    public RedisStreamQueueService(RedisTemplate<String, Object> redisTemplate,
+                                   WorkerIdentity workerIdentity,
+                                   @Value("${aicodereview.task.lease-seconds:300}") long leaseSeconds) {
+        super(redisTemplate, workerIdentity, leaseSeconds);
+    }
+
+    @Override
+    public void enqueue(Long taskId, TaskPriority priority, Long projectId) {
+        appendToStreams(List.of(streamIndex(priority), String.valueOf(taskId)));
+        log.info("Enqueued task {} with priority {} on {}", taskId, priority, QueueKeys.taskStreamKey(priority));
+    }
+
+    /**
+     * Appends the tasks in list order. Streams are ordered by arrival, so unlike the sorted-set
+     * mode the original {@code createdAt} does not restore a task's earlier position.
+     */
+    @Override
+    public void enqueueAll(List<ReviewTaskDTO> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+        List<String> pairs = new ArrayList<>(tasks.size() * 2);
+        for (ReviewTaskDTO task : tasks) {
+            pairs.add(streamIndex(task.getPriority()));
+            pairs.add(String.valueOf(task.getId()));
+        }
+        appendToStreams(pairs);
+        log.info("Enqueued {} task(s) in one batch", tasks.size());
+    }
+
+    @Override
+    public int promoteDueRetries(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be >= 1, was " + max);
+        }
+        List<String> keys = new ArrayList<>(STREAM_KEYS.size() + 2);
+        keys.add(QueueKeys.TASK_RETRY_QUEUE);
+        keys.add(QueueKeys.TASK_QUEUE_SIGNAL);
+        keys.addAll(STREAM_KEYS);
+        List<String> args = new ArrayList<>(PRIORITIES.size() + 2);
+        args.add(String.valueOf(Instant.now().toEpochMilli()));
+        args.add(String.valueOf(max));
+        for (TaskPriority priority : PRIORITIES) {
+            args.add(String.valueOf(MAX_PRIORITY_SCORE - priority.getPriorityScore()));
+        }
+
+        Long promoted = redisTemplate.execute(STREAM_PROMOTE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                keys, args.toArray());
+        int count = promoted != null ? promoted.intValue() : 0;
+        if (count > 0) {
+            log.info("Promoted {} due retry task(s) to the task streams", count);
+        }
+        return count;
+    }
+
+    @Override
+    public List<Long> renewLeases() {
+        List<String> ids = redisTemplate.execute(STREAM_RENEW_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.TASK_STREAM_CLAIMS, inflightKey), QueueKeys.TASK_STREAM_GROUP, workerId);
+        List<Long> renewed = toTaskIds(ids);
+        if (!renewed.isEmpty()) {
+            log.debug("Renewed {} lease(s): {}", renewed.size(), renewed);
+        }
+        return renewed;
+    }
+
+    @Override
+    public List<Long> findUntracked(List<ReviewTaskDTO> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(STREAM_KEYS.size() + 2);
+        keys.add(QueueKeys.TASK_STREAM_CLAIMS);
+        keys.add(QueueKeys.TASK_RETRY_QUEUE);
+        keys.addAll(STREAM_KEYS);
+        List<String> args = new ArrayList<>(tasks.size() * 2);
+        for (ReviewTaskDTO task : tasks) {
+            args.add(String.valueOf(task.getId()));
+            args.add(retryMember(task.getId(), task.getPriority()));
+        }
+
+        List<String> ids = redisTemplate.execute(STREAM_UNTRACKED_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                keys, args.toArray());
+        return toTaskIds(ids);
+    }
+
+    /**
+     * Returns the number of entries not yet delivered to any worker; claimed entries still
+     * pending acknowledgement are not counted, matching the sorted-set mode where claims pop.
+     */
+    @Override
+    public long getQueueSize() {
+        Long size = redisTemplate.execute(STREAM_STATS_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                STREAM_KEYS, QueueKeys.TASK_STREAM_GROUP);
+        return size != null ? size : 0;
+    }
+
+    @Override
+    public boolean isLocked(Long taskId) {
+        return redisTemplate.opsForHash().hasKey(QueueKeys.TASK_STREAM_CLAIMS, String.valueOf(taskId));
+    }
+
+    @Override
+    public void releaseLock(Long taskId) {
+        Long released = redisTemplate.execute(STREAM_RELEASE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                List.of(QueueKeys.TASK_STREAM_CLAIMS), String.valueOf(taskId), QueueKeys.TASK_STREAM_GROUP,
+                QueueKeys.TASK_INFLIGHT_PREFIX);
+        if (released != null && released > 0) {
+            log.debug("Acknowledged stream entry for task {}", taskId);
+        }
+    }
+
+    /**
+     * Runs the stream claim script: reclaims entries idle past the lease, then reads new entries
+     * through the consumer group, highest priority stream first, recording each claim atomically.
+     */
+    @Override
+    protected List<Long> claim(int max) {
+        List<String> keys = new ArrayList<>(STREAM_KEYS.size() + 3);
+        keys.add(QueueKeys.TASK_STREAM_CLAIMS);
+        keys.add(inflightKey);
+        keys.add(QueueKeys.TASK_QUEUE_SIGNAL);
+        keys.addAll(STREAM_KEYS);
+        List<String> ids = redisTemplate.execute(STREAM_CLAIM_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER,
+                keys, String.valueOf(max), QueueKeys.TASK_STREAM_GROUP, workerId,
+                String.valueOf(lockTtl.toMillis()));
+        return toTaskIds(ids);
+    }
+
+    private void appendToStreams(List<String> pairs) {
+        List<String> keys = new ArrayList<>(STREAM_KEYS.size() + 1);
+        keys.add(QueueKeys.TASK_QUEUE_SIGNAL);
+        keys.addAll(STREAM_KEYS);
+        redisTemplate.execute(STREAM_ENQUEUE_SCRIPT, STRING_SERIALIZER, STRING_SERIALIZER, keys, pairs.toArray());
+    }
+
+    /** 1-based index of the priority's stream among the script's stream keys */
+    private static String streamIndex(TaskPriority priority) {
+        return String.valueOf(PRIORITIES.indexOf(priority) + 1);
+    }
+}
@@ -9,6 +9,7 @@ import com.aicodereview.service.ReviewTaskService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -42,22 +43,27 @@ public class RetryServiceImpl implements RetryService {
 
     @Override
     public void handleTaskFailure(Long taskId, String errorMessage, FailureType failureType) {
+        handleTaskFailure(taskId, null, errorMessage, failureType);
+    }
+
+    @Override
+    public void handleTaskFailure(Long taskId, Instant createdAtHint, String errorMessage, FailureType failureType) {
         Objects.requireNonNull(failureType, "failureType must not be null");
 
         if (!isRetryable(failureType)) {
             log.warn("Non-retryable failure for task {}: type={}, error={}", taskId, failureType, errorMessage);
-            reviewTaskService.markTaskFailedPermanently(taskId, errorMessage);
+            reviewTaskService.markTaskFailedPermanently(taskId, createdAtHint, errorMessage);
             return;
         }
 
         // Retryable error: update DB state (increment retry_count, check max)
-        ReviewTaskDTO updated = reviewTaskService.markTaskFailed(taskId, errorMessage);
+        ReviewTaskDTO updated = reviewTaskService.markTaskFailed(taskId, createdAtHint, errorMessage);
 
         if (updated.getStatus() == TaskStatus.PENDING) {
             // Task still has retries left — requeue with exponential backoff delay
             int delay = calculateRetryDelaySeconds(updated.getRetryCount() - 1);
             try {
-                queueService.requeueWithDelay(taskId, updated.getPriority(), delay);
+                queueService.requeueWithDelay(taskId, updated.getPriority(), updated.getProjectId(), delay);
                 log.info("Requeued task {} with {}s delay (attempt {}/{})",
                         taskId, delay, updated.getRetryCount(), updated.getMaxRetries());
             } catch (Exception e) {
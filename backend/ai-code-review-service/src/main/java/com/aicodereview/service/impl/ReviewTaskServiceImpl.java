@@ -1,35 +1,57 @@
 package com.aicodereview.service.impl;
 
+import com.aicodereview.common.dto.CursorPage;
 import com.aicodereview.common.dto.reviewtask.CreateReviewTaskRequest;
 import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskSummaryDTO;
 import com.aicodereview.common.enums.TaskPriority;
 import com.aicodereview.common.enums.TaskStatus;
 import com.aicodereview.common.enums.TaskType;
 import com.aicodereview.common.exception.ResourceNotFoundException;
 import com.aicodereview.repository.ProjectRepository;
 import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.TaskOutboxRepository;
 import com.aicodereview.repository.entity.Project;
 import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.repository.entity.TaskOutbox;
+import com.aicodereview.repository.projection.ReviewTaskSummary;
+import com.aicodereview.service.CodeContextStore;
 import com.aicodereview.service.QueueService;
 import com.aicodereview.service.ReviewTaskService;
 import com.aicodereview.service.mapper.ReviewTaskMapper;
+import com.aicodereview.service.mapper.TaskCursor;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of ReviewTaskService for managing code review tasks.
  * <p>
  * Provides business logic for task lifecycle management including:
- * - Task creation with automatic priority assignment
- * - Status transitions with timestamp tracking
+ * - Task creation with automatic priority assignment, published to the queue via the task outbox
+ * - Bulk task creation with a batched duplicate check and JDBC batch inserts
+ * - Coalescing of PENDING tasks superseded by a newer push to the same branch (or PR/MR)
+ * - Status transitions as single compare-and-set UPDATEs with timestamp tracking
  * - Retry logic with configurable max retries
- * - Task querying and retrieval
+ * - Worker lease renewal and reclaiming of orphaned RUNNING tasks
+ * - Task querying and retrieval, including keyset-paginated summary listings
  * </p>
  * <p>
  * All public methods are transactional to ensure data consistency.
@@ -43,19 +65,39 @@ import java.util.Optional;
 @Transactional
 public class ReviewTaskServiceImpl implements ReviewTaskService {
 
+    private static final String LEASE_EXPIRED_MESSAGE = "Worker lease expired while task was RUNNING";
+
+    /** Requests per duplicate-check query in {@link #createTasks}; keeps the IN list well below the bind limit */
+    private static final int DUPLICATE_CHECK_CHUNK = 1000;
+
     private final ReviewTaskRepository reviewTaskRepository;
     private final ProjectRepository projectRepository;
+    private final TaskOutboxRepository taskOutboxRepository;
     private final QueueService queueService;
+    private final CodeContextStore codeContextStore;
+    private final EntityManager entityManager;
 
     @Value("${aicodereview.task.max-retries:3}")
     private int defaultMaxRetries;
 
+    @Value("${aicodereview.task.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${aicodereview.task.coalesce-enabled:true}")
+    private boolean coalesceEnabled;
+
     public ReviewTaskServiceImpl(ReviewTaskRepository reviewTaskRepository,
                                   ProjectRepository projectRepository,
-                                  QueueService queueService) {
+                                  TaskOutboxRepository taskOutboxRepository,
+                                  QueueService queueService,
+                                  CodeContextStore codeContextStore,
+                                  EntityManager entityManager) {
         this.reviewTaskRepository = reviewTaskRepository;
         this.projectRepository = projectRepository;
+        this.taskOutboxRepository = taskOutboxRepository;
         this.queueService = queueService;
+        this.codeContextStore = codeContextStore;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -84,39 +126,145 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
         log.debug("Assigned priority {} for task type {}", priority, request.getTaskType());
 
         // Step 3: Create entity using builder
-        ReviewTask task = ReviewTask.builder()
-                .project(project)
-                .taskType(request.getTaskType())
-                .repoUrl(request.getRepoUrl())
-                .branch(request.getBranch())
-                .commitHash(request.getCommitHash())
-                .prNumber(request.getPrNumber())
-                .prTitle(request.getPrTitle())
-                .prDescription(request.getPrDescription())
-                .author(request.getAuthor())
-                .status(TaskStatus.PENDING)
-                .priority(priority)
-                .retryCount(0)
-                .maxRetries(defaultMaxRetries)
-                .build();
+        ReviewTask task = newTask(project, request, priority);
 
         // Step 4: Save to database
         ReviewTask saved = reviewTaskRepository.save(task);
 
         log.info("Successfully created review task with ID: {}, priority: {}", saved.getId(), priority);
 
-        // Step 5: Enqueue task to Redis priority queue (best-effort, DB is primary record)
-        try {
-            queueService.enqueue(saved.getId(), priority);
-        } catch (Exception e) {
-            log.error("Failed to enqueue task {} to Redis queue. Task is saved in DB but not queued. " +
-                    "Manual re-queue or reconciliation may be needed.", saved.getId(), e);
+        // Step 5: Record the task in the outbox within the same transaction; the outbox relay
+        // publishes it to the Redis queue only after this transaction commits. A database-backed
+        // queue claims the committed PENDING row directly.
+        if (!queueService.isDatabaseBacked()) {
+            taskOutboxRepository.save(outboxEntry(saved));
+        }
+
+        // Step 6: Fold older PENDING tasks of the same branch into this one
+        if (coalesceEnabled) {
+            coalescePending(saved);
         }
 
-        // Step 6: Convert to DTO and return
+        // Step 7: Convert to DTO and return
         return ReviewTaskMapper.toDTO(saved);
     }
 
+    @Override
+    public List<ReviewTaskDTO> createTasks(List<CreateReviewTaskRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        log.info("Creating {} review task(s) in bulk", requests.size());
+
+        // Step 1: Validate all referenced projects exist, in one query
+        Set<Long> projectIds = requests.stream()
+                .map(CreateReviewTaskRequest::getProjectId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Project> projects = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        for (Long projectId : projectIds) {
+            if (!projects.containsKey(projectId)) {
+                log.warn("Project not found with ID: {}", projectId);
+                throw new ResourceNotFoundException("Project", "id", projectId);
+            }
+        }
+
+        // Step 2: Find existing tasks for the batch's commits, one IN query per chunk
+        Map<String, ReviewTask> tasksByCommit = new HashMap<>();
+        for (int from = 0; from < requests.size(); from += DUPLICATE_CHECK_CHUNK) {
+            Set<String> commitHashes = requests.subList(from, Math.min(from + DUPLICATE_CHECK_CHUNK, requests.size()))
+                    .stream()
+                    .map(CreateReviewTaskRequest::getCommitHash)
+                    .collect(Collectors.toSet());
+            for (ReviewTask existing : reviewTaskRepository.findByProjectIdInAndCommitHashIn(projectIds, commitHashes)) {
+                tasksByCommit.putIfAbsent(commitKey(existing.getProject().getId(), existing.getCommitHash()), existing);
+            }
+        }
+        int existingCount = tasksByCommit.size();
+
+        // Step 3: Build the new tasks; a repeated (project, commit) pair maps to the first request's task
+        List<ReviewTask> created = new ArrayList<>();
+        for (CreateReviewTaskRequest request : requests) {
+            tasksByCommit.computeIfAbsent(commitKey(request.getProjectId(), request.getCommitHash()), key -> {
+                ReviewTask task = newTask(projects.get(request.getProjectId()), request,
+                        determinePriority(request.getTaskType()));
+                created.add(task);
+                return task;
+            });
+        }
+
+        // Step 4: Insert tasks and outbox entries; sequence ids let Hibernate send them as JDBC batches
+        reviewTaskRepository.saveAll(created);
+        if (!queueService.isDatabaseBacked()) {
+            taskOutboxRepository.saveAll(created.stream().map(this::outboxEntry).toList());
+        }
+
+        log.info("Bulk created {} review task(s), {} already existed", created.size(), existingCount);
+
+        return requests.stream()
+                .map(request -> ReviewTaskMapper.toDTO(
+                        tasksByCommit.get(commitKey(request.getProjectId(), request.getCommitHash()))))
+                .toList();
+    }
+
+    /**
+     * Supersedes the PENDING tasks of the same project, branch and PR/MR that the new task makes redundant.
+     * <p>
+     * The new task then reviews the compare range from the head of the latest COMPLETED task (the anchor)
+     * to its own head, which covers every superseded commit. A RUNNING task is no anchor, as it may still
+     * fail. Without an anchor there is no known base to compare from, so nothing is coalesced. PENDING tasks created before the anchor are
+     * left alone, since the anchor's range does not include them.
+     * </p>
+     * <p>
+     * Superseded tasks are marked {@link TaskStatus#SUPERSEDED} and their outbox entries removed; any copy
+     * already in the Redis queue is dropped by the worker, which only starts PENDING tasks.
+     * </p>
+     */
+    private void coalescePending(ReviewTask saved) {
+        if (saved.getBranch() == null) {
+            return;
+        }
+        Long projectId = saved.getProject().getId();
+        int prKey = saved.getPrNumber() != null ? saved.getPrNumber() : 0;
+
+        List<ReviewTask> pending = reviewTaskRepository.findPendingForCoalescing(
+                projectId, saved.getBranch(), saved.getTaskType(), prKey, saved.getId());
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<ReviewTask> anchors = reviewTaskRepository.findLatestReviewed(
+                projectId, saved.getBranch(), saved.getTaskType(), prKey, PageRequest.of(0, 1));
+        if (anchors.isEmpty()) {
+            log.debug("No reviewed task on branch {} of project {}, not coalescing {} pending task(s)",
+                    saved.getBranch(), projectId, pending.size());
+            return;
+        }
+        ReviewTask anchor = anchors.get(0);
+
+        Instant now = Instant.now();
+        List<ReviewTask> superseded = pending.stream()
+                .filter(t -> anchor.getCreatedAt() == null || t.getCreatedAt() == null
+                        || t.getCreatedAt().isAfter(anchor.getCreatedAt()))
+                .toList();
+        if (superseded.isEmpty()) {
+            return;
+        }
+        for (ReviewTask task : superseded) {
+            task.setStatus(TaskStatus.SUPERSEDED);
+            task.setSupersededBy(saved.getId());
+            task.setCompletedAt(now);
+        }
+        reviewTaskRepository.saveAll(superseded);
+        taskOutboxRepository.deleteByTaskIds(superseded.stream().map(ReviewTask::getId).toList());
+
+        saved.setBaseCommitHash(anchor.getCommitHash());
+        reviewTaskRepository.save(saved);
+
+        log.info("Task {} supersedes {} pending task(s) on branch {}; reviewing range {}..{}",
+                saved.getId(), superseded.size(), saved.getBranch(), anchor.getCommitHash(), saved.getCommitHash());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ReviewTaskDTO getTaskById(Long id) {
@@ -150,7 +298,9 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
     public List<ReviewTaskDTO> getTasksByStatus(TaskStatus status) {
         log.debug("Retrieving tasks with status: {}", status);
 
-        List<ReviewTask> tasks = reviewTaskRepository.findByStatusOrderByPriorityDescCreatedAtAsc(status);
+        List<ReviewTask> tasks = status.isActive()
+                ? reviewTaskRepository.findActiveByStatusOrderByPriorityDescCreatedAtAsc(status)
+                : reviewTaskRepository.findByStatusOrderByPriorityDescCreatedAtAsc(status);
 
         log.debug("Found {} tasks with status: {}", tasks.size(), status);
 
@@ -159,24 +309,63 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewTaskSummaryDTO> listTasks(Long projectId, TaskStatus status, String cursor, int limit) {
+        if (projectId == null && status == null) {
+            throw new IllegalArgumentException("projectId or status is required");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be >= 1, was " + limit);
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        TaskCursor after = TaskCursor.decode(cursor);
+        log.debug("Listing tasks for project ID: {}, status: {}, after: {}, limit: {}", projectId, status, after, pageSize);
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<ReviewTaskSummary> rows;
+        if (projectId == null) {
+            rows = reviewTaskRepository.findSummariesByStatus(status, after.createdAt(), after.id(), page);
+        } else if (status == null) {
+            rows = reviewTaskRepository.findSummariesByProject(projectId, after.createdAt(), after.id(), page);
+        } else {
+            rows = reviewTaskRepository.findSummariesByProjectAndStatus(
+                    projectId, status, after.createdAt(), after.id(), page);
+        }
+
+        List<ReviewTaskSummaryDTO> items = rows.stream()
+                .limit(pageSize)
+                .map(ReviewTaskMapper::toSummaryDTO)
+                .toList();
+        if (rows.size() <= pageSize) {
+            return CursorPage.last(items);
+        }
+        ReviewTaskSummaryDTO last = items.get(items.size() - 1);
+        return new CursorPage<>(items, new TaskCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
     @Override
     public ReviewTaskDTO markTaskStarted(Long id) {
         log.info("Marking task {} as started", id);
 
-        ReviewTask task = reviewTaskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("ReviewTask", "id", id));
-
-        // Validate state transition: only PENDING tasks can be started
-        if (task.getStatus() != TaskStatus.PENDING) {
-            throw new IllegalStateException(
-                    "Cannot start task " + id + ": expected status PENDING, but was " + task.getStatus());
+        // A database-backed queue already flipped the task to RUNNING (with its lease) when claiming it
+        if (queueService.isDatabaseBacked()) {
+            ReviewTask task = reviewTaskRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("ReviewTask", "id", id));
+            if (task.getStatus() == TaskStatus.RUNNING) {
+                log.debug("Task {} was started by the queue claim at {}", id, task.getStartedAt());
+                return ReviewTaskMapper.toDTO(task);
+            }
+            // The native CAS below maps its RETURNING row onto the instance this persistence context
+            // already manages, which would keep the stale PENDING state; drop it so the row is read afresh
+            entityManager.detach(task);
         }
 
-        // Update status and set started timestamp
-        task.setStatus(TaskStatus.RUNNING);
-        task.setStartedAt(Instant.now());
-
-        ReviewTask updated = reviewTaskRepository.save(task);
+        // Compare-and-set: only PENDING tasks can be started, and only by one caller
+        Instant now = Instant.now();
+        ReviewTask updated = reviewTaskRepository.startIfPending(id, now, now.plusSeconds(leaseSeconds))
+                .orElseThrow(() -> rejectedTransition(id, "start", TaskStatus.PENDING));
 
         log.info("Task {} marked as RUNNING at {}", id, updated.getStartedAt());
 
@@ -185,22 +374,19 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
 
     @Override
     public ReviewTaskDTO markTaskCompleted(Long id) {
-        log.info("Marking task {} as completed", id);
-
-        ReviewTask task = reviewTaskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("ReviewTask", "id", id));
-
-        // Validate state transition: only RUNNING tasks can be completed
-        if (task.getStatus() != TaskStatus.RUNNING) {
-            throw new IllegalStateException(
-                    "Cannot complete task " + id + ": expected status RUNNING, but was " + task.getStatus());
-        }
+        return markTaskCompleted(id, null);
+    }
 
-        // Update status and set completed timestamp
-        task.setStatus(TaskStatus.COMPLETED);
-        task.setCompletedAt(Instant.now());
+    @Override
+    public ReviewTaskDTO markTaskCompleted(Long id, Instant createdAtHint) {
+        log.info("Marking task {} as completed", id);
 
-        ReviewTask updated = reviewTaskRepository.save(task);
+        // Compare-and-set: only RUNNING tasks can be completed
+        Instant now = Instant.now();
+        ReviewTask updated = withPartitionHint(id, createdAtHint,
+                hint -> reviewTaskRepository.completeIfRunning(id, hint, now),
+                () -> reviewTaskRepository.completeIfRunning(id, now))
+                .orElseThrow(() -> rejectedTransition(id, "complete", TaskStatus.RUNNING));
 
         log.info("Task {} marked as COMPLETED at {}", id, updated.getCompletedAt());
 
@@ -209,39 +395,28 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
 
     @Override
     public ReviewTaskDTO markTaskFailed(Long id, String errorMessage) {
-        log.error("Marking task {} as failed with error: {}", id, errorMessage);
-
-        ReviewTask task = reviewTaskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("ReviewTask", "id", id));
-
-        // Validate state transition: only RUNNING tasks can fail
-        if (task.getStatus() != TaskStatus.RUNNING) {
-            throw new IllegalStateException(
-                    "Cannot fail task " + id + ": expected status RUNNING, but was " + task.getStatus());
-        }
+        return markTaskFailed(id, null, errorMessage);
+    }
 
-        // Increment retry count
-        task.setRetryCount(task.getRetryCount() + 1);
-        task.setErrorMessage(errorMessage);
+    @Override
+    public ReviewTaskDTO markTaskFailed(Long id, Instant createdAtHint, String errorMessage) {
+        log.error("Marking task {} as failed with error: {}", id, errorMessage);
 
-        // Check if max retries reached
-        if (task.getRetryCount() >= task.getMaxRetries()) {
-            // Final failure - mark as FAILED and set completion timestamp
-            task.setStatus(TaskStatus.FAILED);
-            task.setCompletedAt(Instant.now());
+        // Compare-and-set: only RUNNING tasks can fail; PENDING or FAILED is decided by the UPDATE
+        Instant now = Instant.now();
+        ReviewTask updated = withPartitionHint(id, createdAtHint,
+                hint -> reviewTaskRepository.failAttemptIfRunning(id, hint, errorMessage, now),
+                () -> reviewTaskRepository.failAttemptIfRunning(id, errorMessage, now))
+                .orElseThrow(() -> rejectedTransition(id, "fail", TaskStatus.RUNNING));
 
+        if (updated.getStatus() == TaskStatus.FAILED) {
             log.warn("Max retries reached for task {} (retries: {}/{})",
-                    id, task.getRetryCount(), task.getMaxRetries());
+                    id, updated.getRetryCount(), updated.getMaxRetries());
         } else {
-            // Still can retry - revert to PENDING status for re-queuing
-            task.setStatus(TaskStatus.PENDING);
-
             log.info("Task {} will be retried (attempt {}/{})",
-                    id, task.getRetryCount(), task.getMaxRetries());
+                    id, updated.getRetryCount(), updated.getMaxRetries());
         }
 
-        ReviewTask updated = reviewTaskRepository.save(task);
-
         // Requeue responsibility belongs to RetryService, which calls requeueWithDelay() with exponential backoff
 
         return ReviewTaskMapper.toDTO(updated);
@@ -249,23 +424,19 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
 
     @Override
     public ReviewTaskDTO markTaskFailedPermanently(Long id, String errorMessage) {
-        log.error("Permanently failing task {} with error: {}", id, errorMessage);
-
-        ReviewTask task = reviewTaskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("ReviewTask", "id", id));
-
-        // Validate state transition: only RUNNING tasks can be failed
-        if (task.getStatus() != TaskStatus.RUNNING) {
-            throw new IllegalStateException(
-                    "Cannot fail task " + id + ": expected status RUNNING, but was " + task.getStatus());
-        }
+        return markTaskFailedPermanently(id, null, errorMessage);
+    }
 
-        // Immediately mark as FAILED — do NOT increment retryCount
-        task.setStatus(TaskStatus.FAILED);
-        task.setCompletedAt(Instant.now());
-        task.setErrorMessage(errorMessage);
+    @Override
+    public ReviewTaskDTO markTaskFailedPermanently(Long id, Instant createdAtHint, String errorMessage) {
+        log.error("Permanently failing task {} with error: {}", id, errorMessage);
 
-        ReviewTask updated = reviewTaskRepository.save(task);
+        // Compare-and-set: only RUNNING tasks can be failed; retryCount is NOT incremented
+        Instant now = Instant.now();
+        ReviewTask updated = withPartitionHint(id, createdAtHint,
+                hint -> reviewTaskRepository.failIfRunning(id, hint, errorMessage, now),
+                () -> reviewTaskRepository.failIfRunning(id, errorMessage, now))
+                .orElseThrow(() -> rejectedTransition(id, "fail", TaskStatus.RUNNING));
 
         // Release queue lock (best-effort)
         try {
@@ -279,6 +450,67 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
         return ReviewTaskMapper.toDTO(updated);
     }
 
+    @Override
+    public void saveCodeContext(Long id, String codeContext) {
+        saveCodeContext(id, null, codeContext);
+    }
+
+    @Override
+    public void saveCodeContext(Long id, Instant createdAtHint, String codeContext) {
+        String hash = codeContext != null ? codeContextStore.store(codeContext) : null;
+
+        // Targeted UPDATE: the task row only carries the hash, so it is neither loaded nor rewritten
+        boolean updated = createdAtHint != null && reviewTaskRepository.setCodeContextHash(id, createdAtHint, hash) > 0;
+        if (!updated && reviewTaskRepository.setCodeContextHash(id, hash) == 0) {
+            throw new ResourceNotFoundException("ReviewTask", "id", id);
+        }
+
+        log.debug("Stored code context for task {} ({} chars, hash: {})", id,
+                codeContext != null ? codeContext.length() : 0, hash);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getCodeContext(Long id) {
+        ReviewTask task = reviewTaskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ReviewTask", "id", id));
+
+        if (task.getCodeContextHash() == null) {
+            return Optional.empty();
+        }
+        return codeContextStore.load(task.getCodeContextHash());
+    }
+
+    @Override
+    public int renewLeases(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int renewed = reviewTaskRepository.renewLeases(ids, Instant.now().plusSeconds(leaseSeconds));
+        log.debug("Renewed lease for {}/{} running task(s)", renewed, ids.size());
+        return renewed;
+    }
+
+    @Override
+    public List<ReviewTaskDTO> reclaimExpiredLeases(int limit) {
+        List<ReviewTask> expired = reviewTaskRepository
+                .findExpiredLeasesForUpdate(Instant.now(), PageRequest.of(0, limit));
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+
+        for (ReviewTask task : expired) {
+            log.warn("Reclaiming task {}: lease expired at {} while RUNNING", task.getId(), task.getLeaseExpiresAt());
+            recordFailedAttempt(task, LEASE_EXPIRED_MESSAGE);
+        }
+        List<ReviewTask> saved = reviewTaskRepository.saveAll(expired);
+
+        log.info("Reclaimed {} task(s) with expired leases", saved.size());
+        return saved.stream()
+                .map(ReviewTaskMapper::toDTO)
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean canRetry(Long id) {
@@ -295,6 +527,95 @@ public class ReviewTaskServiceImpl implements ReviewTaskService {
         return canRetry;
     }
 
+    /**
+     * Counts a failed attempt against a RUNNING task: increments retry_count and moves it to
+     * PENDING for re-queueing, or to FAILED once max retries are reached. Clears the lease.
+     */
+    private void recordFailedAttempt(ReviewTask task, String errorMessage) {
+        // Increment retry count
+        task.setRetryCount(task.getRetryCount() + 1);
+        task.setErrorMessage(errorMessage);
+        task.setLeaseExpiresAt(null);
+
+        // Check if max retries reached
+        if (task.getRetryCount() >= task.getMaxRetries()) {
+            // Final failure - mark as FAILED and set completion timestamp
+            task.setStatus(TaskStatus.FAILED);
+            task.setCompletedAt(Instant.now());
+
+            log.warn("Max retries reached for task {} (retries: {}/{})",
+                    task.getId(), task.getRetryCount(), task.getMaxRetries());
+        } else {
+            // Still can retry - revert to PENDING status for re-queuing
+            task.setStatus(TaskStatus.PENDING);
+
+            log.info("Task {} will be retried (attempt {}/{})",
+                    task.getId(), task.getRetryCount(), task.getMaxRetries());
+        }
+    }
+
+    /**
+     * Runs a compare-and-set transition on the task's partition only when the caller knows its
+     * createdAt, and by id alone otherwise. The hint is only an optimization: if it matches no row
+     * (null, stale or truncated differently), the id-only UPDATE decides, so a transition is never
+     * rejected because of the hint.
+     */
+    private <T> Optional<T> withPartitionHint(Long id, Instant createdAtHint,
+                                              Function<Instant, Optional<T>> pruned,
+                                              Supplier<Optional<T>> byId) {
+        if (createdAtHint != null) {
+            Optional<T> result = pruned.apply(createdAtHint);
+            if (result.isPresent()) {
+                return result;
+            }
+            log.debug("createdAt hint {} matched no RUNNING row of task {}, retrying by id", createdAtHint, id);
+        }
+        return byId.get();
+    }
+
+    /**
+     * Explains why a compare-and-set transition matched no row: the task is missing, or it is not
+     * in the expected status (e.g. another worker moved it first). Only runs on the rejected path.
+     */
+    private RuntimeException rejectedTransition(Long id, String action, TaskStatus expected) {
+        return reviewTaskRepository.findById(id)
+                .<RuntimeException>map(task -> new IllegalStateException(
+                        "Cannot " + action + " task " + id + ": expected status " + expected
+                                + ", but was " + task.getStatus()))
+                .orElseGet(() -> new ResourceNotFoundException("ReviewTask", "id", id));
+    }
+
+    private ReviewTask newTask(Project project, CreateReviewTaskRequest request, TaskPriority priority) {
+        return ReviewTask.builder()
+                .project(project)
+                .taskType(request.getTaskType())
+                .repoUrl(request.getRepoUrl())
+                .branch(request.getBranch())
+                .commitHash(request.getCommitHash())
+                .prNumber(request.getPrNumber())
+                .prTitle(request.getPrTitle())
+                .prDescription(request.getPrDescription())
+                .author(request.getAuthor())
+                .status(TaskStatus.PENDING)
+                .priority(priority)
+                .retryCount(0)
+                .maxRetries(defaultMaxRetries)
+                .build();
+    }
+
+    private TaskOutbox outboxEntry(ReviewTask task) {
+        return TaskOutbox.builder()
+                .taskId(task.getId())
+                .projectId(task.getProject().getId())
+                .priority(task.getPriority())
+                .taskCreatedAt(task.getCreatedAt() != null ? task.getCreatedAt() : Instant.now())
+                .build();
+    }
+
+    private static String commitKey(Long projectId, String commitHash) {
+        return projectId + ":" + commitHash;
+    }
+
     /**
      * Determines task priority based on task type.
      * <p>
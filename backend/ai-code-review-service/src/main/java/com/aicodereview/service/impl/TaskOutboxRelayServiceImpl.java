@@ -0,0 +1,57 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.repository.TaskOutboxRepository;
+import com.aicodereview.repository.entity.TaskOutbox;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.TaskOutboxRelayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link TaskOutboxRelayService}.
+ * <p>
+ * Each batch runs in one transaction: lock the oldest outbox rows with SKIP LOCKED, add them
+ * to the queue with a single ZADD, then delete them. Under a webhook burst the relay therefore
+ * publishes many tasks per Redis round trip instead of one per request.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TaskOutboxRelayServiceImpl implements TaskOutboxRelayService {
+
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final QueueService queueService;
+
+    public TaskOutboxRelayServiceImpl(TaskOutboxRepository taskOutboxRepository, QueueService queueService) {
+        this.taskOutboxRepository = taskOutboxRepository;
+        this.queueService = queueService;
+    }
+
+    @Override
+    @Transactional
+    public int relayBatch(int batchSize) {
+        List<TaskOutbox> entries = taskOutboxRepository.findBatchForUpdate(PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<ReviewTaskDTO> tasks = entries.stream()
+                .map(entry -> ReviewTaskDTO.builder()
+                        .id(entry.getTaskId())
+                        .projectId(entry.getProjectId())
+                        .priority(entry.getPriority())
+                        .createdAt(entry.getTaskCreatedAt())
+                        .build())
+                .toList();
+        queueService.enqueueAll(tasks);
+        taskOutboxRepository.deleteAllInBatch(entries);
+
+        log.debug("Relayed {} task(s) from outbox to queue", entries.size());
+        return entries.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.service.TaskPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Implementation of {@link TaskPartitionService}.
+ * <p>
+ * The partition DDL lives in database functions (migration V16), which serialize concurrent runs
+ * with an advisory lock, so every worker node can run maintenance. Partitions are calendar months
+ * in UTC; with {@code aicodereview.task.retention-months=6} a month is archived once the six full
+ * months after it have ended.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TaskPartitionServiceImpl implements TaskPartitionService {
+
+    private final ReviewTaskRepository reviewTaskRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public TaskPartitionServiceImpl(ReviewTaskRepository reviewTaskRepository,
+                                    @Value("${aicodereview.task.partition-months-ahead:3}") int monthsAhead,
+                                    @Value("${aicodereview.task.retention-months:6}") int retentionMonths) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException(
+                    "aicodereview.task.partition-months-ahead must be >= 1, was " + monthsAhead);
+        }
+        if (retentionMonths < 0) {
+            throw new IllegalArgumentException(
+                    "aicodereview.task.retention-months must be >= 0, was " + retentionMonths);
+        }
+        this.reviewTaskRepository = reviewTaskRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Override
+    public int createUpcomingPartitions() {
+        int created = reviewTaskRepository.ensurePartitions(monthsAhead);
+        if (created > 0) {
+            log.info("Created {} review_task partition(s) up to {} month(s) ahead", created, monthsAhead);
+        }
+        return created;
+    }
+
+    @Override
+    public int archiveExpiredPartitions() {
+        if (retentionMonths == 0) {
+            return 0;
+        }
+        Instant cutoff = retentionCutoff(YearMonth.now(ZoneOffset.UTC));
+        int archived = reviewTaskRepository.archivePartitions(cutoff);
+        if (archived > 0) {
+            log.info("Archived {} review_task partition(s) for months before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Start (UTC) of the oldest month still kept in the live table when {@code currentMonth} is the current month.
+     */
+    Instant retentionCutoff(YearMonth currentMonth) {
+        return currentMonth.minusMonths(retentionMonths).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -1,13 +1,16 @@
 package com.aicodereview.service.mapper;
 
 import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskSummaryDTO;
 import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.repository.projection.ReviewTaskSummary;
 
 /**
  * Utility class for converting between ReviewTask entity and ReviewTaskDTO.
  * <p>
  * Provides static methods for bidirectional mapping:
  * - toDTO: Entity → DTO (for API responses)
+ * - toSummaryDTO: listing projection → summary DTO (for task listings)
  * - toEntity: DTO → Entity (rarely used, prefer Builder for entity creation)
  * </p>
  * <p>
@@ -48,6 +51,7 @@ public final class ReviewTaskMapper {
                 .repoUrl(entity.getRepoUrl())
                 .branch(entity.getBranch())
                 .commitHash(entity.getCommitHash())
+                .baseCommitHash(entity.getBaseCommitHash())
                 .prNumber(entity.getPrNumber())
                 .prTitle(entity.getPrTitle())
                 .prDescription(entity.getPrDescription())
@@ -57,6 +61,7 @@ public final class ReviewTaskMapper {
                 .retryCount(entity.getRetryCount())
                 .maxRetries(entity.getMaxRetries())
                 .errorMessage(entity.getErrorMessage())
+                .supersededBy(entity.getSupersededBy())
                 .createdAt(entity.getCreatedAt())
                 .startedAt(entity.getStartedAt())
                 .completedAt(entity.getCompletedAt())
@@ -64,6 +69,37 @@ public final class ReviewTaskMapper {
                 .build();
     }
 
+    /**
+     * Converts a ReviewTaskSummary projection to ReviewTaskSummaryDTO.
+     *
+     * @param summary the listing projection to convert (must not be null)
+     * @return the ReviewTaskSummaryDTO
+     * @throws IllegalArgumentException if summary is null
+     */
+    public static ReviewTaskSummaryDTO toSummaryDTO(ReviewTaskSummary summary) {
+        if (summary == null) {
+            throw new IllegalArgumentException("ReviewTaskSummary cannot be null");
+        }
+
+        return ReviewTaskSummaryDTO.builder()
+                .id(summary.getId())
+                .projectId(summary.getProjectId())
+                .taskType(summary.getTaskType())
+                .branch(summary.getBranch())
+                .commitHash(summary.getCommitHash())
+                .prNumber(summary.getPrNumber())
+                .prTitle(summary.getPrTitle())
+                .author(summary.getAuthor())
+                .status(summary.getStatus())
+                .priority(summary.getPriority())
+                .retryCount(summary.getRetryCount())
+                .supersededBy(summary.getSupersededBy())
+                .createdAt(summary.getCreatedAt())
+                .startedAt(summary.getStartedAt())
+                .completedAt(summary.getCompletedAt())
+                .build();
+    }
+
     /**
      * Converts ReviewTaskDTO to ReviewTask entity (partial).
      * <p>
@@ -71,7 +107,8 @@ public final class ReviewTaskMapper {
      * Use ReviewTask.builder() in service layer for proper entity construction.
      * </p>
      * <p>
-     * This method is provided for testing purposes and should rarely be used in production code.
+     * The worker uses this to hand the DTO returned by {@code markTaskStarted()} to
+     * {@code ReviewContextAssembler} without reloading the row; otherwise prefer the builder.
      * </p>
      *
      * @param dto the ReviewTaskDTO to convert (must not be null)
@@ -90,6 +127,7 @@ public final class ReviewTaskMapper {
                 .repoUrl(dto.getRepoUrl())
                 .branch(dto.getBranch())
                 .commitHash(dto.getCommitHash())
+                .baseCommitHash(dto.getBaseCommitHash())
                 .prNumber(dto.getPrNumber())
                 .prTitle(dto.getPrTitle())
                 .prDescription(dto.getPrDescription())
@@ -99,6 +137,7 @@ public final class ReviewTaskMapper {
                 .retryCount(dto.getRetryCount())
                 .maxRetries(dto.getMaxRetries())
                 .errorMessage(dto.getErrorMessage())
+                .supersededBy(dto.getSupersededBy())
                 .createdAt(dto.getCreatedAt())
                 .startedAt(dto.getStartedAt())
                 .completedAt(dto.getCompletedAt())
@@ -0,0 +1,63 @@
+package com.aicodereview.service.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in a newest-first task listing: the (created_at, id) of the last task returned.
+ * <p>
+ * Clients see it only as an opaque URL-safe token ({@link #encode()}); the next page starts
+ * strictly after this position.
+ * </p>
+ *
+ * @param createdAt created_at of the last task of the previous page
+ * @param id        id of the last task of the previous page
+ * @since 2.8.0
+ */
+public record TaskCursor(Instant createdAt, Long id) {
+
+    /** Position before the newest possible task, used for the first page */
+    public static final TaskCursor START = new TaskCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes this position as an opaque token.
+     *
+     * @return URL-safe Base64 token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the cursor token, or null/blank for the first page
+     * @return the decoded position, or {@link #START} if no token was given
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TaskCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        int sep = raw.lastIndexOf(SEPARATOR);
+        if (sep < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        try {
+            return new TaskCursor(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
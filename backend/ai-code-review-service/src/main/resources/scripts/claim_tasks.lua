@@ -0,0 +1,42 @@
+-- Atomically claims up to ARGV[1] tasks from the priority queue.
+--
+-- KEYS[1] priority queue (sorted set)
+-- KEYS[2] in-flight set of the claiming worker
+-- KEYS[3] enqueue signal list
+-- ARGV[1] max tasks to claim
+-- ARGV[2] worker id written as the lease value
+-- ARGV[3] lease TTL in seconds
+-- ARGV[4] lock key prefix
+--
+-- Returns the claimed task ids, lowest score first. Tasks whose lock is still held
+-- are put back with their original score; unparseable members are discarded.
+
+local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+local claimed = {}
+local contended = {}
+
+for i = 1, #popped, 2 do
+    local member = popped[i]
+    -- Members are written through the JSON value serializer, so ids may be quoted
+    local id = string.match(member, '^"?(%d+)"?$')
+    if id == nil then
+        redis.log(redis.LOG_WARNING, 'Discarding invalid task id in queue: ' .. member)
+    elseif redis.call('SET', ARGV[4] .. id, ARGV[2], 'NX', 'EX', ARGV[3]) then
+        redis.call('SADD', KEYS[2], id)
+        claimed[#claimed + 1] = id
+    else
+        contended[#contended + 1] = popped[i + 1]
+        contended[#contended + 1] = member
+    end
+end
+
+if #contended > 0 then
+    redis.call('ZADD', KEYS[1], unpack(contended))
+end
+
+-- Drop stale wake-up tokens once the queue is drained
+if redis.call('ZCARD', KEYS[1]) == 0 then
+    redis.call('DEL', KEYS[3])
+end
+
+return claimed
@@ -0,0 +1,91 @@
+-- Atomically claims up to ARGV[1] tasks, one per project turn (fair-share mode).
+--
+-- KEYS[1] dispatch order (sorted set of project ids)
+-- KEYS[2] dispatch turn counter
+-- KEYS[3] enqueue signal list
+-- KEYS[4] in-flight set of the claiming worker
+-- KEYS[5] task owner hash (task id -> project id)
+-- ARGV[1] max tasks to claim
+-- ARGV[2] worker id written as the lease value
+-- ARGV[3] lease TTL in seconds
+-- ARGV[4] lock key prefix
+-- ARGV[5] project sub-queue key prefix
+-- ARGV[6] project running set key prefix
+-- ARGV[7] max running tasks per project (0 = unlimited)
+-- ARGV[8] now, epoch millis
+-- ARGV[9] priority multiplier
+--
+-- Each turn takes the first project in the dispatch order, pops the head of its sub-queue and
+-- moves the project to the back of its priority band, so projects are served round-robin and
+-- HIGH tasks still go before NORMAL ones. Projects at their concurrency cap are skipped for
+-- this call and keep their position. Returns the claimed task ids in claim order.
+--
+-- reindex() is defined in fair_common.lua, which is prepended to this script.
+
+local max = tonumber(ARGV[1])
+local cap = tonumber(ARGV[7])
+local now = tonumber(ARGV[8])
+local multiplier = tonumber(ARGV[9])
+local expiresAt = string.format('%.0f', now + tonumber(ARGV[3]) * 1000)
+
+local claimed = {}
+local contended = {}
+local capped = {}
+
+while #claimed < max do
+    local nextProject = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+    if #nextProject == 0 then
+        break
+    end
+    local projectId = nextProject[1]
+    local running = ARGV[6] .. projectId
+
+    local atCap = false
+    if cap > 0 then
+        -- Leases that lapsed without a release (lost worker) no longer count
+        redis.call('ZREMRANGEBYSCORE', running, '-inf', now)
+        atCap = redis.call('ZCARD', running) >= cap
+    end
+
+    if atCap then
+        redis.call('ZREM', KEYS[1], projectId)
+        capped[#capped + 1] = nextProject[2]
+        capped[#capped + 1] = projectId
+    else
+        local popped = redis.call('ZPOPMIN', ARGV[5] .. projectId)
+        if #popped > 0 then
+            local member = popped[1]
+            -- Members are written through the JSON value serializer, so ids may be quoted
+            local id = string.match(member, '^"?(%d+)"?$')
+            if id == nil then
+                redis.log(redis.LOG_WARNING, 'Discarding invalid task id in project queue: ' .. member)
+            elseif redis.call('SET', ARGV[4] .. id, ARGV[2], 'NX', 'EX', ARGV[3]) then
+                redis.call('SADD', KEYS[4], id)
+                redis.call('HSET', KEYS[5], id, projectId)
+                redis.call('ZADD', running, expiresAt, id)
+                claimed[#claimed + 1] = id
+            else
+                contended[#contended + 1] = { projectId, popped[2], member }
+            end
+        end
+        reindex(KEYS[1], KEYS[2], ARGV[5], multiplier, projectId, true)
+    end
+end
+
+-- Put back tasks whose lock is still held, with their original score
+for _, entry in ipairs(contended) do
+    redis.call('ZADD', ARGV[5] .. entry[1], entry[2], entry[3])
+    reindex(KEYS[1], KEYS[2], ARGV[5], multiplier, entry[1], false)
+end
+
+-- Capped projects return at their original position
+if #capped > 0 then
+    redis.call('ZADD', KEYS[1], unpack(capped))
+end
+
+-- Drop stale wake-up tokens once every project queue is drained
+if redis.call('ZCARD', KEYS[1]) == 0 then
+    redis.call('DEL', KEYS[3])
+end
+
+return claimed
@@ -0,0 +1,22 @@
+-- Shared by the fair-share scripts; FairShareQueueService prepends it to each of them.
+
+-- Repositions a project in the dispatch order from its current head task, or removes it once its
+-- sub-queue is empty. A project already in the order keeps its turn unless it was just served, in
+-- which case it moves to the back of its band.
+local function reindex(order, turns, prefix, multiplier, projectId, served)
+    local head = redis.call('ZRANGE', prefix .. projectId, 0, 0, 'WITHSCORES')
+    if #head == 0 then
+        redis.call('ZREM', order, projectId)
+        return
+    end
+    local band = math.floor(tonumber(head[2]) / multiplier)
+    local current = redis.call('ZSCORE', order, projectId)
+    local turn
+    if current and not served then
+        turn = tonumber(current) % multiplier
+    else
+        turn = redis.call('INCR', turns)
+    end
+    redis.call('ZADD', order, string.format('%.0f', band * multiplier + turn), projectId)
+end
+
@@ -0,0 +1,39 @@
+-- Adds tasks to their project sub-queues and updates the dispatch order (fair-share mode).
+--
+-- KEYS[1] dispatch order (sorted set of project ids)
+-- KEYS[2] dispatch turn counter
+-- KEYS[3] enqueue signal list
+-- ARGV[1] project sub-queue key prefix
+-- ARGV[2] priority multiplier
+-- ARGV[3..] triples of task id, queue score, project id
+--
+-- A project's dispatch score is headBand * multiplier + turn, where headBand is the priority
+-- band of its best queued task. Projects with a HIGH task at the head always dispatch before
+-- projects with only NORMAL tasks; within a band the lowest (oldest) turn goes first.
+-- Returns the number of tasks added.
+--
+-- reindex() is defined in fair_common.lua, which is prepended to this script.
+
+local prefix = ARGV[1]
+local multiplier = tonumber(ARGV[2])
+
+local touched = {}
+local tokens = {}
+
+for i = 3, #ARGV, 3 do
+    -- Quoted like members written through the JSON value serializer
+    redis.call('ZADD', prefix .. ARGV[i + 2], ARGV[i + 1], '"' .. ARGV[i] .. '"')
+    touched[ARGV[i + 2]] = true
+    tokens[#tokens + 1] = '1'
+end
+
+for projectId in pairs(touched) do
+    reindex(KEYS[1], KEYS[2], prefix, multiplier, projectId, false)
+end
+
+-- One wake-up token per task for workers parked on the signal list
+if #tokens > 0 then
+    redis.call('LPUSH', KEYS[3], unpack(tokens))
+end
+
+return #tokens
@@ -0,0 +1,58 @@
+-- Moves up to ARGV[2] due tasks from the retry queue into their project sub-queues (fair-share mode).
+--
+-- KEYS[1] retry queue (sorted set, score = ready-at epoch millis)
+-- KEYS[2] dispatch order (sorted set of project ids)
+-- KEYS[3] dispatch turn counter
+-- KEYS[4] enqueue signal list
+-- ARGV[1] now, epoch millis
+-- ARGV[2] max tasks to promote
+-- ARGV[3] priority multiplier
+-- ARGV[4] project sub-queue key prefix
+-- ARGV[5] project id used for entries without one
+--
+-- Retry members are "{taskId}:{priorityBand}:{projectId}"; entries written in FIFO mode have no
+-- project id and go to the ARGV[5] sub-queue. The sub-queue score is priorityBand * multiplier
+-- + readyAt, the same formula as a fresh enqueue. Returns the number of tasks promoted.
+--
+-- reindex() is defined in fair_common.lua, which is prepended to this script.
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2])
+local multiplier = tonumber(ARGV[3])
+local prefix = ARGV[4]
+
+local touched = {}
+local tokens = {}
+
+for i = 1, #due, 2 do
+    local member = due[i]
+    redis.call('ZREM', KEYS[1], member)
+    -- Members are written through the JSON value serializer, so they may be quoted
+    local body = string.match(member, '^"?([%d:]+)"?$')
+    local id, band, projectId
+    if body then
+        id, band, projectId = string.match(body, '^(%d+):(%d+):?(%d*)$')
+    end
+    if id == nil then
+        redis.log(redis.LOG_WARNING, 'Discarding invalid retry entry: ' .. member)
+    else
+        if projectId == '' then
+            projectId = ARGV[5]
+        end
+        local score = tonumber(band) * multiplier + tonumber(due[i + 1])
+        -- %.0f keeps all 15+ digits; tostring would round to 14 significant digits
+        redis.call('ZADD', prefix .. projectId, string.format('%.0f', score), '"' .. id .. '"')
+        touched[projectId] = true
+        tokens[#tokens + 1] = '1'
+    end
+end
+
+for projectId in pairs(touched) do
+    reindex(KEYS[2], KEYS[3], prefix, multiplier, projectId, false)
+end
+
+-- One wake-up token per promoted task for workers parked on the signal list
+if #tokens > 0 then
+    redis.call('LPUSH', KEYS[4], unpack(tokens))
+end
+
+return #tokens
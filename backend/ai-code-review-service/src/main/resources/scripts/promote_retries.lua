@@ -0,0 +1,38 @@
+-- Moves up to ARGV[2] due tasks from the retry queue into the priority queue.
+--
+-- KEYS[1] retry queue (sorted set, score = ready-at epoch millis)
+-- KEYS[2] priority queue (sorted set)
+-- KEYS[3] enqueue signal list
+-- ARGV[1] now, epoch millis
+-- ARGV[2] max tasks to promote
+-- ARGV[3] priority multiplier
+--
+-- Retry members are "{taskId}:{priorityBand}" where priorityBand = MAX_PRIORITY - priorityScore,
+-- so the queue score is priorityBand * multiplier + readyAt, the same formula as a fresh enqueue.
+-- Returns the number of tasks promoted.
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2])
+local multiplier = tonumber(ARGV[3])
+local tokens = {}
+
+for i = 1, #due, 2 do
+    local member = due[i]
+    redis.call('ZREM', KEYS[1], member)
+    -- Members are written through the JSON value serializer, so they may be quoted
+    local id, band = string.match(member, '^"?(%d+):(%d+)"?$')
+    if id == nil then
+        redis.log(redis.LOG_WARNING, 'Discarding invalid retry entry: ' .. member)
+    else
+        local score = tonumber(band) * multiplier + tonumber(due[i + 1])
+        -- %.0f keeps all 15+ digits; tostring would round to 14 significant digits
+        redis.call('ZADD', KEYS[2], string.format('%.0f', score), '"' .. id .. '"')
+        tokens[#tokens + 1] = '1'
+    end
+end
+
+-- One wake-up token per promoted task for workers parked on the signal list
+if #tokens > 0 then
+    redis.call('LPUSH', KEYS[3], unpack(tokens))
+end
+
+return #tokens
@@ -0,0 +1,30 @@
+-- Releases a task lock and removes the task from its owner's in-flight set.
+--
+-- KEYS[1] task lock key
+-- ARGV[1] in-flight set key prefix
+-- ARGV[2] task id
+-- ARGV[3] task owner hash (task id -> project id, fair-share mode only)
+-- ARGV[4] project running set key prefix
+-- ARGV[5] project sub-queue key prefix
+-- ARGV[6] enqueue signal list
+--
+-- In fair-share mode the task also frees a slot in its project's running set; if that
+-- project still has queued tasks a wake-up token is pushed, since a worker may have
+-- skipped them while the project was at its concurrency cap.
+-- Returns 1 if the lock existed, 0 otherwise.
+
+local owner = redis.call('GET', KEYS[1])
+if owner then
+    redis.call('SREM', ARGV[1] .. owner, ARGV[2])
+end
+
+local projectId = redis.call('HGET', ARGV[3], ARGV[2])
+if projectId then
+    redis.call('HDEL', ARGV[3], ARGV[2])
+    redis.call('ZREM', ARGV[4] .. projectId, ARGV[2])
+    if redis.call('EXISTS', ARGV[5] .. projectId) == 1 then
+        redis.call('LPUSH', ARGV[6], '1')
+    end
+end
+
+return redis.call('DEL', KEYS[1])
@@ -0,0 +1,33 @@
+-- Extends the lease of every task in a worker's in-flight set that the worker still owns.
+--
+-- KEYS[1] in-flight set of the worker
+-- ARGV[1] worker id (expected lease value)
+-- ARGV[2] lease TTL in seconds
+-- ARGV[3] lock key prefix
+-- ARGV[4] task owner hash (task id -> project id, fair-share mode only)
+-- ARGV[5] project running set key prefix
+-- ARGV[6] now, epoch millis
+--
+-- Returns the ids whose lease was renewed. Ids whose lock expired or now belongs to
+-- another worker are dropped from the in-flight set. In fair-share mode the task's entry
+-- in its project's running set is extended too, so it keeps counting against the cap.
+
+local ids = redis.call('SMEMBERS', KEYS[1])
+local renewed = {}
+local expiresAt = string.format('%.0f', tonumber(ARGV[6]) + tonumber(ARGV[2]) * 1000)
+
+for _, id in ipairs(ids) do
+    local lockKey = ARGV[3] .. id
+    if redis.call('GET', lockKey) == ARGV[1] then
+        redis.call('EXPIRE', lockKey, ARGV[2])
+        local projectId = redis.call('HGET', ARGV[4], id)
+        if projectId then
+            redis.call('ZADD', ARGV[5] .. projectId, 'XX', expiresAt, id)
+        end
+        renewed[#renewed + 1] = id
+    else
+        redis.call('SREM', KEYS[1], id)
+    end
+end
+
+return renewed
@@ -0,0 +1,103 @@
+-- Atomically claims up to ARGV[1] tasks from the priority streams through the consumer group.
+--
+-- KEYS[1] claims hash (task id -> "{stream} {entryId} {workerId}")
+-- KEYS[2] in-flight set of the claiming worker
+-- KEYS[3] enqueue signal list
+-- KEYS[4..n] priority streams, highest priority first
+-- ARGV[1] max tasks to claim
+-- ARGV[2] consumer group
+-- ARGV[3] worker id, used as the consumer name
+-- ARGV[4] lease in milliseconds (entries pending longer than this are reclaimed)
+--
+-- For each stream, entries whose consumer has stopped acknowledging (idle past the lease) are
+-- taken over with XAUTOCLAIM before new entries are read with XREADGROUP, so a crashed worker's
+-- tasks are redelivered ahead of fresh work of the same priority.
+-- A new entry for a task that is still claimed under a live lease is a duplicate (e.g. re-queued
+-- by the DB reaper while the original delivery runs) and is dropped; if the earlier claim has
+-- gone stale, the earlier entry is dropped instead.
+-- Returns the claimed task ids in claim order.
+
+local max = tonumber(ARGV[1])
+local group = ARGV[2]
+local consumer = ARGV[3]
+local leaseMs = tonumber(ARGV[4])
+local claimed = {}
+
+local function taskIdOf(fields)
+    if not fields then
+        return nil
+    end
+    for i = 1, #fields, 2 do
+        if fields[i] == 'id' then
+            return string.match(fields[i + 1], '^"?(%d+)"?$')
+        end
+    end
+    return nil
+end
+
+local function drop(stream, entryId)
+    redis.call('XACK', stream, group, entryId)
+    redis.call('XDEL', stream, entryId)
+end
+
+local function take(stream, entry)
+    local entryId = entry[1]
+    local id = taskIdOf(entry[2])
+    if id == nil then
+        redis.log(redis.LOG_WARNING, 'Discarding invalid task entry in ' .. stream .. ': ' .. entryId)
+        drop(stream, entryId)
+        return
+    end
+
+    local current = redis.call('HGET', KEYS[1], id)
+    if current then
+        local curStream, curEntry = string.match(current, '^(%S+) (%S+) ')
+        if curStream ~= stream or curEntry ~= entryId then
+            local pending = redis.pcall('XPENDING', curStream, group, curEntry, curEntry, 1)
+            if type(pending) == 'table' and not pending.err and #pending > 0
+                    and tonumber(pending[1][3]) < leaseMs then
+                drop(stream, entryId)
+                return
+            end
+            drop(curStream, curEntry)
+        end
+    end
+
+    redis.call('HSET', KEYS[1], id, stream .. ' ' .. entryId .. ' ' .. consumer)
+    redis.call('SADD', KEYS[2], id)
+    claimed[#claimed + 1] = id
+end
+
+local backlog = 0
+for k = 4, #KEYS do
+    local stream = KEYS[k]
+    -- Creates the group on first use; BUSYGROUP once it exists
+    redis.pcall('XGROUP', 'CREATE', stream, group, '0', 'MKSTREAM')
+
+    if #claimed < max then
+        local stale = redis.call('XAUTOCLAIM', stream, group, consumer, leaseMs, '0-0', 'COUNT', max - #claimed)
+        for _, entry in ipairs(stale[2]) do
+            take(stream, entry)
+        end
+    end
+
+    if #claimed < max then
+        local read = redis.call('XREADGROUP', 'GROUP', group, consumer, 'COUNT', max - #claimed,
+            'STREAMS', stream, '>')
+        if read then
+            for _, entry in ipairs(read[1][2]) do
+                take(stream, entry)
+            end
+        end
+    end
+
+    -- Entries not yet delivered: acknowledged entries are deleted, so the rest are pending
+    backlog = backlog + redis.call('XLEN', stream) - redis.call('XPENDING', stream, group)[1]
+end
+
+-- Drop stale wake-up tokens once every stream is drained
+if backlog <= 0 then
+    redis.call('DEL', KEYS[3])
+end
+
+return claimed
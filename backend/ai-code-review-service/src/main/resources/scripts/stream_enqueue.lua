@@ -0,0 +1,21 @@
+-- Appends tasks to their priority streams.
+--
+-- KEYS[1] enqueue signal list
+-- KEYS[2..n] priority streams, highest priority first
+-- ARGV pairs of (stream index, task id); stream index 1 is KEYS[2]
+--
+-- Pushes one wake-up token per task for workers parked on the signal list.
+-- Returns the number of tasks added.
+
+local tokens = {}
+
+for i = 1, #ARGV, 2 do
+    redis.call('XADD', KEYS[1 + tonumber(ARGV[i])], '*', 'id', ARGV[i + 1])
+    tokens[#tokens + 1] = '1'
+end
+
+if #tokens > 0 then
+    redis.call('LPUSH', KEYS[1], unpack(tokens))
+end
+
+return #tokens
@@ -0,0 +1,37 @@
+-- Moves up to ARGV[2] due tasks from the retry queue onto their priority streams.
+--
+-- KEYS[1] retry queue (sorted set, score = ready-at epoch millis)
+-- KEYS[2] enqueue signal list
+-- KEYS[3..n] priority streams, highest priority first
+-- ARGV[1] now, epoch millis
+-- ARGV[2] max tasks to promote
+-- ARGV[3..] priority band of each stream, in KEYS order
+--
+-- Retry members are "{taskId}:{priorityBand}" (optionally ":{projectId}" when written in
+-- fair-share mode); an unknown band goes to the lowest priority stream.
+-- Returns the number of tasks promoted.
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+local streams = {}
+for k = 3, #KEYS do
+    streams[ARGV[k]] = KEYS[k]
+end
+local tokens = {}
+
+for _, member in ipairs(due) do
+    redis.call('ZREM', KEYS[1], member)
+    -- Members are written through the JSON value serializer, so they may be quoted
+    local id, band = string.match(member, '^"?(%d+):(%d+)')
+    if id == nil then
+        redis.log(redis.LOG_WARNING, 'Discarding invalid retry entry: ' .. member)
+    else
+        redis.call('XADD', streams[band] or KEYS[#KEYS], '*', 'id', id)
+        tokens[#tokens + 1] = '1'
+    end
+end
+
+if #tokens > 0 then
+    redis.call('LPUSH', KEYS[2], unpack(tokens))
+end
+
+return #tokens
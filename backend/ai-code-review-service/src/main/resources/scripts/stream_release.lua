@@ -0,0 +1,21 @@
+-- Acknowledges and deletes a claimed task's stream entry and forgets the claim.
+--
+-- KEYS[1] claims hash (task id -> "{stream} {entryId} {workerId}")
+-- ARGV[1] task id
+-- ARGV[2] consumer group
+-- ARGV[3] in-flight set key prefix
+--
+-- Returns 1 if the task was claimed, 0 otherwise.
+
+local claim = redis.call('HGET', KEYS[1], ARGV[1])
+if not claim then
+    return 0
+end
+
+local stream, entryId, owner = string.match(claim, '^(%S+) (%S+) (%S+)$')
+redis.call('XACK', stream, ARGV[2], entryId)
+redis.call('XDEL', stream, entryId)
+redis.call('SREM', ARGV[3] .. owner, ARGV[1])
+redis.call('HDEL', KEYS[1], ARGV[1])
+
+return 1
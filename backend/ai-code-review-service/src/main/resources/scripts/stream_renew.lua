@@ -0,0 +1,29 @@
+-- Resets the idle time of every stream entry a worker still owns, keeping it from being reclaimed.
+--
+-- KEYS[1] claims hash (task id -> "{stream} {entryId} {workerId}")
+-- KEYS[2] in-flight set of the worker
+-- ARGV[1] consumer group
+-- ARGV[2] worker id (consumer name)
+--
+-- XCLAIM with min-idle 0 and JUSTID re-asserts ownership without bumping the delivery count.
+-- Returns the ids whose entry was renewed. Ids that were released or taken over by another
+-- worker are dropped from the in-flight set.
+
+local ids = redis.call('SMEMBERS', KEYS[2])
+local renewed = {}
+
+for _, id in ipairs(ids) do
+    local claim = redis.call('HGET', KEYS[1], id)
+    local stream, entryId, owner
+    if claim then
+        stream, entryId, owner = string.match(claim, '^(%S+) (%S+) (%S+)$')
+    end
+    if owner == ARGV[2]
+            and #redis.call('XCLAIM', stream, ARGV[1], ARGV[2], 0, entryId, 'JUSTID') > 0 then
+        renewed[#renewed + 1] = id
+    else
+        redis.call('SREM', KEYS[2], id)
+    end
+end
+
+return renewed
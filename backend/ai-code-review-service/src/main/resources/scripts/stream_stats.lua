@@ -0,0 +1,23 @@
+-- Counts the entries not yet delivered to any worker across the priority streams.
+--
+-- KEYS[1..n] priority streams
+-- ARGV[1] consumer group
+--
+-- Acknowledged entries are deleted, so a stream holds only undelivered and pending entries.
+-- Returns the number of undelivered entries.
+
+local backlog = 0
+
+for _, stream in ipairs(KEYS) do
+    local length = redis.call('XLEN', stream)
+    if length > 0 then
+        local summary = redis.pcall('XPENDING', stream, ARGV[1])
+        local pending = 0
+        if type(summary) == 'table' and not summary.err then
+            pending = summary[1]
+        end
+        backlog = backlog + length - pending
+    end
+end
+
+return backlog
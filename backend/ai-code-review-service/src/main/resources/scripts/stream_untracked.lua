@@ -0,0 +1,36 @@
+-- Returns the tasks that are on no stream, not awaiting retry and not claimed.
+--
+-- KEYS[1] claims hash (task id -> "{stream} {entryId} {workerId}")
+-- KEYS[2] retry queue (sorted set)
+-- KEYS[3..n] priority streams
+-- ARGV pairs of (task id, retry queue member)
+--
+-- Streams are not indexed by task id, so every live entry is scanned once per call; since
+-- acknowledged entries are deleted this is bounded by the queue depth.
+
+local onStream = {}
+for k = 3, #KEYS do
+    for _, entry in ipairs(redis.call('XRANGE', KEYS[k], '-', '+')) do
+        local fields = entry[2]
+        for i = 1, #fields, 2 do
+            if fields[i] == 'id' then
+                onStream[string.match(fields[i + 1], '^"?(%d+)"?$') or fields[i + 1]] = true
+            end
+        end
+    end
+end
+
+local untracked = {}
+for i = 1, #ARGV, 2 do
+    local id = ARGV[i]
+    local member = ARGV[i + 1]
+    local tracked = onStream[id]
+            or redis.call('HEXISTS', KEYS[1], id) == 1
+            or redis.call('ZSCORE', KEYS[2], member)
+            or redis.call('ZSCORE', KEYS[2], '"' .. member .. '"')
+    if not tracked then
+        untracked[#untracked + 1] = id
+    end
+end
+
+return untracked
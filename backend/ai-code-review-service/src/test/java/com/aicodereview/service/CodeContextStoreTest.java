@@ -0,0 +1,116 @@
+package com.aicodereview.service;
+
+import com.aicodereview.repository.CodeContextBlobRepository;
+import com.aicodereview.repository.entity.CodeContextBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CodeContextStore.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CodeContextStore Unit Tests")
+class CodeContextStoreTest {
+
+    private static final String JSON = "{\"rawDiff\":\"" + "+ added line\\n".repeat(500) + "\"}";
+
+    @Mock
+    private CodeContextBlobRepository blobRepository;
+
+    private CodeContextStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new CodeContextStore(blobRepository);
+        ReflectionTestUtils.setField(store, "compressionLevel", 3);
+        ReflectionTestUtils.setField(store, "orphanGraceMinutes", 60L);
+    }
+
+    @Test
+    @DisplayName("store - should write a zstd blob keyed by the SHA-256 of the JSON")
+    void testStore_NewContext() {
+        String hash = store.store(JSON);
+
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        verify(blobRepository).insertIfAbsent(eq(hash), eq(CodeContextBlob.CODEC_ZSTD), eq(JSON.length()), data.capture());
+        assertThat(hash).isEqualTo(CodeContextStore.sha256Hex(JSON.getBytes(StandardCharsets.UTF_8))).hasSize(64);
+        assertThat(data.getValue().length).isLessThan(JSON.length());
+    }
+
+    @Test
+    @DisplayName("store - identical context should not be written again")
+    void testStore_ExistingContext() {
+        when(blobRepository.touch(anyString())).thenReturn(1);
+
+        String hash = store.store(JSON);
+
+        assertThat(hash).isEqualTo(CodeContextStore.sha256Hex(JSON.getBytes(StandardCharsets.UTF_8)));
+        verify(blobRepository).touch(hash);
+        verify(blobRepository, never()).insertIfAbsent(anyString(), anyString(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("deleteOrphanedBlobs - should only delete blobs stored before the grace period")
+    void testDeleteOrphanedBlobs() {
+        when(blobRepository.deleteOrphaned(any(Instant.class), eq(500))).thenReturn(3);
+        Instant before = Instant.now();
+
+        int deleted = store.deleteOrphanedBlobs(500);
+
+        assertThat(deleted).isEqualTo(3);
+        ArgumentCaptor<Instant> storedBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(blobRepository).deleteOrphaned(storedBefore.capture(), eq(500));
+        assertThat(storedBefore.getValue())
+                .isBetween(before.minus(Duration.ofMinutes(60)), Instant.now().minus(Duration.ofMinutes(60)));
+    }
+
+    @Test
+    @DisplayName("load - should decompress what store wrote")
+    void testLoad_RoundTrip() {
+        String hash = store.store(JSON);
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        verify(blobRepository).insertIfAbsent(eq(hash), anyString(), anyInt(), data.capture());
+        when(blobRepository.findById(hash)).thenReturn(Optional.of(CodeContextBlob.builder()
+                .contentHash(hash).codec(CodeContextBlob.CODEC_ZSTD).rawSize(JSON.length()).data(data.getValue())
+                .build()));
+
+        assertThat(store.load(hash)).contains(JSON);
+    }
+
+    @Test
+    @DisplayName("load - migrated uncompressed blob should be returned as is")
+    void testLoad_Uncompressed() {
+        when(blobRepository.findById("h")).thenReturn(Optional.of(CodeContextBlob.builder()
+                .contentHash("h").codec(CodeContextBlob.CODEC_NONE).rawSize(2)
+                .data("{}".getBytes(StandardCharsets.UTF_8)).build()));
+
+        assertThat(store.load("h")).contains("{}");
+    }
+
+    @Test
+    @DisplayName("load - unknown hash should return empty, unknown codec should fail")
+    void testLoad_MissingOrUnknownCodec() {
+        when(blobRepository.findById("missing")).thenReturn(Optional.empty());
+        when(blobRepository.findById("lz")).thenReturn(Optional.of(CodeContextBlob.builder()
+                .contentHash("lz").codec("lz4").rawSize(2).data(new byte[2]).build()));
+
+        assertThat(store.load("missing")).isEmpty();
+        assertThatThrownBy(() -> store.load("lz")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.aicodereview.service;
+
+import com.aicodereview.common.dto.DiffMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the single-pass DiffMetadataExtractor with the split()-based {@link LegacyDiffMetadataExtractor}.
+ * <p>
+ * The equivalence test always runs: on a generated diff mixing every kind of file section, both must
+ * return the same metadata. The benchmark is skipped unless run with {@code -Ddiff.benchmark=true}, e.g.
+ * {@code mvn -pl ai-code-review-service test -Dtest=DiffMetadataExtractorBenchmarkTest -Ddiff.benchmark=true
+ * -DargLine=-Xmx4g}; tune with {@code -Ddiff.benchmark.sizes-mb} (default {@code 1,10,100}) and
+ * {@code -Ddiff.benchmark.iterations} (default 5). For each diff size it reports the average time and
+ * the bytes allocated per extraction, and requires the scanner to allocate at most half as much.
+ * </p>
+ */
+@Slf4j
+@DisplayName("DiffMetadataExtractor Benchmark")
+class DiffMetadataExtractorBenchmarkTest {
+
+    private static final int MB = 1024 * 1024;
+
+    private final DiffMetadataExtractor extractor = new DiffMetadataExtractor();
+    private final LegacyDiffMetadataExtractor legacy = new LegacyDiffMetadataExtractor();
+
+    @Test
+    @DisplayName("Should extract the same metadata as the split()-based implementation")
+    void shouldMatchLegacyExtractor() {
+        String diff = generateDiff(MB);
+
+        assertThat(extractor.extractMetadata(diff)).isEqualTo(legacy.extractMetadata(diff));
+        assertThat(extractor.extractMetadata(diff.replace("\n", "\r\n"))).isEqualTo(legacy.extractMetadata(diff.replace("\n", "\r\n")));
+        assertThat(extractor.extractMetadata(new StringBuilder(diff))).isEqualTo(legacy.extractMetadata(diff));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "diff.benchmark", matches = "true")
+    @DisplayName("Single-pass scanner should allocate at most half of the split()-based implementation")
+    void benchmark() {
+        int iterations = Integer.getInteger("diff.benchmark.iterations", 5);
+        int[] sizes = Arrays.stream(System.getProperty("diff.benchmark.sizes-mb", "1,10,100").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        for (int sizeMb : sizes) {
+            String diff = generateDiff(sizeMb * MB);
+            Result scanner = measure(extractor::extractMetadata, diff, iterations);
+            Result split = measure(legacy::extractMetadata, diff, iterations);
+
+            log.info("{} MB diff: single-pass {} ms / {} MB allocated, split() {} ms / {} MB allocated",
+                    sizeMb, scanner.millis(), scanner.allocatedBytes() / MB, split.millis(), split.allocatedBytes() / MB);
+            assertThat(scanner.allocatedBytes()).isLessThanOrEqualTo(split.allocatedBytes() / 2);
+        }
+    }
+
+    private record Result(long millis, long allocatedBytes) {
+    }
+
+    private static Result measure(Function<String, DiffMetadata> extract, String diff, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        // Warm up the JIT before measuring
+        for (int i = 0; i < 2; i++) {
+            extract.apply(diff);
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            extract.apply(diff);
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(elapsed / iterations / 1_000_000, allocated / iterations);
+    }
+
+    /**
+     * Builds a diff of about {@code targetChars} characters that cycles through modified (with several
+     * hunks and content lines that look like headers), added, deleted, renamed and binary files.
+     */
+    private static String generateDiff(int targetChars) {
+        StringBuilder diff = new StringBuilder(targetChars + 4096);
+        for (int file = 0; diff.length() < targetChars; file++) {
+            String path = "src/main/java/com/example/module" + (file % 97) + "/File" + file + ".java";
+            switch (file % 5) {
+                case 0 -> {
+                    diff.append("diff --git a/").append(path).append(" b/").append(path).append('\n')
+                            .append("index abc1234..def5678 100644\n")
+                            .append("--- a/").append(path).append('\n')
+                            .append("+++ b/").append(path).append('\n');
+                    for (int hunk = 0; hunk < 3; hunk++) {
+                        int line = 1 + hunk * 40;
+                        diff.append("@@ -").append(line).append(",6 +").append(line).append(",7 @@ class File").append(file).append('\n')
+                                .append("     int a = ").append(hunk).append(";\n")
+                                .append("-    int b = 1;\n")
+                                .append("+    int b = 2;\n")
+                                .append("+    int c = 3;\n")
+                                .append("---   decrement in a comment\n")
+                                .append("+++   increment in a comment\n")
+                                .append("     return a;\n");
+                    }
+                }
+                case 1 -> {
+                    diff.append("diff --git a/").append(path).append(" b/").append(path).append('\n')
+                            .append("new file mode 100644\n")
+                            .append("index 0000000..abc1234\n")
+                            .append("--- /dev/null\n")
+                            .append("+++ b/").append(path).append('\n')
+                            .append("@@ -0,0 +1,4 @@\n");
+                    for (int line = 0; line < 4; line++) {
+                        diff.append("+line ").append(line).append('\n');
+                    }
+                }
+                case 2 -> diff.append("diff --git a/").append(path).append(" b/").append(path).append('\n')
+                        .append("deleted file mode 100644\n")
+                        .append("index abc1234..0000000\n")
+                        .append("--- a/").append(path).append('\n')
+                        .append("+++ /dev/null\n")
+                        .append("@@ -1,2 +0,0 @@\n")
+                        .append("-class Gone {\n")
+                        .append("-}\n");
+                case 3 -> diff.append("diff --git a/old/").append(path).append(" b/").append(path).append('\n')
+                        .append("similarity index 100%\n")
+                        .append("rename from old/").append(path).append('\n')
+                        .append("rename to ").append(path).append('\n');
+                default -> diff.append("diff --git a/assets/image").append(file).append(".png b/assets/image")
+                        .append(file).append(".png\n")
+                        .append("new file mode 100644\n")
+                        .append("index 0000000..abc1234\n")
+                        .append("Binary files /dev/null and b/assets/image").append(file).append(".png differ\n");
+            }
+        }
+        return diff.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.aicodereview.service;
 
+import com.aicodereview.common.dto.DiffHunk;
 import com.aicodereview.common.dto.DiffMetadata;
 import com.aicodereview.common.dto.FileDiffInfo;
 import com.aicodereview.common.enums.ChangeType;
@@ -490,5 +491,30 @@ class DiffMetadataExtractorTest {
             assertThat(result.getStatistics().getTotalLinesAdded()).isEqualTo(3);
             assertThat(result.getStatistics().getTotalLinesDeleted()).isEqualTo(1);
         }
+
+        @Test
+        @DisplayName("Should parse the line ranges of every hunk")
+        void shouldParseHunkRanges() {
+            String diff = """
+                    diff --git a/src/App.java b/src/App.java
+                    index abc..def 100644
+                    --- a/src/App.java
+                    +++ b/src/App.java
+                    @@ -1,3 +1,4 @@ class App {
+                     class App {
+                    +    int x;
+                         void foo() {}
+                     }
+                    @@ -40 +41 @@
+                    -    void old() {}
+                    +    void bar() {}
+                    """;
+
+            DiffMetadata result = extractor.extractMetadata(diff);
+
+            assertThat(result.getFiles().get(0).getHunks()).containsExactly(
+                    DiffHunk.builder().oldStart(1).oldLines(3).newStart(1).newLines(4).build(),
+                    DiffHunk.builder().oldStart(40).oldLines(1).newStart(41).newLines(1).build());
+        }
     }
 }
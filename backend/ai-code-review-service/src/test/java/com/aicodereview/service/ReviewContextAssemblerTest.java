@@ -1,17 +1,20 @@
 package com.aicodereview.service;
 
+import com.aicodereview.common.dto.DiffHunk;
 import com.aicodereview.common.dto.DiffMetadata;
 import com.aicodereview.common.dto.DiffStatistics;
 import com.aicodereview.common.dto.FileDiffInfo;
 import com.aicodereview.common.dto.reviewtask.CodeContext;
 import com.aicodereview.common.dto.reviewtask.FileInfo;
 import com.aicodereview.common.enums.ChangeType;
+import com.aicodereview.common.enums.GitPlatform;
 import com.aicodereview.common.enums.Language;
 import com.aicodereview.common.enums.TaskType;
 import com.aicodereview.common.exception.GitApiException;
 import com.aicodereview.integration.git.GitPlatformClient;
 import com.aicodereview.integration.git.GitPlatformClientFactory;
 import com.aicodereview.repository.entity.ReviewTask;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -23,6 +26,10 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -56,6 +63,13 @@ class ReviewContextAssemblerTest {
         ReflectionTestUtils.setField(assembler, "maxContextTokens", 100000);
         ReflectionTestUtils.setField(assembler, "maxFileTokens", 10000);
         ReflectionTestUtils.setField(assembler, "maxFiles", 50);
+        ReflectionTestUtils.setField(assembler, "fetchConcurrency", 4);
+        lenient().when(gitClient.getPlatform()).thenReturn(GitPlatform.GITHUB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assembler.shutdown();
     }
 
     private ReviewTask buildTask() {
@@ -157,6 +171,23 @@ class ReviewContextAssemblerTest {
             assertThat(result.getFileContents()).hasSize(2);
             assertThat(result.getFiles()).hasSize(2);
         }
+
+        @Test
+        @DisplayName("Should fetch the compare-range diff for a coalesced task")
+        void shouldFetchRangeDiffForCoalescedTask() {
+            ReviewTask task = buildTask();
+            task.setBaseCommitHash("base999");
+            DiffMetadata metadata = buildMetadata(List.of());
+
+            doReturn(gitClient).when(clientFactory).getClient(REPO_URL);
+            doReturn(SAMPLE_DIFF).when(gitClient).getDiff(REPO_URL, "base999", COMMIT_HASH);
+            when(diffExtractor.extractMetadata(SAMPLE_DIFF)).thenReturn(metadata);
+
+            CodeContext result = assembler.assembleContext(task);
+
+            assertThat(result.getRawDiff()).isEqualTo(SAMPLE_DIFF);
+            verify(gitClient, never()).getDiff(REPO_URL, COMMIT_HASH);
+        }
     }
 
     @Nested
@@ -353,6 +384,50 @@ class ReviewContextAssemblerTest {
             int fileTokens = totalFileChars / 4;
             assertThat(diffTokens + fileTokens).isLessThanOrEqualTo(30);
         }
+
+        @Test
+        @DisplayName("Should stop fetching files once the budget is used up")
+        void shouldStopFetchingWhenBudgetUsedUp() {
+            // Budget: 25 tokens = 100 chars, one wave per file; the first file takes the whole budget
+            ReflectionTestUtils.setField(assembler, "fetchConcurrency", 1);
+            List<FileDiffInfo> files = List.of(
+                    FileDiffInfo.builder().oldPath("a.java").newPath("a.java")
+                            .changeType(ChangeType.MODIFY).language(Language.JAVA)
+                            .isBinary(false).linesAdded(5).linesDeleted(2).build(),
+                    FileDiffInfo.builder().oldPath("b.java").newPath("b.java")
+                            .changeType(ChangeType.MODIFY).language(Language.JAVA)
+                            .isBinary(false).linesAdded(3).linesDeleted(0).build()
+            );
+            doReturn("a".repeat(150)).when(gitClient).getFileContent(REPO_URL, COMMIT_HASH, "a.java");
+
+            Map<String, String> result = assembler.fetchFileContents(gitClient, buildTask(), buildMetadata(files), 25);
+
+            assertThat(result).containsOnlyKeys("a.java");
+            verify(gitClient, never()).getFileContent(REPO_URL, COMMIT_HASH, "b.java");
+        }
+
+        @Test
+        @DisplayName("Should not fetch any file when the diff uses the whole budget")
+        void shouldNotFetchWhenDiffUsesWholeBudget() {
+            ReflectionTestUtils.setField(assembler, "maxContextTokens", 25);
+
+            ReviewTask task = buildTask();
+            String diff = "d".repeat(200); // truncated to the whole 25-token budget
+            List<FileDiffInfo> files = List.of(
+                    FileDiffInfo.builder().oldPath("a.java").newPath("a.java")
+                            .changeType(ChangeType.MODIFY).language(Language.JAVA)
+                            .isBinary(false).linesAdded(5).linesDeleted(2).build()
+            );
+
+            doReturn(gitClient).when(clientFactory).getClient(REPO_URL);
+            doReturn(diff).when(gitClient).getDiff(REPO_URL, COMMIT_HASH);
+            when(diffExtractor.extractMetadata(diff)).thenReturn(buildMetadata(files));
+
+            CodeContext result = assembler.assembleContext(task);
+
+            assertThat(result.getFileContents()).isEmpty();
+            verify(gitClient, never()).getFileContent(anyString(), anyString(), anyString());
+        }
     }
 
     @Nested
@@ -392,6 +467,134 @@ class ReviewContextAssemblerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Parallel Fetching")
+    class ParallelFetching {
+
+        private List<FileDiffInfo> filesWithChanges(int... changes) {
+            return IntStream.range(0, changes.length)
+                    .mapToObj(i -> FileDiffInfo.builder().oldPath("f" + i + ".java").newPath("f" + i + ".java")
+                            .changeType(ChangeType.MODIFY).language(Language.JAVA)
+                            .isBinary(false).linesAdded(changes[i]).linesDeleted(0).build())
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Should fetch files concurrently up to the fan-out")
+        void shouldFetchConcurrently() {
+            // Every fetch waits until all four are in flight, which only completes if they run together
+            CountDownLatch inFlight = new CountDownLatch(4);
+            doAnswer(invocation -> {
+                inFlight.countDown();
+                return inFlight.await(5, TimeUnit.SECONDS) ? "content" : null;
+            }).when(gitClient).getFileContent(eq(REPO_URL), eq(COMMIT_HASH), anyString());
+
+            Map<String, String> result = assembler.fetchFileContents(
+                    gitClient, buildTask(), buildMetadata(filesWithChanges(4, 3, 2, 1)), 100000);
+
+            assertThat(result).hasSize(4);
+        }
+
+        @Test
+        @DisplayName("Should keep change-priority order regardless of completion order")
+        void shouldKeepPriorityOrder() {
+            // The highest-priority file completes last
+            doAnswer(invocation -> {
+                String path = invocation.getArgument(2);
+                if (path.equals("f0.java")) {
+                    Thread.sleep(100);
+                }
+                return "content of " + path;
+            }).when(gitClient).getFileContent(eq(REPO_URL), eq(COMMIT_HASH), anyString());
+
+            Map<String, String> result = assembler.fetchFileContents(
+                    gitClient, buildTask(), buildMetadata(filesWithChanges(10, 1, 5)), 100000);
+
+            assertThat(result.keySet()).containsExactly("f0.java", "f2.java", "f1.java");
+        }
+
+        @Test
+        @DisplayName("Should replace failed files with the next ones in priority order up to maxFiles")
+        void shouldReplaceFailedFilesWithinMaxFiles() {
+            ReflectionTestUtils.setField(assembler, "maxFiles", 2);
+            doThrow(new GitApiException(404, "Not found")).when(gitClient)
+                    .getFileContent(REPO_URL, COMMIT_HASH, "f0.java");
+            doReturn("content").when(gitClient).getFileContent(REPO_URL, COMMIT_HASH, "f1.java");
+            doReturn("content").when(gitClient).getFileContent(REPO_URL, COMMIT_HASH, "f2.java");
+
+            Map<String, String> result = assembler.fetchFileContents(
+                    gitClient, buildTask(), buildMetadata(filesWithChanges(4, 3, 2, 1)), 100000);
+
+            assertThat(result.keySet()).containsExactly("f1.java", "f2.java");
+            verify(gitClient, never()).getFileContent(REPO_URL, COMMIT_HASH, "f3.java");
+        }
+    }
+
+    @Nested
+    @DisplayName("Hunk-Scoped Context")
+    class HunkScopedContext {
+
+        private String numberedLines(int count) {
+            return IntStream.rangeClosed(1, count).mapToObj(i -> "line " + i + "\n").collect(Collectors.joining());
+        }
+
+        private DiffHunk hunk(int newStart, int newLines) {
+            return DiffHunk.builder().oldStart(newStart).oldLines(newLines).newStart(newStart).newLines(newLines).build();
+        }
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(assembler, "contextMode", ReviewContextAssembler.ContextMode.HUNKS);
+            ReflectionTestUtils.setField(assembler, "hunkContextLines", 2);
+        }
+
+        @Test
+        @DisplayName("Should keep only the lines around each hunk, merging overlapping windows")
+        void shouldScopeToHunkWindows() {
+            String scoped = assembler.scopeToHunks(numberedLines(100),
+                    List.of(hunk(50, 1), hunk(10, 2), hunk(13, 1)));
+
+            assertThat(scoped).isEqualTo("[lines 8-15 of 100]\n"
+                    + "line 8\nline 9\nline 10\nline 11\nline 12\nline 13\nline 14\nline 15\n"
+                    + "[lines 48-52 of 100]\n"
+                    + "line 48\nline 49\nline 50\nline 51\nline 52\n");
+        }
+
+        @Test
+        @DisplayName("Should return the file unchanged when windows cover it or there are no hunks")
+        void shouldKeepWholeFile() {
+            String content = numberedLines(5);
+
+            assertThat(assembler.scopeToHunks(content, List.of(hunk(1, 5)))).isEqualTo(content);
+            assertThat(assembler.scopeToHunks(content, List.of())).isEqualTo(content);
+            assertThat(assembler.scopeToHunks(content, null)).isEqualTo(content);
+        }
+
+        @Test
+        @DisplayName("Should keep the context of pure deletions and ignore hunks past the end")
+        void shouldHandleEdgeHunks() {
+            String scoped = assembler.scopeToHunks(numberedLines(20), List.of(hunk(0, 0), hunk(300, 4)));
+
+            assertThat(scoped).isEqualTo("[lines 1-3 of 20]\nline 1\nline 2\nline 3\n");
+        }
+
+        @Test
+        @DisplayName("Should store hunk-scoped contents when fetching files")
+        void shouldFetchScopedContents() {
+            List<FileDiffInfo> files = List.of(FileDiffInfo.builder().oldPath("big.java").newPath("big.java")
+                    .changeType(ChangeType.MODIFY).language(Language.JAVA)
+                    .isBinary(false).linesAdded(1).linesDeleted(1).hunks(List.of(hunk(2000, 1))).build());
+            doReturn(numberedLines(3000)).when(gitClient).getFileContent(REPO_URL, COMMIT_HASH, "big.java");
+
+            Map<String, String> result = assembler.fetchFileContents(gitClient, buildTask(), buildMetadata(files), 100000);
+
+            assertThat(result.get("big.java"))
+                    .startsWith("[lines 1998-2002 of 3000]\n")
+                    .contains("line 2000\n")
+                    .doesNotContain("line 1\n");
+        }
+    }
+
     @Nested
     @DisplayName("Degradation Scenarios")
     class DegradationScenarios {
@@ -0,0 +1,29 @@
+package com.aicodereview.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for WorkerIdentity.
+ */
+@DisplayName("WorkerIdentity Unit Tests")
+class WorkerIdentityTest {
+
+    @Test
+    @DisplayName("A configured id should be used as is")
+    void testConfiguredId() {
+        assertThat(new WorkerIdentity("review-worker-0").getId()).isEqualTo("review-worker-0");
+    }
+
+    @Test
+    @DisplayName("Without a configured id each instance should generate a distinct one")
+    void testGeneratedId() {
+        WorkerIdentity first = new WorkerIdentity("");
+        WorkerIdentity second = new WorkerIdentity(" ");
+
+        assertThat(first.getId()).isNotBlank();
+        assertThat(first.getId()).isNotEqualTo(second.getId());
+    }
+}
@@ -0,0 +1,204 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.WorkerIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FairShareQueueService.
+ * <p>
+ * Verifies that tasks are routed to per-project sub-queues through the fair-share scripts,
+ * that the claim script receives the per-project cap, and that retry entries carry the project.
+ * The dispatch order itself lives in the Lua scripts and is covered by the queue integration test.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FairShareQueueService Unit Tests")
+class FairShareQueueServiceTest {
+
+    private static final WorkerIdentity WORKER = new WorkerIdentity("worker-test");
+
+    private static final long LEASE_SECONDS = 120;
+    private static final List<String> DISPATCH_KEYS = List.of(
+            QueueKeys.TASK_QUEUE_PROJECTS, QueueKeys.TASK_QUEUE_TURN, QueueKeys.TASK_QUEUE_SIGNAL);
+    private static final String MULTIPLIER = "10000000000000";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOps;
+
+    private FairShareQueueService queueService;
+
+    @BeforeEach
+    void setUp() {
+        queueService = new FairShareQueueService(redisTemplate, WORKER, LEASE_SECONDS, 2);
+    }
+
+    @Test
+    @DisplayName("enqueue - should add the task to its project's sub-queue through the fair enqueue script")
+    void testEnqueue_ProjectSubQueue() {
+        queueService.enqueue(100L, TaskPriority.NORMAL, 7L);
+
+        ArgumentCaptor<String> scoreCaptor = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(DISPATCH_KEYS), eq(QueueKeys.TASK_PROJECT_QUEUE_PREFIX), eq(MULTIPLIER),
+                eq("100"), scoreCaptor.capture(), eq("7"));
+        // NORMAL band (50) in front of the epoch-millis timestamp, as a plain integer
+        assertThat(scoreCaptor.getValue()).matches("50\\d{13}");
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    @DisplayName("fair scripts - should be sent with the shared helpers of fair_common.lua defined once")
+    void testScripts_SharedHelpersPrepended() {
+        queueService.enqueue(100L, TaskPriority.NORMAL, 7L);
+        queueService.promoteDueRetries(50);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<RedisScript<Long>> scriptCaptor = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redisTemplate, times(2)).execute(scriptCaptor.capture(), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
+        assertThat(scriptCaptor.getAllValues()).allSatisfy(script -> {
+            assertThat(script.getScriptAsString()).startsWith("-- Shared by the fair-share scripts");
+            assertThat(script.getScriptAsString().split("local function reindex\\(", -1)).hasSize(2);
+        });
+    }
+
+    @Test
+    @DisplayName("enqueue - task without project should go to the shared unscoped sub-queue")
+    void testEnqueue_NoProject() {
+        queueService.enqueue(100L, TaskPriority.HIGH);
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(DISPATCH_KEYS), anyString(), anyString(), eq("100"), anyString(), eq("0"));
+    }
+
+    @Test
+    @DisplayName("enqueueAll - should add all tasks in one script call, scored by their original createdAt")
+    void testEnqueueAll() {
+        Instant created = Instant.parse("2026-01-01T00:00:00Z");
+        ReviewTaskDTO big = ReviewTaskDTO.builder().id(1L).projectId(7L)
+                .priority(TaskPriority.NORMAL).createdAt(created).build();
+        ReviewTaskDTO small = ReviewTaskDTO.builder().id(2L).projectId(8L)
+                .priority(TaskPriority.HIGH).createdAt(created).build();
+
+        queueService.enqueueAll(List.of(big, small));
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(DISPATCH_KEYS), eq(QueueKeys.TASK_PROJECT_QUEUE_PREFIX), eq(MULTIPLIER),
+                eq("1"), eq(String.valueOf((long) queueService.calculateScore(TaskPriority.NORMAL, created))), eq("7"),
+                eq("2"), eq(String.valueOf(created.toEpochMilli())), eq("8"));
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - should claim through the fair claim script with the per-project cap")
+    void testDequeueBatch_FairClaim() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), anyString(), anyString(), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString()))
+                .thenReturn(List.of("3", "1"));
+
+        List<Long> claimed = queueService.dequeueBatch(4, Duration.ZERO);
+
+        assertThat(claimed).containsExactly(3L, 1L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                keysCaptor.capture(), eq("4"), anyString(), eq("120"), eq(QueueKeys.TASK_LOCK_PREFIX),
+                eq(QueueKeys.TASK_PROJECT_QUEUE_PREFIX), eq(QueueKeys.TASK_RUNNING_PREFIX), eq("2"),
+                anyString(), eq(MULTIPLIER));
+        assertThat(keysCaptor.getValue()).startsWith(
+                QueueKeys.TASK_QUEUE_PROJECTS, QueueKeys.TASK_QUEUE_TURN, QueueKeys.TASK_QUEUE_SIGNAL);
+        assertThat(keysCaptor.getValue()).endsWith(QueueKeys.TASK_OWNER);
+    }
+
+    @Test
+    @DisplayName("requeueWithDelay - retry entry should carry the project for promotion")
+    void testRequeueWithDelay_CarriesProject() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+
+        queueService.requeueWithDelay(100L, TaskPriority.NORMAL, 7L, 60);
+
+        verify(zSetOps).add(eq(QueueKeys.TASK_RETRY_QUEUE), eq("100:50:7"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("promoteDueRetries - should promote into project sub-queues and the dispatch order")
+    void testPromoteDueRetries() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.TASK_RETRY_QUEUE, QueueKeys.TASK_QUEUE_PROJECTS, QueueKeys.TASK_QUEUE_TURN,
+                        QueueKeys.TASK_QUEUE_SIGNAL)),
+                anyString(), eq("50"), eq(MULTIPLIER), eq(QueueKeys.TASK_PROJECT_QUEUE_PREFIX), eq("0")))
+                .thenReturn(4L);
+
+        assertThat(queueService.promoteDueRetries(50)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("findUntracked - task neither in its project sub-queue, awaiting retry nor locked is reported")
+    void testFindUntracked() {
+        ReviewTaskDTO queued = ReviewTaskDTO.builder().id(1L).projectId(7L).priority(TaskPriority.HIGH).build();
+        ReviewTaskDTO retrying = ReviewTaskDTO.builder().id(2L).projectId(7L).priority(TaskPriority.NORMAL).build();
+        ReviewTaskDTO lost = ReviewTaskDTO.builder().id(3L).projectId(8L).priority(TaskPriority.NORMAL).build();
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.asList(
+                Arrays.asList(null, 2.0, null),
+                1.0, false,
+                null, false,
+                null, false));
+
+        assertThat(queueService.findUntracked(List.of(queued, retrying, lost))).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("getQueueSize - should sum the sizes of all active project sub-queues")
+    void testGetQueueSize() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(zSetOps.range(QueueKeys.TASK_QUEUE_PROJECTS, 0, -1)).thenReturn(new LinkedHashSet<>(List.of(7, 8)));
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(500L, 3L));
+
+        assertThat(queueService.getQueueSize()).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("getQueueSize - no active projects should not pipeline anything")
+    void testGetQueueSize_Empty() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(zSetOps.range(QueueKeys.TASK_QUEUE_PROJECTS, 0, -1)).thenReturn(new LinkedHashSet<>());
+
+        assertThat(queueService.getQueueSize()).isZero();
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("Negative per-project cap is rejected")
+    void constructor_negativeCap_throws() {
+        assertThatThrownBy(() -> new FairShareQueueService(redisTemplate, WORKER, LEASE_SECONDS, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,152 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.repository.ReviewTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PostgresQueueService.
+ * <p>
+ * Verifies that claims go through the single SKIP LOCKED statement with the configured lease,
+ * that claimed tasks are tracked for lease renewal until released, and that retries are deferred
+ * in the database. The claim SQL itself runs against Postgres in the queue benchmark.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostgresQueueService Unit Tests")
+class PostgresQueueServiceTest {
+
+    @Mock
+    private ReviewTaskRepository reviewTaskRepository;
+
+    private PostgresQueueService queueService;
+
+    @BeforeEach
+    void setUp() {
+        queueService = new PostgresQueueService(reviewTaskRepository, 300);
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - should claim with one statement and a lease of lease-seconds")
+    void testDequeueBatch_Claims() {
+        when(reviewTaskRepository.claimPending(any(), any(), eq(5))).thenReturn(List.of(3L, 1L));
+
+        List<Long> claimed = queueService.dequeueBatch(5, Duration.ZERO);
+
+        assertThat(claimed).containsExactly(3L, 1L);
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> lease = ArgumentCaptor.forClass(Instant.class);
+        verify(reviewTaskRepository).claimPending(now.capture(), lease.capture(), eq(5));
+        assertThat(Duration.between(now.getValue(), lease.getValue())).isEqualTo(Duration.ofSeconds(300));
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - should poll until a task is claimable within the wait")
+    void testDequeueBatch_PollsWhileIdle() {
+        when(reviewTaskRepository.claimPending(any(), any(), anyInt()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(9L));
+
+        List<Long> claimed = queueService.dequeueBatch(2, Duration.ofSeconds(2));
+
+        assertThat(claimed).containsExactly(9L);
+        verify(reviewTaskRepository, times(2)).claimPending(any(), any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - max below 1 should be rejected")
+    void testDequeueBatch_InvalidMax() {
+        assertThatThrownBy(() -> queueService.dequeueBatch(0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("renewLeases - should return the tasks claimed on this node until released")
+    void testRenewLeases_TracksClaims() {
+        when(reviewTaskRepository.claimPending(any(), any(), anyInt())).thenReturn(List.of(3L, 4L));
+        queueService.dequeueBatch(2, Duration.ZERO);
+
+        queueService.releaseLock(3L);
+
+        assertThat(queueService.renewLeases()).containsExactly(4L);
+        assertThat(queueService.isLocked(4L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("requeueWithDelay - should forget the claim and defer the task in the database")
+    void testRequeueWithDelay_Defers() {
+        when(reviewTaskRepository.claimPending(any(), any(), anyInt())).thenReturn(List.of(7L));
+        queueService.dequeue();
+        when(reviewTaskRepository.deferPending(eq(7L), any())).thenReturn(1);
+
+        Instant before = Instant.now();
+        queueService.requeueWithDelay(7L, TaskPriority.NORMAL, 60);
+
+        ArgumentCaptor<Instant> availableAt = ArgumentCaptor.forClass(Instant.class);
+        verify(reviewTaskRepository).deferPending(eq(7L), availableAt.capture());
+        assertThat(availableAt.getValue()).isAfterOrEqualTo(before.plusSeconds(60));
+        assertThat(queueService.renewLeases()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("releaseClaim - should forget the claim and turn the task back into PENDING")
+    void testReleaseClaim_Unclaims() {
+        when(reviewTaskRepository.claimPending(any(), any(), anyInt())).thenReturn(List.of(7L));
+        queueService.dequeue();
+        when(reviewTaskRepository.unclaim(eq(7L), any())).thenReturn(1);
+
+        queueService.releaseClaim(7L, TaskPriority.NORMAL, 1L);
+
+        verify(reviewTaskRepository).unclaim(eq(7L), any());
+        assertThat(queueService.renewLeases()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("enqueue, enqueueAll and promoteDueRetries - should not touch the database")
+    void testNoOps() {
+        queueService.enqueue(1L, TaskPriority.HIGH);
+        queueService.enqueueAll(List.of(ReviewTaskDTO.builder().id(2L).priority(TaskPriority.NORMAL).build()));
+
+        assertThat(queueService.promoteDueRetries(10)).isZero();
+        assertThat(queueService.findUntracked(List.of(ReviewTaskDTO.builder().id(3L).build()))).isEmpty();
+        verifyNoInteractions(reviewTaskRepository);
+    }
+
+    @Test
+    @DisplayName("isLocked - task claimed by another node is locked while RUNNING")
+    void testIsLocked_RunningElsewhere() {
+        when(reviewTaskRepository.existsByIdAndStatus(5L, TaskStatus.RUNNING)).thenReturn(true);
+
+        assertThat(queueService.isLocked(5L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Queue sizes - should count claimable and deferred PENDING tasks")
+    void testQueueSizes() {
+        when(reviewTaskRepository.countClaimable(any())).thenReturn(12L);
+        when(reviewTaskRepository.countDeferred(any())).thenReturn(3L);
+
+        assertThat(queueService.getQueueSize()).isEqualTo(12);
+        assertThat(queueService.getRetryQueueSize()).isEqualTo(3);
+        assertThat(queueService.isDatabaseBacked()).isTrue();
+    }
+}
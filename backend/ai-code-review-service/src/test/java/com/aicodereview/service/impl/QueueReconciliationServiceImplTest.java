@@ -0,0 +1,135 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.dto.reviewtask.QueueReconciliationResult;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
+import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.entity.Project;
+import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.service.QueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QueueReconciliationServiceImpl.
+ * <p>
+ * Covers keyset paging per priority band, drift detection and bulk re-enqueue.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueueReconciliationServiceImpl Unit Tests")
+class QueueReconciliationServiceImplTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private ReviewTaskRepository reviewTaskRepository;
+
+    @Mock
+    private QueueService queueService;
+
+    @InjectMocks
+    private QueueReconciliationServiceImpl reconciliationService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reconciliationService, "pageSize", 2);
+        ReflectionTestUtils.setField(reconciliationService, "graceSeconds", 60L);
+        project = Project.builder().id(1L).name("p").build();
+    }
+
+    @Test
+    @DisplayName("reconcile - missing tasks are re-enqueued in one batch with original createdAt")
+    void testReconcile_RepairsDrift() {
+        ReviewTask a = task(1L, TaskPriority.HIGH, T0);
+        ReviewTask b = task(2L, TaskPriority.HIGH, T0.plusSeconds(1));
+        when(reviewTaskRepository.findPendingPage(eq(TaskPriority.HIGH), any(), eq(Instant.EPOCH), eq(0L), any()))
+                .thenReturn(List.of(a, b));
+        when(reviewTaskRepository.findPendingPage(eq(TaskPriority.HIGH), any(), eq(b.getCreatedAt()), eq(2L), any()))
+                .thenReturn(List.of());
+        when(reviewTaskRepository.findPendingPage(eq(TaskPriority.NORMAL), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(queueService.findUntracked(anyList())).thenReturn(List.of(2L));
+
+        QueueReconciliationResult result = reconciliationService.reconcile();
+
+        assertThat(result.getScanned()).isEqualTo(2);
+        assertThat(result.getDriftDetected()).isEqualTo(1);
+        assertThat(result.getDriftRepaired()).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReviewTaskDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(queueService).enqueueAll(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(dto -> {
+            assertThat(dto.getId()).isEqualTo(2L);
+            assertThat(dto.getCreatedAt()).isEqualTo(T0.plusSeconds(1));
+        });
+    }
+
+    @Test
+    @DisplayName("reconcile - a partial page ends the band without another query")
+    void testReconcile_PartialPageStops() {
+        when(reviewTaskRepository.findPendingPage(eq(TaskPriority.HIGH), any(), any(), any(), any()))
+                .thenReturn(List.of(task(1L, TaskPriority.HIGH, T0)));
+        when(reviewTaskRepository.findPendingPage(eq(TaskPriority.NORMAL), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(queueService.findUntracked(anyList())).thenReturn(List.of());
+
+        QueueReconciliationResult result = reconciliationService.reconcile();
+
+        assertThat(result.getScanned()).isEqualTo(1);
+        assertThat(result.getDriftDetected()).isZero();
+        verify(queueService, never()).enqueueAll(anyList());
+    }
+
+    @Test
+    @DisplayName("reconcile - only tasks untouched for the grace period are scanned")
+    void testReconcile_AppliesGracePeriod() {
+        when(reviewTaskRepository.findPendingPage(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        reconciliationService.reconcile();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(reviewTaskRepository).findPendingPage(eq(TaskPriority.HIGH), cutoff.capture(),
+                eq(Instant.EPOCH), eq(0L), any(Pageable.class));
+        assertThat(cutoff.getValue()).isBefore(Instant.now().minusSeconds(59));
+    }
+
+    private ReviewTask task(Long id, TaskPriority priority, Instant createdAt) {
+        return ReviewTask.builder()
+                .id(id)
+                .project(project)
+                .taskType(TaskType.PUSH)
+                .repoUrl("https://github.com/user/repo")
+                .branch("main")
+                .commitHash("c" + id)
+                .author("dev")
+                .status(TaskStatus.PENDING)
+                .priority(priority)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.aicodereview.service.impl;
 
 import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
 import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.WorkerIdentity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,15 +11,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -27,8 +36,8 @@ import static org.mockito.Mockito.*;
  * Uses Mockito to mock RedisTemplate and its operations.
  * Covers all queue operations including:
  * - Enqueue with priority scoring
- * - Dequeue with lock acquisition
- * - Requeue with delay
+ * - Dequeue with atomic claim script (pop + lease + in-flight set)
+ * - Requeue with delay via the retry queue and promotion
  * - Monitoring methods
  * </p>
  *
@@ -38,6 +47,10 @@ import static org.mockito.Mockito.*;
 @DisplayName("RedisQueueService Unit Tests")
 class RedisQueueServiceTest {
 
+    private static final WorkerIdentity WORKER = new WorkerIdentity("worker-test");
+
+    private static final long LEASE_SECONDS = 120;
+
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
 
@@ -45,13 +58,13 @@ class RedisQueueServiceTest {
     private ZSetOperations<String, Object> zSetOps;
 
     @Mock
-    private ValueOperations<String, Object> valueOps;
+    private ListOperations<String, Object> listOps;
 
     private RedisQueueService queueService;
 
     @BeforeEach
     void setUp() {
-        queueService = new RedisQueueService(redisTemplate);
+        queueService = new RedisQueueService(redisTemplate, WORKER, LEASE_SECONDS);
     }
 
     // --- Score Calculation Tests ---
@@ -98,6 +111,30 @@ class RedisQueueServiceTest {
     @DisplayName("enqueue - should add task to sorted set with calculated score")
     void testEnqueue() {
         when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+
+        queueService.enqueue(100L, TaskPriority.HIGH);
+
+        verify(zSetOps).add(eq(QueueKeys.TASK_QUEUE), eq("100"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("enqueue - should push a wake-up token for parked workers")
+    void testEnqueue_SignalsWaiters() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+
+        queueService.enqueue(100L, TaskPriority.HIGH);
+
+        verify(listOps).leftPush(eq(QueueKeys.TASK_QUEUE_SIGNAL), any());
+    }
+
+    @Test
+    @DisplayName("enqueue - signal failure should not fail the enqueue")
+    void testEnqueue_SignalFailure_Ignored() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+        when(listOps.leftPush(eq(QueueKeys.TASK_QUEUE_SIGNAL), any())).thenThrow(new RuntimeException("redis down"));
 
         queueService.enqueue(100L, TaskPriority.HIGH);
 
@@ -108,6 +145,7 @@ class RedisQueueServiceTest {
     @DisplayName("enqueue - HIGH priority should use lower score than NORMAL")
     void testEnqueue_PriorityScoreOrdering() {
         when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
 
         ArgumentCaptor<Double> scoreCaptor = ArgumentCaptor.forClass(Double.class);
 
@@ -127,8 +165,7 @@ class RedisQueueServiceTest {
     @Test
     @DisplayName("dequeue - empty queue should return Optional.empty()")
     void testDequeue_EmptyQueue() {
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
-        when(zSetOps.popMin(QueueKeys.TASK_QUEUE)).thenReturn(null);
+        stubClaim(List.of());
 
         Optional<Long> result = queueService.dequeue();
 
@@ -136,96 +173,251 @@ class RedisQueueServiceTest {
     }
 
     @Test
-    @DisplayName("dequeue - should pop task and acquire lock successfully")
+    @DisplayName("dequeue - should claim one task through the claim script")
     void testDequeue_Success() {
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-
-        ZSetOperations.TypedTuple<Object> tuple = ZSetOperations.TypedTuple.of("100", 1738800000000.0);
-        when(zSetOps.popMin(QueueKeys.TASK_QUEUE)).thenReturn(tuple);
-        when(valueOps.setIfAbsent(eq(QueueKeys.taskLockKey(100L)), anyString(), eq(Duration.ofSeconds(300))))
-                .thenReturn(true);
+        stubClaim(List.of("100"));
 
         Optional<Long> result = queueService.dequeue();
 
         assertThat(result).isPresent().contains(100L);
-        verify(zSetOps).popMin(QueueKeys.TASK_QUEUE);
-        verify(valueOps).setIfAbsent(eq(QueueKeys.taskLockKey(100L)), anyString(), eq(Duration.ofSeconds(300)));
+        verifyClaim("1");
     }
 
     @Test
-    @DisplayName("dequeue - lock acquisition failure should re-enqueue and return empty")
-    void testDequeue_LockFailure_ReEnqueues() {
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    @DisplayName("dequeue - claim script should receive queue, in-flight and signal keys plus lease args")
+    void testDequeue_ScriptKeysAndArgs() {
+        stubClaim(List.of("100"));
+
+        queueService.dequeue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                keysCaptor.capture(), eq("1"), anyString(), eq("120"), eq(QueueKeys.TASK_LOCK_PREFIX));
+        assertThat(keysCaptor.getValue()).hasSize(3);
+        assertThat(keysCaptor.getValue().get(0)).isEqualTo(QueueKeys.TASK_QUEUE);
+        assertThat(keysCaptor.getValue().get(1)).startsWith(QueueKeys.TASK_INFLIGHT_PREFIX);
+        assertThat(keysCaptor.getValue().get(2)).isEqualTo(QueueKeys.TASK_QUEUE_SIGNAL);
+    }
 
-        double originalScore = 1738800000000.0;
-        ZSetOperations.TypedTuple<Object> tuple = ZSetOperations.TypedTuple.of("100", originalScore);
-        when(zSetOps.popMin(QueueKeys.TASK_QUEUE)).thenReturn(tuple);
-        when(valueOps.setIfAbsent(eq(QueueKeys.taskLockKey(100L)), anyString(), eq(Duration.ofSeconds(300))))
-                .thenReturn(false);
+    @Test
+    @DisplayName("dequeue - null script result should return empty")
+    void testDequeue_NullResult() {
+        stubClaim(null);
 
         Optional<Long> result = queueService.dequeue();
 
         assertThat(result).isEmpty();
-        // Verify re-enqueue with original score
-        verify(zSetOps).add(QueueKeys.TASK_QUEUE, "100", originalScore);
     }
 
+    // --- Batch Dequeue Tests ---
+
     @Test
-    @DisplayName("dequeue - tuple with null value should return empty")
-    void testDequeue_NullValue() {
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+    @DisplayName("dequeueBatch - should claim N tasks in one script call")
+    void testDequeueBatch_Success() {
+        stubClaim(List.of("1", "2", "3"));
 
-        ZSetOperations.TypedTuple<Object> tuple = ZSetOperations.TypedTuple.of(null, 1.0);
-        when(zSetOps.popMin(QueueKeys.TASK_QUEUE)).thenReturn(tuple);
+        List<Long> result = queueService.dequeueBatch(5, Duration.ofSeconds(1));
 
-        Optional<Long> result = queueService.dequeue();
+        assertThat(result).containsExactly(1L, 2L, 3L);
+        verifyClaim("5");
+        // Tasks were ready, so the worker never parks on the signal list
+        verify(redisTemplate, never()).opsForList();
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - empty queue with wait should park on the signal list then claim again")
+    void testDequeueBatch_EmptyQueue_WaitsForSignal() {
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("7", "8"));
+
+        List<Long> result = queueService.dequeueBatch(3, Duration.ofMillis(500));
+
+        assertThat(result).containsExactly(7L, 8L);
+        verify(listOps).rightPop(QueueKeys.TASK_QUEUE_SIGNAL, Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - empty queue after wait should return empty list")
+    void testDequeueBatch_EmptyAfterWait() {
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+        stubClaim(List.of());
+
+        List<Long> result = queueService.dequeueBatch(4, Duration.ofMillis(100));
+
+        assertThat(result).isEmpty();
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - zero wait should not block on an empty queue")
+    void testDequeueBatch_ZeroWait_NoBlocking() {
+        stubClaim(List.of());
+
+        List<Long> result = queueService.dequeueBatch(4, Duration.ZERO);
 
         assertThat(result).isEmpty();
+        verify(redisTemplate, never()).opsForList();
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - max below 1 should be rejected")
+    void testDequeueBatch_InvalidMax() {
+        assertThatThrownBy(() -> queueService.dequeueBatch(0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     // --- Requeue with Delay Tests ---
 
     @Test
-    @DisplayName("requeueWithDelay - should release lock and add with delayed score")
+    @DisplayName("requeueWithDelay - should release lock and park task in the retry queue, not the main queue")
     void testRequeueWithDelay() {
         when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
-        when(redisTemplate.delete(QueueKeys.taskLockKey(100L))).thenReturn(true);
+        stubRelease(1L);
 
         queueService.requeueWithDelay(100L, TaskPriority.NORMAL, 60);
 
         // Verify lock released
-        verify(redisTemplate).delete(QueueKeys.taskLockKey(100L));
+        verifyRelease(100L);
 
-        // Verify re-enqueue with score
-        ArgumentCaptor<Double> scoreCaptor = ArgumentCaptor.forClass(Double.class);
-        verify(zSetOps).add(eq(QueueKeys.TASK_QUEUE), eq("100"), scoreCaptor.capture());
-
-        // Score should include delay offset - the future timestamp should be > current time
-        double score = scoreCaptor.getValue();
-        double currentScore = queueService.calculateScore(TaskPriority.NORMAL, Instant.now());
-        // Delayed score should be higher (dequeued later) than current score
-        assertThat(score).isGreaterThan(currentScore - 1000); // Allow small timing tolerance
+        // Verify parked in the retry queue with the NORMAL priority band in the member
+        verify(zSetOps).add(eq(QueueKeys.TASK_RETRY_QUEUE), eq("100:50"), anyDouble());
+        verify(zSetOps, never()).add(eq(QueueKeys.TASK_QUEUE), any(), anyDouble());
     }
 
     @Test
-    @DisplayName("requeueWithDelay - score should reflect delay offset")
+    @DisplayName("requeueWithDelay - retry score should be the ready time")
     void testRequeueWithDelay_ScoreCalculation() {
         when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
-        when(redisTemplate.delete(anyString())).thenReturn(true);
+        stubRelease(1L);
 
         int delaySeconds = 120;
         queueService.requeueWithDelay(200L, TaskPriority.HIGH, delaySeconds);
 
         ArgumentCaptor<Double> scoreCaptor = ArgumentCaptor.forClass(Double.class);
-        verify(zSetOps).add(eq(QueueKeys.TASK_QUEUE), eq("200"), scoreCaptor.capture());
+        verify(zSetOps).add(eq(QueueKeys.TASK_RETRY_QUEUE), eq("200:0"), scoreCaptor.capture());
 
-        double score = scoreCaptor.getValue();
-        // For HIGH priority: score = (100-100)*1e13 + futureTimestamp
-        // futureTimestamp ~= now + 120s in millis
+        // Ready time ~= now + 120s in millis, independent of priority
         long expectedFutureMs = Instant.now().plusSeconds(delaySeconds).toEpochMilli();
-        assertThat(score).isCloseTo(expectedFutureMs, org.assertj.core.data.Offset.offset(2000.0));
+        assertThat(scoreCaptor.getValue()).isCloseTo(expectedFutureMs, org.assertj.core.data.Offset.offset(2000.0));
+    }
+
+    // --- Retry Promotion Tests ---
+
+    @Test
+    @DisplayName("promoteDueRetries - should run the promote script against retry, main and signal keys")
+    void testPromoteDueRetries() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.TASK_RETRY_QUEUE, QueueKeys.TASK_QUEUE, QueueKeys.TASK_QUEUE_SIGNAL)),
+                anyString(), eq("50"), eq("10000000000000")))
+                .thenReturn(3L);
+
+        int promoted = queueService.promoteDueRetries(50);
+
+        assertThat(promoted).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("promoteDueRetries - null script result should count as zero")
+    void testPromoteDueRetries_NullResult() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(null);
+
+        assertThat(queueService.promoteDueRetries(10)).isZero();
+    }
+
+    @Test
+    @DisplayName("promoteDueRetries - max below 1 should be rejected")
+    void testPromoteDueRetries_InvalidMax() {
+        assertThatThrownBy(() -> queueService.promoteDueRetries(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("retryMember - priority band should be MAX_PRIORITY minus priority score")
+    void testRetryMember() {
+        assertThat(queueService.retryMember(7L, TaskPriority.HIGH)).isEqualTo("7:0");
+        assertThat(queueService.retryMember(7L, TaskPriority.NORMAL)).isEqualTo("7:50");
+    }
+
+    // --- Lease Renewal Tests ---
+
+    @Test
+    @DisplayName("renewLeases - should renew this worker's in-flight leases in one script call")
+    void testRenewLeases() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                keysCaptor.capture(), anyString(), eq("120"), eq(QueueKeys.TASK_LOCK_PREFIX),
+                eq(QueueKeys.TASK_OWNER), eq(QueueKeys.TASK_RUNNING_PREFIX), anyString()))
+                .thenReturn(List.of("5", "9"));
+
+        List<Long> renewed = queueService.renewLeases();
+
+        assertThat(renewed).containsExactly(5L, 9L);
+        assertThat(keysCaptor.getValue()).singleElement().asString().startsWith(QueueKeys.TASK_INFLIGHT_PREFIX);
+    }
+
+    @Test
+    @DisplayName("renewLeases - nothing in flight should return empty list")
+    void testRenewLeases_NothingInFlight() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of());
+
+        assertThat(queueService.renewLeases()).isEmpty();
+    }
+
+    // --- Reconciliation Support Tests ---
+
+    @Test
+    @DisplayName("findUntracked - task neither queued, awaiting retry nor locked is reported")
+    void testFindUntracked() {
+        ReviewTaskDTO queued = ReviewTaskDTO.builder().id(1L).priority(TaskPriority.HIGH).build();
+        ReviewTaskDTO retrying = ReviewTaskDTO.builder().id(2L).priority(TaskPriority.NORMAL).build();
+        ReviewTaskDTO locked = ReviewTaskDTO.builder().id(3L).priority(TaskPriority.HIGH).build();
+        ReviewTaskDTO lost = ReviewTaskDTO.builder().id(4L).priority(TaskPriority.NORMAL).build();
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.asList(
+                Arrays.asList(1.0, null, null, null),
+                Arrays.asList(null, 2.0, null, null),
+                false, false, true, false));
+
+        List<Long> untracked = queueService.findUntracked(List.of(queued, retrying, locked, lost));
+
+        assertThat(untracked).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("findUntracked - empty input should not touch Redis")
+    void testFindUntracked_Empty() {
+        assertThat(queueService.findUntracked(List.of())).isEmpty();
+
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("enqueueAll - should ZADD all tasks at once, scored by their original createdAt")
+    void testEnqueueAll() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+        Instant created = Instant.parse("2026-01-01T00:00:00Z");
+        ReviewTaskDTO high = ReviewTaskDTO.builder().id(1L).priority(TaskPriority.HIGH).createdAt(created).build();
+        ReviewTaskDTO normal = ReviewTaskDTO.builder().id(2L).priority(TaskPriority.NORMAL).createdAt(created).build();
+
+        queueService.enqueueAll(List.of(high, normal));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Set<ZSetOperations.TypedTuple<Object>>> captor = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOps).add(eq(QueueKeys.TASK_QUEUE), captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                ZSetOperations.TypedTuple.of("1", queueService.calculateScore(TaskPriority.HIGH, created)),
+                ZSetOperations.TypedTuple.of("2", queueService.calculateScore(TaskPriority.NORMAL, created)));
+        verify(listOps).leftPushAll(eq(QueueKeys.TASK_QUEUE_SIGNAL), any(Object[].class));
     }
 
     // --- Monitoring Tests ---
@@ -241,6 +433,15 @@ class RedisQueueServiceTest {
         assertThat(size).isEqualTo(5);
     }
 
+    @Test
+    @DisplayName("getRetryQueueSize - should return zCard of the retry queue")
+    void testGetRetryQueueSize() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(zSetOps.zCard(QueueKeys.TASK_RETRY_QUEUE)).thenReturn(2L);
+
+        assertThat(queueService.getRetryQueueSize()).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("getQueueSize - null response should return 0")
     void testGetQueueSize_Null() {
@@ -273,23 +474,36 @@ class RedisQueueServiceTest {
     }
 
     @Test
-    @DisplayName("releaseLock - should delete lock key")
+    @DisplayName("releaseLock - should delete lock key and in-flight entry through the release script")
     void testReleaseLock() {
-        when(redisTemplate.delete(QueueKeys.taskLockKey(100L))).thenReturn(true);
+        stubRelease(1L);
 
         queueService.releaseLock(100L);
 
-        verify(redisTemplate).delete(QueueKeys.taskLockKey(100L));
+        verifyRelease(100L);
     }
 
     @Test
     @DisplayName("releaseLock - non-existent lock should not throw")
     void testReleaseLock_NonExistent() {
-        when(redisTemplate.delete(QueueKeys.taskLockKey(999L))).thenReturn(false);
+        stubRelease(0L);
 
         queueService.releaseLock(999L);
 
-        verify(redisTemplate).delete(QueueKeys.taskLockKey(999L));
+        verifyRelease(999L);
+    }
+
+    @Test
+    @DisplayName("releaseClaim - should release the lock and enqueue the task again")
+    void testReleaseClaim() {
+        stubRelease(1L);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
+
+        queueService.releaseClaim(100L, TaskPriority.HIGH, 1L);
+
+        verifyRelease(100L);
+        verify(zSetOps).add(eq(QueueKeys.TASK_QUEUE), eq("100"), anyDouble());
     }
 
     // --- Edge Cases ---
@@ -298,6 +512,7 @@ class RedisQueueServiceTest {
     @DisplayName("enqueue - duplicate taskId should overwrite in sorted set (ZADD behavior)")
     void testEnqueue_Duplicate() {
         when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(redisTemplate.opsForList()).thenReturn(listOps);
 
         queueService.enqueue(100L, TaskPriority.HIGH);
         queueService.enqueue(100L, TaskPriority.NORMAL);
@@ -305,4 +520,39 @@ class RedisQueueServiceTest {
         // Both calls should go through (Redis ZADD overwrites score for same member)
         verify(zSetOps, times(2)).add(eq(QueueKeys.TASK_QUEUE), eq("100"), anyDouble());
     }
+
+    // --- Helpers ---
+
+    private void stubClaim(List<String> result) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(result);
+    }
+
+    private void verifyClaim(String max) {
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                eq(max), anyString(), eq("120"), eq(QueueKeys.TASK_LOCK_PREFIX));
+    }
+
+    @Test
+    @DisplayName("constructor - a lease shorter than one second is rejected")
+    void testConstructor_InvalidLease() {
+        assertThatThrownBy(() -> new RedisQueueService(redisTemplate, WORKER, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("aicodereview.task.lease-seconds");
+    }
+
+    private void stubRelease(Long deleted) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(deleted);
+    }
+
+    private void verifyRelease(Long taskId) {
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.taskLockKey(taskId))),
+                eq(QueueKeys.TASK_INFLIGHT_PREFIX), eq(String.valueOf(taskId)),
+                eq(QueueKeys.TASK_OWNER), eq(QueueKeys.TASK_RUNNING_PREFIX), eq(QueueKeys.TASK_PROJECT_QUEUE_PREFIX),
+                eq(QueueKeys.TASK_QUEUE_SIGNAL));
+    }
 }
@@ -0,0 +1,190 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.constant.QueueKeys;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.service.WorkerIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisStreamQueueService.
+ * <p>
+ * Verifies that tasks are routed to the stream of their priority, that claims, renewals and
+ * releases pass the consumer group and worker to the stream scripts, and that retries are
+ * promoted with the band of each stream. Stream semantics themselves are covered by the
+ * stream queue integration test.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisStreamQueueService Unit Tests")
+class RedisStreamQueueServiceTest {
+
+    private static final WorkerIdentity WORKER = new WorkerIdentity("worker-test");
+
+    private static final long LEASE_SECONDS = 120;
+    private static final String HIGH_STREAM = QueueKeys.taskStreamKey(TaskPriority.HIGH);
+    private static final String NORMAL_STREAM = QueueKeys.taskStreamKey(TaskPriority.NORMAL);
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOps;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOps;
+
+    private RedisStreamQueueService queueService;
+
+    @BeforeEach
+    void setUp() {
+        queueService = new RedisStreamQueueService(redisTemplate, WORKER, LEASE_SECONDS);
+    }
+
+    @Test
+    @DisplayName("Stream keys - one stream per priority, named after the priority")
+    void testStreamKeys() {
+        assertThat(HIGH_STREAM).isEqualTo("task:stream:high");
+        assertThat(NORMAL_STREAM).isEqualTo("task:stream:normal");
+    }
+
+    @Test
+    @DisplayName("enqueue - should append the task to its priority's stream and signal waiters")
+    void testEnqueue_PriorityStream() {
+        queueService.enqueue(100L, TaskPriority.NORMAL, 7L);
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.TASK_QUEUE_SIGNAL, HIGH_STREAM, NORMAL_STREAM)), eq("2"), eq("100"));
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    @DisplayName("enqueueAll - should append all tasks in one script call, in input order")
+    void testEnqueueAll() {
+        ReviewTaskDTO normal = ReviewTaskDTO.builder().id(1L).priority(TaskPriority.NORMAL).build();
+        ReviewTaskDTO high = ReviewTaskDTO.builder().id(2L).priority(TaskPriority.HIGH).build();
+
+        queueService.enqueueAll(List.of(normal, high));
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), eq("2"), eq("1"), eq("1"), eq("2"));
+    }
+
+    @Test
+    @DisplayName("enqueueAll - empty list should not call Redis")
+    void testEnqueueAll_Empty() {
+        queueService.enqueueAll(List.of());
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("dequeueBatch - should claim through the consumer group with the lease as min idle time")
+    void testDequeueBatch_StreamClaim() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of("5", "9"));
+
+        List<Long> claimed = queueService.dequeueBatch(2, Duration.ZERO);
+
+        assertThat(claimed).containsExactly(5L, 9L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                keysCaptor.capture(), eq("2"), eq(QueueKeys.TASK_STREAM_GROUP), anyString(), eq("120000"));
+        assertThat(keysCaptor.getValue()).startsWith(QueueKeys.TASK_STREAM_CLAIMS);
+        assertThat(keysCaptor.getValue().get(1)).startsWith(QueueKeys.TASK_INFLIGHT_PREFIX);
+        assertThat(keysCaptor.getValue()).endsWith(QueueKeys.TASK_QUEUE_SIGNAL, HIGH_STREAM, NORMAL_STREAM);
+    }
+
+    @Test
+    @DisplayName("releaseLock - should acknowledge the task's claimed entry")
+    void testReleaseLock() {
+        queueService.releaseLock(100L);
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.TASK_STREAM_CLAIMS)), eq("100"), eq(QueueKeys.TASK_STREAM_GROUP),
+                eq(QueueKeys.TASK_INFLIGHT_PREFIX));
+    }
+
+    @Test
+    @DisplayName("renewLeases - should return the ids whose pending entry was re-claimed")
+    void testRenewLeases() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), eq(QueueKeys.TASK_STREAM_GROUP), anyString()))
+                .thenReturn(List.of("3"));
+
+        assertThat(queueService.renewLeases()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("requeueWithDelay - should acknowledge the entry and park the task in the retry queue")
+    void testRequeueWithDelay() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+
+        queueService.requeueWithDelay(100L, TaskPriority.HIGH, 60);
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.TASK_STREAM_CLAIMS)), eq("100"), anyString(), anyString());
+        verify(zSetOps).add(eq(QueueKeys.TASK_RETRY_QUEUE), eq("100:0"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("promoteDueRetries - should pass each stream's priority band")
+    void testPromoteDueRetries() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(QueueKeys.TASK_RETRY_QUEUE, QueueKeys.TASK_QUEUE_SIGNAL, HIGH_STREAM, NORMAL_STREAM)),
+                anyString(), eq("20"), eq("0"), eq("50")))
+                .thenReturn(2L);
+
+        assertThat(queueService.promoteDueRetries(20)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findUntracked - should pass each task with its retry member")
+    void testFindUntracked() {
+        ReviewTaskDTO task = ReviewTaskDTO.builder().id(4L).priority(TaskPriority.NORMAL).build();
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), eq("4"), eq("4:50")))
+                .thenReturn(List.of("4"));
+
+        assertThat(queueService.findUntracked(List.of(task))).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("getQueueSize - should count undelivered entries across the streams")
+    void testGetQueueSize() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(HIGH_STREAM, NORMAL_STREAM)), eq(QueueKeys.TASK_STREAM_GROUP)))
+                .thenReturn(12L);
+
+        assertThat(queueService.getQueueSize()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("isLocked - should check the claims hash")
+    void testIsLocked() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+        when(hashOps.hasKey(QueueKeys.TASK_STREAM_CLAIMS, "100")).thenReturn(true);
+
+        assertThat(queueService.isLocked(100L)).isTrue();
+    }
+}
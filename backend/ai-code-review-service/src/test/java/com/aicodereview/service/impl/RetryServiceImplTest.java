@@ -17,6 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +40,8 @@ import static org.mockito.Mockito.when;
 @DisplayName("RetryServiceImpl Unit Tests")
 class RetryServiceImplTest {
 
+    private static final Instant CREATED_AT = Instant.parse("2026-01-15T10:00:00Z");
+
     @Mock
     private ReviewTaskService reviewTaskService;
 
@@ -113,16 +117,31 @@ class RetryServiceImplTest {
         @DisplayName("RATE_LIMIT failure: calls markTaskFailed and requeueWithDelay")
         void handleFailure_rateLimit_retriesWithDelay() {
             ReviewTaskDTO dto = ReviewTaskDTO.builder()
-                    .id(1L).status(TaskStatus.PENDING)
+                    .id(1L).projectId(7L).status(TaskStatus.PENDING)
                     .priority(TaskPriority.HIGH)
                     .retryCount(1).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(1L, "429 Too Many Requests")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(1L, CREATED_AT, "429 Too Many Requests")).thenReturn(dto);
+
+            retryService.handleTaskFailure(1L, CREATED_AT, "429 Too Many Requests", FailureType.RATE_LIMIT);
+
+            verify(reviewTaskService).markTaskFailed(1L, CREATED_AT, "429 Too Many Requests");
+            verify(queueService).requeueWithDelay(eq(1L), eq(TaskPriority.HIGH), eq(7L), anyInt());
+            verify(reviewTaskService, never()).markTaskFailedPermanently(anyLong(), any(), anyString());
+        }
+
+        @Test
+        @DisplayName("Without createdAt: marks the task failed with no partition hint")
+        void handleFailure_withoutCreatedAt_passesNoHint() {
+            ReviewTaskDTO dto = ReviewTaskDTO.builder()
+                    .id(1L).projectId(7L).status(TaskStatus.PENDING)
+                    .priority(TaskPriority.NORMAL)
+                    .retryCount(1).maxRetries(3).build();
+            when(reviewTaskService.markTaskFailed(1L, null, "Connection reset")).thenReturn(dto);
 
-            retryService.handleTaskFailure(1L, "429 Too Many Requests", FailureType.RATE_LIMIT);
+            retryService.handleTaskFailure(1L, "Connection reset", FailureType.NETWORK_ERROR);
 
-            verify(reviewTaskService).markTaskFailed(1L, "429 Too Many Requests");
-            verify(queueService).requeueWithDelay(eq(1L), eq(TaskPriority.HIGH), anyInt());
-            verify(reviewTaskService, never()).markTaskFailedPermanently(anyLong(), anyString());
+            verify(reviewTaskService).markTaskFailed(1L, null, "Connection reset");
+            verify(queueService).requeueWithDelay(eq(1L), eq(TaskPriority.NORMAL), eq(7L), anyInt());
         }
 
         @Test
@@ -132,12 +151,12 @@ class RetryServiceImplTest {
                     .id(2L).status(TaskStatus.PENDING)
                     .priority(TaskPriority.NORMAL)
                     .retryCount(1).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(2L, "Connection refused")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(2L, CREATED_AT, "Connection refused")).thenReturn(dto);
 
-            retryService.handleTaskFailure(2L, "Connection refused", FailureType.NETWORK_ERROR);
+            retryService.handleTaskFailure(2L, CREATED_AT, "Connection refused", FailureType.NETWORK_ERROR);
 
-            verify(reviewTaskService).markTaskFailed(2L, "Connection refused");
-            verify(queueService).requeueWithDelay(eq(2L), eq(TaskPriority.NORMAL), anyInt());
+            verify(reviewTaskService).markTaskFailed(2L, CREATED_AT, "Connection refused");
+            verify(queueService).requeueWithDelay(eq(2L), eq(TaskPriority.NORMAL), any(), anyInt());
         }
 
         @Test
@@ -147,12 +166,12 @@ class RetryServiceImplTest {
                     .id(3L).status(TaskStatus.PENDING)
                     .priority(TaskPriority.HIGH)
                     .retryCount(1).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(3L, "Request timeout")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(3L, CREATED_AT, "Request timeout")).thenReturn(dto);
 
-            retryService.handleTaskFailure(3L, "Request timeout", FailureType.TIMEOUT);
+            retryService.handleTaskFailure(3L, CREATED_AT, "Request timeout", FailureType.TIMEOUT);
 
-            verify(reviewTaskService).markTaskFailed(3L, "Request timeout");
-            verify(queueService).requeueWithDelay(eq(3L), eq(TaskPriority.HIGH), anyInt());
+            verify(reviewTaskService).markTaskFailed(3L, CREATED_AT, "Request timeout");
+            verify(queueService).requeueWithDelay(eq(3L), eq(TaskPriority.HIGH), any(), anyInt());
         }
 
         @Test
@@ -162,12 +181,12 @@ class RetryServiceImplTest {
                     .id(4L).status(TaskStatus.PENDING)
                     .priority(TaskPriority.HIGH)
                     .retryCount(1).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(4L, "Unexpected error")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(4L, CREATED_AT, "Unexpected error")).thenReturn(dto);
 
-            retryService.handleTaskFailure(4L, "Unexpected error", FailureType.UNKNOWN);
+            retryService.handleTaskFailure(4L, CREATED_AT, "Unexpected error", FailureType.UNKNOWN);
 
-            verify(reviewTaskService).markTaskFailed(4L, "Unexpected error");
-            verify(queueService).requeueWithDelay(eq(4L), eq(TaskPriority.HIGH), anyInt());
+            verify(reviewTaskService).markTaskFailed(4L, CREATED_AT, "Unexpected error");
+            verify(queueService).requeueWithDelay(eq(4L), eq(TaskPriority.HIGH), any(), anyInt());
         }
     }
 
@@ -178,21 +197,21 @@ class RetryServiceImplTest {
         @Test
         @DisplayName("VALIDATION_ERROR: calls markTaskFailedPermanently, NO requeue")
         void handleFailure_validationError_permanentFail() {
-            retryService.handleTaskFailure(1L, "Invalid payload", FailureType.VALIDATION_ERROR);
+            retryService.handleTaskFailure(1L, CREATED_AT, "Invalid payload", FailureType.VALIDATION_ERROR);
 
-            verify(reviewTaskService).markTaskFailedPermanently(1L, "Invalid payload");
-            verify(reviewTaskService, never()).markTaskFailed(anyLong(), anyString());
-            verify(queueService, never()).requeueWithDelay(anyLong(), any(), anyInt());
+            verify(reviewTaskService).markTaskFailedPermanently(1L, CREATED_AT, "Invalid payload");
+            verify(reviewTaskService, never()).markTaskFailed(anyLong(), any(), anyString());
+            verify(queueService, never()).requeueWithDelay(anyLong(), any(), any(), anyInt());
         }
 
         @Test
         @DisplayName("AUTHENTICATION_ERROR: calls markTaskFailedPermanently, NO requeue")
         void handleFailure_authError_permanentFail() {
-            retryService.handleTaskFailure(2L, "401 Unauthorized", FailureType.AUTHENTICATION_ERROR);
+            retryService.handleTaskFailure(2L, CREATED_AT, "401 Unauthorized", FailureType.AUTHENTICATION_ERROR);
 
-            verify(reviewTaskService).markTaskFailedPermanently(2L, "401 Unauthorized");
-            verify(reviewTaskService, never()).markTaskFailed(anyLong(), anyString());
-            verify(queueService, never()).requeueWithDelay(anyLong(), any(), anyInt());
+            verify(reviewTaskService).markTaskFailedPermanently(2L, CREATED_AT, "401 Unauthorized");
+            verify(reviewTaskService, never()).markTaskFailed(anyLong(), any(), anyString());
+            verify(queueService, never()).requeueWithDelay(anyLong(), any(), any(), anyInt());
         }
     }
 
@@ -207,12 +226,12 @@ class RetryServiceImplTest {
                     .id(1L).status(TaskStatus.FAILED)
                     .priority(TaskPriority.HIGH)
                     .retryCount(3).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(1L, "Third failure")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(1L, CREATED_AT, "Third failure")).thenReturn(dto);
 
-            retryService.handleTaskFailure(1L, "Third failure", FailureType.RATE_LIMIT);
+            retryService.handleTaskFailure(1L, CREATED_AT, "Third failure", FailureType.RATE_LIMIT);
 
-            verify(reviewTaskService).markTaskFailed(1L, "Third failure");
-            verify(queueService, never()).requeueWithDelay(anyLong(), any(), anyInt());
+            verify(reviewTaskService).markTaskFailed(1L, CREATED_AT, "Third failure");
+            verify(queueService, never()).requeueWithDelay(anyLong(), any(), any(), anyInt());
             verify(queueService).releaseLock(1L);
         }
 
@@ -223,12 +242,12 @@ class RetryServiceImplTest {
                     .id(1L).status(TaskStatus.FAILED)
                     .priority(TaskPriority.HIGH)
                     .retryCount(3).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(1L, "Third failure")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(1L, CREATED_AT, "Third failure")).thenReturn(dto);
             doThrow(new RuntimeException("Redis connection refused"))
                     .when(queueService).releaseLock(anyLong());
 
             // Should NOT throw exception
-            retryService.handleTaskFailure(1L, "Third failure", FailureType.RATE_LIMIT);
+            retryService.handleTaskFailure(1L, CREATED_AT, "Third failure", FailureType.RATE_LIMIT);
 
             verify(queueService).releaseLock(1L);
         }
@@ -242,7 +261,7 @@ class RetryServiceImplTest {
         @DisplayName("Null failureType should throw NullPointerException")
         void handleFailure_nullFailureType_throwsNPE() {
             assertThatThrownBy(() ->
-                    retryService.handleTaskFailure(1L, "error", null))
+                    retryService.handleTaskFailure(1L, CREATED_AT, "error", null))
                     .isInstanceOf(NullPointerException.class)
                     .hasMessageContaining("failureType must not be null");
         }
@@ -259,15 +278,15 @@ class RetryServiceImplTest {
                     .id(1L).status(TaskStatus.PENDING)
                     .priority(TaskPriority.HIGH)
                     .retryCount(1).maxRetries(3).build();
-            when(reviewTaskService.markTaskFailed(1L, "Some error")).thenReturn(dto);
+            when(reviewTaskService.markTaskFailed(1L, CREATED_AT, "Some error")).thenReturn(dto);
             doThrow(new RuntimeException("Redis connection refused"))
-                    .when(queueService).requeueWithDelay(anyLong(), any(), anyInt());
+                    .when(queueService).requeueWithDelay(anyLong(), any(), any(), anyInt());
 
             // Should NOT throw exception
-            retryService.handleTaskFailure(1L, "Some error", FailureType.RATE_LIMIT);
+            retryService.handleTaskFailure(1L, CREATED_AT, "Some error", FailureType.RATE_LIMIT);
 
-            verify(reviewTaskService).markTaskFailed(1L, "Some error");
-            verify(queueService).requeueWithDelay(eq(1L), eq(TaskPriority.HIGH), anyInt());
+            verify(reviewTaskService).markTaskFailed(1L, CREATED_AT, "Some error");
+            verify(queueService).requeueWithDelay(eq(1L), eq(TaskPriority.HIGH), any(), anyInt());
         }
     }
 }
@@ -1,36 +1,51 @@
 package com.aicodereview.service.impl;
 
+import com.aicodereview.common.dto.CursorPage;
 import com.aicodereview.common.dto.reviewtask.CreateReviewTaskRequest;
 import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskSummaryDTO;
 import com.aicodereview.common.enums.TaskPriority;
 import com.aicodereview.common.enums.TaskStatus;
 import com.aicodereview.common.enums.TaskType;
 import com.aicodereview.common.exception.ResourceNotFoundException;
 import com.aicodereview.repository.ProjectRepository;
 import com.aicodereview.repository.ReviewTaskRepository;
+import com.aicodereview.repository.TaskOutboxRepository;
 import com.aicodereview.repository.entity.Project;
 import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.repository.entity.TaskOutbox;
+import com.aicodereview.repository.projection.ReviewTaskSummary;
+import com.aicodereview.service.CodeContextStore;
 import com.aicodereview.service.QueueService;
+import com.aicodereview.service.ReviewTaskService;
+import com.aicodereview.service.mapper.TaskCursor;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,7 +53,7 @@ import static org.mockito.Mockito.*;
  * <p>
  * Uses Mockito to mock repository dependencies and verify business logic.
  * Covers all public methods including:
- * - Task creation with priority assignment
+ * - Task creation with priority assignment and outbox write
  * - Status transitions (PENDING → RUNNING → COMPLETED/FAILED)
  * - Retry logic and failure handling
  * - Task querying and retrieval
@@ -56,9 +71,18 @@ class ReviewTaskServiceImplTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private TaskOutboxRepository taskOutboxRepository;
+
     @Mock
     private QueueService queueService;
 
+    @Mock
+    private CodeContextStore codeContextStore;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ReviewTaskServiceImpl reviewTaskService;
 
@@ -70,6 +94,8 @@ class ReviewTaskServiceImplTest {
     void setUp() {
         // Inject @Value field that @InjectMocks doesn't handle
         ReflectionTestUtils.setField(reviewTaskService, "defaultMaxRetries", 3);
+        ReflectionTestUtils.setField(reviewTaskService, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(reviewTaskService, "coalesceEnabled", true);
 
         // Set up test project
         testProject = Project.builder()
@@ -140,8 +166,14 @@ class ReviewTaskServiceImplTest {
         assertThat(savedTask.getMaxRetries()).isEqualTo(3);
         assertThat(savedTask.getRetryCount()).isEqualTo(0);
 
-        // Verify enqueue to Redis priority queue
-        verify(queueService).enqueue(100L, TaskPriority.NORMAL);
+        // Verify outbox entry written in the same transaction instead of a direct Redis enqueue
+        ArgumentCaptor<TaskOutbox> outboxCaptor = ArgumentCaptor.forClass(TaskOutbox.class);
+        verify(taskOutboxRepository).save(outboxCaptor.capture());
+        assertThat(outboxCaptor.getValue().getTaskId()).isEqualTo(100L);
+        assertThat(outboxCaptor.getValue().getProjectId()).isEqualTo(1L);
+        assertThat(outboxCaptor.getValue().getPriority()).isEqualTo(TaskPriority.NORMAL);
+        assertThat(outboxCaptor.getValue().getTaskCreatedAt()).isEqualTo(testTask.getCreatedAt());
+        verify(queueService, never()).enqueue(anyLong(), any());
     }
 
     @Test
@@ -174,7 +206,8 @@ class ReviewTaskServiceImplTest {
         assertThat(taskCaptor.getValue().getPriority()).isEqualTo(TaskPriority.HIGH);
 
         // Verify enqueue to Redis priority queue with HIGH priority
-        verify(queueService).enqueue(100L, TaskPriority.HIGH);
+        verify(taskOutboxRepository).save(argThat(entry ->
+                entry.getTaskId().equals(100L) && entry.getPriority() == TaskPriority.HIGH));
     }
 
     @Test
@@ -205,7 +238,99 @@ class ReviewTaskServiceImplTest {
         assertThat(taskCaptor.getValue().getPriority()).isEqualTo(TaskPriority.HIGH);
 
         // Verify enqueue to Redis priority queue with HIGH priority
-        verify(queueService).enqueue(100L, TaskPriority.HIGH);
+        verify(taskOutboxRepository).save(argThat(entry ->
+                entry.getTaskId().equals(100L) && entry.getPriority() == TaskPriority.HIGH));
+    }
+
+    @Test
+    @DisplayName("createTask - database-backed queue should not write an outbox entry")
+    void testCreateTask_DatabaseBackedQueue_NoOutbox() {
+        // Given
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(reviewTaskRepository.findByProjectIdAndCommitHash(1L, "abc123")).thenReturn(Optional.empty());
+        when(reviewTaskRepository.save(any(ReviewTask.class))).thenReturn(testTask);
+        when(queueService.isDatabaseBacked()).thenReturn(true);
+
+        // When
+        reviewTaskService.createTask(testRequest);
+
+        // Then: the committed PENDING row is claimed directly
+        verify(taskOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createTask - newer push should supersede PENDING tasks of the branch and review the range")
+    void testCreateTask_CoalescesPendingTasks() {
+        // Given
+        Instant anchorCreated = Instant.now().minusSeconds(600);
+        ReviewTask anchor = ReviewTask.builder().id(10L).project(testProject).branch("main")
+                .commitHash("base000").status(TaskStatus.COMPLETED).createdAt(anchorCreated).build();
+        ReviewTask older = ReviewTask.builder().id(90L).project(testProject).branch("main")
+                .commitHash("old111").status(TaskStatus.PENDING).createdAt(anchorCreated.plusSeconds(60)).build();
+        ReviewTask beforeAnchor = ReviewTask.builder().id(5L).project(testProject).branch("main")
+                .commitHash("old000").status(TaskStatus.PENDING).createdAt(anchorCreated.minusSeconds(60)).build();
+
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(reviewTaskRepository.findByProjectIdAndCommitHash(1L, "abc123")).thenReturn(Optional.empty());
+        when(reviewTaskRepository.save(any(ReviewTask.class))).thenReturn(testTask);
+        when(reviewTaskRepository.findPendingForCoalescing(1L, "main", TaskType.PUSH, 0, 100L))
+                .thenReturn(List.of(beforeAnchor, older));
+        when(reviewTaskRepository.findLatestReviewed(eq(1L), eq("main"), eq(TaskType.PUSH), eq(0), any()))
+                .thenReturn(List.of(anchor));
+
+        // When
+        ReviewTaskDTO result = reviewTaskService.createTask(testRequest);
+
+        // Then
+        assertThat(result.getBaseCommitHash()).isEqualTo("base000");
+        assertThat(older.getStatus()).isEqualTo(TaskStatus.SUPERSEDED);
+        assertThat(older.getSupersededBy()).isEqualTo(100L);
+        assertThat(older.getCompletedAt()).isNotNull();
+        // A PENDING task older than the anchor is outside the reviewed range and must still run
+        assertThat(beforeAnchor.getStatus()).isEqualTo(TaskStatus.PENDING);
+        verify(reviewTaskRepository).saveAll(List.of(older));
+        verify(taskOutboxRepository).deleteByTaskIds(List.of(90L));
+    }
+
+    @Test
+    @DisplayName("createTask - without a reviewed anchor nothing is coalesced")
+    void testCreateTask_NoAnchor_NoCoalescing() {
+        // Given
+        ReviewTask older = ReviewTask.builder().id(90L).project(testProject).branch("main")
+                .commitHash("old111").status(TaskStatus.PENDING).createdAt(Instant.now()).build();
+
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(reviewTaskRepository.findByProjectIdAndCommitHash(1L, "abc123")).thenReturn(Optional.empty());
+        when(reviewTaskRepository.save(any(ReviewTask.class))).thenReturn(testTask);
+        when(reviewTaskRepository.findPendingForCoalescing(1L, "main", TaskType.PUSH, 0, 100L))
+                .thenReturn(List.of(older));
+        when(reviewTaskRepository.findLatestReviewed(eq(1L), eq("main"), eq(TaskType.PUSH), eq(0), any()))
+                .thenReturn(List.of());
+
+        // When
+        ReviewTaskDTO result = reviewTaskService.createTask(testRequest);
+
+        // Then
+        assertThat(result.getBaseCommitHash()).isNull();
+        assertThat(older.getStatus()).isEqualTo(TaskStatus.PENDING);
+        verify(reviewTaskRepository, never()).saveAll(any());
+        verify(taskOutboxRepository, never()).deleteByTaskIds(any());
+    }
+
+    @Test
+    @DisplayName("createTask - coalescing disabled should not look for PENDING tasks")
+    void testCreateTask_CoalescingDisabled() {
+        // Given
+        ReflectionTestUtils.setField(reviewTaskService, "coalesceEnabled", false);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(reviewTaskRepository.findByProjectIdAndCommitHash(1L, "abc123")).thenReturn(Optional.empty());
+        when(reviewTaskRepository.save(any(ReviewTask.class))).thenReturn(testTask);
+
+        // When
+        reviewTaskService.createTask(testRequest);
+
+        // Then
+        verify(reviewTaskRepository, never()).findPendingForCoalescing(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -298,7 +423,7 @@ class ReviewTaskServiceImplTest {
                 .build();
 
         // Repository should return in correct order: HIGH first, then NORMAL (oldest first)
-        when(reviewTaskRepository.findByStatusOrderByPriorityDescCreatedAtAsc(TaskStatus.PENDING))
+        when(reviewTaskRepository.findActiveByStatusOrderByPriorityDescCreatedAtAsc(TaskStatus.PENDING))
                 .thenReturn(Arrays.asList(highPriorityTask, normalPriorityOld, normalPriorityNew));
 
         // When
@@ -311,15 +436,26 @@ class ReviewTaskServiceImplTest {
         assertThat(results.get(1).getId()).isEqualTo(2L); // NORMAL priority, older
         assertThat(results.get(2).getId()).isEqualTo(3L); // NORMAL priority, newer
 
-        verify(reviewTaskRepository).findByStatusOrderByPriorityDescCreatedAtAsc(TaskStatus.PENDING);
+        verify(reviewTaskRepository).findActiveByStatusOrderByPriorityDescCreatedAtAsc(TaskStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("getTasksByStatus - finished status should use the unindexed status query")
+    void testGetTasksByStatus_FinishedStatus() {
+        when(reviewTaskRepository.findByStatusOrderByPriorityDescCreatedAtAsc(TaskStatus.COMPLETED))
+                .thenReturn(List.of(testTask));
+
+        assertThat(reviewTaskService.getTasksByStatus(TaskStatus.COMPLETED)).hasSize(1);
+
+        verify(reviewTaskRepository, never()).findActiveByStatusOrderByPriorityDescCreatedAtAsc(any());
     }
 
     @Test
     @DisplayName("markTaskStarted - should update status to RUNNING and set startedAt")
     void testMarkTaskStarted() {
         // Given
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.startIfPending(eq(100L), any(Instant.class), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(started(inv.getArgument(1), inv.getArgument(2))));
 
         // When
         ReviewTaskDTO result = reviewTaskService.markTaskStarted(100L);
@@ -328,12 +464,9 @@ class ReviewTaskServiceImplTest {
         assertThat(result.getStatus()).isEqualTo(TaskStatus.RUNNING);
         assertThat(result.getStartedAt()).isNotNull();
 
-        // Verify task updated
-        ArgumentCaptor<ReviewTask> taskCaptor = ArgumentCaptor.forClass(ReviewTask.class);
-        verify(reviewTaskRepository).save(taskCaptor.capture());
-        ReviewTask savedTask = taskCaptor.getValue();
-        assertThat(savedTask.getStatus()).isEqualTo(TaskStatus.RUNNING);
-        assertThat(savedTask.getStartedAt()).isNotNull();
+        // Verify a single conditional UPDATE: no load, no save
+        verify(reviewTaskRepository, never()).findById(anyLong());
+        verify(reviewTaskRepository, never()).save(any(ReviewTask.class));
     }
 
     @Test
@@ -343,8 +476,8 @@ class ReviewTaskServiceImplTest {
         testTask.setStatus(TaskStatus.RUNNING);
         testTask.setStartedAt(Instant.now().minusSeconds(60));
 
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.completeIfRunning(eq(100L), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(completed(inv.getArgument(1))));
 
         // When
         ReviewTaskDTO result = reviewTaskService.markTaskCompleted(100L);
@@ -353,12 +486,9 @@ class ReviewTaskServiceImplTest {
         assertThat(result.getStatus()).isEqualTo(TaskStatus.COMPLETED);
         assertThat(result.getCompletedAt()).isNotNull();
 
-        // Verify task updated
-        ArgumentCaptor<ReviewTask> taskCaptor = ArgumentCaptor.forClass(ReviewTask.class);
-        verify(reviewTaskRepository).save(taskCaptor.capture());
-        ReviewTask savedTask = taskCaptor.getValue();
-        assertThat(savedTask.getStatus()).isEqualTo(TaskStatus.COMPLETED);
-        assertThat(savedTask.getCompletedAt()).isNotNull();
+        // Verify a single conditional UPDATE: no load, no save
+        verify(reviewTaskRepository, never()).findById(anyLong());
+        verify(reviewTaskRepository, never()).save(any(ReviewTask.class));
     }
 
     @Test
@@ -369,8 +499,8 @@ class ReviewTaskServiceImplTest {
         testTask.setMaxRetries(3);
         testTask.setStatus(TaskStatus.RUNNING);
 
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.failAttemptIfRunning(eq(100L), eq("Connection timeout"), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(failedAttempt(inv.getArgument(1), inv.getArgument(2))));
 
         // When
         ReviewTaskDTO result = reviewTaskService.markTaskFailed(100L, "Connection timeout");
@@ -381,13 +511,9 @@ class ReviewTaskServiceImplTest {
         assertThat(result.getErrorMessage()).isEqualTo("Connection timeout");
         assertThat(result.getCompletedAt()).isNull(); // Not final failure yet
 
-        // Verify task updated
-        ArgumentCaptor<ReviewTask> taskCaptor = ArgumentCaptor.forClass(ReviewTask.class);
-        verify(reviewTaskRepository).save(taskCaptor.capture());
-        ReviewTask savedTask = taskCaptor.getValue();
-        assertThat(savedTask.getRetryCount()).isEqualTo(1);
-        assertThat(savedTask.getStatus()).isEqualTo(TaskStatus.PENDING);
-        assertThat(savedTask.getCompletedAt()).isNull();
+        // Verify a single conditional UPDATE: no load, no save
+        verify(reviewTaskRepository, never()).findById(anyLong());
+        verify(reviewTaskRepository, never()).save(any(ReviewTask.class));
 
         // Verify NO direct enqueue (requeue responsibility moved to RetryService in Story 2.7)
         verify(queueService, never()).enqueue(anyLong(), any());
@@ -401,8 +527,8 @@ class ReviewTaskServiceImplTest {
         testTask.setMaxRetries(3);
         testTask.setStatus(TaskStatus.RUNNING);
 
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.failAttemptIfRunning(eq(100L), eq("Persistent error"), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(failedAttempt(inv.getArgument(1), inv.getArgument(2))));
 
         // When
         ReviewTaskDTO result = reviewTaskService.markTaskFailed(100L, "Persistent error");
@@ -413,14 +539,6 @@ class ReviewTaskServiceImplTest {
         assertThat(result.getErrorMessage()).isEqualTo("Persistent error");
         assertThat(result.getCompletedAt()).isNotNull(); // Final failure timestamp
 
-        // Verify task updated
-        ArgumentCaptor<ReviewTask> taskCaptor = ArgumentCaptor.forClass(ReviewTask.class);
-        verify(reviewTaskRepository).save(taskCaptor.capture());
-        ReviewTask savedTask = taskCaptor.getValue();
-        assertThat(savedTask.getRetryCount()).isEqualTo(3);
-        assertThat(savedTask.getStatus()).isEqualTo(TaskStatus.FAILED);
-        assertThat(savedTask.getCompletedAt()).isNotNull();
-
         // Verify NO re-enqueue when max retries exhausted
         verify(queueService, never()).enqueue(anyLong(), any());
     }
@@ -506,6 +624,45 @@ class ReviewTaskServiceImplTest {
                 .hasMessageContaining("expected status PENDING");
     }
 
+    @Test
+    @DisplayName("markTaskStarted - task already started by a database-backed queue claim is returned as is")
+    void testMarkTaskStarted_ClaimedByDatabaseQueue() {
+        // Given: the Postgres queue flipped the task to RUNNING when claiming it
+        testTask.setStatus(TaskStatus.RUNNING);
+        testTask.setStartedAt(Instant.now());
+        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+        when(queueService.isDatabaseBacked()).thenReturn(true);
+
+        // When
+        ReviewTaskDTO result = reviewTaskService.markTaskStarted(100L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.RUNNING);
+        verify(reviewTaskRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("markTaskStarted - a PENDING task loaded for the claim check is detached before the compare-and-set")
+    void testMarkTaskStarted_DatabaseQueue_DetachesBeforeCas() {
+        // Given: the task is still PENDING, and the CAS hands back a fresh RUNNING row
+        testTask.setStatus(TaskStatus.PENDING);
+        ReviewTask started = ReviewTask.builder().id(100L).project(testProject).status(TaskStatus.RUNNING)
+                .startedAt(Instant.now()).build();
+        when(queueService.isDatabaseBacked()).thenReturn(true);
+        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+        when(reviewTaskRepository.startIfPending(eq(100L), any(Instant.class), any(Instant.class)))
+                .thenReturn(Optional.of(started));
+
+        // When
+        ReviewTaskDTO result = reviewTaskService.markTaskStarted(100L);
+
+        // Then: the stale managed instance no longer shadows the RETURNING row
+        InOrder inOrder = inOrder(entityManager, reviewTaskRepository);
+        inOrder.verify(entityManager).detach(testTask);
+        inOrder.verify(reviewTaskRepository).startIfPending(eq(100L), any(Instant.class), any(Instant.class));
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.RUNNING);
+    }
+
     @Test
     @DisplayName("markTaskCompleted - non-RUNNING task should throw IllegalStateException")
     void testMarkTaskCompleted_NonRunningTask_ThrowsException() {
@@ -532,30 +689,89 @@ class ReviewTaskServiceImplTest {
                 .hasMessageContaining("expected status RUNNING");
     }
 
+    @Test
+    @DisplayName("markTaskCompleted - task not found should throw ResourceNotFoundException")
+    void testMarkTaskCompleted_NotFound() {
+        when(reviewTaskRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> reviewTaskService.markTaskCompleted(999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("markTaskCompleted - with a matching createdAt hint should only update the task's partition")
+    void testMarkTaskCompleted_PartitionHint() {
+        // Given
+        Instant createdAt = testTask.getCreatedAt();
+        when(reviewTaskRepository.completeIfRunning(eq(100L), eq(createdAt), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(completed(inv.getArgument(2))));
+
+        // When
+        ReviewTaskDTO result = reviewTaskService.markTaskCompleted(100L, createdAt);
+
+        // Then: the id-only UPDATE is never needed
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        verify(reviewTaskRepository, never()).completeIfRunning(anyLong(), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("markTaskCompleted - a createdAt hint matching no row should fall back to the id-only update")
+    void testMarkTaskCompleted_WrongHint_FallsBackToId() {
+        // Given: The hint is off by a microsecond, so the pruned UPDATE matches nothing
+        Instant wrongHint = testTask.getCreatedAt().plusNanos(1000);
+        when(reviewTaskRepository.completeIfRunning(eq(100L), eq(wrongHint), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(reviewTaskRepository.completeIfRunning(eq(100L), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(completed(inv.getArgument(1))));
+
+        // When
+        ReviewTaskDTO result = reviewTaskService.markTaskCompleted(100L, wrongHint);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        verify(reviewTaskRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("markTaskFailed - rejected with a createdAt hint should report the task's actual status")
+    void testMarkTaskFailed_HintAndNotRunning_ReportsActualStatus() {
+        // Given: The task was already reclaimed by the reaper
+        testTask.setStatus(TaskStatus.PENDING);
+        when(reviewTaskRepository.failAttemptIfRunning(eq(100L), any(Instant.class), eq("error"), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(reviewTaskRepository.failAttemptIfRunning(eq(100L), eq("error"), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+
+        // When/Then
+        assertThatThrownBy(() -> reviewTaskService.markTaskFailed(100L, testTask.getCreatedAt(), "error"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("expected status RUNNING, but was PENDING");
+    }
+
     // --- Redis failure resilience tests (H1/H2 code review fix) ---
 
     @Test
-    @DisplayName("createTask - Redis enqueue failure should NOT prevent task creation")
+    @DisplayName("createTask - does not touch Redis, so a Redis outage cannot affect task creation")
     void testCreateTask_RedisFailure_TaskStillCreated() {
         // Given
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
         when(reviewTaskRepository.findByProjectIdAndCommitHash(1L, "abc123")).thenReturn(Optional.empty());
         when(reviewTaskRepository.save(any(ReviewTask.class))).thenReturn(testTask);
-        doThrow(new RuntimeException("Redis connection refused"))
-                .when(queueService).enqueue(anyLong(), any());
 
-        // When: createTask should succeed despite Redis failure
+        // When
         ReviewTaskDTO result = reviewTaskService.createTask(testRequest);
 
-        // Then: Task should still be created and returned
+        // Then: Task should be created and returned
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(100L);
 
-        // And: DB save should have happened
+        // And: DB save and outbox write happened; publishing is left to the outbox relay
         verify(reviewTaskRepository).save(any(ReviewTask.class));
-
-        // And: Enqueue was attempted
-        verify(queueService).enqueue(100L, TaskPriority.NORMAL);
+        verify(taskOutboxRepository).save(any(TaskOutbox.class));
+        // Only the backend capability is queried; no queue operation is performed
+        verify(queueService).isDatabaseBacked();
+        verifyNoMoreInteractions(queueService);
     }
 
     @Test
@@ -566,8 +782,8 @@ class ReviewTaskServiceImplTest {
         testTask.setMaxRetries(3);
         testTask.setStatus(TaskStatus.RUNNING);
 
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.failAttemptIfRunning(eq(100L), anyString(), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(failedAttempt(inv.getArgument(1), inv.getArgument(2))));
 
         // When
         reviewTaskService.markTaskFailed(100L, "Connection timeout");
@@ -587,8 +803,8 @@ class ReviewTaskServiceImplTest {
         testTask.setRetryCount(0);
         testTask.setMaxRetries(3);
 
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.failIfRunning(eq(100L), eq("401 Unauthorized"), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(failedPermanently(inv.getArgument(1), inv.getArgument(2))));
 
         // When
         ReviewTaskDTO result = reviewTaskService.markTaskFailedPermanently(100L, "401 Unauthorized");
@@ -622,8 +838,8 @@ class ReviewTaskServiceImplTest {
         // Given
         testTask.setStatus(TaskStatus.RUNNING);
 
-        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
-        when(reviewTaskRepository.save(any(ReviewTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reviewTaskRepository.failIfRunning(eq(100L), anyString(), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(failedPermanently(inv.getArgument(1), inv.getArgument(2))));
         doThrow(new RuntimeException("Redis connection refused"))
                 .when(queueService).releaseLock(anyLong());
 
@@ -632,6 +848,380 @@ class ReviewTaskServiceImplTest {
 
         // Then: DB state still updated
         assertThat(result.getStatus()).isEqualTo(TaskStatus.FAILED);
-        verify(reviewTaskRepository).save(any(ReviewTask.class));
+        verify(reviewTaskRepository).failIfRunning(eq(100L), eq("Bad request"), any(Instant.class));
+    }
+
+    // --- saveCodeContext tests (worker) ---
+
+    @Test
+    @DisplayName("saveCodeContext - should store the context as a blob and point the task at its hash")
+    void testSaveCodeContext_StoresContext() {
+        // Given
+        when(codeContextStore.store("{\"rawDiff\":\"diff\"}")).thenReturn("abc123");
+        when(reviewTaskRepository.setCodeContextHash(100L, "abc123")).thenReturn(1);
+
+        // When
+        reviewTaskService.saveCodeContext(100L, "{\"rawDiff\":\"diff\"}");
+
+        // Then: the task row is not loaded or rewritten
+        verify(reviewTaskRepository, never()).findById(anyLong());
+        verify(reviewTaskRepository, never()).save(any(ReviewTask.class));
+    }
+
+    @Test
+    @DisplayName("saveCodeContext - task not found should throw ResourceNotFoundException")
+    void testSaveCodeContext_NotFound() {
+        // Given
+        when(codeContextStore.store("{}")).thenReturn("abc123");
+        when(reviewTaskRepository.setCodeContextHash(999L, "abc123")).thenReturn(0);
+
+        // When/Then
+        assertThatThrownBy(() -> reviewTaskService.saveCodeContext(999L, "{}"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("saveCodeContext - a createdAt hint matching no row should fall back to the id-only update")
+    void testSaveCodeContext_WrongHint_FallsBackToId() {
+        // Given
+        Instant wrongHint = Instant.parse("2020-01-01T00:00:00Z");
+        when(codeContextStore.store("{}")).thenReturn("abc123");
+        when(reviewTaskRepository.setCodeContextHash(100L, wrongHint, "abc123")).thenReturn(0);
+        when(reviewTaskRepository.setCodeContextHash(100L, "abc123")).thenReturn(1);
+
+        // When
+        reviewTaskService.saveCodeContext(100L, wrongHint, "{}");
+
+        // Then
+        verify(reviewTaskRepository).setCodeContextHash(100L, "abc123");
+    }
+
+    @Test
+    @DisplayName("getCodeContext - should load the blob referenced by the task")
+    void testGetCodeContext() {
+        // Given
+        testTask.setCodeContextHash("abc123");
+        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+        when(codeContextStore.load("abc123")).thenReturn(Optional.of("{}"));
+
+        // When/Then
+        assertThat(reviewTaskService.getCodeContext(100L)).contains("{}");
+    }
+
+    @Test
+    @DisplayName("getCodeContext - task without stored context should return empty")
+    void testGetCodeContext_NotAssembled() {
+        when(reviewTaskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+
+        assertThat(reviewTaskService.getCodeContext(100L)).isEmpty();
+        verifyNoInteractions(codeContextStore);
+    }
+
+    // --- Lease tests (worker heartbeat and reaper) ---
+
+    @Test
+    @DisplayName("markTaskStarted - should grant a lease of the configured length")
+    void testMarkTaskStarted_SetsLease() {
+        // Given
+        when(reviewTaskRepository.startIfPending(eq(100L), any(Instant.class), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(started(inv.getArgument(1), inv.getArgument(2))));
+
+        // When
+        reviewTaskService.markTaskStarted(100L);
+
+        // Then: the lease passed to the UPDATE is started_at + lease-seconds
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> lease = ArgumentCaptor.forClass(Instant.class);
+        verify(reviewTaskRepository).startIfPending(eq(100L), now.capture(), lease.capture());
+        assertThat(lease.getValue()).isEqualTo(now.getValue().plusSeconds(300));
+    }
+
+    @Test
+    @DisplayName("markTaskCompleted - should clear the lease")
+    void testMarkTaskCompleted_ClearsLease() {
+        // Given
+        testTask.setStatus(TaskStatus.RUNNING);
+        testTask.setLeaseExpiresAt(Instant.now().plusSeconds(300));
+        when(reviewTaskRepository.completeIfRunning(eq(100L), any(Instant.class)))
+                .thenAnswer(inv -> Optional.of(completed(inv.getArgument(1))));
+
+        // When
+        reviewTaskService.markTaskCompleted(100L);
+
+        // Then
+        assertThat(testTask.getLeaseExpiresAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("renewLeases - should extend all leases in one bulk update")
+    void testRenewLeases_BulkUpdate() {
+        // Given
+        when(reviewTaskRepository.renewLeases(eq(List.of(1L, 2L)), any(Instant.class))).thenReturn(2);
+
+        // When
+        int renewed = reviewTaskService.renewLeases(List.of(1L, 2L));
+
+        // Then
+        assertThat(renewed).isEqualTo(2);
+        ArgumentCaptor<Instant> expiryCaptor = ArgumentCaptor.forClass(Instant.class);
+        verify(reviewTaskRepository).renewLeases(eq(List.of(1L, 2L)), expiryCaptor.capture());
+        assertThat(expiryCaptor.getValue()).isAfter(Instant.now().plusSeconds(290));
+    }
+
+    @Test
+    @DisplayName("renewLeases - empty input should not hit the database")
+    void testRenewLeases_Empty() {
+        assertThat(reviewTaskService.renewLeases(List.of())).isZero();
+
+        verify(reviewTaskRepository, never()).renewLeases(any(), any());
+    }
+
+    @Test
+    @DisplayName("reclaimExpiredLeases - should count a retry and return task to PENDING")
+    void testReclaimExpiredLeases_BackToPending() {
+        // Given
+        testTask.setStatus(TaskStatus.RUNNING);
+        testTask.setLeaseExpiresAt(Instant.now().minusSeconds(10));
+        when(reviewTaskRepository.findExpiredLeasesForUpdate(any(Instant.class), any()))
+                .thenReturn(List.of(testTask));
+        when(reviewTaskRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        List<ReviewTaskDTO> reclaimed = reviewTaskService.reclaimExpiredLeases(50);
+
+        // Then
+        assertThat(reclaimed).hasSize(1);
+        assertThat(reclaimed.get(0).getStatus()).isEqualTo(TaskStatus.PENDING);
+        assertThat(reclaimed.get(0).getRetryCount()).isEqualTo(1);
+        assertThat(testTask.getLeaseExpiresAt()).isNull();
+        assertThat(testTask.getErrorMessage()).contains("lease expired");
+    }
+
+    @Test
+    @DisplayName("reclaimExpiredLeases - task out of retries should become FAILED")
+    void testReclaimExpiredLeases_MaxRetries() {
+        // Given
+        testTask.setStatus(TaskStatus.RUNNING);
+        testTask.setRetryCount(2);
+        testTask.setLeaseExpiresAt(Instant.now().minusSeconds(10));
+        when(reviewTaskRepository.findExpiredLeasesForUpdate(any(Instant.class), any()))
+                .thenReturn(List.of(testTask));
+        when(reviewTaskRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        List<ReviewTaskDTO> reclaimed = reviewTaskService.reclaimExpiredLeases(50);
+
+        // Then
+        assertThat(reclaimed.get(0).getStatus()).isEqualTo(TaskStatus.FAILED);
+        assertThat(reclaimed.get(0).getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("reclaimExpiredLeases - nothing expired should not save")
+    void testReclaimExpiredLeases_NoneExpired() {
+        when(reviewTaskRepository.findExpiredLeasesForUpdate(any(Instant.class), any())).thenReturn(List.of());
+
+        assertThat(reviewTaskService.reclaimExpiredLeases(50)).isEmpty();
+
+        verify(reviewTaskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("listTasks - full page should return a cursor positioned at its last task")
+    void testListTasks_NextCursor() {
+        // Given
+        Instant t0 = Instant.parse("2026-01-01T10:00:00Z");
+        // The extra row only signals that another page follows; it is never mapped
+        List<ReviewTaskSummary> rows = List.of(summary(30L, t0), summary(20L, t0), mock(ReviewTaskSummary.class));
+        when(reviewTaskRepository.findSummariesByProject(eq(1L), eq(TaskCursor.START.createdAt()),
+                eq(Long.MAX_VALUE), eq(PageRequest.of(0, 3)))).thenReturn(rows);
+
+        // When
+        CursorPage<ReviewTaskSummaryDTO> page = reviewTaskService.listTasks(1L, null, null, 2);
+
+        // Then
+        assertThat(page.getItems()).extracting(ReviewTaskSummaryDTO::getId).containsExactly(30L, 20L);
+        assertThat(TaskCursor.decode(page.getNextCursor())).isEqualTo(new TaskCursor(t0, 20L));
+    }
+
+    @Test
+    @DisplayName("listTasks - last page should continue after the cursor and return no next cursor")
+    void testListTasks_LastPage() {
+        // Given
+        Instant t0 = Instant.parse("2026-01-01T10:00:00.123456Z");
+        String cursor = new TaskCursor(t0, 20L).encode();
+        List<ReviewTaskSummary> rows = List.of(summary(10L, t0.minusSeconds(1)));
+        when(reviewTaskRepository.findSummariesByStatus(TaskStatus.FAILED, t0, 20L, PageRequest.of(0, 3)))
+                .thenReturn(rows);
+
+        // When
+        CursorPage<ReviewTaskSummaryDTO> page = reviewTaskService.listTasks(null, TaskStatus.FAILED, cursor, 2);
+
+        // Then
+        assertThat(page.getItems()).extracting(ReviewTaskSummaryDTO::getId).containsExactly(10L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("listTasks - project and status should use the combined query with a capped page size")
+    void testListTasks_ProjectAndStatus_Capped() {
+        when(reviewTaskRepository.findSummariesByProjectAndStatus(eq(1L), eq(TaskStatus.PENDING), any(Instant.class),
+                anyLong(), eq(PageRequest.of(0, ReviewTaskService.MAX_PAGE_SIZE + 1)))).thenReturn(List.of());
+
+        CursorPage<ReviewTaskSummaryDTO> page = reviewTaskService.listTasks(1L, TaskStatus.PENDING, null, 10_000);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("listTasks - missing filter, malformed cursor or non-positive limit should be rejected")
+    void testListTasks_InvalidArguments() {
+        assertThatThrownBy(() -> reviewTaskService.listTasks(null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reviewTaskService.listTasks(1L, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> reviewTaskService.listTasks(1L, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(reviewTaskRepository);
+    }
+
+    // The helpers below apply to testTask what the compare-and-set UPDATE does to the row it returns
+
+    private ReviewTask started(Instant now, Instant leaseExpiresAt) {
+        testTask.setStatus(TaskStatus.RUNNING);
+        testTask.setStartedAt(now);
+        testTask.setLeaseExpiresAt(leaseExpiresAt);
+        return testTask;
+    }
+
+    private ReviewTask completed(Instant now) {
+        testTask.setStatus(TaskStatus.COMPLETED);
+        testTask.setCompletedAt(now);
+        testTask.setLeaseExpiresAt(null);
+        return testTask;
+    }
+
+    private ReviewTask failedAttempt(String errorMessage, Instant now) {
+        testTask.setRetryCount(testTask.getRetryCount() + 1);
+        testTask.setErrorMessage(errorMessage);
+        testTask.setLeaseExpiresAt(null);
+        if (testTask.getRetryCount() >= testTask.getMaxRetries()) {
+            testTask.setStatus(TaskStatus.FAILED);
+            testTask.setCompletedAt(now);
+        } else {
+            testTask.setStatus(TaskStatus.PENDING);
+        }
+        return testTask;
+    }
+
+    private ReviewTask failedPermanently(String errorMessage, Instant now) {
+        testTask.setStatus(TaskStatus.FAILED);
+        testTask.setCompletedAt(now);
+        testTask.setErrorMessage(errorMessage);
+        testTask.setLeaseExpiresAt(null);
+        return testTask;
+    }
+
+    private static ReviewTaskSummary summary(Long id, Instant createdAt) {
+        ReviewTaskSummary summary = mock(ReviewTaskSummary.class);
+        when(summary.getId()).thenReturn(id);
+        when(summary.getCreatedAt()).thenReturn(createdAt);
+        return summary;
+    }
+
+    @Test
+    @DisplayName("createTasks - should insert new tasks with one saveAll and return DTOs in request order")
+    void testCreateTasks_SkipsExistingAndRepeatedCommits() {
+        // Given: abc123 already exists, def456 is new and requested twice
+        CreateReviewTaskRequest fresh = request("def456", TaskType.PULL_REQUEST);
+        when(projectRepository.findAllById(any())).thenReturn(List.of(testProject));
+        when(reviewTaskRepository.findByProjectIdInAndCommitHashIn(any(), any())).thenReturn(List.of(testTask));
+        when(reviewTaskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ReviewTask> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(200L));
+            return tasks;
+        });
+
+        // When
+        List<ReviewTaskDTO> result = reviewTaskService.createTasks(List.of(fresh, testRequest, fresh));
+
+        // Then
+        assertThat(result).extracting(ReviewTaskDTO::getId).containsExactly(200L, 100L, 200L);
+        assertThat(result.get(0).getPriority()).isEqualTo(TaskPriority.HIGH);
+
+        verify(projectRepository).findAllById(Set.of(1L));
+        verify(reviewTaskRepository).findByProjectIdInAndCommitHashIn(any(), eq(Set.of("abc123", "def456")));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReviewTask>> tasksCaptor = ArgumentCaptor.forClass(List.class);
+        verify(reviewTaskRepository).saveAll(tasksCaptor.capture());
+        assertThat(tasksCaptor.getValue()).singleElement().satisfies(task -> {
+            assertThat(task.getCommitHash()).isEqualTo("def456");
+            assertThat(task.getStatus()).isEqualTo(TaskStatus.PENDING);
+            assertThat(task.getMaxRetries()).isEqualTo(3);
+        });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskOutbox>> outboxCaptor = ArgumentCaptor.forClass(List.class);
+        verify(taskOutboxRepository).saveAll(outboxCaptor.capture());
+        assertThat(outboxCaptor.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getTaskId()).isEqualTo(200L);
+            assertThat(entry.getPriority()).isEqualTo(TaskPriority.HIGH);
+        });
+        verify(reviewTaskRepository, never()).save(any(ReviewTask.class));
+        verify(reviewTaskRepository, never()).findPendingForCoalescing(anyLong(), anyString(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("createTasks - database-backed queue should not write outbox entries")
+    void testCreateTasks_DatabaseBackedQueue_NoOutbox() {
+        // Given
+        when(projectRepository.findAllById(any())).thenReturn(List.of(testProject));
+        when(reviewTaskRepository.findByProjectIdInAndCommitHashIn(any(), any())).thenReturn(List.of());
+        when(queueService.isDatabaseBacked()).thenReturn(true);
+
+        // When
+        reviewTaskService.createTasks(List.of(testRequest));
+
+        // Then
+        verify(reviewTaskRepository).saveAll(anyList());
+        verifyNoInteractions(taskOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("createTasks - unknown project should fail before anything is written")
+    void testCreateTasks_ProjectNotFound() {
+        // Given
+        CreateReviewTaskRequest unknown = request("def456", TaskType.PUSH);
+        unknown.setProjectId(999L);
+        when(projectRepository.findAllById(any())).thenReturn(List.of(testProject));
+
+        // When & Then
+        assertThatThrownBy(() -> reviewTaskService.createTasks(List.of(testRequest, unknown)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("999");
+        verify(reviewTaskRepository, never()).saveAll(anyList());
+        verifyNoInteractions(taskOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("createTasks - empty request list should not touch the database")
+    void testCreateTasks_Empty() {
+        assertThat(reviewTaskService.createTasks(List.of())).isEmpty();
+
+        verifyNoInteractions(projectRepository, reviewTaskRepository, taskOutboxRepository);
+    }
+
+    private CreateReviewTaskRequest request(String commitHash, TaskType taskType) {
+        return CreateReviewTaskRequest.builder()
+                .projectId(1L)
+                .taskType(taskType)
+                .repoUrl("https://github.com/user/repo")
+                .branch("main")
+                .commitHash(commitHash)
+                .author("testuser")
+                .build();
     }
 }
@@ -0,0 +1,96 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.repository.TaskOutboxRepository;
+import com.aicodereview.repository.entity.TaskOutbox;
+import com.aicodereview.service.QueueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TaskOutboxRelayServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskOutboxRelayServiceImpl Unit Tests")
+class TaskOutboxRelayServiceImplTest {
+
+    @Mock
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Mock
+    private QueueService queueService;
+
+    @InjectMocks
+    private TaskOutboxRelayServiceImpl relayService;
+
+    private static TaskOutbox entry(long id, long taskId, TaskPriority priority, Instant createdAt) {
+        return TaskOutbox.builder().id(id).taskId(taskId).projectId(7L).priority(priority).taskCreatedAt(createdAt).build();
+    }
+
+    @Test
+    @DisplayName("relayBatch - publishes locked entries in one enqueueAll call, then deletes them")
+    @SuppressWarnings("unchecked")
+    void relayBatch_publishesThenDeletes() {
+        Instant t1 = Instant.parse("2026-01-01T00:00:00Z");
+        Instant t2 = Instant.parse("2026-01-01T00:00:01Z");
+        List<TaskOutbox> entries = List.of(
+                entry(1L, 100L, TaskPriority.NORMAL, t1),
+                entry(2L, 101L, TaskPriority.HIGH, t2));
+        when(taskOutboxRepository.findBatchForUpdate(PageRequest.of(0, 50))).thenReturn(entries);
+
+        int relayed = relayService.relayBatch(50);
+
+        assertThat(relayed).isEqualTo(2);
+        ArgumentCaptor<List<ReviewTaskDTO>> captor = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(queueService, taskOutboxRepository);
+        inOrder.verify(queueService).enqueueAll(captor.capture());
+        inOrder.verify(taskOutboxRepository).deleteAllInBatch(entries);
+
+        List<ReviewTaskDTO> published = captor.getValue();
+        assertThat(published).extracting(ReviewTaskDTO::getId).containsExactly(100L, 101L);
+        assertThat(published).extracting(ReviewTaskDTO::getProjectId).containsOnly(7L);
+        assertThat(published).extracting(ReviewTaskDTO::getPriority)
+                .containsExactly(TaskPriority.NORMAL, TaskPriority.HIGH);
+        assertThat(published).extracting(ReviewTaskDTO::getCreatedAt).containsExactly(t1, t2);
+    }
+
+    @Test
+    @DisplayName("relayBatch - empty outbox makes no Redis call")
+    void relayBatch_empty() {
+        when(taskOutboxRepository.findBatchForUpdate(any())).thenReturn(List.of());
+
+        assertThat(relayService.relayBatch(50)).isZero();
+
+        verifyNoInteractions(queueService);
+        verify(taskOutboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    @DisplayName("relayBatch - Redis failure keeps the entries for the next run")
+    void relayBatch_redisFailure_entriesKept() {
+        when(taskOutboxRepository.findBatchForUpdate(any()))
+                .thenReturn(List.of(entry(1L, 100L, TaskPriority.NORMAL, Instant.now())));
+        doThrow(new IllegalStateException("redis down")).when(queueService).enqueueAll(anyList());
+
+        assertThatThrownBy(() -> relayService.relayBatch(50)).isInstanceOf(IllegalStateException.class);
+
+        verify(taskOutboxRepository, never()).deleteAllInBatch(any());
+    }
+}
@@ -0,0 +1,74 @@
+package com.aicodereview.service.impl;
+
+import com.aicodereview.repository.ReviewTaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TaskPartitionServiceImpl}. The partition DDL itself is covered by the
+ * review task integration test.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskPartitionServiceImpl Unit Tests")
+class TaskPartitionServiceImplTest {
+
+    @Mock
+    private ReviewTaskRepository reviewTaskRepository;
+
+    @Test
+    @DisplayName("createUpcomingPartitions - should prepare the configured number of months ahead")
+    void testCreateUpcomingPartitions() {
+        when(reviewTaskRepository.ensurePartitions(3)).thenReturn(1);
+
+        assertThat(new TaskPartitionServiceImpl(reviewTaskRepository, 3, 6).createUpcomingPartitions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("retentionCutoff - should keep the current month and the previous retention months")
+    void testRetentionCutoff() {
+        TaskPartitionServiceImpl service = new TaskPartitionServiceImpl(reviewTaskRepository, 3, 6);
+
+        assertThat(service.retentionCutoff(YearMonth.of(2026, 3)))
+                .isEqualTo(Instant.parse("2025-09-01T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("archiveExpiredPartitions - should archive the months before the cutoff")
+    void testArchiveExpiredPartitions() {
+        when(reviewTaskRepository.archivePartitions(any(Instant.class))).thenReturn(2);
+
+        assertThat(new TaskPartitionServiceImpl(reviewTaskRepository, 3, 6).archiveExpiredPartitions()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("archiveExpiredPartitions - retention of 0 months should keep all history")
+    void testArchiveExpiredPartitions_Disabled() {
+        assertThat(new TaskPartitionServiceImpl(reviewTaskRepository, 3, 0).archiveExpiredPartitions()).isZero();
+
+        verify(reviewTaskRepository, never()).archivePartitions(any());
+    }
+
+    @Test
+    @DisplayName("Constructor - should reject invalid settings")
+    void testInvalidSettings() {
+        assertThatThrownBy(() -> new TaskPartitionServiceImpl(reviewTaskRepository, 0, 6))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("partition-months-ahead");
+        assertThatThrownBy(() -> new TaskPartitionServiceImpl(reviewTaskRepository, 3, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("retention-months");
+    }
+}
@@ -0,0 +1,20 @@
+package com.aicodereview.worker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} processing for the task outbox relay.
+ * <p>
+ * The relay must run wherever tasks are created, so unlike {@link WorkerSchedulingConfig} this
+ * is on by default and also applies to API-only nodes. Disabled with
+ * {@code aicodereview.queue.outbox.relay-enabled=false}.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "aicodereview.queue.outbox", name = "relay-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class OutboxRelaySchedulingConfig {
+}
@@ -0,0 +1,24 @@
+package com.aicodereview.worker.config;
+
+import com.aicodereview.repository.config.DataSourceWorkload;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the {@code @Scheduled} jobs (housekeeping and the task outbox relay) as
+ * {@link DataSourceWorkload#WORKER}.
+ * <p>
+ * With workload pools enabled their connections then come from the worker pool instead of the
+ * admin pool shared with API requests.
+ * </p>
+ */
+@Configuration
+public class SchedulerWorkloadConfig {
+
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer workerWorkloadSchedulerCustomizer() {
+        return scheduler -> scheduler.setThreadFactory(
+                runnable -> scheduler.newThread(DataSourceWorkload.WORKER.wrap(runnable)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.aicodereview.worker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping jobs on nodes that run the worker.
+ * <p>
+ * Enabled with {@code aicodereview.worker.enabled=true}, so API-only nodes run no worker housekeeping
+ * jobs (the task outbox relay is scheduled separately by {@link OutboxRelaySchedulingConfig}).
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class WorkerSchedulingConfig {
+}
@@ -0,0 +1,64 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.CodeContextStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes stored code contexts that no task refers to any more.
+ * <p>
+ * Contexts are shared between tasks by content hash, so a blob cannot be deleted together with a task;
+ * once its last task is gone (the project was deleted, or its archived month dropped), it stays behind.
+ * Every {@code aicodereview.worker.context-sweep-interval-ms} (hourly by default) this job deletes such
+ * blobs in batches of {@code context-sweep-batch-size}, checking references from both
+ * {@code review_task} and {@code review_task_archive}: archived months keep their foreign key to the blobs.
+ * </p>
+ * <p>
+ * Blobs stored within {@code aicodereview.task.context-orphan-grace-minutes} are kept, so a context is
+ * not deleted before the task that stored it commits.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class CodeContextBlobSweeper {
+
+    private final CodeContextStore codeContextStore;
+    private final int batchSize;
+
+    public CodeContextBlobSweeper(CodeContextStore codeContextStore,
+                                  @Value("${aicodereview.worker.context-sweep-batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "aicodereview.worker.context-sweep-batch-size must be >= 1, was " + batchSize);
+        }
+        this.codeContextStore = codeContextStore;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Deletes all current orphans, one batch at a time; a failure is logged and the rest is left for the next run.
+     *
+     * @return total number of blobs deleted in this run
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.worker.context-sweep-interval-ms:3600000}")
+    public int sweep() {
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = codeContextStore.deleteOrphanedBlobs(batchSize);
+                total += deleted;
+            } while (deleted == batchSize);
+        } catch (Exception e) {
+            log.error("Code context sweep failed after deleting {} blob(s)", total, e);
+        }
+        if (total > 0) {
+            log.info("Deleted {} orphaned code context blob(s)", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,52 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.ReviewTaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the leases of in-flight tasks alive while this node is still working on them.
+ * <p>
+ * Every {@code aicodereview.worker.lease-renew-interval-ms} the Redis lock of each task this node
+ * still owns is extended in one script call, then the matching DB leases are extended in one
+ * bulk UPDATE. A review that outlives the lock TTL is therefore never handed to a second worker,
+ * while a crashed node simply stops renewing and its tasks are picked up by {@link OrphanedTaskReaper}.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class LeaseHeartbeat {
+
+    private final QueueService queueService;
+    private final ReviewTaskService reviewTaskService;
+
+    public LeaseHeartbeat(QueueService queueService, ReviewTaskService reviewTaskService) {
+        this.queueService = queueService;
+        this.reviewTaskService = reviewTaskService;
+    }
+
+    /**
+     * Renews Redis and DB leases for all tasks this node holds.
+     *
+     * @return number of tasks whose lease was renewed
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.worker.lease-renew-interval-ms:60000}")
+    public int renew() {
+        try {
+            List<Long> held = queueService.renewLeases();
+            if (held.isEmpty()) {
+                return 0;
+            }
+            return reviewTaskService.renewLeases(held);
+        } catch (Exception e) {
+            log.error("Lease heartbeat failed, in-flight tasks may be reclaimed if this persists", e);
+            return 0;
+        }
+    }
+}
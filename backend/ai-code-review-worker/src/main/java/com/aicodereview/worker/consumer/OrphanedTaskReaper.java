@@ -0,0 +1,83 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.ReviewTaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Re-queues RUNNING tasks whose worker lease has expired.
+ * <p>
+ * A worker that crashes or loses its node stops renewing leases (see {@link LeaseHeartbeat}),
+ * leaving its tasks RUNNING in the database. Every {@code aicodereview.worker.reaper-interval-ms}
+ * this job reclaims them in batches of {@code reaper-batch-size}: each reclaim counts as a retry,
+ * PENDING tasks are enqueued again and tasks out of retries are left FAILED.
+ * </p>
+ * <p>
+ * Rows are claimed with {@code SKIP LOCKED}, so reapers on several nodes do not collide.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class OrphanedTaskReaper {
+
+    private final ReviewTaskService reviewTaskService;
+    private final QueueService queueService;
+    private final int batchSize;
+
+    public OrphanedTaskReaper(ReviewTaskService reviewTaskService,
+                              QueueService queueService,
+                              @Value("${aicodereview.worker.reaper-batch-size:100}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("aicodereview.worker.reaper-batch-size must be >= 1, was " + batchSize);
+        }
+        this.reviewTaskService = reviewTaskService;
+        this.queueService = queueService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reclaims all currently orphaned tasks, one batch at a time.
+     *
+     * @return total number of tasks reclaimed in this run
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.worker.reaper-interval-ms:60000}")
+    public int reap() {
+        int total = 0;
+        try {
+            List<ReviewTaskDTO> reclaimed;
+            do {
+                reclaimed = reviewTaskService.reclaimExpiredLeases(batchSize);
+                reclaimed.forEach(this::requeue);
+                total += reclaimed.size();
+            } while (reclaimed.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Orphaned task reaper failed after reclaiming {} task(s)", total, e);
+        }
+        if (total > 0) {
+            log.warn("Reclaimed {} orphaned task(s) with expired leases", total);
+        }
+        return total;
+    }
+
+    private void requeue(ReviewTaskDTO task) {
+        try {
+            if (task.getStatus() == TaskStatus.PENDING) {
+                queueService.enqueue(task.getId(), task.getPriority(), task.getProjectId());
+            } else {
+                queueService.releaseLock(task.getId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to re-queue reclaimed task {}. Task is PENDING in DB but not queued.",
+                    task.getId(), e);
+        }
+    }
+}
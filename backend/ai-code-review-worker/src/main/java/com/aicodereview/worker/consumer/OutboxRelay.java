@@ -0,0 +1,58 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.TaskOutboxRelayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes newly created tasks from the task outbox to the Redis queue.
+ * <p>
+ * Runs every {@code aicodereview.queue.outbox.relay-interval-ms} and relays in batches of
+ * {@code relay-batch-size} until the outbox is drained. Enabled by default on every node
+ * (including API-only nodes, which is where tasks are created); set
+ * {@code aicodereview.queue.outbox.relay-enabled=false} to run it only on selected nodes.
+ * Batches are locked with SKIP LOCKED, so several nodes can relay concurrently.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.queue.outbox", name = "relay-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class OutboxRelay {
+
+    private final TaskOutboxRelayService relayService;
+    private final int batchSize;
+
+    public OutboxRelay(TaskOutboxRelayService relayService,
+                       @Value("${aicodereview.queue.outbox.relay-batch-size:100}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "aicodereview.queue.outbox.relay-batch-size must be >= 1, was " + batchSize);
+        }
+        this.relayService = relayService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Relays all currently committed outbox entries, one batch at a time.
+     *
+     * @return total number of tasks published in this run
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.queue.outbox.relay-interval-ms:200}")
+    public int relay() {
+        int total = 0;
+        try {
+            int relayed;
+            do {
+                relayed = relayService.relayBatch(batchSize);
+                total += relayed;
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to relay task outbox after publishing {} task(s)", total, e);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,60 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.common.dto.reviewtask.QueueReconciliationResult;
+import com.aicodereview.service.QueueReconciliationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically re-enqueues PENDING tasks that never made it into Redis.
+ * <p>
+ * Runs {@link QueueReconciliationService#reconcile()} every
+ * {@code aicodereview.worker.reconcile-interval-ms} and exposes the drift it finds:
+ * - {@code queue_reconcile_tasks_scanned_total}: PENDING tasks compared against Redis
+ * - {@code queue_reconcile_drift_detected_total}: PENDING tasks missing from Redis
+ * - {@code queue_reconcile_drift_repaired_total}: missing tasks re-enqueued
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class QueueReconciler {
+
+    private final QueueReconciliationService reconciliationService;
+    private final Counter scanned;
+    private final Counter driftDetected;
+    private final Counter driftRepaired;
+
+    public QueueReconciler(QueueReconciliationService reconciliationService, MeterRegistry meterRegistry) {
+        this.reconciliationService = reconciliationService;
+        this.scanned = Counter.builder("queue_reconcile_tasks_scanned_total")
+                .description("PENDING tasks compared against the Redis queue")
+                .register(meterRegistry);
+        this.driftDetected = Counter.builder("queue_reconcile_drift_detected_total")
+                .description("PENDING tasks found missing from the Redis queue")
+                .register(meterRegistry);
+        this.driftRepaired = Counter.builder("queue_reconcile_drift_repaired_total")
+                .description("Missing PENDING tasks re-enqueued by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs one reconciliation pass and records its counts.
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.worker.reconcile-interval-ms:300000}",
+            initialDelayString = "${aicodereview.worker.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            QueueReconciliationResult result = reconciliationService.reconcile();
+            scanned.increment(result.getScanned());
+            driftDetected.increment(result.getDriftDetected());
+            driftRepaired.increment(result.getDriftRepaired());
+        } catch (Exception e) {
+            log.error("Queue reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.QueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves delayed retries whose backoff has elapsed from the retry queue into the task queue.
+ * <p>
+ * Runs every {@code aicodereview.worker.retry-promote-interval-ms} and promotes in batches of
+ * {@code retry-promote-batch-size} until no due tasks remain. Each batch is a single atomic
+ * script call, so several worker nodes can run the promoter concurrently without double-enqueueing.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class RetryPromoter {
+
+    private final QueueService queueService;
+    private final int batchSize;
+
+    public RetryPromoter(QueueService queueService,
+                         @Value("${aicodereview.worker.retry-promote-batch-size:100}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "aicodereview.worker.retry-promote-batch-size must be >= 1, was " + batchSize);
+        }
+        this.queueService = queueService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Promotes all currently due retries, one batch at a time.
+     *
+     * @return total number of tasks promoted in this run
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.worker.retry-promote-interval-ms:1000}")
+    public int promoteDueRetries() {
+        int total = 0;
+        try {
+            int promoted;
+            do {
+                promoted = queueService.promoteDueRetries(batchSize);
+                total += promoted;
+            } while (promoted == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to promote due retries after moving {} task(s)", total, e);
+        }
+        return total;
+    }
+}
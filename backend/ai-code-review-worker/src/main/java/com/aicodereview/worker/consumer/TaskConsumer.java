@@ -0,0 +1,228 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.repository.config.DataSourceWorkload;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.WorkerIdentity;
+import com.aicodereview.worker.metrics.WorkerMetrics;
+import com.aicodereview.worker.processor.ProcessingOutcome;
+import com.aicodereview.worker.processor.ReviewTaskProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the review task queue and runs each task on a bounded worker pool.
+ * <p>
+ * A single dispatcher thread takes every free concurrency permit, claims that many tasks
+ * with one {@link QueueService#dequeueBatch} call and hands them to the pool. Permits are
+ * only returned when a task finishes, so at most {@code aicodereview.worker.concurrency}
+ * tasks are ever in flight and the worker never pops work it cannot start immediately.
+ * When the queue is empty the dispatcher parks inside the blocking pop for up to
+ * {@code poll-interval-ms} rather than sleeping and re-polling.
+ * </p>
+ * <p>
+ * Shutdown drains gracefully: the dispatcher is interrupted out of its blocking pop, then
+ * in-flight tasks get up to {@code shutdown-timeout-seconds} to finish before the pool is
+ * interrupted. Tasks cut off by the timeout stay RUNNING and keep their lock until it expires.
+ * Claimed tasks the pool no longer accepts are given back to the queue.
+ * </p>
+ * <p>
+ * The worker id is the node's {@link WorkerIdentity}, the same id the queue backend records as
+ * the owner of this worker's locks.
+ * </p>
+ * <p>
+ * Dispatcher and pool threads run as {@link DataSourceWorkload#WORKER}, so with workload pools enabled
+ * long processing transactions use the worker connection pool.
+ * </p>
+ * <p>
+ * Enabled with {@code aicodereview.worker.enabled=true}.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class TaskConsumer implements SmartLifecycle {
+
+    private final QueueService queueService;
+    private final ReviewTaskProcessor processor;
+    private final WorkerMetrics metrics;
+    private final String workerId;
+    private final int concurrency;
+    private final long pollIntervalMillis;
+    private final long shutdownTimeoutSeconds;
+    private final Semaphore permits;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+    private Thread dispatcher;
+
+    public TaskConsumer(QueueService queueService,
+                        ReviewTaskProcessor processor,
+                        MeterRegistry meterRegistry,
+                        WorkerIdentity workerIdentity,
+                        @Value("${aicodereview.worker.concurrency:16}") int concurrency,
+                        @Value("${aicodereview.worker.poll-interval-ms:1000}") long pollIntervalMillis,
+                        @Value("${aicodereview.worker.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("aicodereview.worker.concurrency must be >= 1, was " + concurrency);
+        }
+        this.queueService = queueService;
+        this.processor = processor;
+        this.workerId = workerIdentity.getId();
+        this.concurrency = concurrency;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.permits = new Semaphore(concurrency);
+        this.metrics = new WorkerMetrics(meterRegistry, workerId, concurrency);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        executor = Executors.newFixedThreadPool(concurrency, namedThreadFactory("review-worker-"));
+        running = true;
+        dispatcher = new Thread(DataSourceWorkload.WORKER.wrap(this::dispatchLoop), "review-dispatcher");
+        dispatcher.start();
+        log.info("Worker {} started (concurrency: {}, poll interval: {}ms)",
+                workerId, concurrency, pollIntervalMillis);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        log.info("Worker {} stopping, draining {} in-flight task(s)", workerId, metrics.getInFlight());
+
+        try {
+            // The blocking pop parks on a signal list that carries no task, so cutting it short loses nothing;
+            // the rare claim interrupted mid-call is recovered once its locks expire
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+            executor.shutdown();
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Worker {} drain timed out after {}s with {} task(s) in flight, interrupting",
+                        workerId, shutdownTimeoutSeconds, metrics.getInFlight());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        log.info("Worker {} stopped", workerId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void dispatchLoop() {
+        Duration wait = Duration.ofMillis(pollIntervalMillis);
+        while (running) {
+            try {
+                if (!permits.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // Claim as many tasks as there are free slots in one batch
+            int batchSize = 1 + permits.drainPermits();
+            int dispatched = 0;
+            try {
+                List<Long> taskIds = queueService.dequeueBatch(batchSize, wait);
+                for (Long taskId : taskIds) {
+                    if (!submit(taskId)) {
+                        giveBack(taskId);
+                        continue;
+                    }
+                    dispatched++;
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("Worker {} failed to dequeue, backing off for {}ms", workerId, pollIntervalMillis, e);
+                idle();
+            } finally {
+                permits.release(batchSize - dispatched);
+            }
+        }
+        log.debug("Worker {} dispatcher exited", workerId);
+    }
+
+    private boolean submit(Long taskId) {
+        try {
+            executor.execute(() -> runTask(taskId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Worker {} pool rejected task {}, giving it back to the queue", workerId, taskId);
+            return false;
+        }
+    }
+
+    private void giveBack(Long taskId) {
+        // A pending interrupt from stop() would fail the lookups, so hold it back meanwhile
+        boolean interrupted = Thread.interrupted();
+        try {
+            processor.giveBack(taskId);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runTask(Long taskId) {
+        long start = metrics.taskStarted();
+        ProcessingOutcome outcome = ProcessingOutcome.FAILED;
+        try {
+            outcome = processor.process(taskId);
+        } catch (Exception e) {
+            log.error("Unhandled error processing task {}", taskId, e);
+        } finally {
+            metrics.taskFinished(start, outcome);
+            permits.release();
+        }
+    }
+
+    private void idle() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    String getWorkerId() {
+        return workerId;
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(DataSourceWorkload.WORKER.wrap(runnable), prefix + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.TaskPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly {@code review_task} partitions ahead of time and archives expired months.
+ * <p>
+ * Runs at startup and then every {@code aicodereview.worker.partition-maintenance-interval-ms}
+ * (hourly by default): partitions are created {@code aicodereview.task.partition-months-ahead}
+ * months ahead, so a missed run only matters after months of downtime, and even then new tasks
+ * land in the default partition rather than failing. Months older than
+ * {@code aicodereview.task.retention-months} are moved to {@code review_task_archive}.
+ * </p>
+ * <p>
+ * The database functions take an advisory lock, so worker nodes running this job concurrently
+ * take turns.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aicodereview.worker", name = "enabled", havingValue = "true")
+public class TaskPartitionMaintainer {
+
+    private final TaskPartitionService partitionService;
+
+    public TaskPartitionMaintainer(TaskPartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    /**
+     * Creates upcoming partitions, then archives expired ones; a failure of either is logged and
+     * retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${aicodereview.worker.partition-maintenance-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            partitionService.createUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("Failed to create upcoming review_task partitions", e);
+        }
+        try {
+            partitionService.archiveExpiredPartitions();
+        } catch (Exception e) {
+            log.error("Failed to archive expired review_task partitions", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aicodereview.worker.metrics;
+
+import com.aicodereview.worker.processor.ProcessingOutcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and latency metrics for one worker instance.
+ * <p>
+ * All meters carry a {@code worker} tag so dashboards can break down per JVM:
+ * - {@code worker_tasks_processed_total{outcome}}: tasks finished, by outcome
+ * - {@code worker_task_duration_seconds}: wall time per task
+ * - {@code worker_tasks_in_flight}: tasks currently executing
+ * - {@code worker_concurrency_limit}: configured concurrency cap
+ * </p>
+ */
+public class WorkerMetrics {
+
+    private final Map<ProcessingOutcome, Counter> outcomeCounters = new EnumMap<>(ProcessingOutcome.class);
+    private final Timer taskTimer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public WorkerMetrics(MeterRegistry meterRegistry, String workerId, int concurrencyLimit) {
+        for (ProcessingOutcome outcome : ProcessingOutcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("worker_tasks_processed_total")
+                    .description("Review tasks processed by this worker")
+                    .tag("worker", workerId)
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+        this.taskTimer = Timer.builder("worker_task_duration_seconds")
+                .description("Wall time spent processing a review task")
+                .tag("worker", workerId)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("worker_tasks_in_flight", inFlight, AtomicInteger::get)
+                .description("Review tasks currently executing on this worker")
+                .tag("worker", workerId)
+                .register(meterRegistry);
+        Gauge.builder("worker_concurrency_limit", () -> concurrencyLimit)
+                .description("Configured maximum concurrent review tasks")
+                .tag("worker", workerId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks a task as started and returns the start time to pass to {@link #taskFinished}.
+     */
+    public long taskStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the outcome and latency of a task started with {@link #taskStarted}.
+     */
+    public void taskFinished(long startNanos, ProcessingOutcome outcome) {
+        inFlight.decrementAndGet();
+        taskTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        outcomeCounters.get(outcome).increment();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
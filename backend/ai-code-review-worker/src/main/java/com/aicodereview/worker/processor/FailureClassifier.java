@@ -0,0 +1,72 @@
+package com.aicodereview.worker.processor;
+
+import com.aicodereview.common.enums.FailureType;
+import com.aicodereview.common.exception.GitApiException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Maps exceptions raised while processing a review task to a {@link FailureType}.
+ * <p>
+ * The cause chain is walked from the outermost exception inwards and the first
+ * recognised exception decides the classification:
+ * - GitApiException 401/403 → AUTHENTICATION_ERROR, 429 → RATE_LIMIT,
+ *   400/404/422 → VALIDATION_ERROR
+ * - Timeouts → TIMEOUT, other I/O failures → NETWORK_ERROR
+ * - IllegalArgumentException → VALIDATION_ERROR
+ * - Anything else → UNKNOWN (retryable)
+ * </p>
+ */
+public final class FailureClassifier {
+
+    private FailureClassifier() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Classifies a processing error.
+     *
+     * @param error the error thrown by the processing pipeline
+     * @return the failure type driving the retry decision (never null)
+     */
+    public static FailureType classify(Throwable error) {
+        Throwable current = error;
+        while (current != null) {
+            FailureType type = classifySingle(current);
+            if (type != null) {
+                return type;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return FailureType.UNKNOWN;
+    }
+
+    private static FailureType classifySingle(Throwable error) {
+        if (error instanceof GitApiException gitError) {
+            return switch (gitError.getStatusCode()) {
+                case 401, 403 -> FailureType.AUTHENTICATION_ERROR;
+                case 429 -> FailureType.RATE_LIMIT;
+                case 400, 404, 422 -> FailureType.VALIDATION_ERROR;
+                default -> null;
+            };
+        }
+        if (error instanceof HttpTimeoutException
+                || error instanceof SocketTimeoutException
+                || error instanceof TimeoutException) {
+            return FailureType.TIMEOUT;
+        }
+        if (error instanceof IOException) {
+            return FailureType.NETWORK_ERROR;
+        }
+        if (error instanceof IllegalArgumentException) {
+            return FailureType.VALIDATION_ERROR;
+        }
+        return null;
+    }
+}
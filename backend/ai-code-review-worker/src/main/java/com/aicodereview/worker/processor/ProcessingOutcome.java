@@ -0,0 +1,22 @@
+package com.aicodereview.worker.processor;
+
+/**
+ * Result of a single {@link ReviewTaskProcessor#process(Long)} invocation.
+ */
+public enum ProcessingOutcome {
+
+    /**
+     * Task ran to completion and was marked COMPLETED.
+     */
+    COMPLETED,
+
+    /**
+     * Task failed and was handed to RetryService (requeued or permanently failed).
+     */
+    FAILED,
+
+    /**
+     * Task was not runnable (deleted, or no longer PENDING) and was dropped.
+     */
+    SKIPPED
+}
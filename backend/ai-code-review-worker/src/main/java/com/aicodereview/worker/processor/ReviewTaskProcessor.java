@@ -0,0 +1,123 @@
+package com.aicodereview.worker.processor;
+
+import com.aicodereview.common.dto.reviewtask.CodeContext;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.FailureType;
+import com.aicodereview.common.exception.ResourceNotFoundException;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.RetryService;
+import com.aicodereview.service.ReviewContextAssembler;
+import com.aicodereview.service.ReviewTaskService;
+import com.aicodereview.service.mapper.ReviewTaskMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Orchestrates the review workflow for a single dequeued task.
+ * <p>
+ * Processing flow:
+ * 1. {@code markTaskStarted} (PENDING → RUNNING)
+ * 2. {@code assembleContext} and store the serialized CodeContext
+ * 3. {@code markTaskCompleted} and release the queue lock
+ * </p>
+ * <p>
+ * Any failure after the task is started is classified by {@link FailureClassifier}
+ * and handed to {@link RetryService}, which owns requeue and lock release.
+ * Tasks that cannot be started (deleted, or no longer PENDING) are dropped
+ * and their lock released so the id is not stuck.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ReviewTaskProcessor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ReviewTaskService reviewTaskService;
+    private final ReviewContextAssembler contextAssembler;
+    private final RetryService retryService;
+    private final QueueService queueService;
+
+    public ReviewTaskProcessor(ReviewTaskService reviewTaskService,
+                               ReviewContextAssembler contextAssembler,
+                               RetryService retryService,
+                               QueueService queueService) {
+        this.reviewTaskService = reviewTaskService;
+        this.contextAssembler = contextAssembler;
+        this.retryService = retryService;
+        this.queueService = queueService;
+    }
+
+    /**
+     * Processes a task that has been dequeued (and locked) by the caller.
+     *
+     * @param taskId the dequeued task ID
+     * @return the processing outcome
+     */
+    public ProcessingOutcome process(Long taskId) {
+        ReviewTaskDTO task;
+        try {
+            task = reviewTaskService.markTaskStarted(taskId);
+        } catch (ResourceNotFoundException e) {
+            log.warn("Task {} no longer exists, dropping queue entry", taskId);
+            releaseLockQuietly(taskId);
+            return ProcessingOutcome.SKIPPED;
+        } catch (IllegalStateException e) {
+            log.warn("Task {} is not runnable, dropping queue entry: {}", taskId, e.getMessage());
+            releaseLockQuietly(taskId);
+            return ProcessingOutcome.SKIPPED;
+        }
+
+        try {
+            CodeContext context = contextAssembler.assembleContext(ReviewTaskMapper.toEntity(task));
+            reviewTaskService.saveCodeContext(taskId, task.getCreatedAt(), OBJECT_MAPPER.writeValueAsString(context));
+            reviewTaskService.markTaskCompleted(taskId, task.getCreatedAt());
+            releaseLockQuietly(taskId);
+            return ProcessingOutcome.COMPLETED;
+        } catch (Exception e) {
+            FailureType failureType = FailureClassifier.classify(e);
+            log.error("Task {} failed ({}): {}", taskId, failureType, e.getMessage(), e);
+            try {
+                retryService.handleTaskFailure(taskId, task.getCreatedAt(), describe(e), failureType);
+            } catch (Exception retryError) {
+                log.error("Failed to record failure for task {}. Task may remain RUNNING until reclaimed.",
+                        taskId, retryError);
+            }
+            return ProcessingOutcome.FAILED;
+        }
+    }
+
+    /**
+     * Gives back a task that was dequeued (and locked) by the caller but will not be processed.
+     * <p>
+     * Failures are logged, not thrown: the task is then recovered once its lock or lease expires.
+     * </p>
+     *
+     * @param taskId the dequeued task ID
+     */
+    public void giveBack(Long taskId) {
+        try {
+            ReviewTaskDTO task = reviewTaskService.getTaskById(taskId);
+            queueService.releaseClaim(taskId, task.getPriority(), task.getProjectId());
+        } catch (ResourceNotFoundException e) {
+            log.warn("Task {} no longer exists, dropping queue entry", taskId);
+            releaseLockQuietly(taskId);
+        } catch (Exception e) {
+            log.error("Failed to give back task {}; it is recovered once its lock expires", taskId, e);
+        }
+    }
+
+    private void releaseLockQuietly(Long taskId) {
+        try {
+            queueService.releaseLock(taskId);
+        } catch (Exception e) {
+            log.error("Failed to release lock for task {}", taskId, e);
+        }
+    }
+
+    private String describe(Exception e) {
+        String message = e.getMessage();
+        return message != null ? message : e.getClass().getSimpleName();
+    }
+}
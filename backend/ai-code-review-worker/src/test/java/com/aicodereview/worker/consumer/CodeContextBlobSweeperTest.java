@@ -0,0 +1,53 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.CodeContextStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CodeContextBlobSweeper}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CodeContextBlobSweeper Unit Tests")
+class CodeContextBlobSweeperTest {
+
+    @Mock
+    private CodeContextStore codeContextStore;
+
+    @Test
+    @DisplayName("Full batches keep deleting until a partial batch")
+    void sweep_drainsInBatches() {
+        when(codeContextStore.deleteOrphanedBlobs(2)).thenReturn(2, 2, 1);
+
+        int deleted = new CodeContextBlobSweeper(codeContextStore, 2).sweep();
+
+        assertThat(deleted).isEqualTo(5);
+        verify(codeContextStore, times(3)).deleteOrphanedBlobs(2);
+    }
+
+    @Test
+    @DisplayName("A failed batch ends the run without throwing")
+    void sweep_failureSwallowed() {
+        when(codeContextStore.deleteOrphanedBlobs(2)).thenReturn(2).thenThrow(new IllegalStateException("db down"));
+
+        int deleted = new CodeContextBlobSweeper(codeContextStore, 2).sweep();
+
+        assertThat(deleted).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Batch size must be positive")
+    void constructor_rejectsInvalidBatchSize() {
+        assertThatThrownBy(() -> new CodeContextBlobSweeper(codeContextStore, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
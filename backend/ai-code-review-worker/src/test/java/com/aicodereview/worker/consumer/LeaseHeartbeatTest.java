@@ -0,0 +1,61 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.ReviewTaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LeaseHeartbeat}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaseHeartbeat Unit Tests")
+class LeaseHeartbeatTest {
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private ReviewTaskService reviewTaskService;
+
+    @InjectMocks
+    private LeaseHeartbeat heartbeat;
+
+    @Test
+    @DisplayName("Tasks still held in Redis get their DB lease renewed")
+    void renew_extendsDbLeasesForHeldTasks() {
+        when(queueService.renewLeases()).thenReturn(List.of(1L, 2L));
+        when(reviewTaskService.renewLeases(List.of(1L, 2L))).thenReturn(2);
+
+        assertThat(heartbeat.renew()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Nothing in flight: no DB write")
+    void renew_nothingHeld_skipsDb() {
+        when(queueService.renewLeases()).thenReturn(List.of());
+
+        assertThat(heartbeat.renew()).isZero();
+        verify(reviewTaskService, never()).renewLeases(any());
+    }
+
+    @Test
+    @DisplayName("Redis failure is logged, not propagated to the scheduler")
+    void renew_redisFailure_swallowed() {
+        when(queueService.renewLeases()).thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(heartbeat.renew()).isZero();
+    }
+}
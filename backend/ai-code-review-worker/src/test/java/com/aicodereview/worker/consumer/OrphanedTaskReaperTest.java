@@ -0,0 +1,95 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.ReviewTaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrphanedTaskReaper}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrphanedTaskReaper Unit Tests")
+class OrphanedTaskReaperTest {
+
+    private static final Long PROJECT_ID = 7L;
+
+    @Mock
+    private ReviewTaskService reviewTaskService;
+
+    @Mock
+    private QueueService queueService;
+
+    @Test
+    @DisplayName("PENDING tasks are re-enqueued with their priority and project, FAILED ones only unlocked")
+    void reap_requeuesPendingAndReleasesFailed() {
+        when(reviewTaskService.reclaimExpiredLeases(10)).thenReturn(List.of(
+                task(1L, TaskStatus.PENDING, TaskPriority.HIGH),
+                task(2L, TaskStatus.FAILED, TaskPriority.NORMAL)));
+
+        int reclaimed = new OrphanedTaskReaper(reviewTaskService, queueService, 10).reap();
+
+        assertThat(reclaimed).isEqualTo(2);
+        verify(queueService).enqueue(1L, TaskPriority.HIGH, PROJECT_ID);
+        verify(queueService, never()).enqueue(eq(2L), any(), any());
+        verify(queueService).releaseLock(2L);
+    }
+
+    @Test
+    @DisplayName("Full batches keep reclaiming until a partial batch")
+    void reap_drainsInBatches() {
+        when(reviewTaskService.reclaimExpiredLeases(2)).thenReturn(
+                List.of(task(1L, TaskStatus.PENDING, TaskPriority.HIGH), task(2L, TaskStatus.PENDING, TaskPriority.HIGH)),
+                List.of(task(3L, TaskStatus.PENDING, TaskPriority.NORMAL)));
+
+        int reclaimed = new OrphanedTaskReaper(reviewTaskService, queueService, 2).reap();
+
+        assertThat(reclaimed).isEqualTo(3);
+        verify(reviewTaskService, times(2)).reclaimExpiredLeases(2);
+        verify(queueService, times(3)).enqueue(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Enqueue failure for one task does not stop the batch")
+    void reap_enqueueFailure_continues() {
+        when(reviewTaskService.reclaimExpiredLeases(10)).thenReturn(List.of(
+                task(1L, TaskStatus.PENDING, TaskPriority.HIGH),
+                task(2L, TaskStatus.PENDING, TaskPriority.HIGH)));
+        doThrow(new IllegalStateException("redis down")).when(queueService).enqueue(1L, TaskPriority.HIGH, PROJECT_ID);
+
+        int reclaimed = new OrphanedTaskReaper(reviewTaskService, queueService, 10).reap();
+
+        assertThat(reclaimed).isEqualTo(2);
+        verify(queueService).enqueue(2L, TaskPriority.HIGH, PROJECT_ID);
+    }
+
+    @Test
+    @DisplayName("Batch size below 1 is rejected")
+    void constructor_invalidBatchSize_throws() {
+        assertThatThrownBy(() -> new OrphanedTaskReaper(reviewTaskService, queueService, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ReviewTaskDTO task(Long id, TaskStatus status, TaskPriority priority) {
+        return ReviewTaskDTO.builder().id(id).projectId(PROJECT_ID).status(status).priority(priority).build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.TaskOutboxRelayService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OutboxRelay}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private TaskOutboxRelayService relayService;
+
+    @Test
+    @DisplayName("Full batches keep relaying until a partial batch drains the outbox")
+    void relay_drainsInBatches() {
+        when(relayService.relayBatch(10)).thenReturn(10, 10, 4);
+
+        int relayed = new OutboxRelay(relayService, 10).relay();
+
+        assertThat(relayed).isEqualTo(24);
+        verify(relayService, times(3)).relayBatch(10);
+    }
+
+    @Test
+    @DisplayName("Failure is logged, not propagated to the scheduler")
+    void relay_failure_swallowed() {
+        when(relayService.relayBatch(10)).thenReturn(10).thenThrow(new IllegalStateException("redis down"));
+
+        int relayed = new OutboxRelay(relayService, 10).relay();
+
+        assertThat(relayed).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Batch size below 1 is rejected")
+    void constructor_invalidBatchSize_throws() {
+        assertThatThrownBy(() -> new OutboxRelay(relayService, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.common.dto.reviewtask.QueueReconciliationResult;
+import com.aicodereview.service.QueueReconciliationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link QueueReconciler}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueueReconciler Unit Tests")
+class QueueReconcilerTest {
+
+    @Mock
+    private QueueReconciliationService reconciliationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueueReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new QueueReconciler(reconciliationService, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Drift counts accumulate across runs")
+    void reconcile_recordsDriftCounters() {
+        when(reconciliationService.reconcile())
+                .thenReturn(new QueueReconciliationResult(100, 3, 3))
+                .thenReturn(new QueueReconciliationResult(50, 1, 0));
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        assertThat(meterRegistry.get("queue_reconcile_tasks_scanned_total").counter().count()).isEqualTo(150.0);
+        assertThat(meterRegistry.get("queue_reconcile_drift_detected_total").counter().count()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("queue_reconcile_drift_repaired_total").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Failure is logged, not propagated to the scheduler")
+    void reconcile_failure_swallowed() {
+        when(reconciliationService.reconcile()).thenThrow(new IllegalStateException("redis down"));
+
+        reconciler.reconcile();
+
+        assertThat(meterRegistry.get("queue_reconcile_drift_detected_total").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,64 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.QueueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RetryPromoter}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetryPromoter Unit Tests")
+class RetryPromoterTest {
+
+    @Mock
+    private QueueService queueService;
+
+    @Test
+    @DisplayName("Full batches keep promoting until a partial batch drains the backlog")
+    void promote_drainsInBatches() {
+        when(queueService.promoteDueRetries(10)).thenReturn(10, 10, 3);
+
+        int promoted = new RetryPromoter(queueService, 10).promoteDueRetries();
+
+        assertThat(promoted).isEqualTo(23);
+        verify(queueService, times(3)).promoteDueRetries(10);
+    }
+
+    @Test
+    @DisplayName("Nothing due: a single call and no further batches")
+    void promote_nothingDue() {
+        when(queueService.promoteDueRetries(10)).thenReturn(0);
+
+        int promoted = new RetryPromoter(queueService, 10).promoteDueRetries();
+
+        assertThat(promoted).isZero();
+        verify(queueService, times(1)).promoteDueRetries(10);
+    }
+
+    @Test
+    @DisplayName("Redis failure is logged, not propagated to the scheduler")
+    void promote_redisFailure_swallowed() {
+        when(queueService.promoteDueRetries(10)).thenReturn(10).thenThrow(new IllegalStateException("redis down"));
+
+        int promoted = new RetryPromoter(queueService, 10).promoteDueRetries();
+
+        assertThat(promoted).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Batch size below 1 is rejected")
+    void constructor_invalidBatchSize_throws() {
+        assertThatThrownBy(() -> new RetryPromoter(queueService, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
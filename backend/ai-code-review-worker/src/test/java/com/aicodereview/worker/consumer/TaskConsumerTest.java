@@ -0,0 +1,243 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.WorkerIdentity;
+import com.aicodereview.worker.processor.ProcessingOutcome;
+import com.aicodereview.worker.processor.ReviewTaskProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TaskConsumer} dispatching, concurrency cap and graceful drain.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TaskConsumer Unit Tests")
+class TaskConsumerTest {
+
+    private static final WorkerIdentity WORKER = new WorkerIdentity("worker-test");
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private ReviewTaskProcessor processor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Dequeued tasks are processed and counted by outcome")
+    void start_processesDequeuedTasks() throws Exception {
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(batchOf(3));
+        CountDownLatch processed = new CountDownLatch(3);
+        when(processor.process(anyLong())).thenAnswer(inv -> {
+            processed.countDown();
+            return ProcessingOutcome.COMPLETED;
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 4, 10, 5);
+        consumer.start();
+
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+        consumer.stop();
+        assertThat(meterRegistry.get("worker_tasks_processed_total")
+                .tag("outcome", "COMPLETED").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("worker_task_duration_seconds").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("In-flight tasks never exceed the concurrency cap")
+    void start_respectsConcurrencyCap() throws Exception {
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(batchOf(20));
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch processed = new CountDownLatch(20);
+        when(processor.process(anyLong())).thenAnswer(inv -> {
+            int now = current.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            Thread.sleep(20);
+            current.decrementAndGet();
+            processed.countDown();
+            return ProcessingOutcome.COMPLETED;
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 3, 10, 5);
+        consumer.start();
+
+        assertThat(processed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("stop() waits for in-flight tasks to finish")
+    void stop_drainsInFlightTasks() throws Exception {
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(batchOf(1));
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger finished = new AtomicInteger();
+        when(processor.process(anyLong())).thenAnswer(inv -> {
+            started.countDown();
+            Thread.sleep(200);
+            finished.incrementAndGet();
+            return ProcessingOutcome.COMPLETED;
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 2, 10, 5);
+        consumer.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        consumer.stop();
+
+        assertThat(finished.get()).isEqualTo(1);
+        assertThat(consumer.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("stop() interrupts a dispatcher parked in the blocking pop")
+    void stop_interruptsBlockedDispatcher() throws Exception {
+        CountDownLatch parked = new CountDownLatch(1);
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(inv -> {
+            parked.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return List.of();
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 2, 60_000, 5);
+        consumer.start();
+        assertThat(parked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        consumer.stop();
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(2);
+        assertThat(consumer.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Tasks claimed after the pool shut down are given back to the queue")
+    void dispatch_rejectedTasksAreGivenBack() throws Exception {
+        AtomicBoolean stopped = new AtomicBoolean();
+        CountDownLatch polled = new CountDownLatch(1);
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(inv -> {
+            polled.countDown();
+            // A pop that ignores the interrupt and returns only once the pool is gone
+            while (!stopped.get()) {
+                Thread.interrupted();
+                Thread.onSpinWait();
+            }
+            return List.of(7L, 8L);
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 2, 10, 1);
+        consumer.start();
+        assertThat(polled.await(5, TimeUnit.SECONDS)).isTrue();
+        consumer.stop();
+        stopped.set(true);
+
+        verify(processor, timeout(5000)).giveBack(7L);
+        verify(processor, timeout(5000)).giveBack(8L);
+        verify(processor, never()).process(anyLong());
+    }
+
+    @Test
+    @DisplayName("Dequeue errors back off instead of killing the dispatcher")
+    void dequeueError_dispatcherSurvives() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch processed = new CountDownLatch(1);
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(inv -> {
+            int call = calls.incrementAndGet();
+            if (call == 1) {
+                throw new IllegalStateException("redis down");
+            }
+            return call == 2 ? List.of(42L) : List.of();
+        });
+        when(processor.process(42L)).thenAnswer(inv -> {
+            processed.countDown();
+            return ProcessingOutcome.COMPLETED;
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 1, 10, 5);
+        consumer.start();
+
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Batch size requested matches the free concurrency slots")
+    void dispatch_requestsBatchOfFreeSlots() throws Exception {
+        CountDownLatch polled = new CountDownLatch(1);
+        AtomicInteger firstBatchSize = new AtomicInteger();
+        when(queueService.dequeueBatch(anyInt(), any())).thenAnswer(inv -> {
+            firstBatchSize.compareAndSet(0, inv.getArgument(0));
+            polled.countDown();
+            return List.of();
+        });
+
+        consumer = new TaskConsumer(queueService, processor, meterRegistry, WORKER, 8, 10, 5);
+        consumer.start();
+
+        assertThat(polled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(firstBatchSize.get()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Concurrency below 1 is rejected")
+    void constructor_invalidConcurrency_throws() {
+        assertThatThrownBy(() -> new TaskConsumer(queueService, processor, meterRegistry, WORKER, 0, 10, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Answers dequeueBatch with sequential ids 1..total, honouring the requested batch size.
+     */
+    private static Answer<List<Long>> batchOf(long total) {
+        AtomicLong nextId = new AtomicLong(1);
+        return inv -> {
+            int max = inv.getArgument(0);
+            List<Long> batch = new ArrayList<>();
+            while (batch.size() < max && nextId.get() <= total) {
+                batch.add(nextId.getAndIncrement());
+            }
+            return batch;
+        };
+    }
+}
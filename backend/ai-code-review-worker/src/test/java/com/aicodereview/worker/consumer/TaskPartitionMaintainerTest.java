@@ -0,0 +1,41 @@
+package com.aicodereview.worker.consumer;
+
+import com.aicodereview.service.TaskPartitionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TaskPartitionMaintainer}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskPartitionMaintainer Unit Tests")
+class TaskPartitionMaintainerTest {
+
+    @Mock
+    private TaskPartitionService partitionService;
+
+    @Test
+    @DisplayName("Creates upcoming partitions and archives expired ones")
+    void maintain_createsAndArchives() {
+        new TaskPartitionMaintainer(partitionService).maintain();
+
+        verify(partitionService).createUpcomingPartitions();
+        verify(partitionService).archiveExpiredPartitions();
+    }
+
+    @Test
+    @DisplayName("A failed partition creation does not prevent archiving")
+    void maintain_archivesAfterCreateFailure() {
+        when(partitionService.createUpcomingPartitions()).thenThrow(new IllegalStateException("db down"));
+
+        new TaskPartitionMaintainer(partitionService).maintain();
+
+        verify(partitionService).archiveExpiredPartitions();
+    }
+}
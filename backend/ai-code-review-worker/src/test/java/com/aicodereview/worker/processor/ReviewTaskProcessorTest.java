@@ -0,0 +1,269 @@
+package com.aicodereview.worker.processor;
+
+import com.aicodereview.common.dto.reviewtask.CodeContext;
+import com.aicodereview.common.dto.reviewtask.ReviewTaskDTO;
+import com.aicodereview.common.enums.FailureType;
+import com.aicodereview.common.enums.TaskPriority;
+import com.aicodereview.common.enums.TaskStatus;
+import com.aicodereview.common.enums.TaskType;
+import com.aicodereview.common.exception.GitApiException;
+import com.aicodereview.common.exception.ResourceNotFoundException;
+import com.aicodereview.repository.entity.ReviewTask;
+import com.aicodereview.service.QueueService;
+import com.aicodereview.service.RetryService;
+import com.aicodereview.service.ReviewContextAssembler;
+import com.aicodereview.service.ReviewTaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReviewTaskProcessor} and {@link FailureClassifier}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewTaskProcessor Unit Tests")
+class ReviewTaskProcessorTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Mock
+    private ReviewTaskService reviewTaskService;
+
+    @Mock
+    private ReviewContextAssembler contextAssembler;
+
+    @Mock
+    private RetryService retryService;
+
+    @Mock
+    private QueueService queueService;
+
+    @InjectMocks
+    private ReviewTaskProcessor processor;
+
+    private ReviewTaskDTO runningTask;
+
+    @BeforeEach
+    void setUp() {
+        runningTask = ReviewTaskDTO.builder()
+                .id(100L)
+                .projectId(1L)
+                .taskType(TaskType.PUSH)
+                .repoUrl("https://github.com/user/repo")
+                .branch("main")
+                .commitHash("abc123")
+                .author("testuser")
+                .status(TaskStatus.RUNNING)
+                .priority(TaskPriority.NORMAL)
+                .retryCount(0)
+                .maxRetries(3)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Processing flow")
+    class ProcessingFlowTests {
+
+        @Test
+        @DisplayName("Success: start → assemble → store context → complete → release lock")
+        void process_success_runsFullLifecycle() {
+            when(reviewTaskService.markTaskStarted(100L)).thenReturn(runningTask);
+            when(contextAssembler.assembleContext(any(ReviewTask.class)))
+                    .thenReturn(CodeContext.builder().rawDiff("diff").build());
+
+            ProcessingOutcome outcome = processor.process(100L);
+
+            assertThat(outcome).isEqualTo(ProcessingOutcome.COMPLETED);
+            InOrder order = inOrder(reviewTaskService, contextAssembler, queueService);
+            order.verify(reviewTaskService).markTaskStarted(100L);
+            order.verify(contextAssembler).assembleContext(any(ReviewTask.class));
+            order.verify(reviewTaskService).saveCodeContext(eq(100L), eq(CREATED_AT), anyString());
+            order.verify(reviewTaskService).markTaskCompleted(100L, CREATED_AT);
+            order.verify(queueService).releaseLock(100L);
+            verify(retryService, never()).handleTaskFailure(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Assembler receives the started task's repo and commit")
+        void process_passesStartedTaskToAssembler() {
+            when(reviewTaskService.markTaskStarted(100L)).thenReturn(runningTask);
+            when(contextAssembler.assembleContext(any(ReviewTask.class)))
+                    .thenReturn(CodeContext.builder().build());
+
+            processor.process(100L);
+
+            ArgumentCaptor<ReviewTask> captor = ArgumentCaptor.forClass(ReviewTask.class);
+            verify(contextAssembler).assembleContext(captor.capture());
+            assertThat(captor.getValue().getId()).isEqualTo(100L);
+            assertThat(captor.getValue().getRepoUrl()).isEqualTo("https://github.com/user/repo");
+            assertThat(captor.getValue().getCommitHash()).isEqualTo("abc123");
+        }
+
+        @Test
+        @DisplayName("Deleted task is skipped and its lock released")
+        void process_taskNotFound_skipped() {
+            when(reviewTaskService.markTaskStarted(100L))
+                    .thenThrow(new ResourceNotFoundException("ReviewTask", "id", 100L));
+
+            ProcessingOutcome outcome = processor.process(100L);
+
+            assertThat(outcome).isEqualTo(ProcessingOutcome.SKIPPED);
+            verify(queueService).releaseLock(100L);
+            verify(contextAssembler, never()).assembleContext(any());
+        }
+
+        @Test
+        @DisplayName("Task no longer PENDING is skipped and its lock released")
+        void process_taskNotPending_skipped() {
+            when(reviewTaskService.markTaskStarted(100L))
+                    .thenThrow(new IllegalStateException("expected status PENDING, but was COMPLETED"));
+
+            ProcessingOutcome outcome = processor.process(100L);
+
+            assertThat(outcome).isEqualTo(ProcessingOutcome.SKIPPED);
+            verify(queueService).releaseLock(100L);
+            verify(retryService, never()).handleTaskFailure(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Assembly failure is classified and handed to RetryService")
+        void process_assemblyFailure_delegatesToRetryService() {
+            when(reviewTaskService.markTaskStarted(100L)).thenReturn(runningTask);
+            when(contextAssembler.assembleContext(any(ReviewTask.class)))
+                    .thenThrow(new GitApiException(429, "rate limited"));
+
+            ProcessingOutcome outcome = processor.process(100L);
+
+            assertThat(outcome).isEqualTo(ProcessingOutcome.FAILED);
+            verify(retryService).handleTaskFailure(100L, CREATED_AT, "rate limited", FailureType.RATE_LIMIT);
+            verify(reviewTaskService, never()).markTaskCompleted(any(), any());
+        }
+
+        @Test
+        @DisplayName("RetryService failure does not propagate")
+        void process_retryServiceFailure_swallowed() {
+            when(reviewTaskService.markTaskStarted(100L)).thenReturn(runningTask);
+            when(contextAssembler.assembleContext(any(ReviewTask.class)))
+                    .thenThrow(new IllegalStateException("boom"));
+            doThrow(new RuntimeException("db down"))
+                    .when(retryService).handleTaskFailure(eq(100L), any(), anyString(), any());
+
+            ProcessingOutcome outcome = processor.process(100L);
+
+            assertThat(outcome).isEqualTo(ProcessingOutcome.FAILED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Giving back unstarted tasks")
+    class GiveBackTests {
+
+        @Test
+        @DisplayName("A claimed task is released to the queue with its priority and project")
+        void giveBack_releasesClaim() {
+            when(reviewTaskService.getTaskById(100L)).thenReturn(runningTask);
+
+            processor.giveBack(100L);
+
+            verify(queueService).releaseClaim(100L, TaskPriority.NORMAL, 1L);
+            verify(reviewTaskService, never()).markTaskStarted(any());
+        }
+
+        @Test
+        @DisplayName("A deleted task only has its lock released")
+        void giveBack_taskNotFound_releasesLock() {
+            when(reviewTaskService.getTaskById(100L))
+                    .thenThrow(new ResourceNotFoundException("ReviewTask", "id", 100L));
+
+            processor.giveBack(100L);
+
+            verify(queueService).releaseLock(100L);
+            verify(queueService, never()).releaseClaim(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("A queue failure is logged, not thrown")
+        void giveBack_queueFailure_swallowed() {
+            when(reviewTaskService.getTaskById(100L)).thenReturn(runningTask);
+            doThrow(new IllegalStateException("redis down"))
+                    .when(queueService).releaseClaim(100L, TaskPriority.NORMAL, 1L);
+
+            processor.giveBack(100L);
+
+            verify(queueService).releaseClaim(100L, TaskPriority.NORMAL, 1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure classification")
+    class FailureClassificationTests {
+
+        @Test
+        @DisplayName("Git 401/403 → AUTHENTICATION_ERROR")
+        void classify_gitAuthErrors() {
+            assertThat(FailureClassifier.classify(new GitApiException(401, "x")))
+                    .isEqualTo(FailureType.AUTHENTICATION_ERROR);
+            assertThat(FailureClassifier.classify(new GitApiException(403, "x")))
+                    .isEqualTo(FailureType.AUTHENTICATION_ERROR);
+        }
+
+        @Test
+        @DisplayName("Git 404 → VALIDATION_ERROR")
+        void classify_gitNotFound() {
+            assertThat(FailureClassifier.classify(new GitApiException(404, "x")))
+                    .isEqualTo(FailureType.VALIDATION_ERROR);
+        }
+
+        @Test
+        @DisplayName("Wrapped timeout → TIMEOUT")
+        void classify_wrappedTimeout() {
+            GitApiException error = new GitApiException("timed out", new HttpTimeoutException("slow"));
+            assertThat(FailureClassifier.classify(error)).isEqualTo(FailureType.TIMEOUT);
+        }
+
+        @Test
+        @DisplayName("Wrapped IOException → NETWORK_ERROR")
+        void classify_wrappedIoException() {
+            GitApiException error = new GitApiException("failed", new IOException("reset"));
+            assertThat(FailureClassifier.classify(error)).isEqualTo(FailureType.NETWORK_ERROR);
+        }
+
+        @Test
+        @DisplayName("IllegalArgumentException → VALIDATION_ERROR")
+        void classify_illegalArgument() {
+            assertThat(FailureClassifier.classify(new IllegalArgumentException("bad")))
+                    .isEqualTo(FailureType.VALIDATION_ERROR);
+        }
+
+        @Test
+        @DisplayName("Unrecognised error → UNKNOWN")
+        void classify_unknown() {
+            assertThat(FailureClassifier.classify(new IllegalStateException("?")))
+                    .isEqualTo(FailureType.UNKNOWN);
+            assertThat(FailureClassifier.classify(new GitApiException(502, "bad gateway")))
+                    .isEqualTo(FailureType.UNKNOWN);
+        }
+    }
+}